@@ -0,0 +1,114 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link MessageStore} with a store keyed by boxed message ids in a {@link ConcurrentHashMap}. Every
+ * operation stores a message and removes the message stored {@code pending} operations before, so that the given
+ * number of messages is in flight. Run {@link #main(String[])} to print the allocated bytes per operation
+ * ({@code gc.alloc.rate.norm}). Compiled with the Maven profile {@code benchmark} only, because JMH requires Java 7.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageStoreBenchmark {
+
+	private static class MapMessageStore {
+
+		private final Map<Long, MessageFuture> task = new ConcurrentHashMap<Long, MessageFuture>();
+
+		void storeMessage(final long messageId, final MessageFuture future) {
+			task.put(messageId, future);
+		}
+
+		MessageFuture remove(final long messageId) {
+			return task.remove(messageId);
+		}
+	}
+
+	@Param({ "1", "64" })
+	private int pending;
+
+	private MessageStore store;
+	private MapMessageStore mapStore;
+	private long id;
+
+	@Setup
+	public void setup() {
+		store = new MessageStore();
+		mapStore = new MapMessageStore();
+		// ids outside of the Long cache, as after a few requests
+		id = 1000L;
+		for (int i = 0; i < pending; i++, id++) {
+			store.storeMessage(new MessageFuture(id));
+			mapStore.storeMessage(id, new MessageFuture(id));
+		}
+	}
+
+	@Benchmark
+	public void messageStore() {
+		store.storeMessage(new MessageFuture(id));
+		store.remove(id - pending);
+		id++;
+	}
+
+	@Benchmark
+	public MessageFuture mapMessageStore() {
+		mapStore.storeMessage(id, new MessageFuture(id));
+		final MessageFuture future = mapStore.remove(id - pending);
+		id++;
+		return future;
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+		final Options options = new OptionsBuilder().include(MessageStoreBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build();
+		new Runner(options).run();
+	}
+
+}
@@ -24,6 +24,8 @@ import java.io.Closeable;
 import java.util.Collection;
 import java.util.List;
 
+import org.reactivestreams.Publisher;
+
 import com.arangodb.entity.CursorEntity.Stats;
 import com.arangodb.entity.CursorEntity.Warning;
 
@@ -71,4 +73,14 @@ public interface ArangoCursor<T> extends ArangoIterable<T>, ArangoIterator<T>, C
 	 */
 	List<T> asListRemaining();
 
+	/**
+	 * Returns a Reactive Streams publisher of the remaining elements. The next batch is fetched without blocking once
+	 * the current one is emitted and the subscriber requested further elements, so only one batch is held in memory.
+	 * Cancelling the subscription closes the cursor on the server. The publisher can be subscribed only once and the
+	 * cursor must not be iterated after subscribing.
+	 * 
+	 * @return publisher of the remaining elements
+	 */
+	Publisher<T> publisher();
+
 }
@@ -28,6 +28,9 @@ import java.util.Properties;
 import javax.net.ssl.SSLContext;
 
 import com.arangodb.entity.ArangoDBVersion;
+import com.arangodb.entity.BufferPoolStatisticsEntity;
+import com.arangodb.entity.ConnectionStatisticsEntity;
+import com.arangodb.entity.HostStatisticsEntity;
 import com.arangodb.entity.LoadBalancingStrategy;
 import com.arangodb.entity.LogEntity;
 import com.arangodb.entity.LogLevelEntity;
@@ -35,12 +38,14 @@ import com.arangodb.entity.Permissions;
 import com.arangodb.entity.ServerRole;
 import com.arangodb.entity.UserEntity;
 import com.arangodb.internal.ArangoContext;
+import com.arangodb.internal.ArangoDBAsyncImpl;
 import com.arangodb.internal.ArangoDBImpl;
 import com.arangodb.internal.ArangoDefaults;
 import com.arangodb.internal.InternalArangoDBBuilder;
 import com.arangodb.internal.http.HttpCommunication;
 import com.arangodb.internal.http.HttpConnectionFactory;
 import com.arangodb.internal.net.ConnectionFactory;
+import com.arangodb.internal.net.ConnectionReaper;
 import com.arangodb.internal.net.Host;
 import com.arangodb.internal.net.HostHandle;
 import com.arangodb.internal.net.HostHandler;
@@ -48,9 +53,14 @@ import com.arangodb.internal.net.HostResolver;
 import com.arangodb.internal.util.ArangoDeserializerImpl;
 import com.arangodb.internal.util.ArangoSerializationFactory;
 import com.arangodb.internal.util.ArangoSerializerImpl;
+import com.arangodb.internal.util.BufferPool;
 import com.arangodb.internal.util.DefaultArangoSerialization;
 import com.arangodb.internal.velocystream.VstCommunicationSync;
+import com.arangodb.internal.velocypack.VPackDeserializers;
 import com.arangodb.internal.velocystream.VstConnectionFactorySync;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.model.DocumentReadOptions;
 import com.arangodb.model.LogOptions;
 import com.arangodb.model.UserCreateOptions;
 import com.arangodb.model.UserUpdateOptions;
@@ -69,6 +79,7 @@ import com.arangodb.velocypack.VPackModule;
 import com.arangodb.velocypack.VPackParser;
 import com.arangodb.velocypack.VPackParserModule;
 import com.arangodb.velocypack.VPackSerializer;
+import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.ValueType;
 import com.arangodb.velocystream.Request;
 import com.arangodb.velocystream.Response;
@@ -130,8 +141,14 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 		/**
 		 * Adds a host to connect to. Multiple hosts can be added to provide fallbacks.
 		 * 
+		 * <p>
+		 * A server on the same machine can be reached over a Unix domain socket by passing its path in the form
+		 * {@code unix:///tmp/arangodb.sock} as host. The port is ignored in this case. Unix domain sockets require
+		 * Java 16 or later and are used without SSL.
+		 * </p>
+		 * 
 		 * @param host
-		 *            address of the host
+		 *            address of the host or path of a Unix domain socket
 		 * @param port
 		 *            port of the host
 		 * @return {@link ArangoDB.Builder}
@@ -152,6 +169,10 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 		 * For network protocol {@link Protocol#HTTP_JSON} and {@link Protocol#HTTP_VPACK} it is used as timeout for a
 		 * single request.
 		 * </p>
+		 * <p>
+		 * For network protocol {@link Protocol#HTTP2_JSON} and {@link Protocol#HTTP2_VPACK} it is used as timeout for
+		 * opening a connection and for a single request.
+		 * </p>
 		 * 
 		 * @param timeout
 		 *            timeout in milliseconds
@@ -162,6 +183,21 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum time in milliseconds to wait for the response of a {@link Protocol#VST} request. A request
+		 * without response within this time fails with an {@link ArangoDBException} and its response is discarded
+		 * when it arrives later. The deadline can be overridden per request through the options, e.g.
+		 * {@link DocumentReadOptions#timeout(Integer)} or {@link AqlQueryOptions#timeout(Integer)}.
+		 * 
+		 * @param requestTimeout
+		 *            timeout in milliseconds (default: no timeout)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder requestTimeout(final Integer requestTimeout) {
+			setRequestTimeout(requestTimeout);
+			return this;
+		}
+
 		/**
 		 * Sets the username to use for authentication.
 		 * 
@@ -233,6 +269,8 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 		 * {@link Protocol#VST} == 1
 		 * {@link Protocol#HTTP_JSON} == 20
 		 * {@link Protocol#HTTP_VPACK} == 20
+		 * {@link Protocol#HTTP2_JSON} == 1
+		 * {@link Protocol#HTTP2_VPACK} == 1
 		 * </pre>
 		 * 
 		 * @param maxConnections
@@ -244,6 +282,21 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 			return this;
 		}
 
+		/**
+		 * Sets the minimum number of connections the built in connection pool keeps per host. These connections are
+		 * opened and authenticated in parallel by {@link #build()}, so that the first requests do not pay for the
+		 * connection setup. The pool grows up to {@link #maxConnections(Integer)} while all connections are busy.
+		 * Default: 0
+		 * 
+		 * @param minConnections
+		 *            min number of connections
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder minConnections(final Integer minConnections) {
+			setMinConnections(minConnections);
+			return this;
+		}
+
 		/**
 		 * Set the maximum time to life of a connection. After this time the connection will be closed automatically.
 		 * 
@@ -256,6 +309,156 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 			return this;
 		}
 
+		/**
+		 * Sets the time in milliseconds after which a connection without requests is closed, as long as the pool keeps
+		 * more than {@link #minConnections(Integer)} connections for the host. Default: {@code null}, idle connections
+		 * are kept open.
+		 * 
+		 * @param connectionIdleTimeout
+		 *            the idle time after which a connection is closed
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder connectionIdleTimeout(final Long connectionIdleTimeout) {
+			setConnectionIdleTimeout(connectionIdleTimeout);
+			return this;
+		}
+
+		/**
+		 * Defines a traffic lane with connection pools of its own. Requests routed to a lane do not share connections
+		 * with the requests of other lanes, so that for example a bulk import does not delay small reads. Requests
+		 * are routed to a lane with the {@code lane} field of their options. Imports and multi-document operations use
+		 * the lane {@code "bulk"} by default, if it is defined. Requests for a lane which is not defined use the
+		 * default pool.
+		 * 
+		 * @param name
+		 *            name of the lane
+		 * @param minConnections
+		 *            min number of connections of the lane per host
+		 * @param maxConnections
+		 *            max number of connections of the lane per host
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder lane(final String name, final Integer minConnections, final Integer maxConnections) {
+			setLane(name, minConnections, maxConnections);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests a {@link Protocol#VST} connection sends concurrently without having
+		 * received their responses. What happens when the limit is reached is determined by
+		 * {@link #saturationPolicy(SaturationPolicy)}.
+		 * 
+		 * @param maxInFlight
+		 *            maximum number of requests in flight per connection (default: no limit)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder maxInFlight(final Integer maxInFlight) {
+			setMaxInFlight(maxInFlight);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of bytes of partially received responses a {@link Protocol#VST} connection buffers.
+		 * A response which would exceed the limit fails with an {@link ArangoDBException}.
+		 * 
+		 * @param maxReassemblyBytes
+		 *            maximum number of bytes per connection (default: no limit)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder maxReassemblyBytes(final Long maxReassemblyBytes) {
+			setMaxReassemblyBytes(maxReassemblyBytes);
+			return this;
+		}
+
+		/**
+		 * Sets the behavior when a connection reached its maximum number of requests in flight.
+		 * 
+		 * @see #maxInFlight(Integer)
+		 * @param saturationPolicy
+		 *            the saturation policy to be used (default: {@link SaturationPolicy#BLOCK})
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder saturationPolicy(final SaturationPolicy saturationPolicy) {
+			setSaturationPolicy(saturationPolicy);
+			return this;
+		}
+
+		/**
+		 * Sets the I/O model used for the connections.
+		 * 
+		 * <p>
+		 * With {@link Transport#NIO} all {@link Protocol#VST} connections share a fixed number of selector threads
+		 * (see {@link #ioThreads(Integer)}) instead of having a dedicated reader thread per connection. HTTP requests
+		 * are sent over non-blocking sockets driven by the same threads, so {@link ArangoDBAsync} waits for HTTP
+		 * responses without a thread per request. {@link Protocol#HTTP2_JSON} and {@link Protocol#HTTP2_VPACK} always
+		 * use selector threads.
+		 * </p>
+		 * 
+		 * @param transport
+		 *            the transport to be used (default: {@link Transport#SOCKET})
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder transport(final Transport transport) {
+			setTransport(transport);
+			return this;
+		}
+
+		/**
+		 * Sets the number of selector threads shared by all connections when {@link Transport#NIO} is used.
+		 * 
+		 * @param ioThreads
+		 *            number of selector threads (default: 1)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder ioThreads(final Integer ioThreads) {
+			setIoThreads(ioThreads);
+			return this;
+		}
+
+		/**
+		 * Sets how often written chunks are flushed to the socket when {@link Protocol#VST} is used.
+		 * 
+		 * @param flushPolicy
+		 *            the flush policy to be used (default: {@link FlushPolicy#BATCH})
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder flushPolicy(final FlushPolicy flushPolicy) {
+			setFlushPolicy(flushPolicy);
+			return this;
+		}
+
+		/**
+		 * Whether or not the buffers used to reassemble responses when {@link Protocol#VST} is used are lent from a
+		 * driver-wide pool and returned to it once the response is processed.
+		 * 
+		 * <p>
+		 * <strong>Attention:</strong> if enabled, a custom serializer set with
+		 * {@link #serializer(ArangoSerialization)} must not keep references to a {@link VPackSlice} of the response
+		 * in its results.
+		 * </p>
+		 * 
+		 * @param pooledBuffers
+		 *            whether or not to use pooled buffers (default: false)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder pooledBuffers(final Boolean pooledBuffers) {
+			setPooledBuffers(pooledBuffers);
+			return this;
+		}
+
+		/**
+		 * Whether or not the socket buffers of {@link Transport#NIO} use direct memory. Only has an effect together
+		 * with {@link #pooledBuffers(Boolean)}.
+		 * 
+		 * @param directBuffers
+		 *            whether or not to use direct buffers (default: false)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder directBuffers(final Boolean directBuffers) {
+			setDirectBuffers(directBuffers);
+			return this;
+		}
+
 		/**
 		 * Whether or not the driver should acquire a list of available coordinators in an ArangoDB cluster or a single
 		 * server with active failover.
@@ -285,6 +488,69 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 			return this;
 		}
 
+		/**
+		 * Enables background health checks of all hosts. Every host is probed with {@code GET /_api/version} in the
+		 * given interval. After {@link #healthCheckThreshold(Integer)} consecutive failed probes a host is skipped by
+		 * the load balancing, so that requests do not run into the connect timeout of a host known to be down. The
+		 * host is used again after the first successful probe.
+		 * 
+		 * @param healthCheckInterval
+		 *            interval between two probes of a host in milliseconds, with {@link Protocol#VST} also the timeout
+		 *            of a probe (default: health checks disabled)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder healthCheckInterval(final Integer healthCheckInterval) {
+			setHealthCheckInterval(healthCheckInterval);
+			return this;
+		}
+
+		/**
+		 * Sets the number of consecutive failed health checks after which a host is skipped by the load balancing.
+		 * 
+		 * @see #healthCheckInterval(Integer)
+		 * @param healthCheckThreshold
+		 *            number of consecutive failed probes (default: 2)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder healthCheckThreshold(final Integer healthCheckThreshold) {
+			setHealthCheckThreshold(healthCheckThreshold);
+			return this;
+		}
+
+		/**
+		 * Enables hedged reads with {@link Protocol#VST}. If the response of an idempotent read is not received
+		 * within the given percentile of the recent response latencies of its host, the request is sent a second time
+		 * to another host chosen by the load balancing. The first response is used, the other request is discarded.
+		 * Idempotent reads are {@link ArangoCollection#getDocument(String, Class)},
+		 * {@link ArangoCollection#getDocuments(java.util.Collection, Class)} and requests marked with
+		 * {@link Request#setIdempotent(boolean)}. AQL queries are never hedged, because each attempt would create a
+		 * cursor on the server. Hedging requires a
+		 * {@link #loadBalancingStrategy(LoadBalancingStrategy)} which distributes requests across hosts.
+		 * 
+		 * @param hedgePercentile
+		 *            percentile between 0 and 1 of the response latencies of a host after which a request is hedged,
+		 *            e.g. 0.95 (default: hedging disabled)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder hedgePercentile(final Double hedgePercentile) {
+			setHedgePercentile(hedgePercentile);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum ratio of hedged requests to idempotent reads, which caps the additional load caused by
+		 * hedging.
+		 * 
+		 * @see #hedgePercentile(Double)
+		 * @param hedgeBudget
+		 *            ratio between 0 and 1 (default: 0.05)
+		 * @return {@link ArangoDB.Builder}
+		 */
+		public Builder hedgeBudget(final Double hedgeBudget) {
+			setHedgeBudget(hedgeBudget);
+			return this;
+		}
+
 		/**
 		 * Register a custom {@link VPackSerializer} for a specific type to be used within the internal serialization
 		 * process.
@@ -597,9 +863,27 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 		 * @return {@link ArangoDB}
 		 */
 		public synchronized ArangoDB build() {
+			return (ArangoDB) create(false);
+		}
+
+		/**
+		 * Returns an instance of {@link ArangoDBAsync}, configured like {@link #build()}. Every operation of it returns
+		 * an {@link ArangoFuture} instead of blocking the caller until the response is received.
+		 * 
+		 * @return {@link ArangoDBAsync}
+		 */
+		public synchronized ArangoDBAsync buildAsync() {
+			return (ArangoDBAsync) create(true);
+		}
+
+		private ArangoSerializationAccessor create(final boolean async) {
 			if (hosts.isEmpty()) {
 				hosts.add(host);
 			}
+			final boolean pooled = pooledBuffers != null ? pooledBuffers : ArangoDefaults.DEFAULT_POOLED_BUFFERS;
+			if (pooled) {
+				vpackBuilder.registerDeserializer(VPackSlice.class, VPackDeserializers.DETACHED_VPACK);
+			}
 			final VPack vpacker = vpackBuilder.serializeNullValues(false).build();
 			final VPack vpackerNull = vpackBuilder.serializeNullValues(true).build();
 			final VPackParser vpackParser = vpackParserBuilder.build();
@@ -612,23 +896,43 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 			final ArangoSerialization custom = customSerializer != null ? customSerializer : internal;
 			final ArangoSerializationFactory util = new ArangoSerializationFactory(internal, custom);
 
+			final boolean http2 = (protocol == Protocol.HTTP2_JSON || protocol == Protocol.HTTP2_VPACK)
+					&& Boolean.TRUE != useSsl;
 			final int max = maxConnections != null ? Math.max(1, maxConnections)
 					: protocol == Protocol.VST ? ArangoDefaults.MAX_CONNECTIONS_VST_DEFAULT
-							: ArangoDefaults.MAX_CONNECTIONS_HTTP_DEFAULT;
+							: http2 ? ArangoDefaults.MAX_CONNECTIONS_HTTP2_DEFAULT
+									: ArangoDefaults.MAX_CONNECTIONS_HTTP_DEFAULT;
 
+			final BufferPool bufferPool = new BufferPool(pooled, Boolean.TRUE == directBuffers,
+					ArangoDefaults.BUFFER_POOL_MAX_BUFFER_SIZE, ArangoDefaults.BUFFER_POOL_MAX_CLASS_BYTES);
+			final VstEventLoopGroup eventLoopGroup = transport == Transport.NIO || http2
+					? new VstEventLoopGroup(ioThreads != null ? ioThreads : ArangoDefaults.DEFAULT_IO_THREADS) : null;
 			final ConnectionFactory connectionFactory = (protocol == null || Protocol.VST == protocol)
-					? new VstConnectionFactorySync(host, timeout, connectionTtl, useSsl, sslContext)
+					? new VstConnectionFactorySync(host, timeout, connectionTtl, useSsl, sslContext, eventLoopGroup,
+							flushPolicy, bufferPool, maxInFlight, saturationPolicy, maxReassemblyBytes)
 					: new HttpConnectionFactory(timeout, user, password, useSsl, sslContext, custom, protocol,
-							connectionTtl);
+							connectionTtl, eventLoopGroup);
 
-			final Collection<Host> hostList = createHostList(max, connectionFactory);
-			final HostResolver hostResolver = createHostResolver(hostList, max, connectionFactory);
+			final int min = minConnections != null ? Math.min(Math.max(0, minConnections), max)
+					: ArangoDefaults.DEFAULT_MIN_CONNECTIONS;
+			final ConnectionReaper reaper = createConnectionReaper();
+			final Collection<Host> hostList = createHostList(min, max, connectionFactory, reaper);
+			final HostResolver hostResolver = createHostResolver(hostList, min, max, connectionFactory, reaper);
 			final HostHandler hostHandler = createHostHandler(hostResolver);
-			return new ArangoDBImpl(
-					new VstCommunicationSync.Builder(hostHandler).timeout(timeout).user(user).password(password)
-							.useSsl(useSsl).sslContext(sslContext).chunksize(chunksize).maxConnections(maxConnections)
-							.connectionTtl(connectionTtl),
-					new HttpCommunication.Builder(hostHandler), util, protocol, hostResolver, new ArangoContext());
+			final VstCommunicationSync.Builder vstBuilder = new VstCommunicationSync.Builder(hostHandler)
+					.timeout(timeout).user(user).password(password).useSsl(useSsl).sslContext(sslContext)
+					.chunksize(chunksize).maxConnections(maxConnections).connectionTtl(connectionTtl)
+					.saturationPolicy(saturationPolicy).requestTimeout(requestTimeout)
+					.hedgingPolicy(createHedgingPolicy());
+			final HttpCommunication.Builder httpBuilder = new HttpCommunication.Builder(hostHandler)
+					.maxConnections(max).nonBlocking(eventLoopGroup != null && Boolean.TRUE != useSsl);
+			initHealthCheck(hostHandler, vstBuilder, httpBuilder, internal, protocol);
+			warmUp(hostList, vstBuilder, httpBuilder, internal, protocol);
+			return async
+					? new ArangoDBAsyncImpl(vstBuilder, httpBuilder, util, protocol, hostResolver, bufferPool,
+							new ArangoContext())
+					: new ArangoDBImpl(vstBuilder, httpBuilder, util, protocol, hostResolver, bufferPool,
+							new ArangoContext());
 		}
 
 	}
@@ -892,6 +1196,33 @@ public interface ArangoDB extends ArangoSerializationAccessor {
 	 */
 	LogLevelEntity setLogLevel(LogLevelEntity entity) throws ArangoDBException;
 
+	/**
+	 * Returns the statistics of the buffer pool of the driver.
+	 * 
+	 * @see ArangoDB.Builder#pooledBuffers(Boolean)
+	 * @return the buffer pool statistics
+	 */
+	BufferPoolStatisticsEntity getBufferPoolStatistics();
+
+	/**
+	 * Returns the number of requests in flight, the number of queued requests and the number of open sockets of every
+	 * connection in the connection pools.
+	 * 
+	 * @see ArangoDB.Builder#maxInFlight(Integer)
+	 * @return the connection statistics
+	 */
+	Collection<ConnectionStatisticsEntity> getConnectionStatistics();
+
+	/**
+	 * Returns the number of requests in flight, the response latency, the resulting load balancing score and the
+	 * availability of every host.
+	 * 
+	 * @see ArangoDB.Builder#loadBalancingStrategy(LoadBalancingStrategy)
+	 * @see ArangoDB.Builder#healthCheckInterval(Integer)
+	 * @return the host statistics
+	 */
+	Collection<HostStatisticsEntity> getHostStatistics();
+
 	/**
 	 * <strong>Attention:</strong> Please do not use!
 	 * 
@@ -0,0 +1,319 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb;
+
+import java.util.Collection;
+
+import com.arangodb.entity.ArangoDBVersion;
+import com.arangodb.entity.BufferPoolStatisticsEntity;
+import com.arangodb.entity.ConnectionStatisticsEntity;
+import com.arangodb.entity.HostStatisticsEntity;
+import com.arangodb.entity.LoadBalancingStrategy;
+import com.arangodb.entity.LogEntity;
+import com.arangodb.entity.LogLevelEntity;
+import com.arangodb.entity.Permissions;
+import com.arangodb.entity.ServerRole;
+import com.arangodb.entity.UserEntity;
+import com.arangodb.internal.net.HostHandle;
+import com.arangodb.model.LogOptions;
+import com.arangodb.model.UserCreateOptions;
+import com.arangodb.model.UserUpdateOptions;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.Response;
+
+/**
+ * Asynchronous central access point for applications to communicate with an ArangoDB server. Every operation returns
+ * an {@link ArangoFuture} which is completed by the I/O thread that received the response.
+ * 
+ * <p>
+ * Will be instantiated through {@link ArangoDB.Builder#buildAsync()}
+ * </p>
+ * 
+ * @see ArangoDB
+ * @author Mark Vollmary
+ */
+public interface ArangoDBAsync extends ArangoSerializationAccessor {
+
+	/**
+	 * Releases all connections to the server and clear the connection pool.
+	 */
+	void shutdown();
+
+	/**
+	 * Returns a {@code ArangoDatabaseAsync} instance for the {@code _system} database.
+	 * 
+	 * @return database handler
+	 */
+	ArangoDatabaseAsync db();
+
+	/**
+	 * Returns a {@code ArangoDatabaseAsync} instance for the given database name.
+	 * 
+	 * @param name
+	 *            Name of the database
+	 * @return database handler
+	 */
+	ArangoDatabaseAsync db(String name);
+
+	/**
+	 * Creates a new database with the given name.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Database/DatabaseManagement.html#create-database">API
+	 *      Documentation</a>
+	 * @param name
+	 *            Name of the database to create
+	 * @return true if the database was created successfully.
+	 */
+	ArangoFuture<Boolean> createDatabase(String name);
+
+	/**
+	 * Retrieves a list of all existing databases
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Database/DatabaseManagement.html#list-of-databases">API
+	 *      Documentation</a>
+	 * @return a list of all existing databases
+	 */
+	ArangoFuture<Collection<String>> getDatabases();
+
+	/**
+	 * Retrieves a list of all databases the current user can access
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/Database/DatabaseManagement.html#list-of-accessible-databases">API
+	 *      Documentation</a>
+	 * @return a list of all databases the current user can access
+	 */
+	ArangoFuture<Collection<String>> getAccessibleDatabases();
+
+	/**
+	 * List available database to the specified user
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/UserManagement/index.html#list-the-databases-available-to-a-user">API
+	 *      Documentation</a>
+	 * @param user
+	 *            The name of the user for which you want to query the databases
+	 * @return
+	 */
+	ArangoFuture<Collection<String>> getAccessibleDatabasesFor(String user);
+
+	/**
+	 * Returns the server name and version number.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/MiscellaneousFunctions/index.html#return-server-version">API
+	 *      Documentation</a>
+	 * @return the server version, number
+	 */
+	ArangoFuture<ArangoDBVersion> getVersion();
+
+	/**
+	 * Returns the server role.
+	 * 
+	 * @return the server role
+	 */
+	ArangoFuture<ServerRole> getRole();
+
+	/**
+	 * Create a new user. This user will not have access to any database. You need permission to the _system database in
+	 * order to execute this call.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/UserManagement/index.html#create-user">API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @param passwd
+	 *            The user password
+	 * @return information about the user
+	 */
+	ArangoFuture<UserEntity> createUser(String user, String passwd);
+
+	/**
+	 * Create a new user. This user will not have access to any database. You need permission to the _system database in
+	 * order to execute this call.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/UserManagement/index.html#create-user">API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @param passwd
+	 *            The user password
+	 * @param options
+	 *            Additional options, can be null
+	 * @return information about the user
+	 */
+	ArangoFuture<UserEntity> createUser(String user, String passwd, UserCreateOptions options);
+
+	/**
+	 * Removes an existing user, identified by user. You need access to the _system database.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/UserManagement/index.html#remove-user">API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 */
+	ArangoFuture<Void> deleteUser(String user);
+
+	/**
+	 * Fetches data about the specified user. You can fetch information about yourself or you need permission to the
+	 * _system database in order to execute this call.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/UserManagement/index.html#fetch-user">API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @return information about the user
+	 */
+	ArangoFuture<UserEntity> getUser(String user);
+
+	/**
+	 * Fetches data about all users. You can only execute this call if you have access to the _system database.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/UserManagement/index.html#list-available-users">API
+	 *      Documentation</a>
+	 * @return informations about all users
+	 */
+	ArangoFuture<Collection<UserEntity>> getUsers();
+
+	/**
+	 * Partially updates the data of an existing user. The name of an existing user must be specified in user. You can
+	 * only change the password of your self. You need access to the _system database to change the active flag.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/UserManagement/index.html#update-user">API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @param options
+	 *            Properties of the user to be changed
+	 * @return information about the user
+	 */
+	ArangoFuture<UserEntity> updateUser(String user, UserUpdateOptions options);
+
+	/**
+	 * Replaces the data of an existing user. The name of an existing user must be specified in user. You can only
+	 * change the password of your self. You need access to the _system database to change the active flag.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/UserManagement/index.html#replace-user">API
+	 *      Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @param options
+	 *            Additional properties of the user, can be null
+	 * @return information about the user
+	 */
+	ArangoFuture<UserEntity> replaceUser(String user, UserUpdateOptions options);
+
+	/**
+	 * Sets the default access level for databases for the user {@code user}. You need permission to the _system
+	 * database in order to execute this call.
+	 * 
+	 * @param user
+	 *            The name of the user
+	 * @param permissions
+	 *            The permissions the user grant
+	 * @since ArangoDB 3.2.0
+	 */
+	ArangoFuture<Void> grantDefaultDatabaseAccess(String user, Permissions permissions);
+
+	/**
+	 * Sets the default access level for collections for the user {@code user}. You need permission to the _system
+	 * database in order to execute this call.
+	 * 
+	 * @param user
+	 *            The name of the user
+	 * @param permissions
+	 *            The permissions the user grant
+	 * @since ArangoDB 3.2.0
+	 */
+	ArangoFuture<Void> grantDefaultCollectionAccess(String user, Permissions permissions);
+
+	/**
+	 * Generic Execute. Use this method to execute custom FOXX services.
+	 * 
+	 * @param request
+	 *            VelocyStream request
+	 * @return VelocyStream response
+	 */
+	ArangoFuture<Response> execute(Request request);
+
+	/**
+	 * Generic Execute. Use this method to execute custom FOXX services.
+	 * 
+	 * @param request
+	 *            VelocyStream request
+	 * @param hostHandle
+	 *            Used to stick to a specific host when using {@link LoadBalancingStrategy#ROUND_ROBIN}
+	 * @return VelocyStream response
+	 */
+	ArangoFuture<Response> execute(Request request, HostHandle hostHandle);
+
+	/**
+	 * Returns fatal, error, warning or info log messages from the server's global log.
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AdministrationAndMonitoring/index.html#read-global-logs-from-the-server">API
+	 *      Documentation</a>
+	 * @param options
+	 *            Additional options, can be null
+	 * @return the log messages
+	 */
+	ArangoFuture<LogEntity> getLogs(LogOptions options);
+
+	/**
+	 * Returns the server's current loglevel settings.
+	 * 
+	 * @return the server's current loglevel settings
+	 * @since ArangoDB 3.1.0
+	 */
+	ArangoFuture<LogLevelEntity> getLogLevel();
+
+	/**
+	 * Modifies and returns the server's current loglevel settings.
+	 * 
+	 * @param entity
+	 *            loglevel settings
+	 * @return the server's current loglevel settings
+	 * @since ArangoDB 3.1.0
+	 */
+	ArangoFuture<LogLevelEntity> setLogLevel(LogLevelEntity entity);
+
+	/**
+	 * Returns the statistics of the buffer pool of the driver.
+	 * 
+	 * @see ArangoDB.Builder#pooledBuffers(Boolean)
+	 * @return the buffer pool statistics
+	 */
+	BufferPoolStatisticsEntity getBufferPoolStatistics();
+
+	/**
+	 * Returns the number of requests in flight, the number of queued requests and the number of open sockets of every
+	 * connection in the connection pools.
+	 * 
+	 * @see ArangoDB.Builder#maxInFlight(Integer)
+	 * @return the connection statistics
+	 */
+	Collection<ConnectionStatisticsEntity> getConnectionStatistics();
+
+	/**
+	 * Returns the number of requests in flight, the response latency, the resulting load balancing score and the
+	 * availability of every host.
+	 * 
+	 * @see ArangoDB.Builder#loadBalancingStrategy(LoadBalancingStrategy)
+	 * @see ArangoDB.Builder#healthCheckInterval(Integer)
+	 * @return the host statistics
+	 */
+	Collection<HostStatisticsEntity> getHostStatistics();
+
+}
@@ -0,0 +1,669 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.arangodb.entity.AqlExecutionExplainEntity;
+import com.arangodb.entity.AqlFunctionEntity;
+import com.arangodb.entity.AqlParseEntity;
+import com.arangodb.entity.ArangoDBVersion;
+import com.arangodb.entity.CollectionEntity;
+import com.arangodb.entity.DatabaseEntity;
+import com.arangodb.entity.EdgeDefinition;
+import com.arangodb.entity.GraphEntity;
+import com.arangodb.entity.IndexEntity;
+import com.arangodb.entity.Permissions;
+import com.arangodb.entity.QueryCachePropertiesEntity;
+import com.arangodb.entity.QueryEntity;
+import com.arangodb.entity.QueryTrackingPropertiesEntity;
+import com.arangodb.entity.TraversalEntity;
+import com.arangodb.entity.ViewEntity;
+import com.arangodb.entity.ViewType;
+import com.arangodb.model.AqlFunctionCreateOptions;
+import com.arangodb.model.AqlFunctionDeleteOptions;
+import com.arangodb.model.AqlFunctionGetOptions;
+import com.arangodb.model.AqlQueryExplainOptions;
+import com.arangodb.model.AqlQueryOptions;
+import com.arangodb.model.CollectionCreateOptions;
+import com.arangodb.model.CollectionsReadOptions;
+import com.arangodb.model.DocumentReadOptions;
+import com.arangodb.model.GraphCreateOptions;
+import com.arangodb.model.TransactionOptions;
+import com.arangodb.model.TraversalOptions;
+import com.arangodb.model.arangosearch.ArangoSearchCreateOptions;
+
+/**
+ * Asynchronous interface for operations on ArangoDB database level.
+ * 
+ * @see ArangoDatabase
+ * @see <a href="https://docs.arangodb.com/current/HTTP/Database/">Databases API Documentation</a>
+ * @see <a href="https://docs.arangodb.com/current/HTTP/AqlQuery/">Query API Documentation</a>
+ * @author Mark Vollmary
+ */
+public interface ArangoDatabaseAsync extends ArangoSerializationAccessor {
+
+	/**
+	 * Return the main entry point for the ArangoDB driver
+	 * 
+	 * @return main entry point
+	 */
+	ArangoDBAsync arango();
+
+	/**
+	 * Returns the name of the database
+	 * 
+	 * @return database name
+	 */
+	String name();
+
+	/**
+	 * Returns the server name and version number.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/MiscellaneousFunctions/index.html#return-server-version">API
+	 *      Documentation</a>
+	 * @return the server version, number
+	 */
+	ArangoFuture<ArangoDBVersion> getVersion();
+
+	/**
+	 * Checks whether the database exists
+	 * 
+	 * @return true if the database exists, otherwise false
+	 */
+	ArangoFuture<Boolean> exists();
+
+	/**
+	 * Retrieves a list of all databases the current user can access
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/Database/DatabaseManagement.html#list-of-accessible-databases">API
+	 *      Documentation</a>
+	 * @return a list of all databases the current user can access
+	 */
+	ArangoFuture<Collection<String>> getAccessibleDatabases();
+
+	/**
+	 * Returns a {@code ArangoCollectionAsync} instance for the given collection name.
+	 * 
+	 * @param name
+	 *            Name of the collection
+	 * @return collection handler
+	 */
+	ArangoCollectionAsync collection(String name);
+
+	/**
+	 * Creates a collection for the given collection's name, then returns collection information from the server.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Collection/Creating.html#create-collection">API
+	 *      Documentation</a>
+	 * @param name
+	 *            The name of the collection
+	 * @return information about the collection
+	 */
+	ArangoFuture<CollectionEntity> createCollection(String name);
+
+	/**
+	 * Creates a collection with the given {@code options} for this collection's name, then returns collection
+	 * information from the server.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Collection/Creating.html#create-collection">API
+	 *      Documentation</a>
+	 * @param name
+	 *            The name of the collection
+	 * @param options
+	 *            Additional options, can be null
+	 * @return information about the collection
+	 */
+	ArangoFuture<CollectionEntity> createCollection(String name, CollectionCreateOptions options);
+
+	/**
+	 * Fetches all collections from the database and returns an list of collection descriptions.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Collection/Getting.html#reads-all-collections">API
+	 *      Documentation</a>
+	 * @return list of information about all collections
+	 */
+	ArangoFuture<Collection<CollectionEntity>> getCollections();
+
+	/**
+	 * Fetches all collections from the database and returns an list of collection descriptions.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Collection/Getting.html#reads-all-collections">API
+	 *      Documentation</a>
+	 * @param options
+	 *            Additional options, can be null
+	 * @return list of information about all collections
+	 */
+	ArangoFuture<Collection<CollectionEntity>> getCollections(CollectionsReadOptions options);
+
+	/**
+	 * Returns an index
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Indexes/WorkingWith.html#read-index">API Documentation</a>
+	 * @param id
+	 *            The index-handle
+	 * @return information about the index
+	 */
+	ArangoFuture<IndexEntity> getIndex(String id);
+
+	/**
+	 * Deletes an index
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Indexes/WorkingWith.html#delete-index">API Documentation</a>
+	 * @param id
+	 *            The index-handle
+	 * @return the id of the index
+	 */
+	ArangoFuture<String> deleteIndex(String id);
+
+	/**
+	 * Creates the database
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Database/DatabaseManagement.html#create-database">API
+	 *      Documentation</a>
+	 * @return true if the database was created successfully.
+	 */
+	ArangoFuture<Boolean> create();
+
+	/**
+	 * Deletes the database from the server.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Database/DatabaseManagement.html#drop-database">API
+	 *      Documentation</a>
+	 * @return true if the database was dropped successfully
+	 */
+	ArangoFuture<Boolean> drop();
+
+	/**
+	 * Grants or revoke access to the database for user {@code user}. You need permission to the _system database in
+	 * order to execute this call.
+	 * 
+	 * @see <a href= "https://docs.arangodb.com/current/HTTP/UserManagement/index.html#grant-or-revoke-database-access">
+	 *      API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @param permissions
+	 *            The permissions the user grant
+	 */
+	ArangoFuture<Void> grantAccess(String user, Permissions permissions);
+
+	/**
+	 * Grants access to the database for user {@code user}. You need permission to the _system database in order to
+	 * execute this call.
+	 *
+	 * @see <a href= "https://docs.arangodb.com/current/HTTP/UserManagement/index.html#grant-or-revoke-database-access">
+	 *      API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 */
+	ArangoFuture<Void> grantAccess(String user);
+
+	/**
+	 * Revokes access to the database dbname for user {@code user}. You need permission to the _system database in order
+	 * to execute this call.
+	 * 
+	 * @see <a href= "https://docs.arangodb.com/current/HTTP/UserManagement/index.html#grant-or-revoke-database-access">
+	 *      API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 */
+	ArangoFuture<Void> revokeAccess(String user);
+
+	/**
+	 * Clear the database access level, revert back to the default access level.
+	 * 
+	 * @see <a href= "https://docs.arangodb.com/current/HTTP/UserManagement/index.html#grant-or-revoke-database-access">
+	 *      API Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @since ArangoDB 3.2.0
+	 */
+	ArangoFuture<Void> resetAccess(String user);
+
+	/**
+	 * Sets the default access level for collections within this database for the user {@code user}. You need permission
+	 * to the _system database in order to execute this call.
+	 * 
+	 * @param user
+	 *            The name of the user
+	 * @param permissions
+	 *            The permissions the user grant
+	 * @since ArangoDB 3.2.0
+	 */
+	ArangoFuture<Void> grantDefaultCollectionAccess(String user, Permissions permissions);
+
+	/**
+	 * Get specific database access level
+	 * 
+	 * @see <a href= "https://docs.arangodb.com/current/HTTP/UserManagement/#get-the-database-access-level"> API
+	 *      Documentation</a>
+	 * @param user
+	 *            The name of the user
+	 * @return permissions of the user
+	 * @since ArangoDB 3.2.0
+	 */
+	ArangoFuture<Permissions> getPermissions(String user);
+
+	/**
+	 * Performs a database query using the given {@code query} and {@code bindVars}, then returns a new
+	 * {@code ArangoCursor} instance for the result list.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/AqlQueryCursor/AccessingCursors.html#create-cursor">API
+	 *      Documentation</a>
+	 * @param query
+	 *            An AQL query string
+	 * @param bindVars
+	 *            key/value pairs defining the variables to bind the query to
+	 * @param options
+	 *            Additional options that will be passed to the query API, can be null
+	 * @param type
+	 *            The type of the result (POJO class, VPackSlice, String for Json, or Collection/List/Map)
+	 * @return cursor of the results
+	 */
+	<T> ArangoFuture<ArangoCursor<T>> query(
+		String query,
+		Map<String, Object> bindVars,
+		AqlQueryOptions options,
+		Class<T> type);
+
+	/**
+	 * Performs a database query using the given {@code query}, then returns a new {@code ArangoCursor} instance for the
+	 * result list.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/AqlQueryCursor/AccessingCursors.html#create-cursor">API
+	 *      Documentation</a>
+	 * @param query
+	 *            An AQL query string
+	 * @param options
+	 *            Additional options that will be passed to the query API, can be null
+	 * @param type
+	 *            The type of the result (POJO class, VPackSlice, String for Json, or Collection/List/Map)
+	 * @return cursor of the results
+	 */
+	<T> ArangoFuture<ArangoCursor<T>> query(String query, AqlQueryOptions options, Class<T> type);
+
+	/**
+	 * Performs a database query using the given {@code query} and {@code bindVars}, then returns a new
+	 * {@code ArangoCursor} instance for the result list.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/AqlQueryCursor/AccessingCursors.html#create-cursor">API
+	 *      Documentation</a>
+	 * @param query
+	 *            An AQL query string
+	 * @param bindVars
+	 *            key/value pairs defining the variables to bind the query to
+	 * @param type
+	 *            The type of the result (POJO class, VPackSlice, String for Json, or Collection/List/Map)
+	 * @return cursor of the results
+	 */
+	<T> ArangoFuture<ArangoCursor<T>> query(String query, Map<String, Object> bindVars, Class<T> type);
+
+	/**
+	 * Performs a database query using the given {@code query}, then returns a new {@code ArangoCursor} instance for the
+	 * result list.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/AqlQueryCursor/AccessingCursors.html#create-cursor">API
+	 *      Documentation</a>
+	 * @param query
+	 *            An AQL query string
+	 * @param type
+	 *            The type of the result (POJO class, VPackSlice, String for Json, or Collection/List/Map)
+	 * @return cursor of the results
+	 */
+	<T> ArangoFuture<ArangoCursor<T>> query(String query, Class<T> type);
+
+	/**
+	 * Return an cursor from the given cursor-ID if still existing
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQueryCursor/AccessingCursors.html#read-next-batch-from-cursor">API
+	 *      Documentation</a>
+	 * @param cursorId
+	 *            The ID of the cursor
+	 * @param type
+	 *            The type of the result (POJO class, VPackSlice, String for Json, or Collection/List/Map)
+	 * @return cursor of the results
+	 */
+	<T> ArangoFuture<ArangoCursor<T>> cursor(String cursorId, Class<T> type);
+
+	/**
+	 * Explain an AQL query and return information about it
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#explain-an-aql-query">API
+	 *      Documentation</a>
+	 * @param query
+	 *            the query which you want explained
+	 * @param bindVars
+	 *            key/value pairs representing the bind parameters
+	 * @param options
+	 *            Additional options, can be null
+	 * @return information about the query
+	 */
+	ArangoFuture<AqlExecutionExplainEntity> explainQuery(
+		String query,
+		Map<String, Object> bindVars,
+		AqlQueryExplainOptions options);
+
+	/**
+	 * Parse an AQL query and return information about it This method is for query validation only. To actually query
+	 * the database, see {@link ArangoDatabase#query(String, Map, AqlQueryOptions, Class)}
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#parse-an-aql-query">API
+	 *      Documentation</a>
+	 * @param query
+	 *            the query which you want parse
+	 * @return imformation about the query
+	 */
+	ArangoFuture<AqlParseEntity> parseQuery(String query);
+
+	/**
+	 * Clears the AQL query cache
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQueryCache/index.html#clears-any-results-in-the-aql-query-cache">API
+	 *      Documentation</a>
+	 */
+	ArangoFuture<Void> clearQueryCache();
+
+	/**
+	 * Returns the global configuration for the AQL query cache
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQueryCache/index.html#returns-the-global-properties-for-the-aql-query-cache">API
+	 *      Documentation</a>
+	 * @return configuration for the AQL query cache
+	 */
+	ArangoFuture<QueryCachePropertiesEntity> getQueryCacheProperties();
+
+	/**
+	 * Changes the configuration for the AQL query cache. Note: changing the properties may invalidate all results in
+	 * the cache.
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQueryCache/index.html#globally-adjusts-the-aql-query-result-cache-properties">API
+	 *      Documentation</a>
+	 * @param properties
+	 *            properties to be set
+	 * @return current set of properties
+	 */
+	ArangoFuture<QueryCachePropertiesEntity> setQueryCacheProperties(QueryCachePropertiesEntity properties);
+
+	/**
+	 * Returns the configuration for the AQL query tracking
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#returns-the-properties-for-the-aql-query-tracking">API
+	 *      Documentation</a>
+	 * @return configuration for the AQL query tracking
+	 */
+	ArangoFuture<QueryTrackingPropertiesEntity> getQueryTrackingProperties();
+
+	/**
+	 * Changes the configuration for the AQL query tracking
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#changes-the-properties-for-the-aql-query-tracking">API
+	 *      Documentation</a>
+	 * @param properties
+	 *            properties to be set
+	 * @return current set of properties
+	 */
+	ArangoFuture<QueryTrackingPropertiesEntity> setQueryTrackingProperties(QueryTrackingPropertiesEntity properties);
+
+	/**
+	 * Returns a list of currently running AQL queries
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#returns-the-currently-running-aql-queries">API
+	 *      Documentation</a>
+	 * @return a list of currently running AQL queries
+	 */
+	ArangoFuture<Collection<QueryEntity>> getCurrentlyRunningQueries();
+
+	/**
+	 * Returns a list of slow running AQL queries
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#returns-the-list-of-slow-aql-queries">API
+	 *      Documentation</a>
+	 * @return a list of slow running AQL queries
+	 */
+	ArangoFuture<Collection<QueryEntity>> getSlowQueries();
+
+	/**
+	 * Clears the list of slow AQL queries
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#clears-the-list-of-slow-aql-queries">API
+	 *      Documentation</a>
+	 */
+	ArangoFuture<Void> clearSlowQueries();
+
+	/**
+	 * Kills a running query. The query will be terminated at the next cancelation point.
+	 * 
+	 * @see <a href= "https://docs.arangodb.com/current/HTTP/AqlQuery/index.html#kills-a-running-aql-query">API
+	 *      Documentation</a>
+	 * @param id
+	 *            The id of the query
+	 */
+	ArangoFuture<Void> killQuery(String id);
+
+	/**
+	 * Create a new AQL user function
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/AqlUserFunctions/index.html#create-aql-user-function">API
+	 *      Documentation</a>
+	 * @param name
+	 *            A valid AQL function name, e.g.: `"myfuncs::accounting::calculate_vat"`
+	 * @param code
+	 *            A String evaluating to a JavaScript function
+	 * @param options
+	 *            Additional options, can be null
+	 */
+	ArangoFuture<Void> createAqlFunction(String name, String code, AqlFunctionCreateOptions options);
+
+	/**
+	 * Deletes the AQL user function with the given name from the database.
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlUserFunctions/index.html#remove-existing-aql-user-function">API
+	 *      Documentation</a>
+	 * @param name
+	 *            The name of the user function to delete
+	 * @param options
+	 *            Additional options, can be null
+	 * @return number of deleted functions (since ArangoDB 3.4.0)
+	 */
+	ArangoFuture<Integer> deleteAqlFunction(String name, AqlFunctionDeleteOptions options);
+
+	/**
+	 * Gets all reqistered AQL user functions
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AqlUserFunctions/index.html#return-registered-aql-user-functions">API
+	 *      Documentation</a>
+	 * @param options
+	 *            Additional options, can be null
+	 * @return all reqistered AQL user functions
+	 */
+	ArangoFuture<Collection<AqlFunctionEntity>> getAqlFunctions(AqlFunctionGetOptions options);
+
+	/**
+	 * Create a new graph in the graph module. The creation of a graph requires the name of the graph and a definition
+	 * of its edges.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Gharial/Management.html#create-a-graph">API
+	 *      Documentation</a>
+	 * @param name
+	 *            Name of the graph
+	 * @param edgeDefinitions
+	 *            An array of definitions for the edge
+	 * @return information about the graph
+	 */
+	ArangoFuture<GraphEntity> createGraph(String name, Collection<EdgeDefinition> edgeDefinitions);
+
+	/**
+	 * Create a new graph in the graph module. The creation of a graph requires the name of the graph and a definition
+	 * of its edges.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Gharial/Management.html#create-a-graph">API
+	 *      Documentation</a>
+	 * @param name
+	 *            Name of the graph
+	 * @param edgeDefinitions
+	 *            An array of definitions for the edge
+	 * @param options
+	 *            Additional options, can be null
+	 * @return information about the graph
+	 */
+	ArangoFuture<GraphEntity> createGraph(
+		String name,
+		Collection<EdgeDefinition> edgeDefinitions,
+		GraphCreateOptions options);
+
+	/**
+	 * Lists all graphs known to the graph module
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Gharial/Management.html#list-all-graphs">API
+	 *      Documentation</a>
+	 * @return graphs stored in this database
+	 */
+	ArangoFuture<Collection<GraphEntity>> getGraphs();
+
+	/**
+	 * Performs a server-side transaction and returns its return value.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Transaction/index.html#execute-transaction">API
+	 *      Documentation</a>
+	 * @param action
+	 *            A String evaluating to a JavaScript function to be executed on the server.
+	 * @param type
+	 *            The type of the result (POJO class, VPackSlice or String for Json)
+	 * @param options
+	 *            Additional options, can be null
+	 * @return the result of the transaction if it succeeded
+	 */
+	<T> ArangoFuture<T> transaction(String action, Class<T> type, TransactionOptions options);
+
+	/**
+	 * Retrieves information about the current database
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/Database/DatabaseManagement.html#information-of-the-database">API
+	 *      Documentation</a>
+	 * @return information about the current database
+	 */
+	ArangoFuture<DatabaseEntity> getInfo();
+
+	/**
+	 * Execute a server-side traversal
+	 * 
+	 * @see <a href= "https://docs.arangodb.com/current/HTTP/Traversal/index.html#executes-a-traversal">API
+	 *      Documentation</a>
+	 * @param vertexClass
+	 *            The type of the vertex documents (POJO class, VPackSlice or String for Json)
+	 * @param edgeClass
+	 *            The type of the edge documents (POJO class, VPackSlice or String for Json)
+	 * @param options
+	 *            Additional options
+	 * @return Result of the executed traversal
+	 */
+	<V, E> ArangoFuture<TraversalEntity<V, E>> executeTraversal(
+		Class<V> vertexClass,
+		Class<E> edgeClass,
+		TraversalOptions options);
+
+	/**
+	 * Reads a single document
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Document/WorkingWithDocuments.html#read-document">API
+	 *      Documentation</a>
+	 * @param id
+	 *            The id of the document
+	 * @param type
+	 *            The type of the document (POJO class, VPackSlice or String for Json)
+	 * @return the document identified by the id
+	 */
+	<T> ArangoFuture<T> getDocument(String id, Class<T> type);
+
+	/**
+	 * Reads a single document
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Document/WorkingWithDocuments.html#read-document">API
+	 *      Documentation</a>
+	 * @param id
+	 *            The id of the document
+	 * @param type
+	 *            The type of the document (POJO class, VPackSlice or String for Json)
+	 * @param options
+	 *            Additional options, can be null
+	 * @return the document identified by the id
+	 */
+	<T> ArangoFuture<T> getDocument(String id, Class<T> type, DocumentReadOptions options);
+
+	/**
+	 * Reload the routing table.
+	 * 
+	 * @see <a href=
+	 *      "https://docs.arangodb.com/current/HTTP/AdministrationAndMonitoring/index.html#reloads-the-routing-information">API
+	 *      Documentation</a>
+	 */
+	ArangoFuture<Void> reloadRouting();
+
+	/**
+	 * Fetches all views from the database and returns an list of view descriptions.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Views/Getting.html#reads-all-views">API Documentation</a>
+	 * @return list of information about all views
+	 * @since ArangoDB 3.4.0
+	 */
+	ArangoFuture<Collection<ViewEntity>> getViews();
+
+	/**
+	 * Creates a view of the given {@code type}, then returns view information from the server.
+	 * 
+	 * @param name
+	 *            The name of the view
+	 * @param type
+	 *            The type of the view
+	 * @return information about the view
+	 * @since ArangoDB 3.4.0
+	 */
+	ArangoFuture<ViewEntity> createView(String name, ViewType type);
+
+	/**
+	 * Creates a ArangoSearch view with the given {@code options}, then returns view information from the server.
+	 * 
+	 * @see <a href="https://docs.arangodb.com/current/HTTP/Views/ArangoSearch.html#create-arangosearch-view">API
+	 *      Documentation</a>
+	 * @param name
+	 *            The name of the view
+	 * @param options
+	 *            Additional options, can be null
+	 * @return information about the view
+	 * @since ArangoDB 3.4.0
+	 */
+	ArangoFuture<ViewEntity> createArangoSearch(String name, ArangoSearchCreateOptions options);
+
+}
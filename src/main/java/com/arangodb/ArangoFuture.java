@@ -0,0 +1,366 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Result of an asynchronous operation, completed with either a value or an exception.
+ * 
+ * <p>
+ * Listeners and the functions passed to {@link #thenApply(Function)}, {@link #thenAccept(Consumer)},
+ * {@link #thenCompose(Function)}, {@link #exceptionally(Function)} and {@link #exceptionallyCompose(Function)} are
+ * executed by the thread completing the future, which is usually an I/O thread of the driver, or directly by the
+ * caller if the future is already completed. They should not block.
+ * </p>
+ * 
+ * <p>
+ * Cancelling a future returned by one of these methods also cancels the future it was derived from, so that the
+ * operation behind it can release its resources.
+ * </p>
+ * 
+ * @author Mark Vollmary
+ *
+ * @param <T>
+ *            the type of the result
+ */
+public class ArangoFuture<T> implements Future<T> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ArangoFuture.class);
+
+	private static final int PENDING = 0;
+	private static final int COMPLETED = 1;
+	private static final int FAILED = 2;
+	private static final int CANCELLED = 3;
+
+	private volatile int state;
+	private T value;
+	private Throwable exception;
+	private List<Runnable> listeners;
+
+	public ArangoFuture() {
+		super();
+		state = PENDING;
+	}
+
+	/**
+	 * @return a future already completed with the given value
+	 */
+	public static <T> ArangoFuture<T> completed(final T value) {
+		final ArangoFuture<T> future = new ArangoFuture<T>();
+		future.complete(value);
+		return future;
+	}
+
+	/**
+	 * @return a future already completed with the given exception
+	 */
+	public static <T> ArangoFuture<T> failed(final Throwable exception) {
+		final ArangoFuture<T> future = new ArangoFuture<T>();
+		future.completeExceptionally(exception);
+		return future;
+	}
+
+	/**
+	 * Completes the future with the given value, if not already completed.
+	 * 
+	 * @return whether or not this call completed the future
+	 */
+	public boolean complete(final T value) {
+		return finish(COMPLETED, value, null);
+	}
+
+	/**
+	 * Completes the future with the given exception, if not already completed.
+	 * 
+	 * @return whether or not this call completed the future
+	 */
+	public boolean completeExceptionally(final Throwable exception) {
+		return finish(FAILED, null, exception);
+	}
+
+	@Override
+	public boolean cancel(final boolean mayInterruptIfRunning) {
+		return finish(CANCELLED, null, null);
+	}
+
+	private boolean finish(final int state, final T value, final Throwable exception) {
+		final List<Runnable> completed;
+		synchronized (this) {
+			if (this.state != PENDING) {
+				return false;
+			}
+			this.value = value;
+			this.exception = exception;
+			this.state = state;
+			notifyAll();
+			completed = listeners;
+			listeners = null;
+		}
+		if (completed != null) {
+			for (final Runnable listener : completed) {
+				run(listener);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Registers a listener which is executed once the future is completed. If the future is already completed, the
+	 * listener is executed immediately.
+	 */
+	public void addListener(final Runnable listener) {
+		if (state == PENDING) {
+			synchronized (this) {
+				if (state == PENDING) {
+					if (listeners == null) {
+						listeners = new ArrayList<Runnable>(1);
+					}
+					listeners.add(listener);
+					return;
+				}
+			}
+		}
+		run(listener);
+	}
+
+	private static void run(final Runnable listener) {
+		try {
+			listener.run();
+		} catch (final RuntimeException e) {
+			LOGGER.error("Exception in listener of future", e);
+		}
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return state == CANCELLED;
+	}
+
+	@Override
+	public boolean isDone() {
+		return state != PENDING;
+	}
+
+	/**
+	 * @return whether or not the future was completed with an exception or cancelled
+	 */
+	public boolean isCompletedExceptionally() {
+		final int current = state;
+		return current == FAILED || current == CANCELLED;
+	}
+
+	@Override
+	public T get() throws InterruptedException, ExecutionException {
+		if (state == PENDING) {
+			synchronized (this) {
+				while (state == PENDING) {
+					wait();
+				}
+			}
+		}
+		return report();
+	}
+
+	@Override
+	public T get(final long timeout, final TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		if (state == PENDING) {
+			final long deadline = System.nanoTime() + unit.toNanos(timeout);
+			synchronized (this) {
+				while (state == PENDING) {
+					final long remaining = deadline - System.nanoTime();
+					if (remaining <= 0L) {
+						throw new TimeoutException();
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			}
+		}
+		return report();
+	}
+
+	private T report() throws ExecutionException {
+		switch (state) {
+		case COMPLETED:
+			return value;
+		case FAILED:
+			throw new ExecutionException(exception);
+		default:
+			throw new CancellationException();
+		}
+	}
+
+	/**
+	 * @return the exception of a future completed exceptionally
+	 */
+	private Throwable cause() {
+		return state == FAILED ? exception : new CancellationException();
+	}
+
+	/**
+	 * @return a future completed with the result of the given function applied to the value of this future, or with
+	 *         the exception of this future
+	 */
+	public <U> ArangoFuture<U> thenApply(final Function<? super T, ? extends U> fn) {
+		final ArangoFuture<U> result = new ArangoFuture<U>();
+		result.cancelOnCancel(this);
+		addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (state != COMPLETED) {
+					result.completeExceptionally(cause());
+					return;
+				}
+				try {
+					result.complete(fn.apply(value));
+				} catch (final RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * @return a future completed after the given action consumed the value of this future, or with the exception of
+	 *         this future
+	 */
+	public ArangoFuture<Void> thenAccept(final Consumer<? super T> action) {
+		return thenApply(new Function<T, Void>() {
+			@Override
+			public Void apply(final T t) {
+				action.accept(t);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @return a future completed with the future returned by the given function applied to the value of this future,
+	 *         or with the exception of this future
+	 */
+	public <U> ArangoFuture<U> thenCompose(final Function<? super T, ArangoFuture<U>> fn) {
+		final ArangoFuture<U> result = new ArangoFuture<U>();
+		result.cancelOnCancel(this);
+		addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (state != COMPLETED) {
+					result.completeExceptionally(cause());
+					return;
+				}
+				try {
+					result.pipe(fn.apply(value));
+				} catch (final RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * @return a future completed with the value of this future, or with the result of the given function applied to
+	 *         the exception of this future
+	 */
+	public ArangoFuture<T> exceptionally(final Function<Throwable, ? extends T> fn) {
+		final ArangoFuture<T> result = new ArangoFuture<T>();
+		result.cancelOnCancel(this);
+		addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (state == COMPLETED) {
+					result.complete(value);
+					return;
+				}
+				try {
+					result.complete(fn.apply(cause()));
+				} catch (final RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * @return a future completed with the value of this future, or with the future returned by the given function
+	 *         applied to the exception of this future
+	 */
+	public ArangoFuture<T> exceptionallyCompose(final Function<Throwable, ArangoFuture<T>> fn) {
+		final ArangoFuture<T> result = new ArangoFuture<T>();
+		result.cancelOnCancel(this);
+		addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (state == COMPLETED) {
+					result.complete(value);
+					return;
+				}
+				try {
+					result.pipe(fn.apply(cause()));
+				} catch (final RuntimeException e) {
+					result.completeExceptionally(e);
+				}
+			}
+		});
+		return result;
+	}
+
+	private void pipe(final ArangoFuture<? extends T> source) {
+		cancelOnCancel(source);
+		source.addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (source.state == COMPLETED) {
+					complete(source.value);
+				} else {
+					completeExceptionally(source.cause());
+				}
+			}
+		});
+	}
+
+	/**
+	 * Cancels the given source, once this future derived from it is cancelled.
+	 */
+	private void cancelOnCancel(final ArangoFuture<?> source) {
+		addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (state == CANCELLED) {
+					source.cancel(true);
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb;
+
+/**
+ * Determines how often written VelocyStream chunks are flushed to the socket.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public enum FlushPolicy {
+	/**
+	 * Flush after every chunk
+	 */
+	CHUNK,
+	/**
+	 * Flush after every message
+	 */
+	MESSAGE,
+	/**
+	 * Flush once after all currently pending messages of a connection are written. With {@link Transport#NIO} the
+	 * chunks of all pending messages are written with a single gathering write.
+	 */
+	BATCH
+}
@@ -40,5 +40,19 @@ public enum Protocol {
 	 * 
 	 * @see <a href="https://github.com/arangodb/velocypack">VelocyPack specification</a>
 	 */
-	HTTP_VPACK
+	HTTP_VPACK,
+	/**
+	 * HTTP/2 with Json body. Requests are multiplexed as streams over few connections and their headers are
+	 * compressed. Requires ArangoDB 3.7 or later and is not available together with SSL, in this case
+	 * {@link #HTTP_JSON} is used.
+	 */
+	HTTP2_JSON,
+	/**
+	 * HTTP/2 with VelocyPack body. Requests are multiplexed as streams over few connections and their headers are
+	 * compressed. Requires ArangoDB 3.7 or later and is not available together with SSL, in this case
+	 * {@link #HTTP_VPACK} is used.
+	 * 
+	 * @see <a href="https://github.com/arangodb/velocypack">VelocyPack specification</a>
+	 */
+	HTTP2_VPACK
 }
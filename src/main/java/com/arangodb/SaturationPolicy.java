@@ -0,0 +1,43 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb;
+
+/**
+ * Behavior of a VelocyStream connection when its maximum number of requests in flight is reached.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public enum SaturationPolicy {
+	/**
+	 * The caller waits until a response of another request is received or the connection timeout elapses.
+	 */
+	BLOCK,
+	/**
+	 * The request fails immediately with an {@link ArangoDBException}.
+	 */
+	FAIL,
+	/**
+	 * The request is sent over another connection of the connection pool which is not saturated. If all connections
+	 * are saturated the caller waits like with {@link #BLOCK}.
+	 */
+	SPILL
+}
@@ -0,0 +1,40 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public enum Transport {
+	/**
+	 * Blocking socket I/O with one reader thread per connection
+	 */
+	SOCKET,
+	/**
+	 * Non-blocking I/O where the connections of all hosts share a small number of selector threads
+	 * 
+	 * <p>
+	 * <strong>Attention:</strong> only supported without SSL. With SSL {@link #SOCKET} is used.
+	 * </p>
+	 */
+	NIO
+}
@@ -0,0 +1,83 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.entity;
+
+/**
+ * Snapshot of the statistics of the driver's buffer pool.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class BufferPoolStatisticsEntity implements Entity {
+
+	private final long hits;
+	private final long misses;
+	private final long releases;
+	private final long discards;
+	private final long pooledBytes;
+
+	public BufferPoolStatisticsEntity(final long hits, final long misses, final long releases, final long discards,
+		final long pooledBytes) {
+		super();
+		this.hits = hits;
+		this.misses = misses;
+		this.releases = releases;
+		this.discards = discards;
+		this.pooledBytes = pooledBytes;
+	}
+
+	/**
+	 * @return number of buffers lent from the pool
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of buffers which had to be allocated because no pooled buffer of the requested size class was
+	 *         available
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of buffers returned to the pool
+	 */
+	public long getReleases() {
+		return releases;
+	}
+
+	/**
+	 * @return number of returned buffers which were dropped because their size class was full
+	 */
+	public long getDiscards() {
+		return discards;
+	}
+
+	/**
+	 * @return number of bytes currently held by the pool
+	 */
+	public long getPooledBytes() {
+		return pooledBytes;
+	}
+
+}
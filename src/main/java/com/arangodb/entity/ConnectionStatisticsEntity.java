@@ -0,0 +1,102 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.entity;
+
+/**
+ * Snapshot of the load of a single connection.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class ConnectionStatisticsEntity implements Entity {
+
+	private final String host;
+	private final int port;
+	private final int inFlight;
+	private final int queued;
+	private final String lane;
+	private final int open;
+
+	public ConnectionStatisticsEntity(final String host, final int port, final int inFlight, final int queued) {
+		this(host, port, null, inFlight, queued);
+	}
+
+	public ConnectionStatisticsEntity(final String host, final int port, final String lane, final int inFlight,
+		final int queued) {
+		this(host, port, lane, inFlight, queued, 0);
+	}
+
+	public ConnectionStatisticsEntity(final String host, final int port, final String lane, final int inFlight,
+		final int queued, final int open) {
+		super();
+		this.host = host;
+		this.port = port;
+		this.lane = lane;
+		this.inFlight = inFlight;
+		this.queued = queued;
+		this.open = open;
+	}
+
+	/**
+	 * @return the host the connection is connected to
+	 */
+	public String getHost() {
+		return host;
+	}
+
+	/**
+	 * @return the port the connection is connected to
+	 */
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * @return the traffic lane the connection belongs to, {@code null} for the default connection pool
+	 */
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @return number of requests which are sent over the connection and wait for their response
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * @return number of requests which wait for the connection to accept them
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	/**
+	 * @return number of open sockets of the connection. A VelocyStream connection has a single socket, an HTTP
+	 *         connection leases the sockets of its host to the requests, so sockets which are open but not leased are
+	 *         idle.
+	 */
+	public int getOpen() {
+		return open;
+	}
+
+}
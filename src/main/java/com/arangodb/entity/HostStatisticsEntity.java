@@ -0,0 +1,92 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.entity;
+
+/**
+ * Snapshot of the load and the response latency of a single host.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class HostStatisticsEntity implements Entity {
+
+	private final String host;
+	private final int port;
+	private final int inFlight;
+	private final double latency;
+	private final double score;
+	private final boolean available;
+
+	public HostStatisticsEntity(final String host, final int port, final int inFlight, final double latency,
+		final double score, final boolean available) {
+		super();
+		this.host = host;
+		this.port = port;
+		this.inFlight = inFlight;
+		this.latency = latency;
+		this.score = score;
+		this.available = available;
+	}
+
+	/**
+	 * @return the host name
+	 */
+	public String getHost() {
+		return host;
+	}
+
+	/**
+	 * @return the port
+	 */
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * @return number of requests which are sent to the host and wait for their response
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * @return exponentially weighted moving average of the response latency of the host in milliseconds
+	 */
+	public double getLatency() {
+		return latency;
+	}
+
+	/**
+	 * @return the score used by {@link LoadBalancingStrategy#PEAK_EWMA}, the latency multiplied by the number of
+	 *         requests in flight plus one. Lower is better.
+	 */
+	public double getScore() {
+		return score;
+	}
+
+	/**
+	 * @return false if the host is skipped by the load balancing because its health checks failed, true otherwise
+	 */
+	public boolean isAvailable() {
+		return available;
+	}
+
+}
@@ -25,5 +25,5 @@ package com.arangodb.entity;
  *
  */
 public enum LoadBalancingStrategy {
-	NONE, ROUND_ROBIN, ONE_RANDOM
+	NONE, ROUND_ROBIN, ONE_RANDOM, LEAST_IN_FLIGHT, PEAK_EWMA
 }
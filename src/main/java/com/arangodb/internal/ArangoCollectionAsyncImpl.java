@@ -0,0 +1,446 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal;
+
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.ArangoCollectionAsync;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.Function;
+import com.arangodb.entity.CollectionEntity;
+import com.arangodb.entity.CollectionPropertiesEntity;
+import com.arangodb.entity.CollectionRevisionEntity;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.DocumentDeleteEntity;
+import com.arangodb.entity.DocumentImportEntity;
+import com.arangodb.entity.DocumentUpdateEntity;
+import com.arangodb.entity.IndexEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.entity.Permissions;
+import com.arangodb.internal.util.DocumentUtil;
+import com.arangodb.model.CollectionCreateOptions;
+import com.arangodb.model.CollectionPropertiesOptions;
+import com.arangodb.model.DocumentCreateOptions;
+import com.arangodb.model.DocumentDeleteOptions;
+import com.arangodb.model.DocumentExistsOptions;
+import com.arangodb.model.DocumentImportOptions;
+import com.arangodb.model.DocumentReadOptions;
+import com.arangodb.model.DocumentReplaceOptions;
+import com.arangodb.model.DocumentUpdateOptions;
+import com.arangodb.model.FulltextIndexOptions;
+import com.arangodb.model.GeoIndexOptions;
+import com.arangodb.model.HashIndexOptions;
+import com.arangodb.model.PersistentIndexOptions;
+import com.arangodb.model.SkiplistIndexOptions;
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ArangoCollectionAsyncImpl
+		extends InternalArangoCollection<ArangoDBAsyncImpl, ArangoDatabaseAsyncImpl, ArangoExecutorAsync>
+		implements ArangoCollectionAsync {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ArangoCollectionAsync.class);
+
+	protected ArangoCollectionAsyncImpl(final ArangoDatabaseAsyncImpl db, final String name) {
+		super(db, name);
+	}
+
+	@Override
+	public <T> ArangoFuture<DocumentCreateEntity<T>> insertDocument(final T value) {
+		final DocumentCreateOptions options = new DocumentCreateOptions();
+		return executor.execute(insertDocumentRequest(value, options),
+			insertDocumentResponseDeserializer(value, options));
+	}
+
+	@Override
+	public <T> ArangoFuture<DocumentCreateEntity<T>> insertDocument(
+		final T value,
+		final DocumentCreateOptions options) {
+		return executor.execute(insertDocumentRequest(value, options),
+			insertDocumentResponseDeserializer(value, options));
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<DocumentCreateEntity<T>>> insertDocuments(final Collection<T> values) {
+		final DocumentCreateOptions params = new DocumentCreateOptions();
+		return executor.execute(insertDocumentsRequest(values, params),
+			insertDocumentsResponseDeserializer(values, params));
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<DocumentCreateEntity<T>>> insertDocuments(
+		final Collection<T> values,
+		final DocumentCreateOptions options) {
+		final DocumentCreateOptions params = (options != null ? options : new DocumentCreateOptions());
+		return executor.execute(insertDocumentsRequest(values, params),
+			insertDocumentsResponseDeserializer(values, params));
+	}
+
+	@Override
+	public ArangoFuture<DocumentImportEntity> importDocuments(final Collection<?> values) {
+		return importDocuments(values, new DocumentImportOptions());
+	}
+
+	@Override
+	public ArangoFuture<DocumentImportEntity> importDocuments(
+		final Collection<?> values,
+		final DocumentImportOptions options) {
+		return executor.execute(importDocumentsRequest(values, options), DocumentImportEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<DocumentImportEntity> importDocuments(final String values) {
+		return executor.execute(importDocumentsRequest(values, new DocumentImportOptions()),
+			DocumentImportEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<DocumentImportEntity> importDocuments(
+		final String values,
+		final DocumentImportOptions options) {
+		return executor.execute(importDocumentsRequest(values, options), DocumentImportEntity.class);
+	}
+
+	@Override
+	public <T> ArangoFuture<T> getDocument(final String key, final Class<T> type) {
+		return getDocument(key, type, new DocumentReadOptions());
+	}
+
+	@Override
+	public <T> ArangoFuture<T> getDocument(final String key, final Class<T> type, final DocumentReadOptions options) {
+		DocumentUtil.validateDocumentKey(key);
+		return executor.<T> execute(getDocumentRequest(key, options), type).exceptionally(new Function<Throwable, T>() {
+			@Override
+			public T apply(final Throwable e) {
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug(e.getMessage(), e);
+				}
+				if (isMissing(e) && (options == null || options.isCatchException())) {
+					return null;
+				}
+				throw ArangoExecutorAsync.unchecked(e);
+			}
+		});
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<T>> getDocuments(final Collection<String> keys, final Class<T> type) {
+		return getDocuments(keys, type, new DocumentReadOptions());
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<T>> getDocuments(
+		final Collection<String> keys,
+		final Class<T> type,
+		final DocumentReadOptions options) {
+		return executor.execute(getDocumentsRequest(keys, options), getDocumentsResponseDeserializer(type, options));
+	}
+
+	@Override
+	public <T> ArangoFuture<DocumentUpdateEntity<T>> replaceDocument(final String key, final T value) {
+		final DocumentReplaceOptions options = new DocumentReplaceOptions();
+		return executor.execute(replaceDocumentRequest(key, value, options),
+			replaceDocumentResponseDeserializer(value, options));
+	}
+
+	@Override
+	public <T> ArangoFuture<DocumentUpdateEntity<T>> replaceDocument(
+		final String key,
+		final T value,
+		final DocumentReplaceOptions options) {
+		return executor.execute(replaceDocumentRequest(key, value, options),
+			replaceDocumentResponseDeserializer(value, options));
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<DocumentUpdateEntity<T>>> replaceDocuments(final Collection<T> values) {
+		final DocumentReplaceOptions params = new DocumentReplaceOptions();
+		return executor.execute(replaceDocumentsRequest(values, params),
+			replaceDocumentsResponseDeserializer(values, params));
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<DocumentUpdateEntity<T>>> replaceDocuments(
+		final Collection<T> values,
+		final DocumentReplaceOptions options) {
+		final DocumentReplaceOptions params = (options != null ? options : new DocumentReplaceOptions());
+		return executor.execute(replaceDocumentsRequest(values, params),
+			replaceDocumentsResponseDeserializer(values, params));
+	}
+
+	@Override
+	public <T> ArangoFuture<DocumentUpdateEntity<T>> updateDocument(final String key, final T value) {
+		final DocumentUpdateOptions options = new DocumentUpdateOptions();
+		return executor.execute(updateDocumentRequest(key, value, options),
+			updateDocumentResponseDeserializer(value, options));
+	}
+
+	@Override
+	public <T> ArangoFuture<DocumentUpdateEntity<T>> updateDocument(
+		final String key,
+		final T value,
+		final DocumentUpdateOptions options) {
+		return executor.execute(updateDocumentRequest(key, value, options),
+			updateDocumentResponseDeserializer(value, options));
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<DocumentUpdateEntity<T>>> updateDocuments(final Collection<T> values) {
+		final DocumentUpdateOptions params = new DocumentUpdateOptions();
+		return executor.execute(updateDocumentsRequest(values, params),
+			updateDocumentsResponseDeserializer(values, params));
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<DocumentUpdateEntity<T>>> updateDocuments(
+		final Collection<T> values,
+		final DocumentUpdateOptions options) {
+		final DocumentUpdateOptions params = (options != null ? options : new DocumentUpdateOptions());
+		return executor.execute(updateDocumentsRequest(values, params),
+			updateDocumentsResponseDeserializer(values, params));
+	}
+
+	@Override
+	public ArangoFuture<DocumentDeleteEntity<Void>> deleteDocument(final String key) {
+		return executor.execute(deleteDocumentRequest(key, new DocumentDeleteOptions()),
+			deleteDocumentResponseDeserializer(Void.class));
+	}
+
+	@Override
+	public <T> ArangoFuture<DocumentDeleteEntity<T>> deleteDocument(
+		final String key,
+		final Class<T> type,
+		final DocumentDeleteOptions options) {
+		return executor.execute(deleteDocumentRequest(key, options), deleteDocumentResponseDeserializer(type));
+	}
+
+	@Override
+	public ArangoFuture<MultiDocumentEntity<DocumentDeleteEntity<Void>>> deleteDocuments(final Collection<?> values) {
+		return executor.execute(deleteDocumentsRequest(values, new DocumentDeleteOptions()),
+			deleteDocumentsResponseDeserializer(Void.class));
+	}
+
+	@Override
+	public <T> ArangoFuture<MultiDocumentEntity<DocumentDeleteEntity<T>>> deleteDocuments(
+		final Collection<?> values,
+		final Class<T> type,
+		final DocumentDeleteOptions options) {
+		return executor.execute(deleteDocumentsRequest(values, options), deleteDocumentsResponseDeserializer(type));
+	}
+
+	@Override
+	public ArangoFuture<Boolean> documentExists(final String key) {
+		return documentExists(key, new DocumentExistsOptions());
+	}
+
+	@Override
+	public ArangoFuture<Boolean> documentExists(final String key, final DocumentExistsOptions options) {
+		return executor.<VPackSlice> execute(documentExistsRequest(key, options), VPackSlice.class)
+				.thenApply(new Function<VPackSlice, Boolean>() {
+					@Override
+					public Boolean apply(final VPackSlice result) {
+						return true;
+					}
+				}).exceptionally(new Function<Throwable, Boolean>() {
+					@Override
+					public Boolean apply(final Throwable e) {
+						if (isMissing(e) && (options == null || options.isCatchException())) {
+							return false;
+						}
+						throw ArangoExecutorAsync.unchecked(e);
+					}
+				});
+	}
+
+	private static boolean isMissing(final Throwable e) {
+		if (!(e instanceof ArangoDBException)) {
+			return false;
+		}
+		final Integer responseCode = ArangoDBException.class.cast(e).getResponseCode();
+		return responseCode != null
+				&& (responseCode.intValue() == 404 || responseCode.intValue() == 304 || responseCode.intValue() == 412);
+	}
+
+	@Override
+	public ArangoFuture<IndexEntity> getIndex(final String id) {
+		return executor.execute(getIndexRequest(id), IndexEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<String> deleteIndex(final String id) {
+		return executor.execute(deleteIndexRequest(id), deleteIndexResponseDeserializer());
+	}
+
+	@Override
+	public ArangoFuture<IndexEntity> ensureHashIndex(final Iterable<String> fields, final HashIndexOptions options) {
+		return executor.execute(createHashIndexRequest(fields, options), IndexEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<IndexEntity> ensureSkiplistIndex(
+		final Iterable<String> fields,
+		final SkiplistIndexOptions options) {
+		return executor.execute(createSkiplistIndexRequest(fields, options), IndexEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<IndexEntity> ensurePersistentIndex(
+		final Iterable<String> fields,
+		final PersistentIndexOptions options) {
+		return executor.execute(createPersistentIndexRequest(fields, options), IndexEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<IndexEntity> ensureGeoIndex(final Iterable<String> fields, final GeoIndexOptions options) {
+		return executor.execute(createGeoIndexRequest(fields, options), IndexEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<IndexEntity> ensureFulltextIndex(
+		final Iterable<String> fields,
+		final FulltextIndexOptions options) {
+		return executor.execute(createFulltextIndexRequest(fields, options), IndexEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<Collection<IndexEntity>> getIndexes() {
+		return executor.execute(getIndexesRequest(), getIndexesResponseDeserializer());
+	}
+
+	@Override
+	public ArangoFuture<Boolean> exists() {
+		return getInfo().thenApply(new Function<CollectionEntity, Boolean>() {
+			@Override
+			public Boolean apply(final CollectionEntity info) {
+				return true;
+			}
+		}).exceptionally(new Function<Throwable, Boolean>() {
+			@Override
+			public Boolean apply(final Throwable e) {
+				if (e instanceof ArangoDBException && ArangoErrors.ERROR_ARANGO_DATA_SOURCE_NOT_FOUND
+						.equals(ArangoDBException.class.cast(e).getErrorNum())) {
+					return false;
+				}
+				throw ArangoExecutorAsync.unchecked(e);
+			}
+		});
+	}
+
+	@Override
+	public ArangoFuture<CollectionEntity> truncate() {
+		return executor.execute(truncateRequest(), CollectionEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionPropertiesEntity> count() {
+		return executor.execute(countRequest(), CollectionPropertiesEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionEntity> create() {
+		return db().createCollection(name());
+	}
+
+	@Override
+	public ArangoFuture<CollectionEntity> create(final CollectionCreateOptions options) {
+		return db().createCollection(name(), options);
+	}
+
+	@Override
+	public ArangoFuture<Void> drop() {
+		return executor.execute(dropRequest(null), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<Void> drop(final boolean isSystem) {
+		return executor.execute(dropRequest(isSystem), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionEntity> load() {
+		return executor.execute(loadRequest(), CollectionEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionEntity> unload() {
+		return executor.execute(unloadRequest(), CollectionEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionEntity> getInfo() {
+		return executor.execute(getInfoRequest(), CollectionEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionPropertiesEntity> getProperties() {
+		return executor.execute(getPropertiesRequest(), CollectionPropertiesEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionPropertiesEntity> changeProperties(final CollectionPropertiesOptions options) {
+		return executor.execute(changePropertiesRequest(options), CollectionPropertiesEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<CollectionEntity> rename(final String newName) {
+		return executor.<CollectionEntity> execute(renameRequest(newName), CollectionEntity.class)
+				.thenApply(new Function<CollectionEntity, CollectionEntity>() {
+					@Override
+					public CollectionEntity apply(final CollectionEntity result) {
+						name = result.getName();
+						return result;
+					}
+				});
+	}
+
+	@Override
+	public ArangoFuture<CollectionRevisionEntity> getRevision() {
+		return executor.execute(getRevisionRequest(), CollectionRevisionEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<Void> grantAccess(final String user, final Permissions permissions) {
+		return executor.execute(grantAccessRequest(user, permissions), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<Void> revokeAccess(final String user) {
+		return executor.execute(grantAccessRequest(user, Permissions.NONE), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<Void> resetAccess(final String user) {
+		return executor.execute(resetAccessRequest(user), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<Permissions> getPermissions(final String user) {
+		return executor.execute(getPermissionsRequest(user), getPermissionsResponseDeserialzer());
+	}
+
+}
@@ -21,6 +21,7 @@
 package com.arangodb.internal;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
 import com.arangodb.entity.CursorEntity;
 
 /**
@@ -33,4 +34,8 @@ public interface ArangoCursorExecute {
 
 	void close(String id) throws ArangoDBException;
 
+	ArangoFuture<CursorEntity> nextAsync(String id);
+
+	ArangoFuture<Void> closeAsync(String id);
+
 }
@@ -0,0 +1,271 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2016 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Collections;
+
+import com.arangodb.ArangoDBAsync;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoDatabaseAsync;
+import com.arangodb.ArangoFuture;
+import com.arangodb.Protocol;
+import com.arangodb.entity.ArangoDBVersion;
+import com.arangodb.entity.BufferPoolStatisticsEntity;
+import com.arangodb.entity.ConnectionStatisticsEntity;
+import com.arangodb.entity.HostStatisticsEntity;
+import com.arangodb.entity.LogEntity;
+import com.arangodb.entity.LogLevelEntity;
+import com.arangodb.entity.Permissions;
+import com.arangodb.entity.ServerRole;
+import com.arangodb.entity.UserEntity;
+import com.arangodb.internal.ArangoExecutor.ResponseDeserializer;
+import com.arangodb.internal.http.HttpCommunication;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.HostHandle;
+import com.arangodb.internal.net.HostResolver;
+import com.arangodb.internal.net.HostResolver.EndpointResolver;
+import com.arangodb.internal.util.ArangoSerializationFactory;
+import com.arangodb.internal.util.ArangoSerializationFactory.Serializer;
+import com.arangodb.internal.util.BufferPool;
+import com.arangodb.internal.velocystream.VstCommunicationSync;
+import com.arangodb.model.LogOptions;
+import com.arangodb.model.UserCreateOptions;
+import com.arangodb.model.UserUpdateOptions;
+import com.arangodb.velocypack.exception.VPackException;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.Response;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ArangoDBAsyncImpl extends InternalArangoDB<ArangoExecutorAsync> implements ArangoDBAsync {
+
+	private final BufferPool bufferPool;
+	private final HostResolver hostResolver;
+
+	public ArangoDBAsyncImpl(final VstCommunicationSync.Builder vstBuilder,
+		final HttpCommunication.Builder httpBuilder, final ArangoSerializationFactory util, final Protocol protocol,
+		final HostResolver hostResolver, final BufferPool bufferPool, final ArangoContext context) {
+		super(new ArangoExecutorAsync(
+				ArangoDBImpl.createProtocol(vstBuilder, httpBuilder, util.get(Serializer.INTERNAL), protocol), util,
+				new DocumentCache()), util, context);
+		this.bufferPool = bufferPool;
+		this.hostResolver = hostResolver;
+		hostResolver.init(new EndpointResolver() {
+			@Override
+			public Collection<String> resolve(final boolean closeConnections) throws ArangoDBException {
+				Collection<String> response;
+				try {
+					response = executor.await(executor.execute(getEndpointsRequest(),
+						getEndpointsResponseDeserializer(), null));
+				} catch (final ArangoDBException e) {
+					final Integer responseCode = e.getResponseCode();
+					if (responseCode != null && responseCode == 403) {
+						response = Collections.<String> emptyList();
+					} else {
+						throw e;
+					}
+				} finally {
+					if (closeConnections) {
+						ArangoDBAsyncImpl.this.shutdown();
+					}
+				}
+				return response;
+			}
+		});
+	}
+
+	@Override
+	protected ArangoExecutorAsync executor() {
+		return executor;
+	}
+
+	@Override
+	public void shutdown() {
+		executor.disconnect();
+	}
+
+	@Override
+	public ArangoDatabaseAsync db() {
+		return db(ArangoRequestParam.SYSTEM);
+	}
+
+	@Override
+	public ArangoDatabaseAsync db(final String name) {
+		return new ArangoDatabaseAsyncImpl(this, name);
+	}
+
+	@Override
+	public ArangoFuture<Boolean> createDatabase(final String name) {
+		return executor.execute(createDatabaseRequest(name), createDatabaseResponseDeserializer());
+	}
+
+	@Override
+	public ArangoFuture<Collection<String>> getDatabases() {
+		return executor.execute(getDatabasesRequest(db().name()), getDatabaseResponseDeserializer());
+	}
+
+	@Override
+	public ArangoFuture<Collection<String>> getAccessibleDatabases() {
+		return db().getAccessibleDatabases();
+	}
+
+	@Override
+	public ArangoFuture<Collection<String>> getAccessibleDatabasesFor(final String user) {
+		return executor.execute(getAccessibleDatabasesForRequest(db().name(), user),
+			getAccessibleDatabasesForResponseDeserializer());
+	}
+
+	@Override
+	public ArangoFuture<ArangoDBVersion> getVersion() {
+		return db().getVersion();
+	}
+
+	@Override
+	public ArangoFuture<ServerRole> getRole() {
+		return executor.execute(getRoleRequest(), getRoleResponseDeserializer());
+	}
+
+	@Override
+	public ArangoFuture<UserEntity> createUser(final String user, final String passwd) {
+		return executor.execute(createUserRequest(db().name(), user, passwd, new UserCreateOptions()),
+			UserEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<UserEntity> createUser(
+		final String user,
+		final String passwd,
+		final UserCreateOptions options) {
+		return executor.execute(createUserRequest(db().name(), user, passwd, options), UserEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<Void> deleteUser(final String user) {
+		return executor.execute(deleteUserRequest(db().name(), user), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<UserEntity> getUser(final String user) {
+		return executor.execute(getUserRequest(db().name(), user), UserEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<Collection<UserEntity>> getUsers() {
+		return executor.execute(getUsersRequest(db().name()), getUsersResponseDeserializer());
+	}
+
+	@Override
+	public ArangoFuture<UserEntity> updateUser(final String user, final UserUpdateOptions options) {
+		return executor.execute(updateUserRequest(db().name(), user, options), UserEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<UserEntity> replaceUser(final String user, final UserUpdateOptions options) {
+		return executor.execute(replaceUserRequest(db().name(), user, options), UserEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<Void> grantDefaultDatabaseAccess(final String user, final Permissions permissions) {
+		return executor.execute(updateUserDefaultDatabaseAccessRequest(user, permissions), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<Void> grantDefaultCollectionAccess(final String user, final Permissions permissions) {
+		return executor.execute(updateUserDefaultCollectionAccessRequest(user, permissions), Void.class);
+	}
+
+	@Override
+	public ArangoFuture<Response> execute(final Request request) {
+		return executor.execute(request, new ResponseDeserializer<Response>() {
+			@Override
+			public Response deserialize(final Response response) throws VPackException {
+				return response;
+			}
+		});
+	}
+
+	@Override
+	public ArangoFuture<Response> execute(final Request request, final HostHandle hostHandle) {
+		return executor.execute(request, new ResponseDeserializer<Response>() {
+			@Override
+			public Response deserialize(final Response response) throws VPackException {
+				return response;
+			}
+		}, hostHandle);
+	}
+
+	@Override
+	public ArangoFuture<LogEntity> getLogs(final LogOptions options) {
+		return executor.execute(getLogsRequest(options), LogEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<LogLevelEntity> getLogLevel() {
+		return executor.execute(getLogLevelRequest(), LogLevelEntity.class);
+	}
+
+	@Override
+	public ArangoFuture<LogLevelEntity> setLogLevel(final LogLevelEntity entity) {
+		return executor.execute(setLogLevelRequest(entity), LogLevelEntity.class);
+	}
+
+	@Override
+	public BufferPoolStatisticsEntity getBufferPoolStatistics() {
+		return bufferPool.getStatistics();
+	}
+
+	@Override
+	public Collection<ConnectionStatisticsEntity> getConnectionStatistics() {
+		final Collection<ConnectionStatisticsEntity> statistics = new ArrayList<ConnectionStatisticsEntity>();
+		for (final Host host : hostResolver.resolve(true, false)) {
+			final HostDescription description = host.getDescription();
+			final List<String> lanes = new ArrayList<String>();
+			lanes.add(null);
+			lanes.addAll(host.lanes());
+			for (final String lane : lanes) {
+				for (final Connection connection : host.connections(lane)) {
+					statistics.add(new ConnectionStatisticsEntity(description.getHost(), description.getPort(), lane,
+							connection.getInFlight(), connection.getQueued(), connection.getOpen()));
+				}
+			}
+		}
+		return statistics;
+	}
+
+	@Override
+	public Collection<HostStatisticsEntity> getHostStatistics() {
+		final Collection<HostStatisticsEntity> statistics = new ArrayList<HostStatisticsEntity>();
+		for (final Host host : hostResolver.resolve(false, false)) {
+			final HostDescription description = host.getDescription();
+			statistics.add(new HostStatisticsEntity(description.getHost(), description.getPort(), host.getInFlight(),
+					host.getLatency() / 1000000d, host.getScore() / 1000000d, host.isAvailable()));
+		}
+		return statistics;
+	}
+
+}
@@ -23,14 +23,17 @@ package com.arangodb.internal;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Collections;
-import java.util.Map;
 
 import com.arangodb.ArangoDB;
 import com.arangodb.ArangoDBException;
 import com.arangodb.ArangoDatabase;
 import com.arangodb.Protocol;
 import com.arangodb.entity.ArangoDBVersion;
+import com.arangodb.entity.BufferPoolStatisticsEntity;
+import com.arangodb.entity.ConnectionStatisticsEntity;
+import com.arangodb.entity.HostStatisticsEntity;
 import com.arangodb.entity.LogEntity;
 import com.arangodb.entity.LogLevelEntity;
 import com.arangodb.entity.Permissions;
@@ -40,11 +43,15 @@ import com.arangodb.internal.ArangoExecutor.ResponseDeserializer;
 import com.arangodb.internal.http.HttpCommunication;
 import com.arangodb.internal.http.HttpProtocol;
 import com.arangodb.internal.net.CommunicationProtocol;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostDescription;
 import com.arangodb.internal.net.HostHandle;
 import com.arangodb.internal.net.HostResolver;
 import com.arangodb.internal.net.HostResolver.EndpointResolver;
 import com.arangodb.internal.util.ArangoSerializationFactory;
 import com.arangodb.internal.util.ArangoSerializationFactory.Serializer;
+import com.arangodb.internal.util.BufferPool;
 import com.arangodb.internal.velocystream.VstCommunicationSync;
 import com.arangodb.internal.velocystream.VstProtocol;
 import com.arangodb.model.LogOptions;
@@ -52,10 +59,8 @@ import com.arangodb.model.UserCreateOptions;
 import com.arangodb.model.UserUpdateOptions;
 import com.arangodb.util.ArangoCursorInitializer;
 import com.arangodb.util.ArangoSerialization;
-import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
 import com.arangodb.velocystream.Request;
-import com.arangodb.velocystream.RequestType;
 import com.arangodb.velocystream.Response;
 
 /**
@@ -66,40 +71,24 @@ public class ArangoDBImpl extends InternalArangoDB<ArangoExecutorSync> implement
 
 	private ArangoCursorInitializer cursorInitializer;
 	private CommunicationProtocol cp;
+	private final BufferPool bufferPool;
+	private final HostResolver hostResolver;
 
 	public ArangoDBImpl(final VstCommunicationSync.Builder vstBuilder, final HttpCommunication.Builder httpBuilder,
 		final ArangoSerializationFactory util, final Protocol protocol, final HostResolver hostResolver,
-		final ArangoContext context) {
+		final BufferPool bufferPool, final ArangoContext context) {
 		super(new ArangoExecutorSync(createProtocol(vstBuilder, httpBuilder, util.get(Serializer.INTERNAL), protocol),
 				util, new DocumentCache()), util, context);
 		cp = createProtocol(new VstCommunicationSync.Builder(vstBuilder).maxConnections(1),
 			new HttpCommunication.Builder(httpBuilder), util.get(Serializer.INTERNAL), protocol);
+		this.bufferPool = bufferPool;
+		this.hostResolver = hostResolver;
 		hostResolver.init(new EndpointResolver() {
 			@Override
 			public Collection<String> resolve(final boolean closeConnections) throws ArangoDBException {
 				Collection<String> response;
 				try {
-					response = executor.execute(new Request(ArangoRequestParam.SYSTEM, RequestType.GET, PATH_ENDPOINTS),
-						new ResponseDeserializer<Collection<String>>() {
-							@Override
-							public Collection<String> deserialize(final Response response) throws VPackException {
-								final VPackSlice field = response.getBody().get("endpoints");
-								Collection<String> endpoints;
-								if (field.isNone()) {
-									endpoints = Collections.<String> emptyList();
-								} else {
-									final Collection<Map<String, String>> tmp = util().deserialize(field,
-										Collection.class);
-									endpoints = new ArrayList<String>();
-									for (final Map<String, String> map : tmp) {
-										for (final String value : map.values()) {
-											endpoints.add(value);
-										}
-									}
-								}
-								return endpoints;
-							}
-						}, null);
+					response = executor.execute(getEndpointsRequest(), getEndpointsResponseDeserializer(), null);
 				} catch (final ArangoDBException e) {
 					final Integer responseCode = e.getResponseCode();
 					if (responseCode != null && responseCode == 403) {
@@ -117,7 +106,7 @@ public class ArangoDBImpl extends InternalArangoDB<ArangoExecutorSync> implement
 		});
 	}
 
-	private static CommunicationProtocol createProtocol(
+	static CommunicationProtocol createProtocol(
 		final VstCommunicationSync.Builder vstBuilder,
 		final HttpCommunication.Builder httpBuilder,
 		final ArangoSerialization util,
@@ -277,6 +266,40 @@ public class ArangoDBImpl extends InternalArangoDB<ArangoExecutorSync> implement
 		return executor.execute(setLogLevelRequest(entity), LogLevelEntity.class);
 	}
 
+	@Override
+	public BufferPoolStatisticsEntity getBufferPoolStatistics() {
+		return bufferPool.getStatistics();
+	}
+
+	@Override
+	public Collection<ConnectionStatisticsEntity> getConnectionStatistics() {
+		final Collection<ConnectionStatisticsEntity> statistics = new ArrayList<ConnectionStatisticsEntity>();
+		for (final Host host : hostResolver.resolve(true, false)) {
+			final HostDescription description = host.getDescription();
+			final List<String> lanes = new ArrayList<String>();
+			lanes.add(null);
+			lanes.addAll(host.lanes());
+			for (final String lane : lanes) {
+				for (final Connection connection : host.connections(lane)) {
+					statistics.add(new ConnectionStatisticsEntity(description.getHost(), description.getPort(), lane,
+							connection.getInFlight(), connection.getQueued(), connection.getOpen()));
+				}
+			}
+		}
+		return statistics;
+	}
+
+	@Override
+	public Collection<HostStatisticsEntity> getHostStatistics() {
+		final Collection<HostStatisticsEntity> statistics = new ArrayList<HostStatisticsEntity>();
+		for (final Host host : hostResolver.resolve(false, false)) {
+			final HostDescription description = host.getDescription();
+			statistics.add(new HostStatisticsEntity(description.getHost(), description.getPort(), host.getInFlight(),
+					host.getLatency() / 1000000d, host.getScore() / 1000000d, host.isAvailable()));
+		}
+		return statistics;
+	}
+
 	@Override
 	public ArangoDBImpl _setCursorInitializer(final ArangoCursorInitializer cursorInitializer) {
 		this.cursorInitializer = cursorInitializer;
@@ -28,6 +28,7 @@ import com.arangodb.ArangoCollection;
 import com.arangodb.ArangoCursor;
 import com.arangodb.ArangoDBException;
 import com.arangodb.ArangoDatabase;
+import com.arangodb.ArangoFuture;
 import com.arangodb.ArangoGraph;
 import com.arangodb.ArangoRoute;
 import com.arangodb.ArangoSearch;
@@ -237,6 +238,16 @@ public class ArangoDatabaseImpl extends InternalArangoDatabase<ArangoDBImpl, Ara
 			public void close(final String id) {
 				executor.execute(queryCloseRequest(id, options), Void.class, hostHandle);
 			}
+
+			@Override
+			public ArangoFuture<CursorEntity> nextAsync(final String id) {
+				return executor.executeAsync(queryNextRequest(id, options), CursorEntity.class, hostHandle);
+			}
+
+			@Override
+			public ArangoFuture<Void> closeAsync(final String id) {
+				return executor.executeAsync(queryCloseRequest(id, options), Void.class, hostHandle);
+			}
 		};
 		return cursorInitializer != null ? cursorInitializer.createInstance(this, execute, type, result)
 				: new ArangoCursorImpl<T>(this, execute, type, result);
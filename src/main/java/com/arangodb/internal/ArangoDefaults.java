@@ -20,7 +20,10 @@
 
 package com.arangodb.internal;
 
+import com.arangodb.FlushPolicy;
 import com.arangodb.Protocol;
+import com.arangodb.SaturationPolicy;
+import com.arangodb.Transport;
 import com.arangodb.entity.LoadBalancingStrategy;
 
 /**
@@ -39,6 +42,7 @@ public final class ArangoDefaults {
 	public static final String DEFAULT_HOST = "127.0.0.1";
 	public static final Integer DEFAULT_PORT = 8529;
 	public static final Integer DEFAULT_TIMEOUT = 0;
+	public static final Integer DEFAULT_REQUEST_TIMEOUT = null;
 	public static final String DEFAULT_USER = "root";
 	public static final Boolean DEFAULT_USE_SSL = false;
 	public static final int CHUNK_MIN_HEADER_SIZE = INTEGER_BYTES + INTEGER_BYTES + LONG_BYTES;
@@ -46,9 +50,28 @@ public final class ArangoDefaults {
 	public static final int CHUNK_DEFAULT_CONTENT_SIZE = 30000;
 	public static final int MAX_CONNECTIONS_VST_DEFAULT = 1;
 	public static final Integer CONNECTION_TTL_VST_DEFAULT = null;
+	public static final int DEFAULT_MIN_CONNECTIONS = 0;
+	public static final Long DEFAULT_CONNECTION_IDLE_TIMEOUT = null;
+	public static final String BULK_LANE = "bulk";
+	public static final Integer DEFAULT_MAX_IN_FLIGHT = null;
+	public static final Long DEFAULT_MAX_REASSEMBLY_BYTES = null;
+	public static final SaturationPolicy DEFAULT_SATURATION_POLICY = SaturationPolicy.BLOCK;
 	public static final int MAX_CONNECTIONS_HTTP_DEFAULT = 20;
+	public static final int MAX_CONNECTIONS_HTTP2_DEFAULT = 1;
+	public static final int HTTP_VALIDATE_AFTER_INACTIVITY = 2000;
 	public static final Protocol DEFAULT_NETWORK_PROTOCOL = Protocol.VST;
+	public static final Transport DEFAULT_TRANSPORT = Transport.SOCKET;
+	public static final int DEFAULT_IO_THREADS = 1;
+	public static final FlushPolicy DEFAULT_FLUSH_POLICY = FlushPolicy.BATCH;
+	public static final boolean DEFAULT_POOLED_BUFFERS = false;
+	public static final boolean DEFAULT_DIRECT_BUFFERS = false;
+	public static final int BUFFER_POOL_MAX_BUFFER_SIZE = 1024 * 1024;
+	public static final int BUFFER_POOL_MAX_CLASS_BYTES = 4 * 1024 * 1024;
 	public static final boolean DEFAULT_ACQUIRE_HOST_LIST = false;
 	public static final LoadBalancingStrategy DEFAULT_LOAD_BALANCING_STRATEGY = LoadBalancingStrategy.NONE;
+	public static final Integer DEFAULT_HEALTH_CHECK_INTERVAL = null;
+	public static final int DEFAULT_HEALTH_CHECK_THRESHOLD = 2;
+	public static final Double DEFAULT_HEDGE_PERCENTILE = null;
+	public static final double DEFAULT_HEDGE_BUDGET = 0.05;
 
 }
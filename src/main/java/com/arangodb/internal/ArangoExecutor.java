@@ -21,10 +21,15 @@
 package com.arangodb.internal;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
 
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.Function;
 import com.arangodb.internal.util.ArangoSerializationFactory;
 import com.arangodb.internal.util.ArangoSerializationFactory.Serializer;
 import com.arangodb.util.ArangoSerialization;
+import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
 import com.arangodb.velocystream.Response;
 
@@ -57,4 +62,38 @@ public abstract class ArangoExecutor {
 				: null);
 	}
 
+	/**
+	 * Returns the buffer of the response to the pool once the result has been deserialized from it. A top-level
+	 * {@link VPackSlice} result is the body itself and is therefore copied out of the buffer first.
+	 */
+	@SuppressWarnings("unchecked")
+	protected static <T> T release(final Response response, final T result) {
+		if (result == response) {
+			return result;
+		}
+		T detached = result;
+		if (result instanceof VPackSlice && response.isPooled()) {
+			final VPackSlice slice = (VPackSlice) result;
+			detached = (T) new VPackSlice(
+					Arrays.copyOfRange(slice.getBuffer(), slice.getStart(), slice.getStart() + slice.getByteSize()));
+		}
+		response.release();
+		return detached;
+	}
+
+	protected <T> ArangoFuture<T> createResult(
+		final ArangoFuture<Response> response,
+		final ResponseDeserializer<T> responseDeserializer) {
+		return response.thenApply(new Function<Response, T>() {
+			@Override
+			public T apply(final Response response) {
+				try {
+					return release(response, responseDeserializer.deserialize(response));
+				} catch (final VPackException e) {
+					throw new ArangoDBException(e);
+				}
+			}
+		});
+	}
+
 }
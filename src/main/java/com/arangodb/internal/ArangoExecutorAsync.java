@@ -0,0 +1,106 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ExecutionException;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.internal.net.CommunicationProtocol;
+import com.arangodb.internal.net.HostHandle;
+import com.arangodb.internal.util.ArangoSerializationFactory;
+import com.arangodb.velocypack.exception.VPackException;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.Response;
+
+/**
+ * Executes requests without blocking the caller. The response is deserialized by the thread completing the request,
+ * for VelocyStream the reader of the connection.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class ArangoExecutorAsync extends ArangoExecutor {
+
+	private final CommunicationProtocol protocol;
+
+	public ArangoExecutorAsync(final CommunicationProtocol protocol, final ArangoSerializationFactory util,
+		final DocumentCache documentCache) {
+		super(util, documentCache);
+		this.protocol = protocol;
+	}
+
+	public <T> ArangoFuture<T> execute(final Request request, final Type type) {
+		return execute(request, type, null);
+	}
+
+	public <T> ArangoFuture<T> execute(final Request request, final Type type, final HostHandle hostHandle) {
+		return execute(request, new ResponseDeserializer<T>() {
+			@Override
+			public T deserialize(final Response response) throws VPackException {
+				return createResult(type, response);
+			}
+		}, hostHandle);
+	}
+
+	public <T> ArangoFuture<T> execute(final Request request, final ResponseDeserializer<T> responseDeserializer) {
+		return execute(request, responseDeserializer, null);
+	}
+
+	public <T> ArangoFuture<T> execute(
+		final Request request,
+		final ResponseDeserializer<T> responseDeserializer,
+		final HostHandle hostHandle) {
+		return createResult(protocol.executeAsync(request, hostHandle), responseDeserializer);
+	}
+
+	/**
+	 * Blocks until the given future is completed, for callers which need the result synchronously, like the cursor
+	 * fetching its next batch.
+	 */
+	public <T> T await(final ArangoFuture<T> future) {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ArangoDBException(e);
+		} catch (final ExecutionException e) {
+			throw unchecked(e.getCause());
+		}
+	}
+
+	/**
+	 * @return the given cause of a failed future as unchecked exception, to be rethrown within a callback
+	 */
+	protected static RuntimeException unchecked(final Throwable cause) {
+		return cause instanceof RuntimeException ? (RuntimeException) cause : new ArangoDBException(cause);
+	}
+
+	public void disconnect() {
+		try {
+			protocol.close();
+		} catch (final IOException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+}
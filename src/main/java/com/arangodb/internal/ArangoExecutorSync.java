@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
 import com.arangodb.internal.net.CommunicationProtocol;
 import com.arangodb.internal.net.HostHandle;
 import com.arangodb.internal.util.ArangoSerializationFactory;
@@ -69,12 +70,25 @@ public class ArangoExecutorSync extends ArangoExecutor {
 		final HostHandle hostHandle) throws ArangoDBException {
 		try {
 			final Response response = protocol.execute(request, hostHandle);
-			return responseDeserializer.deserialize(response);
+			return release(response, responseDeserializer.deserialize(response));
 		} catch (final VPackException e) {
 			throw new ArangoDBException(e);
 		}
 	}
 
+	/**
+	 * Executes the request without blocking the caller, for operations of the synchronous API which do not need to
+	 * wait for the response, like the publisher of a cursor.
+	 */
+	public <T> ArangoFuture<T> executeAsync(final Request request, final Type type, final HostHandle hostHandle) {
+		return createResult(protocol.executeAsync(request, hostHandle), new ResponseDeserializer<T>() {
+			@Override
+			public T deserialize(final Response response) throws VPackException {
+				return createResult(type, response);
+			}
+		});
+	}
+
 	public void disconnect() {
 		try {
 			protocol.close();
@@ -61,6 +61,7 @@ import com.arangodb.velocypack.Type;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.exception.VPackException;
 import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestPriority;
 import com.arangodb.velocystream.RequestType;
 import com.arangodb.velocystream.Response;
 
@@ -114,6 +115,7 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		request.putQueryParam(SILENT, params.getSilent());
 		request.putQueryParam(OVERWRITE, params.getOverwrite());
 		request.setBody(util(Serializer.CUSTOM).serialize(value));
+		request.setLane(params.getLane());
 		return request;
 	}
 
@@ -155,6 +157,8 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		request.putQueryParam(OVERWRITE, params.getOverwrite());
 		request.setBody(util(Serializer.CUSTOM).serialize(values,
 			new ArangoSerializer.Options().serializeNullValues(false).stringAsJson(true)));
+		request.setLane(params.getLane() != null ? params.getLane() : ArangoDefaults.BULK_LANE)
+				.setPriority(RequestPriority.LOW);
 		return request;
 	}
 
@@ -220,18 +224,22 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 				.putQueryParam(ArangoRequestParam.WAIT_FOR_SYNC, params.getWaitForSync())
 				.putQueryParam("fromPrefix", params.getFromPrefix()).putQueryParam("toPrefix", params.getToPrefix())
 				.putQueryParam(OVERWRITE, params.getOverwrite()).putQueryParam("onDuplicate", params.getOnDuplicate())
-				.putQueryParam("complete", params.getComplete()).putQueryParam("details", params.getDetails());
+				.putQueryParam("complete", params.getComplete()).putQueryParam("details", params.getDetails())
+				.setLane(params.getLane() != null ? params.getLane() : ArangoDefaults.BULK_LANE)
+				.setPriority(RequestPriority.LOW);
 	}
 
 	protected Request getDocumentRequest(final String key, final DocumentReadOptions options) {
 		final Request request = request(db.name(), RequestType.GET, PATH_API_DOCUMENT,
-			DocumentUtil.createDocumentHandle(name, key));
+			DocumentUtil.createDocumentHandle(name, key)).setIdempotent(true);
 		final DocumentReadOptions params = (options != null ? options : new DocumentReadOptions());
 		request.putHeaderParam(ArangoRequestParam.IF_NONE_MATCH, params.getIfNoneMatch());
 		request.putHeaderParam(ArangoRequestParam.IF_MATCH, params.getIfMatch());
 		if (params.getAllowDirtyRead() == Boolean.TRUE) {
 			RequestUtils.allowDirtyRead(request);
 		}
+		request.setTimeout(params.getTimeout());
+		request.setLane(params.getLane());
 		return request;
 	}
 
@@ -240,10 +248,13 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		final Request request = request(db.name(), RequestType.PUT, PATH_API_DOCUMENT, name)
 				.putQueryParam("onlyget", true)
 				.putHeaderParam(ArangoRequestParam.IF_NONE_MATCH, params.getIfNoneMatch())
-				.putHeaderParam(ArangoRequestParam.IF_MATCH, params.getIfMatch()).setBody(util().serialize(keys));
+				.putHeaderParam(ArangoRequestParam.IF_MATCH, params.getIfMatch()).setBody(util().serialize(keys))
+				.setIdempotent(true);
 		if (params.getAllowDirtyRead() == Boolean.TRUE) {
 			RequestUtils.allowDirtyRead(request);
 		}
+		request.setTimeout(params.getTimeout());
+		request.setLane(params.getLane());
 		return request;
 	}
 
@@ -293,6 +304,7 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		request.putQueryParam(RETURN_OLD, params.getReturnOld());
 		request.putQueryParam(SILENT, params.getSilent());
 		request.setBody(util(Serializer.CUSTOM).serialize(value));
+		request.setLane(params.getLane());
 		return request;
 	}
 
@@ -333,6 +345,8 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		request.putQueryParam(SILENT, params.getSilent());
 		request.setBody(util(Serializer.CUSTOM).serialize(values,
 			new ArangoSerializer.Options().serializeNullValues(false).stringAsJson(true)));
+		request.setLane(params.getLane() != null ? params.getLane() : ArangoDefaults.BULK_LANE)
+				.setPriority(RequestPriority.LOW);
 		return request;
 	}
 
@@ -397,6 +411,7 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		request.putQueryParam(SILENT, params.getSilent());
 		request.setBody(util(Serializer.CUSTOM).serialize(value, new ArangoSerializer.Options()
 				.serializeNullValues(params.getSerializeNull() == null || params.getSerializeNull())));
+		request.setLane(params.getLane());
 		return request;
 	}
 
@@ -442,6 +457,8 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 			new ArangoSerializer.Options()
 					.serializeNullValues(params.getSerializeNull() == null || params.getSerializeNull())
 					.stringAsJson(true)));
+		request.setLane(params.getLane() != null ? params.getLane() : ArangoDefaults.BULK_LANE)
+				.setPriority(RequestPriority.LOW);
 		return request;
 	}
 
@@ -500,6 +517,7 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		request.putQueryParam(ArangoRequestParam.WAIT_FOR_SYNC, params.getWaitForSync());
 		request.putQueryParam(RETURN_OLD, params.getReturnOld());
 		request.putQueryParam(SILENT, params.getSilent());
+		request.setLane(params.getLane());
 		return request;
 	}
 
@@ -527,6 +545,8 @@ public abstract class InternalArangoCollection<A extends InternalArangoDB<E>, D
 		request.putQueryParam(RETURN_OLD, params.getReturnOld());
 		request.putQueryParam(SILENT, params.getSilent());
 		request.setBody(util().serialize(keys));
+		request.setLane(params.getLane() != null ? params.getLane() : ArangoDefaults.BULK_LANE)
+				.setPriority(RequestPriority.LOW);
 		return request;
 	}
 
@@ -22,7 +22,9 @@ package com.arangodb.internal;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import com.arangodb.entity.LogLevelEntity;
@@ -73,6 +75,32 @@ public abstract class InternalArangoDB<E extends ArangoExecutor> extends ArangoE
 		};
 	}
 
+	protected Request getEndpointsRequest() {
+		return new Request(ArangoRequestParam.SYSTEM, RequestType.GET, PATH_ENDPOINTS);
+	}
+
+	protected ResponseDeserializer<Collection<String>> getEndpointsResponseDeserializer() {
+		return new ResponseDeserializer<Collection<String>>() {
+			@Override
+			public Collection<String> deserialize(final Response response) throws VPackException {
+				final VPackSlice field = response.getBody().get("endpoints");
+				Collection<String> endpoints;
+				if (field.isNone()) {
+					endpoints = Collections.<String> emptyList();
+				} else {
+					final Collection<Map<String, String>> tmp = util().deserialize(field, Collection.class);
+					endpoints = new ArrayList<String>();
+					for (final Map<String, String> map : tmp) {
+						for (final String value : map.values()) {
+							endpoints.add(value);
+						}
+					}
+				}
+				return endpoints;
+			}
+		};
+	}
+
 	protected Request createDatabaseRequest(final String name) {
 		final Request request = request(ArangoRequestParam.SYSTEM, RequestType.POST,
 			InternalArangoDatabase.PATH_API_DATABASE);
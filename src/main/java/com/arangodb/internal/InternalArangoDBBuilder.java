@@ -24,33 +24,59 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.net.ssl.SSLContext;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.arangodb.ArangoDB;
 import com.arangodb.ArangoDBException;
+import com.arangodb.FlushPolicy;
+import com.arangodb.Protocol;
+import com.arangodb.SaturationPolicy;
+import com.arangodb.Transport;
 import com.arangodb.entity.LoadBalancingStrategy;
+import com.arangodb.internal.http.HttpCommunication;
+import com.arangodb.internal.net.CommunicationProtocol;
 import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.ConnectionFactory;
+import com.arangodb.internal.net.ConnectionReaper;
 import com.arangodb.internal.net.DirtyReadHostHandler;
 import com.arangodb.internal.net.ExtendedHostResolver;
 import com.arangodb.internal.net.FallbackHostHandler;
+import com.arangodb.internal.net.HealthCheckHostHandler;
+import com.arangodb.internal.net.HedgingPolicy;
+import com.arangodb.internal.net.HealthCheckHostHandler.HostProbe;
 import com.arangodb.internal.net.Host;
 import com.arangodb.internal.net.HostDescription;
 import com.arangodb.internal.net.HostHandler;
 import com.arangodb.internal.net.HostResolver;
+import com.arangodb.internal.net.Lane;
+import com.arangodb.internal.net.LeastInFlightHostHandler;
+import com.arangodb.internal.net.PeakEwmaHostHandler;
 import com.arangodb.internal.net.RandomHostHandler;
 import com.arangodb.internal.net.RoundRobinHostHandler;
 import com.arangodb.internal.net.SimpleHostResolver;
 import com.arangodb.internal.util.HostUtils;
 import com.arangodb.internal.velocypack.VPackDriverModule;
+import com.arangodb.internal.velocystream.VstCommunicationSync;
 import com.arangodb.util.ArangoDeserializer;
 import com.arangodb.util.ArangoSerialization;
 import com.arangodb.util.ArangoSerializer;
 import com.arangodb.velocypack.VPack;
 import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
 
 /**
  * @author Mark Vollmary
@@ -58,37 +84,71 @@ import com.arangodb.velocypack.VPackParser;
  */
 public abstract class InternalArangoDBBuilder {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(InternalArangoDBBuilder.class);
+
 	private static final String PROPERTY_KEY_HOSTS = "arangodb.hosts";
 	private static final String PROPERTY_KEY_HOST = "arangodb.host";
 	private static final String PROPERTY_KEY_PORT = "arangodb.port";
 	private static final String PROPERTY_KEY_TIMEOUT = "arangodb.timeout";
+	private static final String PROPERTY_KEY_REQUEST_TIMEOUT = "arangodb.requestTimeout";
 	private static final String PROPERTY_KEY_USER = "arangodb.user";
 	private static final String PROPERTY_KEY_PASSWORD = "arangodb.password";
 	private static final String PROPERTY_KEY_USE_SSL = "arangodb.usessl";
 	private static final String PROPERTY_KEY_V_STREAM_CHUNK_CONTENT_SIZE = "arangodb.chunksize";
 	private static final String PROPERTY_KEY_MAX_CONNECTIONS = "arangodb.connections.max";
+	private static final String PROPERTY_KEY_MIN_CONNECTIONS = "arangodb.connections.min";
 	private static final String PROPERTY_KEY_CONNECTION_TTL = "arangodb.connections.ttl";
+	private static final String PROPERTY_KEY_CONNECTION_IDLE_TIMEOUT = "arangodb.connections.idleTimeout";
+	private static final String PROPERTY_KEY_LANES = "arangodb.lanes";
+	private static final String PROPERTY_KEY_MAX_IN_FLIGHT = "arangodb.connections.maxInFlight";
+	private static final String PROPERTY_KEY_MAX_REASSEMBLY_BYTES = "arangodb.connections.maxReassemblyBytes";
+	private static final String PROPERTY_KEY_SATURATION_POLICY = "arangodb.connections.saturationPolicy";
 	private static final String PROPERTY_KEY_ACQUIRE_HOST_LIST = "arangodb.acquireHostList";
 	private static final String PROPERTY_KEY_LOAD_BALANCING_STRATEGY = "arangodb.loadBalancingStrategy";
+	private static final String PROPERTY_KEY_HEALTH_CHECK_INTERVAL = "arangodb.healthCheckInterval";
+	private static final String PROPERTY_KEY_HEALTH_CHECK_THRESHOLD = "arangodb.healthCheckThreshold";
+	private static final String PROPERTY_KEY_HEDGE_PERCENTILE = "arangodb.hedgePercentile";
+	private static final String PROPERTY_KEY_HEDGE_BUDGET = "arangodb.hedgeBudget";
+	private static final String PROPERTY_KEY_TRANSPORT = "arangodb.transport";
+	private static final String PROPERTY_KEY_IO_THREADS = "arangodb.ioThreads";
+	private static final String PROPERTY_KEY_FLUSH_POLICY = "arangodb.flushPolicy";
+	private static final String PROPERTY_KEY_POOLED_BUFFERS = "arangodb.pooledBuffers";
+	private static final String PROPERTY_KEY_DIRECT_BUFFERS = "arangodb.directBuffers";
 	private static final String DEFAULT_PROPERTY_FILE = "/arangodb.properties";
 
 	protected final List<HostDescription> hosts;
 	protected HostDescription host;
 	protected Integer timeout;
+	protected Integer requestTimeout;
 	protected String user;
 	protected String password;
 	protected Boolean useSsl;
 	protected SSLContext sslContext;
 	protected Integer chunksize;
 	protected Integer maxConnections;
+	protected Integer minConnections;
 	protected Long connectionTtl;
+	protected Long connectionIdleTimeout;
+	protected final List<Lane> lanes;
+	protected Integer maxInFlight;
+	protected Long maxReassemblyBytes;
+	protected SaturationPolicy saturationPolicy;
 	protected final VPack.Builder vpackBuilder;
 	protected final VPackParser.Builder vpackParserBuilder;
 	protected ArangoSerializer serializer;
 	protected ArangoDeserializer deserializer;
 	protected Boolean acquireHostList;
 	protected LoadBalancingStrategy loadBalancingStrategy;
+	protected Integer healthCheckInterval;
+	protected Integer healthCheckThreshold;
+	protected Double hedgePercentile;
+	protected Double hedgeBudget;
 	protected ArangoSerialization customSerializer;
+	protected Transport transport;
+	protected Integer ioThreads;
+	protected FlushPolicy flushPolicy;
+	protected Boolean pooledBuffers;
+	protected Boolean directBuffers;
 
 	public InternalArangoDBBuilder() {
 		super();
@@ -98,6 +158,7 @@ public abstract class InternalArangoDBBuilder {
 		vpackParserBuilder.registerModule(new VPackDriverModule());
 		host = new HostDescription(ArangoDefaults.DEFAULT_HOST, ArangoDefaults.DEFAULT_PORT);
 		hosts = new ArrayList<HostDescription>();
+		lanes = new ArrayList<Lane>();
 		user = ArangoDefaults.DEFAULT_USER;
 		loadProperties(ArangoDB.class.getResourceAsStream(DEFAULT_PROPERTY_FILE));
 	}
@@ -117,18 +178,34 @@ public abstract class InternalArangoDBBuilder {
 
 	protected void loadProperties(final Properties properties) {
 		loadHosts(properties, this.hosts);
+		loadLanes(properties, this.lanes);
 		final String host = loadHost(properties, this.host.getHost());
 		final int port = loadPort(properties, this.host.getPort());
 		this.host = new HostDescription(host, port);
 		timeout = loadTimeout(properties, timeout);
+		requestTimeout = loadRequestTimeout(properties, requestTimeout);
 		user = loadUser(properties, user);
 		password = loadPassword(properties, password);
 		useSsl = loadUseSsl(properties, useSsl);
 		chunksize = loadChunkSize(properties, chunksize);
 		maxConnections = loadMaxConnections(properties, maxConnections);
+		minConnections = loadMinConnections(properties, minConnections);
 		connectionTtl = loadConnectionTtl(properties, connectionTtl);
+		connectionIdleTimeout = loadConnectionIdleTimeout(properties, connectionIdleTimeout);
+		maxInFlight = loadMaxInFlight(properties, maxInFlight);
+		maxReassemblyBytes = loadMaxReassemblyBytes(properties, maxReassemblyBytes);
+		saturationPolicy = loadSaturationPolicy(properties, saturationPolicy);
 		acquireHostList = loadAcquireHostList(properties, acquireHostList);
 		loadBalancingStrategy = loadLoadBalancingStrategy(properties, loadBalancingStrategy);
+		healthCheckInterval = loadHealthCheckInterval(properties, healthCheckInterval);
+		healthCheckThreshold = loadHealthCheckThreshold(properties, healthCheckThreshold);
+		hedgePercentile = loadHedgePercentile(properties, hedgePercentile);
+		hedgeBudget = loadHedgeBudget(properties, hedgeBudget);
+		transport = loadTransport(properties, transport);
+		ioThreads = loadIoThreads(properties, ioThreads);
+		flushPolicy = loadFlushPolicy(properties, flushPolicy);
+		pooledBuffers = loadPooledBuffers(properties, pooledBuffers);
+		directBuffers = loadDirectBuffers(properties, directBuffers);
 	}
 
 	protected void setHost(final String host, final int port) {
@@ -139,6 +216,10 @@ public abstract class InternalArangoDBBuilder {
 		this.timeout = timeout;
 	}
 
+	protected void setRequestTimeout(final Integer requestTimeout) {
+		this.requestTimeout = requestTimeout;
+	}
+
 	protected void setUser(final String user) {
 		this.user = user;
 	}
@@ -163,10 +244,44 @@ public abstract class InternalArangoDBBuilder {
 		this.maxConnections = maxConnections;
 	}
 
+	protected void setMinConnections(final Integer minConnections) {
+		this.minConnections = minConnections;
+	}
+
 	protected void setConnectionTtl(final Long connectionTtl) {
 		this.connectionTtl = connectionTtl;
 	}
 
+	protected void setConnectionIdleTimeout(final Long connectionIdleTimeout) {
+		this.connectionIdleTimeout = connectionIdleTimeout;
+	}
+
+	protected void setLane(final String name, final Integer minConnections, final Integer maxConnections) {
+		addLane(lanes, new Lane(name, minConnections != null ? minConnections : 0,
+				maxConnections != null ? maxConnections : 1));
+	}
+
+	private static void addLane(final List<Lane> lanes, final Lane lane) {
+		for (final Iterator<Lane> iterator = lanes.iterator(); iterator.hasNext();) {
+			if (iterator.next().getName().equals(lane.getName())) {
+				iterator.remove();
+			}
+		}
+		lanes.add(lane);
+	}
+
+	protected void setMaxInFlight(final Integer maxInFlight) {
+		this.maxInFlight = maxInFlight;
+	}
+
+	protected void setMaxReassemblyBytes(final Long maxReassemblyBytes) {
+		this.maxReassemblyBytes = maxReassemblyBytes;
+	}
+
+	protected void setSaturationPolicy(final SaturationPolicy saturationPolicy) {
+		this.saturationPolicy = saturationPolicy;
+	}
+
 	protected void setAcquireHostList(final Boolean acquireHostList) {
 		this.acquireHostList = acquireHostList;
 	}
@@ -175,6 +290,42 @@ public abstract class InternalArangoDBBuilder {
 		this.loadBalancingStrategy = loadBalancingStrategy;
 	}
 
+	protected void setHealthCheckInterval(final Integer healthCheckInterval) {
+		this.healthCheckInterval = healthCheckInterval;
+	}
+
+	protected void setHealthCheckThreshold(final Integer healthCheckThreshold) {
+		this.healthCheckThreshold = healthCheckThreshold;
+	}
+
+	protected void setHedgePercentile(final Double hedgePercentile) {
+		this.hedgePercentile = hedgePercentile;
+	}
+
+	protected void setHedgeBudget(final Double hedgeBudget) {
+		this.hedgeBudget = hedgeBudget;
+	}
+
+	protected void setTransport(final Transport transport) {
+		this.transport = transport;
+	}
+
+	protected void setIoThreads(final Integer ioThreads) {
+		this.ioThreads = ioThreads;
+	}
+
+	protected void setFlushPolicy(final FlushPolicy flushPolicy) {
+		this.flushPolicy = flushPolicy;
+	}
+
+	protected void setPooledBuffers(final Boolean pooledBuffers) {
+		this.pooledBuffers = pooledBuffers;
+	}
+
+	protected void setDirectBuffers(final Boolean directBuffers) {
+		this.directBuffers = directBuffers;
+	}
+
 	protected void serializer(final ArangoSerializer serializer) {
 		this.serializer = serializer;
 	}
@@ -189,13 +340,24 @@ public abstract class InternalArangoDBBuilder {
 
 	protected HostResolver createHostResolver(
 		final Collection<Host> hosts,
+		final int minConnections,
 		final int maxConnections,
-		final ConnectionFactory connectionFactory) {
+		final ConnectionFactory connectionFactory,
+		final ConnectionReaper reaper) {
 		return Boolean.TRUE == acquireHostList
-				? new ExtendedHostResolver(new ArrayList<Host>(hosts), maxConnections, connectionFactory)
+				? new ExtendedHostResolver(new ArrayList<Host>(hosts), minConnections, maxConnections,
+						connectionFactory, reaper, new ArrayList<Lane>(lanes))
 				: new SimpleHostResolver(new ArrayList<Host>(hosts));
 	}
 
+	/**
+	 * @return the reaper which closes idle connections, or null if no idle timeout is configured
+	 */
+	protected ConnectionReaper createConnectionReaper() {
+		return connectionIdleTimeout != null && connectionIdleTimeout > 0
+				? new ConnectionReaper(connectionIdleTimeout) : null;
+	}
+
 	protected HostHandler createHostHandler(final HostResolver hostResolver) {
 		final HostHandler hostHandler;
 		if (loadBalancingStrategy != null) {
@@ -206,6 +368,12 @@ public abstract class InternalArangoDBBuilder {
 			case ROUND_ROBIN:
 				hostHandler = new RoundRobinHostHandler(hostResolver);
 				break;
+			case LEAST_IN_FLIGHT:
+				hostHandler = new LeastInFlightHostHandler(hostResolver);
+				break;
+			case PEAK_EWMA:
+				hostHandler = new PeakEwmaHostHandler(hostResolver);
+				break;
 			case NONE:
 			default:
 				hostHandler = new FallbackHostHandler(hostResolver);
@@ -214,7 +382,109 @@ public abstract class InternalArangoDBBuilder {
 		} else {
 			hostHandler = new FallbackHostHandler(hostResolver);
 		}
-		return new DirtyReadHostHandler(hostHandler, new RoundRobinHostHandler(hostResolver));
+		final HostHandler dirtyReadHostHandler = new DirtyReadHostHandler(hostHandler,
+				new RoundRobinHostHandler(hostResolver));
+		if (healthCheckInterval != null && healthCheckInterval > 0) {
+			return new HealthCheckHostHandler(dirtyReadHostHandler, hostResolver, healthCheckInterval,
+					healthCheckThreshold != null ? healthCheckThreshold : ArangoDefaults.DEFAULT_HEALTH_CHECK_THRESHOLD);
+		}
+		return dirtyReadHostHandler;
+	}
+
+	/**
+	 * @return the policy for hedged reads or {@code null} if hedging is disabled
+	 */
+	protected HedgingPolicy createHedgingPolicy() {
+		if (hedgePercentile == null) {
+			return null;
+		}
+		return new HedgingPolicy(hedgePercentile,
+				hedgeBudget != null ? hedgeBudget : ArangoDefaults.DEFAULT_HEDGE_BUDGET);
+	}
+
+	/**
+	 * Lets the health checks of the given host handler, if enabled, probe the hosts with {@code GET /_api/version}
+	 * over a communication of their own.
+	 */
+	protected void initHealthCheck(
+		final HostHandler hostHandler,
+		final VstCommunicationSync.Builder vstBuilder,
+		final HttpCommunication.Builder httpBuilder,
+		final ArangoSerialization util,
+		final Protocol protocol) {
+		if (!(hostHandler instanceof HealthCheckHostHandler)) {
+			return;
+		}
+		final CommunicationProtocol cp = ArangoDBImpl.createProtocol(
+			new VstCommunicationSync.Builder(vstBuilder).maxConnections(1), new HttpCommunication.Builder(httpBuilder),
+			util, protocol);
+		final Integer timeout = healthCheckInterval;
+		((HealthCheckHostHandler) hostHandler).init(new HostProbe() {
+			@Override
+			public void probe(final Host host) throws ArangoDBException {
+				final Request request = new Request(ArangoRequestParam.SYSTEM, RequestType.GET,
+						InternalArangoDatabase.PATH_API_VERSION).setTimeout(timeout);
+				cp.executeOnHost(request, host).release();
+			}
+		});
+	}
+
+	/**
+	 * Opens and authenticates the minimum number of connections of every host and lane in parallel. A host which can
+	 * not be reached is logged and opens its connections on demand later on.
+	 */
+	protected void warmUp(
+		final Collection<Host> hosts,
+		final VstCommunicationSync.Builder vstBuilder,
+		final HttpCommunication.Builder httpBuilder,
+		final ArangoSerialization util,
+		final Protocol protocol) {
+		final List<Host> targets = new ArrayList<Host>();
+		final List<Connection> connections = new ArrayList<Connection>();
+		for (final Host host : hosts) {
+			for (final Connection connection : host.warmUp()) {
+				targets.add(host);
+				connections.add(connection);
+			}
+		}
+		if (connections.isEmpty()) {
+			return;
+		}
+		final CommunicationProtocol cp = ArangoDBImpl.createProtocol(new VstCommunicationSync.Builder(vstBuilder),
+			new HttpCommunication.Builder(httpBuilder), util, protocol);
+		final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (final Connection connection : connections) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					cp.open(connection);
+					return null;
+				}
+			});
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(tasks.size(), new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable r) {
+				final Thread thread = new Thread(r, "arangodb-warm-up");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			final List<Future<Void>> results = executor.invokeAll(tasks);
+			for (int i = 0; i < results.size(); i++) {
+				try {
+					results.get(i).get();
+				} catch (final ExecutionException e) {
+					LOGGER.warn(String.format("Could not open connection to %s: %s", targets.get(i).getDescription(),
+						e.getCause().getMessage()));
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdown();
+		}
 	}
 
 	private static void loadHosts(final Properties properties, final Collection<HostDescription> hosts) {
@@ -222,10 +492,14 @@ public abstract class InternalArangoDBBuilder {
 		if (hostsProp != null) {
 			final String[] hostsSplit = hostsProp.split(",");
 			for (final String host : hostsSplit) {
+				if (HostDescription.isUnixSocket(host)) {
+					hosts.add(new HostDescription(host, 0));
+					continue;
+				}
 				final String[] split = host.split(":");
 				if (split.length != 2 || !split[1].matches("[0-9]+")) {
 					throw new ArangoDBException(String.format(
-						"Could not load property-value arangodb.hosts=%s. Expected format ip:port,ip:port,...",
+						"Could not load property-value arangodb.hosts=%s. Expected format ip:port,ip:port,unix:///path,...",
 						hostsProp));
 				} else {
 					hosts.add(new HostDescription(split[0], Integer.valueOf(split[1])));
@@ -234,6 +508,22 @@ public abstract class InternalArangoDBBuilder {
 		}
 	}
 
+	private static void loadLanes(final Properties properties, final List<Lane> lanes) {
+		final String lanesProp = properties.getProperty(PROPERTY_KEY_LANES);
+		if (lanesProp != null) {
+			for (final String lane : lanesProp.split(",")) {
+				final String[] split = lane.split(":");
+				if (split.length != 3 || !split[1].matches("[0-9]+") || !split[2].matches("[0-9]+")) {
+					throw new ArangoDBException(String.format(
+						"Could not load property-value arangodb.lanes=%s. Expected format name:min:max,name:min:max,...",
+						lanesProp));
+				} else {
+					addLane(lanes, new Lane(split[0], Integer.valueOf(split[1]), Integer.valueOf(split[2])));
+				}
+			}
+		}
+	}
+
 	private static String loadHost(final Properties properties, final String currentValue) {
 		final String host = getProperty(properties, PROPERTY_KEY_HOST, currentValue, ArangoDefaults.DEFAULT_HOST);
 		if (host.contains(":")) {
@@ -253,6 +543,12 @@ public abstract class InternalArangoDBBuilder {
 				.parseInt(getProperty(properties, PROPERTY_KEY_TIMEOUT, currentValue, ArangoDefaults.DEFAULT_TIMEOUT));
 	}
 
+	private static Integer loadRequestTimeout(final Properties properties, final Integer currentValue) {
+		final String requestTimeout = getProperty(properties, PROPERTY_KEY_REQUEST_TIMEOUT, currentValue,
+			ArangoDefaults.DEFAULT_REQUEST_TIMEOUT);
+		return requestTimeout != null ? Integer.parseInt(requestTimeout) : null;
+	}
+
 	private static String loadUser(final Properties properties, final String currentValue) {
 		return getProperty(properties, PROPERTY_KEY_USER, currentValue, ArangoDefaults.DEFAULT_USER);
 	}
@@ -276,12 +572,42 @@ public abstract class InternalArangoDBBuilder {
 			ArangoDefaults.MAX_CONNECTIONS_VST_DEFAULT));
 	}
 
+	private static Integer loadMinConnections(final Properties properties, final Integer currentValue) {
+		return Integer.parseInt(getProperty(properties, PROPERTY_KEY_MIN_CONNECTIONS, currentValue,
+			ArangoDefaults.DEFAULT_MIN_CONNECTIONS));
+	}
+
 	private static Long loadConnectionTtl(final Properties properties, final Long currentValue) {
 		final String ttl = getProperty(properties, PROPERTY_KEY_CONNECTION_TTL, currentValue,
 			ArangoDefaults.CONNECTION_TTL_VST_DEFAULT);
 		return ttl != null ? Long.parseLong(ttl) : null;
 	}
 
+	private static Long loadConnectionIdleTimeout(final Properties properties, final Long currentValue) {
+		final String idleTimeout = getProperty(properties, PROPERTY_KEY_CONNECTION_IDLE_TIMEOUT, currentValue,
+			ArangoDefaults.DEFAULT_CONNECTION_IDLE_TIMEOUT);
+		return idleTimeout != null ? Long.parseLong(idleTimeout) : null;
+	}
+
+	private static Integer loadMaxInFlight(final Properties properties, final Integer currentValue) {
+		final String maxInFlight = getProperty(properties, PROPERTY_KEY_MAX_IN_FLIGHT, currentValue,
+			ArangoDefaults.DEFAULT_MAX_IN_FLIGHT);
+		return maxInFlight != null ? Integer.parseInt(maxInFlight) : null;
+	}
+
+	private static Long loadMaxReassemblyBytes(final Properties properties, final Long currentValue) {
+		final String maxReassemblyBytes = getProperty(properties, PROPERTY_KEY_MAX_REASSEMBLY_BYTES, currentValue,
+			ArangoDefaults.DEFAULT_MAX_REASSEMBLY_BYTES);
+		return maxReassemblyBytes != null ? Long.parseLong(maxReassemblyBytes) : null;
+	}
+
+	private static SaturationPolicy loadSaturationPolicy(
+		final Properties properties,
+		final SaturationPolicy currentValue) {
+		return SaturationPolicy.valueOf(getProperty(properties, PROPERTY_KEY_SATURATION_POLICY, currentValue,
+			ArangoDefaults.DEFAULT_SATURATION_POLICY).toUpperCase());
+	}
+
 	private static Boolean loadAcquireHostList(final Properties properties, final Boolean currentValue) {
 		return Boolean.parseBoolean(getProperty(properties, PROPERTY_KEY_ACQUIRE_HOST_LIST, currentValue,
 			ArangoDefaults.DEFAULT_ACQUIRE_HOST_LIST));
@@ -294,6 +620,55 @@ public abstract class InternalArangoDBBuilder {
 			ArangoDefaults.DEFAULT_LOAD_BALANCING_STRATEGY).toUpperCase());
 	}
 
+	private static Integer loadHealthCheckInterval(final Properties properties, final Integer currentValue) {
+		final String healthCheckInterval = getProperty(properties, PROPERTY_KEY_HEALTH_CHECK_INTERVAL, currentValue,
+			ArangoDefaults.DEFAULT_HEALTH_CHECK_INTERVAL);
+		return healthCheckInterval != null ? Integer.parseInt(healthCheckInterval) : null;
+	}
+
+	private static Integer loadHealthCheckThreshold(final Properties properties, final Integer currentValue) {
+		return Integer.parseInt(getProperty(properties, PROPERTY_KEY_HEALTH_CHECK_THRESHOLD, currentValue,
+			ArangoDefaults.DEFAULT_HEALTH_CHECK_THRESHOLD));
+	}
+
+	private static Double loadHedgePercentile(final Properties properties, final Double currentValue) {
+		final String hedgePercentile = getProperty(properties, PROPERTY_KEY_HEDGE_PERCENTILE, currentValue,
+			ArangoDefaults.DEFAULT_HEDGE_PERCENTILE);
+		return hedgePercentile != null ? Double.parseDouble(hedgePercentile) : null;
+	}
+
+	private static Double loadHedgeBudget(final Properties properties, final Double currentValue) {
+		return Double.parseDouble(getProperty(properties, PROPERTY_KEY_HEDGE_BUDGET, currentValue,
+			ArangoDefaults.DEFAULT_HEDGE_BUDGET));
+	}
+
+	private static Transport loadTransport(final Properties properties, final Transport currentValue) {
+		return Transport.valueOf(
+			getProperty(properties, PROPERTY_KEY_TRANSPORT, currentValue, ArangoDefaults.DEFAULT_TRANSPORT)
+					.toUpperCase());
+	}
+
+	private static Integer loadIoThreads(final Properties properties, final Integer currentValue) {
+		return Integer.parseInt(
+			getProperty(properties, PROPERTY_KEY_IO_THREADS, currentValue, ArangoDefaults.DEFAULT_IO_THREADS));
+	}
+
+	private static FlushPolicy loadFlushPolicy(final Properties properties, final FlushPolicy currentValue) {
+		return FlushPolicy.valueOf(
+			getProperty(properties, PROPERTY_KEY_FLUSH_POLICY, currentValue, ArangoDefaults.DEFAULT_FLUSH_POLICY)
+					.toUpperCase());
+	}
+
+	private static Boolean loadPooledBuffers(final Properties properties, final Boolean currentValue) {
+		return Boolean.parseBoolean(getProperty(properties, PROPERTY_KEY_POOLED_BUFFERS, currentValue,
+			ArangoDefaults.DEFAULT_POOLED_BUFFERS));
+	}
+
+	private static Boolean loadDirectBuffers(final Properties properties, final Boolean currentValue) {
+		return Boolean.parseBoolean(getProperty(properties, PROPERTY_KEY_DIRECT_BUFFERS, currentValue,
+			ArangoDefaults.DEFAULT_DIRECT_BUFFERS));
+	}
+
 	protected static <T> String getProperty(
 		final Properties properties,
 		final String key,
@@ -304,11 +679,14 @@ public abstract class InternalArangoDBBuilder {
 	}
 
 	protected <C extends Connection> Collection<Host> createHostList(
+		final int minConnections,
 		final int maxConnections,
-		final ConnectionFactory connectionFactory) {
+		final ConnectionFactory connectionFactory,
+		final ConnectionReaper reaper) {
 		final Collection<Host> hostList = new ArrayList<Host>();
 		for (final HostDescription host : hosts) {
-			hostList.add(HostUtils.createHost(host, maxConnections, connectionFactory));
+			hostList.add(
+				HostUtils.createHost(host, minConnections, maxConnections, connectionFactory, reaper, lanes));
 		}
 		return hostList;
 	}
@@ -72,7 +72,7 @@ public abstract class InternalArangoDatabase<A extends InternalArangoDB<E>, E ex
 		extends ArangoExecuteable<E> {
 
 	protected static final String PATH_API_DATABASE = "/_api/database";
-	private static final String PATH_API_VERSION = "/_api/version";
+	public static final String PATH_API_VERSION = "/_api/version";
 	private static final String PATH_API_CURSOR = "/_api/cursor";
 	private static final String PATH_API_TRANSACTION = "/_api/transaction";
 	private static final String PATH_API_AQLFUNCTION = "/_api/aqlfunction";
@@ -200,6 +200,8 @@ public abstract class InternalArangoDatabase<A extends InternalArangoDB<E>, E ex
 		if (opt.getAllowDirtyRead() == Boolean.TRUE) {
 			RequestUtils.allowDirtyRead(request);
 		}
+		request.setTimeout(opt.getTimeout());
+		request.setLane(opt.getLane());
 		return request;
 	}
 
@@ -209,6 +211,8 @@ public abstract class InternalArangoDatabase<A extends InternalArangoDB<E>, E ex
 		if (opt.getAllowDirtyRead() == Boolean.TRUE) {
 			RequestUtils.allowDirtyRead(request);
 		}
+		request.setTimeout(opt.getTimeout());
+		request.setLane(opt.getLane());
 		return request;
 	}
 
@@ -218,6 +222,8 @@ public abstract class InternalArangoDatabase<A extends InternalArangoDB<E>, E ex
 		if (opt.getAllowDirtyRead() == Boolean.TRUE) {
 			RequestUtils.allowDirtyRead(request);
 		}
+		request.setTimeout(opt.getTimeout());
+		request.setLane(opt.getLane());
 		return request;
 	}
 
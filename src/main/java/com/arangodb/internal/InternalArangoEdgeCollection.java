@@ -103,6 +103,8 @@ public abstract class InternalArangoEdgeCollection<A extends InternalArangoDB<E>
 		if (params.getAllowDirtyRead() == Boolean.TRUE) {
 			RequestUtils.allowDirtyRead(request);
 		}
+		request.setTimeout(params.getTimeout());
+		request.setLane(params.getLane());
 		return request;
 	}
 
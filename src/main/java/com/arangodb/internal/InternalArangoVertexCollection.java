@@ -107,6 +107,8 @@ public abstract class InternalArangoVertexCollection<A extends InternalArangoDB<
 		if (params.getAllowDirtyRead() == Boolean.TRUE) {
 			RequestUtils.allowDirtyRead(request);
 		}
+		request.setTimeout(params.getTimeout());
+		request.setLane(params.getLane());
 		return request;
 	}
 
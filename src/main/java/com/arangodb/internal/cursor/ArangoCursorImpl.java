@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import org.reactivestreams.Publisher;
+
 import com.arangodb.ArangoCursor;
 import com.arangodb.ArangoIterator;
 import com.arangodb.Consumer;
@@ -102,6 +104,11 @@ public class ArangoCursorImpl<T> extends AbstractArangoIterable<T> implements Ar
 		}
 	}
 
+	@Override
+	public Publisher<T> publisher() {
+		return new ArangoCursorPublisher<T>(iterator, execute, id);
+	}
+
 	@Override
 	public boolean hasNext() {
 		return iterator.hasNext();
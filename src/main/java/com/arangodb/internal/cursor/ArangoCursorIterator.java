@@ -23,7 +23,9 @@ package com.arangodb.internal.cursor;
 import java.util.NoSuchElementException;
 
 import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoFuture;
 import com.arangodb.ArangoIterator;
+import com.arangodb.Function;
 import com.arangodb.entity.CursorEntity;
 import com.arangodb.internal.ArangoCursorExecute;
 import com.arangodb.internal.InternalArangoDatabase;
@@ -75,6 +77,34 @@ public class ArangoCursorIterator<T> implements ArangoIterator<T> {
 		return deserialize(result.getResult().get(pos++), cursor.getType());
 	}
 
+	/**
+	 * @return whether or not the next element is available without fetching the next batch
+	 */
+	public boolean isBuffered() {
+		return pos < result.getResult().size();
+	}
+
+	/**
+	 * @return whether or not the server holds further batches
+	 */
+	public boolean hasMore() {
+		return result.getHasMore();
+	}
+
+	/**
+	 * Fetches the next batch without blocking. The iterator continues with it once the returned future is completed.
+	 */
+	public ArangoFuture<Void> fetch() {
+		return execute.nextAsync(cursor.getId()).thenApply(new Function<CursorEntity, Void>() {
+			@Override
+			public Void apply(final CursorEntity next) {
+				result = next;
+				pos = 0;
+				return null;
+			}
+		});
+	}
+
 	protected <R> R deserialize(final VPackSlice result, final Class<R> type) {
 		return db.util(Serializer.CUSTOM).deserialize(result, type);
 	}
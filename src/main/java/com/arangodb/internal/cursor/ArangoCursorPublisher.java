@@ -0,0 +1,224 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.cursor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.ArangoFuture;
+import com.arangodb.internal.ArangoCursorExecute;
+
+/**
+ * Publishes the remaining elements of a cursor to a single subscriber. The next batch is requested from the server
+ * only when the current one is emitted and the subscriber signalled further demand.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class ArangoCursorPublisher<T> implements Publisher<T> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ArangoCursorPublisher.class);
+
+	private final ArangoCursorIterator<T> iterator;
+	private final ArangoCursorExecute execute;
+	private final String id;
+	private final AtomicBoolean subscribed;
+
+	public ArangoCursorPublisher(final ArangoCursorIterator<T> iterator, final ArangoCursorExecute execute,
+		final String id) {
+		super();
+		this.iterator = iterator;
+		this.execute = execute;
+		this.id = id;
+		subscribed = new AtomicBoolean();
+	}
+
+	@Override
+	public void subscribe(final Subscriber<? super T> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("subscriber");
+		}
+		if (!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Subscription() {
+				@Override
+				public void request(final long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onError(new IllegalStateException("Cursor can only be subscribed once"));
+			return;
+		}
+		final CursorSubscription subscription = new CursorSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		subscription.drain();
+	}
+
+	private class CursorSubscription implements Subscription {
+
+		private final Subscriber<? super T> subscriber;
+		private final AtomicLong requested;
+		private final AtomicInteger wip;
+		private volatile boolean cancelled;
+		private volatile boolean fetching;
+		private volatile Throwable error;
+		private boolean done;
+
+		CursorSubscription(final Subscriber<? super T> subscriber) {
+			super();
+			this.subscriber = subscriber;
+			requested = new AtomicLong();
+			wip = new AtomicInteger();
+		}
+
+		@Override
+		public void request(final long n) {
+			if (n <= 0) {
+				error = new IllegalArgumentException("Non-positive request of " + n + " elements");
+			} else {
+				long current;
+				long next;
+				do {
+					current = requested.get();
+					next = current + n;
+					if (next < 0) {
+						next = Long.MAX_VALUE;
+					}
+				} while (!requested.compareAndSet(current, next));
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			drain();
+		}
+
+		/**
+		 * Serializes the signals to the subscriber. Whichever thread increments the counter from zero emits on behalf
+		 * of all concurrent callers, including the I/O thread completing a fetch.
+		 */
+		void drain() {
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				if (!done) {
+					emit();
+				}
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void emit() {
+			if (fetching) {
+				return;
+			}
+			if (cancelled) {
+				done = true;
+				close();
+				return;
+			}
+			if (error != null) {
+				done = true;
+				close();
+				subscriber.onError(error);
+				return;
+			}
+			final long demand = requested.get();
+			long emitted = 0;
+			while (emitted < demand && iterator.isBuffered()) {
+				final T next;
+				try {
+					next = iterator.next();
+				} catch (final RuntimeException e) {
+					done = true;
+					close();
+					subscriber.onError(e);
+					return;
+				}
+				subscriber.onNext(next);
+				emitted++;
+				if (cancelled) {
+					done = true;
+					close();
+					return;
+				}
+			}
+			if (emitted > 0 && demand != Long.MAX_VALUE) {
+				requested.addAndGet(-emitted);
+			}
+			if (iterator.isBuffered()) {
+				return;
+			}
+			if (!iterator.hasMore()) {
+				done = true;
+				subscriber.onComplete();
+			} else if (requested.get() > 0) {
+				fetch();
+			}
+		}
+
+		private void fetch() {
+			fetching = true;
+			final ArangoFuture<Void> future = iterator.fetch();
+			future.addListener(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						future.get();
+					} catch (final Exception e) {
+						error = e.getCause() != null ? e.getCause() : e;
+					}
+					fetching = false;
+					drain();
+				}
+			});
+		}
+
+		private void close() {
+			if (id == null || !iterator.hasMore()) {
+				return;
+			}
+			final ArangoFuture<Void> future = execute.closeAsync(id);
+			future.addListener(new Runnable() {
+				@Override
+				public void run() {
+					if (future.isCompletedExceptionally() && LOGGER.isDebugEnabled()) {
+						LOGGER.debug("Could not close cursor " + id);
+					}
+				}
+			});
+		}
+	}
+
+}
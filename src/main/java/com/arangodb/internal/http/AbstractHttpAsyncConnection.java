@@ -0,0 +1,402 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.auth.AuthenticationException;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.message.BasicHttpRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.Protocol;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.util.JsonStreamDecoder;
+import com.arangodb.internal.util.ResponseUtils;
+import com.arangodb.internal.velocystream.internal.VstEventLoop;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
+import com.arangodb.util.ArangoSerialization;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.Response;
+
+/**
+ * Base of the non-blocking HTTP clients, which send the requests of a host or one of its traffic lanes over up to
+ * {@code maxConnections} sockets, driven by the selector threads of a {@link VstEventLoopGroup}. Requests which no
+ * socket can carry yet wait in a queue without occupying a thread. Subclasses decide which socket carries a request
+ * and how the request is encoded.
+ * 
+ * @author Mark Vollmary
+ *
+ * @param <C>
+ *            type of the sockets
+ */
+public abstract class AbstractHttpAsyncConnection<C extends HttpChannel> implements HttpAsyncConnection {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractHttpAsyncConnection.class);
+	static final String USER_AGENT = "Mozilla/5.0 (compatible; ArangoDB-JavaDriver/1.1; +http://mt.orz.at/)";
+	static final String CONTENT_TYPE_APPLICATION_JSON_UTF8 = "application/json; charset=utf-8";
+	static final String CONTENT_TYPE_VPACK = "application/x-velocypack";
+	private static final int PURGE_INTERVAL = 1024;
+
+	protected final HostDescription host;
+	protected final Long ttl;
+	protected final ArangoSerialization util;
+	protected final Protocol contentType;
+	protected final Credentials credentials;
+	protected final String authorization;
+	protected final List<C> channels;
+	private final Integer timeout;
+	private final int maxConnections;
+	private final VstEventLoopGroup eventLoopGroup;
+	private final ScheduledThreadPoolExecutor deadlines;
+	private final AtomicInteger completedDeadlines;
+	private final Queue<HttpExchange> queue;
+	private final AtomicInteger queued;
+	private final AtomicInteger inFlight;
+	private final AtomicInteger size;
+	private volatile boolean closed;
+
+	protected AbstractHttpAsyncConnection(final HostDescription host, final Integer timeout, final String user,
+		final String password, final ArangoSerialization util, final Protocol contentType, final Long ttl,
+		final int maxConnections, final VstEventLoopGroup eventLoopGroup, final ScheduledThreadPoolExecutor deadlines) {
+		super();
+		this.host = host;
+		this.timeout = timeout;
+		this.ttl = ttl;
+		this.util = util;
+		this.contentType = contentType;
+		this.maxConnections = Math.max(1, maxConnections);
+		this.eventLoopGroup = eventLoopGroup;
+		this.deadlines = deadlines;
+		credentials = user != null ? new UsernamePasswordCredentials(user, password != null ? password : "") : null;
+		authorization = credentials != null ? authorization(credentials) : null;
+		completedDeadlines = new AtomicInteger();
+		queue = new ConcurrentLinkedQueue<HttpExchange>();
+		queued = new AtomicInteger();
+		inFlight = new AtomicInteger();
+		channels = new CopyOnWriteArrayList<C>();
+		size = new AtomicInteger();
+	}
+
+	private static String authorization(final Credentials credentials) {
+		try {
+			return new BasicScheme().authenticate(credentials, new BasicHttpRequest("GET", "/"), null).getValue();
+		} catch (final AuthenticationException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+
+	HostDescription getHost() {
+		return host;
+	}
+
+	@Override
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	@Override
+	public int getQueued() {
+		return queued.get();
+	}
+
+	@Override
+	public int getOpen() {
+		int open = 0;
+		for (final C channel : channels) {
+			if (channel.isConnected()) {
+				open++;
+			}
+		}
+		return open;
+	}
+
+	/**
+	 * Sockets are opened on demand, so the connection is always ready.
+	 */
+	@Override
+	public boolean isReady() {
+		return true;
+	}
+
+	@Override
+	public Response execute(final Request request) throws ArangoDBException, IOException {
+		final ArangoFuture<Response> future = executeAsync(request);
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ArangoDBException(e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw cause instanceof ArangoDBException ? (ArangoDBException) cause : new ArangoDBException(cause);
+		}
+	}
+
+	/**
+	 * Queues the request for the next socket which can carry it, without waiting for its response. Only opening a new
+	 * socket is started by the calling thread, the connect itself is completed by the selector thread.
+	 */
+	@Override
+	public ArangoFuture<Response> executeAsync(final Request request) {
+		final HttpExchange exchange;
+		try {
+			exchange = createExchange(request);
+		} catch (final UnsupportedEncodingException e) {
+			return ArangoFuture.failed(new ArangoDBException(e));
+		}
+		if (closed) {
+			return ArangoFuture.failed(new IOException("The connection is closed."));
+		}
+		expireAfter(exchange, request.getTimeout() != null ? request.getTimeout() : timeout);
+		queued.incrementAndGet();
+		queue.add(exchange);
+		dispatch();
+		return exchange.getFuture();
+	}
+
+	/**
+	 * Encodes the request for the wire protocol of the sockets
+	 */
+	protected abstract HttpExchange createExchange(Request request) throws UnsupportedEncodingException;
+
+	/**
+	 * @return a new socket, which is not opened yet and acquired for the caller
+	 */
+	protected abstract C createChannel(VstEventLoop eventLoop);
+
+	/**
+	 * @return an open socket which can carry one more request, acquired for the caller, or {@code null} if there is
+	 *         none
+	 */
+	protected abstract C acquire();
+
+	private void expireAfter(final HttpExchange exchange, final Integer timeout) {
+		if (timeout == null || timeout <= 0) {
+			return;
+		}
+		final ScheduledFuture<?> deadline = deadlines.schedule(new Runnable() {
+			@Override
+			public void run() {
+				if (exchange.getFuture().completeExceptionally(new ArangoDBException(
+						String.format("Response from %s not received within %s ms", host, timeout)))) {
+					if (queue.remove(exchange)) {
+						queued.decrementAndGet();
+					}
+					final HttpChannel channel = exchange.getChannel();
+					if (channel != null) {
+						channel.abort(exchange);
+					}
+				}
+			}
+		}, timeout, TimeUnit.MILLISECONDS);
+		exchange.getFuture().addListener(new Runnable() {
+			@Override
+			public void run() {
+				// cancelled tasks stay queued until their delay elapsed, purge them from time to time
+				if (deadline.cancel(false) && completedDeadlines.incrementAndGet() % PURGE_INTERVAL == 0) {
+					deadlines.purge();
+				}
+			}
+		});
+	}
+
+	void schedule(final Runnable task, final long delay, final TimeUnit unit) {
+		deadlines.schedule(task, delay, unit);
+	}
+
+	/**
+	 * Hands queued requests to the sockets which can carry them and opens new sockets while no socket can and
+	 * {@code maxConnections} is not reached. Called by every thread which queued a request or freed a socket, so that
+	 * a request is never left in the queue while a socket could carry it.
+	 */
+	protected void dispatch() {
+		while (!queue.isEmpty() && !closed) {
+			C channel = acquire();
+			if (channel == null) {
+				if (!reserve()) {
+					return;
+				}
+				channel = createChannel(eventLoopGroup.next());
+				channels.add(channel);
+				try {
+					channel.open(timeout);
+				} catch (final IOException e) {
+					channels.remove(channel);
+					size.decrementAndGet();
+					final HttpExchange exchange = poll();
+					if (exchange != null) {
+						exchange.getFuture().completeExceptionally(e);
+					}
+					continue;
+				}
+			}
+			final HttpExchange exchange = poll();
+			if (exchange == null) {
+				channel.release();
+				continue;
+			}
+			inFlight.incrementAndGet();
+			channel.send(exchange);
+		}
+	}
+
+	private boolean reserve() {
+		while (true) {
+			final int count = size.get();
+			if (count >= maxConnections) {
+				return false;
+			}
+			if (size.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private HttpExchange poll() {
+		for (HttpExchange exchange; (exchange = queue.poll()) != null;) {
+			queued.decrementAndGet();
+			if (!exchange.getFuture().isDone()) {
+				return exchange;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Called by a channel which received the complete response of the given exchange
+	 */
+	void completed(
+		final HttpExchange exchange,
+		final int status,
+		final Map<String, String> headers,
+		final byte[] content) {
+		inFlight.decrementAndGet();
+		dispatch();
+		final ArangoFuture<Response> future = exchange.getFuture();
+		try {
+			future.complete(createResponse(status, headers, content));
+		} catch (final ArangoDBException e) {
+			future.completeExceptionally(e);
+		} catch (final IOException e) {
+			future.completeExceptionally(new ArangoDBException(e));
+		} catch (final RuntimeException e) {
+			future.completeExceptionally(new ArangoDBException(e));
+		}
+	}
+
+	private Response createResponse(final int status, final Map<String, String> headers, final byte[] content)
+			throws ArangoDBException, IOException {
+		final Response response = new Response();
+		response.setResponseCode(status);
+		if (content != null && content.length > 0) {
+			if (contentType == Protocol.HTTP_VPACK) {
+				response.setBody(new VPackSlice(content));
+			} else {
+				response.setBody(JsonStreamDecoder.decode(content));
+			}
+		}
+		response.getMeta().putAll(headers);
+		ResponseUtils.checkError(util, response);
+		return response;
+	}
+
+	/**
+	 * Called by a channel which carried the given exchange and can no longer receive its response
+	 * 
+	 * @param retry
+	 *            whether or not the request may be sent again, because the server did not answer it before the socket
+	 *            was closed
+	 */
+	void failed(final HttpExchange exchange, final IOException cause, final boolean retry) {
+		inFlight.decrementAndGet();
+		if (retry && !closed && exchange.retry()) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Retry request to %s: %s", host, cause.getMessage()));
+			}
+			enqueue(exchange);
+		} else {
+			exchange.getFuture().completeExceptionally(cause);
+		}
+	}
+
+	/**
+	 * Called by a channel which did not send the given exchange or whose server refused to process it
+	 */
+	void rejected(final HttpExchange exchange) {
+		inFlight.decrementAndGet();
+		if (closed) {
+			exchange.getFuture().completeExceptionally(new IOException("The connection is closed."));
+			return;
+		}
+		enqueue(exchange);
+	}
+
+	/**
+	 * Called by a channel which is closed, before it hands back the exchanges it carried
+	 */
+	void closed(final C channel) {
+		if (channels.remove(channel)) {
+			size.decrementAndGet();
+		}
+		dispatch();
+	}
+
+	private void enqueue(final HttpExchange exchange) {
+		exchange.setChannel(null);
+		queued.incrementAndGet();
+		queue.add(exchange);
+		dispatch();
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		for (final C channel : channels) {
+			channel.close(new IOException("The connection is closed."));
+		}
+		for (HttpExchange exchange; (exchange = poll()) != null;) {
+			exchange.getFuture().completeExceptionally(new IOException("The connection is closed."));
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Decoder of the response headers of a HTTP/2 connection. Every header block has to be decoded in the order it was
+ * received, even if its stream is no longer of interest, to keep the dynamic table in sync with the server.
+ * 
+ * @see <a href="https://tools.ietf.org/html/rfc7541">RFC 7541</a>
+ * @author Mark Vollmary
+ *
+ */
+class HpackDecoder {
+
+	private static final int MAX_INTEGER_SHIFT = 28;
+
+	private final HpackTable table;
+
+	HpackDecoder() {
+		super();
+		table = new HpackTable(HpackTable.DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Decodes the complete header block in the buffer into the given map
+	 */
+	void decode(final ByteBuffer block, final Map<String, String> headers) throws IOException {
+		while (block.hasRemaining()) {
+			final int b = block.get(block.position()) & 0xff;
+			if ((b & 0x80) != 0) {
+				final String[] field = table.get(readInteger(block, 7));
+				headers.put(field[0], field[1]);
+			} else if ((b & 0x40) != 0) {
+				final String[] field = readLiteral(block, 6);
+				table.add(field[0], field[1], field[0].length() + field[1].length());
+				headers.put(field[0], field[1]);
+			} else if ((b & 0x20) != 0) {
+				final int maxSize = readInteger(block, 5);
+				if (maxSize > HpackTable.DEFAULT_MAX_SIZE) {
+					throw new IOException(String.format("Received an invalid HPACK table size: %s", maxSize));
+				}
+				table.setMaxSize(maxSize);
+			} else {
+				// literal without indexing or never indexed
+				final String[] field = readLiteral(block, 4);
+				headers.put(field[0], field[1]);
+			}
+		}
+	}
+
+	private String[] readLiteral(final ByteBuffer block, final int prefix) throws IOException {
+		final int index = readInteger(block, prefix);
+		final String name = index > 0 ? table.get(index)[0] : readString(block);
+		return new String[] { name, readString(block) };
+	}
+
+	/**
+	 * Reads a string, whose octets are mapped to characters one to one like the headers of HTTP/1.1
+	 */
+	private static String readString(final ByteBuffer block) throws IOException {
+		if (!block.hasRemaining()) {
+			throw new IOException("Received a truncated HPACK header block.");
+		}
+		final boolean huffman = (block.get(block.position()) & 0x80) != 0;
+		final int length = readInteger(block, 7);
+		if (length > block.remaining()) {
+			throw new IOException("Received a truncated HPACK header block.");
+		}
+		if (huffman) {
+			return HpackHuffman.decode(block, length);
+		}
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) (block.get() & 0xff);
+		}
+		return new String(chars);
+	}
+
+	static int readInteger(final ByteBuffer block, final int prefix) throws IOException {
+		final int max = (1 << prefix) - 1;
+		int value = block.get() & max;
+		if (value < max) {
+			return value;
+		}
+		for (int shift = 0; shift < MAX_INTEGER_SHIFT; shift += 7) {
+			if (!block.hasRemaining()) {
+				throw new IOException("Received a truncated HPACK header block.");
+			}
+			final int b = block.get() & 0xff;
+			value += (b & 0x7f) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Received an HPACK integer which is too large.");
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Encoder of the request headers of a HTTP/2 connection. The headers which are the same for all requests of a
+ * connection, like {@code authorization}, {@code user-agent} and {@code accept}, are added to the dynamic table with
+ * their first request and sent as a single byte afterwards. All other headers, whose values mostly differ from request
+ * to request, are sent literally without displacing them. Strings are not Huffman encoded.
+ * 
+ * @see <a href="https://tools.ietf.org/html/rfc7541">RFC 7541</a>
+ * @author Mark Vollmary
+ *
+ */
+class HpackEncoder {
+
+	private static final Set<String> INDEXED_NAMES = new HashSet<String>(
+			Arrays.asList(":authority", "user-agent", "accept", "authorization", "content-type"));
+
+	private final HpackTable table;
+	private int pendingMaxSize;
+
+	HpackEncoder() {
+		super();
+		table = new HpackTable(HpackTable.DEFAULT_MAX_SIZE);
+		pendingMaxSize = -1;
+	}
+
+	/**
+	 * Called with the {@code SETTINGS_HEADER_TABLE_SIZE} of the server. The encoder uses at most the default size of
+	 * 4096 bytes, a change is signalled at the beginning of the next header block.
+	 */
+	void setMaxTableSize(final int maxSize) {
+		final int size = Math.min(maxSize, HpackTable.DEFAULT_MAX_SIZE);
+		if (size != table.getMaxSize()) {
+			table.setMaxSize(size);
+			pendingMaxSize = size;
+		}
+	}
+
+	/**
+	 * Encodes a header block
+	 * 
+	 * @param headers
+	 *            alternating names and values, the names in lower case
+	 */
+	byte[] encode(final List<String> headers) throws UnsupportedEncodingException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+		if (pendingMaxSize >= 0) {
+			writeInteger(out, 0x20, 5, pendingMaxSize);
+			pendingMaxSize = -1;
+		}
+		for (int i = 0; i < headers.size(); i += 2) {
+			encode(out, headers.get(i), headers.get(i + 1));
+		}
+		return out.toByteArray();
+	}
+
+	private void encode(final ByteArrayOutputStream out, final String name, final String value)
+			throws UnsupportedEncodingException {
+		final int index = table.find(name, value);
+		if (index > 0) {
+			writeInteger(out, 0x80, 7, index);
+			return;
+		}
+		final boolean indexing = INDEXED_NAMES.contains(name);
+		if (index < 0) {
+			writeInteger(out, indexing ? 0x40 : 0x00, indexing ? 6 : 4, -index);
+		} else {
+			out.write(indexing ? 0x40 : 0x00);
+		}
+		final byte[] nameBytes = name.getBytes("UTF-8");
+		if (index == 0) {
+			writeString(out, nameBytes);
+		}
+		final byte[] valueBytes = value.getBytes("UTF-8");
+		writeString(out, valueBytes);
+		if (indexing) {
+			table.add(name, value, nameBytes.length + valueBytes.length);
+		}
+	}
+
+	private static void writeString(final ByteArrayOutputStream out, final byte[] bytes) {
+		writeInteger(out, 0x00, 7, bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Writes an integer with a prefix of the given number of bits into the first byte, whose remaining bits are taken
+	 * from {@code flags}
+	 */
+	static void writeInteger(final ByteArrayOutputStream out, final int flags, final int prefix, final int value) {
+		final int max = (1 << prefix) - 1;
+		if (value < max) {
+			out.write(flags | value);
+			return;
+		}
+		out.write(flags | max);
+		int remaining = value - max;
+		while (remaining >= 0x80) {
+			out.write((remaining & 0x7f) | 0x80);
+			remaining >>>= 7;
+		}
+		out.write(remaining);
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index space of HPACK, consisting of the static table followed by a dynamic table of the most recently added header
+ * fields. Every direction of a HTTP/2 connection has a dynamic table of its own.
+ * 
+ * @see <a href="https://tools.ietf.org/html/rfc7541#section-2.3">RFC 7541, Section 2.3</a>
+ * @author Mark Vollmary
+ *
+ */
+class HpackTable {
+
+	static final int DEFAULT_MAX_SIZE = 4096;
+	private static final int ENTRY_OVERHEAD = 32;
+
+	private static final String[][] STATIC_TABLE = { { ":authority", "" }, { ":method", "GET" },
+			{ ":method", "POST" }, { ":path", "/" }, { ":path", "/index.html" }, { ":scheme", "http" },
+			{ ":scheme", "https" }, { ":status", "200" }, { ":status", "204" }, { ":status", "206" },
+			{ ":status", "304" }, { ":status", "400" }, { ":status", "404" }, { ":status", "500" },
+			{ "accept-charset", "" }, { "accept-encoding", "gzip, deflate" }, { "accept-language", "" },
+			{ "accept-ranges", "" }, { "accept", "" }, { "access-control-allow-origin", "" }, { "age", "" },
+			{ "allow", "" }, { "authorization", "" }, { "cache-control", "" }, { "content-disposition", "" },
+			{ "content-encoding", "" }, { "content-language", "" }, { "content-length", "" },
+			{ "content-location", "" }, { "content-range", "" }, { "content-type", "" }, { "cookie", "" },
+			{ "date", "" }, { "etag", "" }, { "expect", "" }, { "expires", "" }, { "from", "" }, { "host", "" },
+			{ "if-match", "" }, { "if-modified-since", "" }, { "if-none-match", "" }, { "if-range", "" },
+			{ "if-unmodified-since", "" }, { "last-modified", "" }, { "link", "" }, { "location", "" },
+			{ "max-forwards", "" }, { "proxy-authenticate", "" }, { "proxy-authorization", "" }, { "range", "" },
+			{ "referer", "" }, { "refresh", "" }, { "retry-after", "" }, { "server", "" }, { "set-cookie", "" },
+			{ "strict-transport-security", "" }, { "transfer-encoding", "" }, { "user-agent", "" }, { "vary", "" },
+			{ "via", "" }, { "www-authenticate", "" } };
+
+	private static final Map<String, Integer> STATIC_NAMES = new HashMap<String, Integer>();
+	private static final Map<String, Integer> STATIC_FIELDS = new HashMap<String, Integer>();
+
+	static {
+		for (int i = STATIC_TABLE.length - 1; i >= 0; i--) {
+			STATIC_NAMES.put(STATIC_TABLE[i][0], i + 1);
+			STATIC_FIELDS.put(STATIC_TABLE[i][0] + '\0' + STATIC_TABLE[i][1], i + 1);
+		}
+	}
+
+	// oldest entry first
+	private final List<String[]> entries;
+	private final List<Integer> sizes;
+	private int size;
+	private int maxSize;
+
+	HpackTable(final int maxSize) {
+		super();
+		this.maxSize = maxSize;
+		entries = new ArrayList<String[]>();
+		sizes = new ArrayList<Integer>();
+		size = 0;
+	}
+
+	int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the header field with the given index of the index space
+	 */
+	String[] get(final int index) throws IOException {
+		if (index > 0 && index <= STATIC_TABLE.length) {
+			return STATIC_TABLE[index - 1];
+		}
+		final int dynamic = index - STATIC_TABLE.length;
+		if (dynamic > 0 && dynamic <= entries.size()) {
+			return entries.get(entries.size() - dynamic);
+		}
+		throw new IOException(String.format("Received an invalid HPACK index: %s", index));
+	}
+
+	/**
+	 * @return the index of the header field, the negative index of a header field with the same name or {@code 0} if
+	 *         neither is in the table
+	 */
+	int find(final String name, final String value) {
+		final Integer field = STATIC_FIELDS.get(name + '\0' + value);
+		if (field != null) {
+			return field;
+		}
+		int nameIndex = 0;
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			final String[] entry = entries.get(i);
+			if (entry[0].equals(name)) {
+				final int index = STATIC_TABLE.length + entries.size() - i;
+				if (entry[1].equals(value)) {
+					return index;
+				}
+				if (nameIndex == 0) {
+					nameIndex = -index;
+				}
+			}
+		}
+		final Integer staticName = STATIC_NAMES.get(name);
+		return staticName != null ? -staticName : nameIndex;
+	}
+
+	/**
+	 * Adds a header field as the newest entry, evicting the oldest entries to stay within the maximum size
+	 * 
+	 * @param octets
+	 *            the length of the encoded name and value
+	 */
+	void add(final String name, final String value, final int octets) {
+		final int entrySize = octets + ENTRY_OVERHEAD;
+		evict(maxSize - entrySize);
+		if (entrySize <= maxSize) {
+			entries.add(new String[] { name, value });
+			sizes.add(entrySize);
+			size += entrySize;
+		}
+	}
+
+	void setMaxSize(final int maxSize) {
+		this.maxSize = maxSize;
+		evict(maxSize);
+	}
+
+	private void evict(final int limit) {
+		while (size > limit && !entries.isEmpty()) {
+			entries.remove(0);
+			size -= sizes.remove(0);
+		}
+	}
+
+}
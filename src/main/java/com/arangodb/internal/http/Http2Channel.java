@@ -0,0 +1,869 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.UnixDomainSockets;
+import com.arangodb.internal.velocystream.internal.SelectableTransport;
+import com.arangodb.internal.velocystream.internal.VstEventLoop;
+
+/**
+ * A single non-blocking socket of a {@link Http2Connection}, which multiplexes the requests handed to it as HTTP/2
+ * streams. Framing, header compression and flow control are performed by the selector thread of a
+ * {@link VstEventLoop}, which is the only thread accessing the state of the streams. Requests of other threads are
+ * handed over by queues.
+ * 
+ * @see <a href="https://tools.ietf.org/html/rfc7540">RFC 7540</a>
+ * @author Mark Vollmary
+ *
+ */
+class Http2Channel implements SelectableTransport, HttpChannel {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Http2Channel.class);
+
+	private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes();
+	private static final int FRAME_HEADER_LENGTH = 9;
+	private static final int DEFAULT_MAX_FRAME_SIZE = 16384;
+	private static final int DEFAULT_WINDOW_SIZE = 65535;
+	private static final int DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+	private static final int CONNECTION_WINDOW_SIZE = 16 * 1024 * 1024;
+	private static final int STREAM_WINDOW_SIZE = 1024 * 1024;
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_STREAM_ID = Integer.MAX_VALUE;
+	private static final int RETIRED = Integer.MAX_VALUE;
+
+	private static final int TYPE_DATA = 0x0;
+	private static final int TYPE_HEADERS = 0x1;
+	private static final int TYPE_RST_STREAM = 0x3;
+	private static final int TYPE_SETTINGS = 0x4;
+	private static final int TYPE_PUSH_PROMISE = 0x5;
+	private static final int TYPE_PING = 0x6;
+	private static final int TYPE_GOAWAY = 0x7;
+	private static final int TYPE_WINDOW_UPDATE = 0x8;
+	private static final int TYPE_CONTINUATION = 0x9;
+
+	private static final int FLAG_END_STREAM = 0x1;
+	private static final int FLAG_ACK = 0x1;
+	private static final int FLAG_END_HEADERS = 0x4;
+	private static final int FLAG_PADDED = 0x8;
+	private static final int FLAG_PRIORITY = 0x20;
+
+	private static final int SETTINGS_HEADER_TABLE_SIZE = 0x1;
+	private static final int SETTINGS_ENABLE_PUSH = 0x2;
+	private static final int SETTINGS_MAX_CONCURRENT_STREAMS = 0x3;
+	private static final int SETTINGS_INITIAL_WINDOW_SIZE = 0x4;
+	private static final int SETTINGS_MAX_FRAME_SIZE = 0x5;
+
+	private static final int ERROR_REFUSED_STREAM = 0x7;
+	private static final int ERROR_CANCEL = 0x8;
+
+	/**
+	 * A request in flight on this channel
+	 */
+	private static class Stream {
+		private final HttpExchange exchange;
+		private final int id;
+		private final ByteBuffer body;
+		private int window;
+		private int status;
+		private Map<String, String> headers;
+		private ByteArrayOutputStream content;
+		private int unacknowledged;
+
+		private Stream(final HttpExchange exchange, final int id, final int window) {
+			super();
+			this.exchange = exchange;
+			this.id = id;
+			this.window = window;
+			body = exchange.getBody();
+			status = -1;
+		}
+	}
+
+	private final Http2Connection connection;
+	private final VstEventLoop eventLoop;
+	private final AtomicInteger reserved;
+	private final AtomicBoolean flushScheduled;
+	private final AtomicReference<IOException> closeRequested;
+	private final Queue<HttpExchange> submitted;
+	private final Queue<HttpExchange> cancelled;
+	private final Long ttlTime;
+	private SocketChannel channel;
+	private SelectionKey key;
+	private volatile boolean connected;
+	private volatile boolean draining;
+	private volatile IOException terminated;
+	private volatile int maxConcurrentStreams;
+	private volatile long lastUsed;
+
+	// only accessed by the selector thread
+	private final ByteBuffer readBuffer;
+	private final ArrayDeque<ByteBuffer> output;
+	private final Map<Integer, Stream> streams;
+	private final Map<HttpExchange, Stream> exchanges;
+	private final List<Stream> sending;
+	private final HpackEncoder encoder;
+	private final HpackDecoder decoder;
+	private boolean prefaceSent;
+	private int nextStreamId;
+	private int lastStreamId;
+	private int connectionWindow;
+	private int initialWindow;
+	private int maxFrameSize;
+	private int unacknowledged;
+	private ByteArrayOutputStream headerBlock;
+	private int headerBlockStream;
+	private boolean headerBlockEndStream;
+
+	/**
+	 * The channel is created with one stream reserved, so that its creator can send the first request over it
+	 */
+	Http2Channel(final Http2Connection connection, final VstEventLoop eventLoop, final Long ttl) {
+		super();
+		this.connection = connection;
+		this.eventLoop = eventLoop;
+		reserved = new AtomicInteger(1);
+		flushScheduled = new AtomicBoolean(false);
+		closeRequested = new AtomicReference<IOException>();
+		submitted = new ConcurrentLinkedQueue<HttpExchange>();
+		cancelled = new ConcurrentLinkedQueue<HttpExchange>();
+		lastUsed = System.currentTimeMillis();
+		ttlTime = ttl != null ? lastUsed + ttl : null;
+		maxConcurrentStreams = DEFAULT_MAX_CONCURRENT_STREAMS;
+		readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		output = new ArrayDeque<ByteBuffer>();
+		streams = new HashMap<Integer, Stream>();
+		exchanges = new IdentityHashMap<HttpExchange, Stream>();
+		sending = new ArrayList<Stream>();
+		encoder = new HpackEncoder();
+		decoder = new HpackDecoder();
+		nextStreamId = 1;
+		lastStreamId = MAX_STREAM_ID;
+		connectionWindow = DEFAULT_WINDOW_SIZE;
+		initialWindow = DEFAULT_WINDOW_SIZE;
+		maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+	}
+
+	/**
+	 * Starts a non-blocking connect, which is completed by the selector thread. Only a Unix domain socket is connected
+	 * within the calling thread.
+	 */
+	@Override
+	public void open(final Integer connectTimeout) throws IOException {
+		final HostDescription host = connection.getHost();
+		final SocketChannel channel;
+		if (host.isUnixSocket()) {
+			channel = UnixDomainSockets.open(host.getPath());
+			channel.configureBlocking(false);
+			connected = true;
+		} else {
+			channel = SocketChannel.open();
+			try {
+				channel.configureBlocking(false);
+				channel.socket().setKeepAlive(true);
+				channel.socket().setTcpNoDelay(true);
+				connected = channel.connect(new InetSocketAddress(host.getHost(), host.getPort()));
+			} catch (final IOException e) {
+				channel.close();
+				throw e;
+			}
+		}
+		this.channel = channel;
+		if (!connected && connectTimeout != null && connectTimeout > 0) {
+			connection.schedule(new Runnable() {
+				@Override
+				public void run() {
+					if (!connected) {
+						close(new ConnectException(String.format("Could not connect to %s within %s ms",
+							connection.getHost(), connectTimeout)));
+					}
+				}
+			}, connectTimeout, TimeUnit.MILLISECONDS);
+		}
+		eventLoop.register(this);
+	}
+
+	@Override
+	public void register(final Selector selector) throws IOException {
+		final IOException cause = closeRequested.get();
+		if (cause != null) {
+			terminate(cause);
+			return;
+		}
+		key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+		if (connected) {
+			flush();
+		}
+	}
+
+	@Override
+	public void connect() throws IOException {
+		if (channel.finishConnect()) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Connected to %s", channel));
+			}
+			connected = true;
+			key.interestOps(SelectionKey.OP_READ);
+			flush();
+		}
+	}
+
+	@Override
+	public boolean isConnected() {
+		return connected && terminated == null;
+	}
+
+	/**
+	 * @return whether or not the channel may accept another stream
+	 */
+	boolean isAvailable() {
+		return !draining && terminated == null && reserved.get() < maxConcurrentStreams;
+	}
+
+	int getStreams() {
+		final int count = reserved.get();
+		return count == RETIRED ? 0 : count;
+	}
+
+	/**
+	 * @return whether or not the channel accepts another stream, which is now reserved for the caller
+	 */
+	boolean tryAcquire() {
+		while (true) {
+			final int count = reserved.get();
+			if (draining || terminated != null || count >= maxConcurrentStreams) {
+				return false;
+			}
+			if (reserved.compareAndSet(count, count + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Frees a reserved stream
+	 */
+	@Override
+	public void release() {
+		lastUsed = System.currentTimeMillis();
+		if (reserved.decrementAndGet() == 0 && draining && reserved.compareAndSet(0, RETIRED)) {
+			close(null);
+		}
+	}
+
+	boolean isExpired() {
+		return ttlTime != null && System.currentTimeMillis() > ttlTime;
+	}
+
+	/**
+	 * Stops to accept new streams and closes the channel as soon as its streams completed
+	 */
+	void drain() {
+		draining = true;
+		if (reserved.compareAndSet(0, RETIRED)) {
+			close(null);
+		}
+	}
+
+	/**
+	 * Closes the channel if it carried no stream since the given time
+	 */
+	void closeIfIdleSince(final long time) {
+		if (lastUsed <= time && reserved.compareAndSet(0, RETIRED)) {
+			close(null);
+		}
+	}
+
+	/**
+	 * Sends the request of the given exchange as a new stream, which has to be reserved by the caller. The stream is
+	 * started by the selector thread.
+	 */
+	@Override
+	public void send(final HttpExchange exchange) {
+		exchange.setChannel(this);
+		submitted.add(exchange);
+		if (terminated != null) {
+			// terminated concurrently, the exchange is handed back unless the selector thread took it already
+			if (submitted.remove(exchange)) {
+				handBack(exchange, terminated);
+			}
+			return;
+		}
+		scheduleFlush();
+	}
+
+	/**
+	 * Resets the stream of the given exchange
+	 */
+	@Override
+	public void abort(final HttpExchange exchange) {
+		cancelled.add(exchange);
+		scheduleFlush();
+	}
+
+	/**
+	 * Closes the socket within the selector thread. Streams still carried by the channel fail with the given cause.
+	 */
+	@Override
+	public void close(final IOException cause) {
+		if (closeRequested.compareAndSet(null, cause != null ? cause : new IOException("The connection is closed."))) {
+			eventLoop.flush(this);
+		}
+	}
+
+	private void scheduleFlush() {
+		if (flushScheduled.compareAndSet(false, true)) {
+			eventLoop.flush(this);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushScheduled.set(false);
+		final IOException cause = closeRequested.get();
+		if (cause != null) {
+			terminate(cause);
+			return;
+		}
+		if (key == null || !key.isValid() || !connected) {
+			return;
+		}
+		if (!prefaceSent) {
+			prefaceSent = true;
+			writePreface();
+		}
+		for (HttpExchange exchange; (exchange = cancelled.poll()) != null;) {
+			final Stream stream = exchanges.get(exchange);
+			if (stream != null) {
+				writeFrame(TYPE_RST_STREAM, 0, stream.id, intPayload(ERROR_CANCEL));
+				endStream(stream);
+				connection.failed(exchange, new IOException("The response is no longer awaited."), false);
+			}
+		}
+		for (HttpExchange exchange; (exchange = submitted.poll()) != null;) {
+			start(exchange);
+		}
+		writeData();
+		write();
+	}
+
+	private void write() throws IOException {
+		if (!output.isEmpty()) {
+			channel.write(output.toArray(new ByteBuffer[output.size()]));
+			while (!output.isEmpty() && !output.peekFirst().hasRemaining()) {
+				output.pollFirst();
+			}
+		}
+		if (key.isValid()) {
+			key.interestOps(output.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+	}
+
+	private void writePreface() {
+		output.add(ByteBuffer.wrap(PREFACE));
+		final ByteBuffer settings = ByteBuffer.allocate(12);
+		settings.putShort((short) SETTINGS_ENABLE_PUSH).putInt(0);
+		settings.putShort((short) SETTINGS_INITIAL_WINDOW_SIZE).putInt(STREAM_WINDOW_SIZE);
+		writeFrame(TYPE_SETTINGS, 0, 0, settings.array());
+		writeFrame(TYPE_WINDOW_UPDATE, 0, 0, intPayload(CONNECTION_WINDOW_SIZE - DEFAULT_WINDOW_SIZE));
+	}
+
+	private void start(final HttpExchange exchange) throws IOException {
+		if (exchange.getFuture().isDone()) {
+			release();
+			connection.failed(exchange, new IOException("The response is no longer awaited."), false);
+			return;
+		}
+		if (draining || nextStreamId > lastStreamId || nextStreamId < 0) {
+			release();
+			connection.rejected(exchange);
+			return;
+		}
+		final Stream stream = new Stream(exchange, nextStreamId, initialWindow);
+		nextStreamId += 2;
+		if (nextStreamId < 0) {
+			// stream ids are exhausted, further requests use a new socket
+			draining = true;
+		}
+		streams.put(stream.id, stream);
+		exchanges.put(exchange, stream);
+		final byte[] block = encoder.encode(exchange.getFields());
+		final boolean endStream = stream.body == null || !stream.body.hasRemaining();
+		int offset = 0;
+		int type = TYPE_HEADERS;
+		do {
+			final int length = Math.min(block.length - offset, maxFrameSize);
+			int flags = offset + length == block.length ? FLAG_END_HEADERS : 0;
+			if (type == TYPE_HEADERS && endStream) {
+				flags |= FLAG_END_STREAM;
+			}
+			writeFrame(type, flags, stream.id, ByteBuffer.wrap(block, offset, length).slice());
+			offset += length;
+			type = TYPE_CONTINUATION;
+		} while (offset < block.length);
+		if (!endStream) {
+			sending.add(stream);
+		}
+	}
+
+	/**
+	 * Writes the bodies of the streams in turns of one frame, as far as the flow control windows of the server allow
+	 */
+	private void writeData() {
+		boolean progress = true;
+		while (progress && connectionWindow > 0 && !sending.isEmpty()) {
+			progress = false;
+			for (final Iterator<Stream> iterator = sending.iterator(); iterator.hasNext() && connectionWindow > 0;) {
+				final Stream stream = iterator.next();
+				final ByteBuffer body = stream.body;
+				final int length = Math.min(Math.min(body.remaining(), maxFrameSize),
+					Math.min(stream.window, connectionWindow));
+				if (length <= 0) {
+					continue;
+				}
+				final ByteBuffer data = body.slice();
+				data.limit(length);
+				body.position(body.position() + length);
+				stream.window -= length;
+				connectionWindow -= length;
+				writeFrame(TYPE_DATA, body.hasRemaining() ? 0 : FLAG_END_STREAM, stream.id, data);
+				if (!body.hasRemaining()) {
+					iterator.remove();
+				}
+				progress = true;
+			}
+		}
+	}
+
+	private void writeFrame(final int type, final int flags, final int streamId, final byte[] payload) {
+		writeFrame(type, flags, streamId, ByteBuffer.wrap(payload));
+	}
+
+	private void writeFrame(final int type, final int flags, final int streamId, final ByteBuffer payload) {
+		final int length = payload.remaining();
+		final ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_LENGTH);
+		header.put((byte) (length >>> 16)).put((byte) (length >>> 8)).put((byte) length);
+		header.put((byte) type).put((byte) flags).putInt(streamId);
+		header.flip();
+		output.add(header);
+		if (length > 0) {
+			output.add(payload);
+		}
+	}
+
+	private static byte[] intPayload(final int value) {
+		return ByteBuffer.allocate(4).putInt(value).array();
+	}
+
+	@Override
+	public void read() throws IOException {
+		int read;
+		do {
+			read = channel.read(readBuffer);
+			readBuffer.flip();
+			try {
+				process();
+			} finally {
+				readBuffer.compact();
+			}
+			if (terminated != null) {
+				return;
+			}
+		} while (read > 0);
+		if (read == -1) {
+			terminate(new IOException("The connection was closed by the server."));
+			return;
+		}
+		// acknowledgements, window updates and data unblocked by the server
+		writeData();
+		write();
+	}
+
+	private void process() throws IOException {
+		while (readBuffer.remaining() >= FRAME_HEADER_LENGTH) {
+			final int position = readBuffer.position();
+			final int length = ((readBuffer.get(position) & 0xff) << 16) | ((readBuffer.get(position + 1) & 0xff) << 8)
+					| (readBuffer.get(position + 2) & 0xff);
+			if (length > DEFAULT_MAX_FRAME_SIZE) {
+				throw new IOException(String.format("Received a HTTP/2 frame which is too large: %s", length));
+			}
+			if (readBuffer.remaining() < FRAME_HEADER_LENGTH + length) {
+				return;
+			}
+			final int type = readBuffer.get(position + 3) & 0xff;
+			final int flags = readBuffer.get(position + 4) & 0xff;
+			final int streamId = readBuffer.getInt(position + 5) & 0x7fffffff;
+			readBuffer.position(position + FRAME_HEADER_LENGTH);
+			final ByteBuffer payload = readBuffer.slice();
+			payload.limit(length);
+			readBuffer.position(position + FRAME_HEADER_LENGTH + length);
+			if (headerBlock != null && type != TYPE_CONTINUATION) {
+				throw new IOException("Expected a HTTP/2 CONTINUATION frame.");
+			}
+			processFrame(type, flags, streamId, payload);
+			if (terminated != null) {
+				return;
+			}
+		}
+	}
+
+	private void processFrame(final int type, final int flags, final int streamId, final ByteBuffer payload)
+			throws IOException {
+		switch (type) {
+		case TYPE_DATA:
+			processData(flags, streamId, payload);
+			break;
+		case TYPE_HEADERS:
+			processHeaders(flags, streamId, payload);
+			break;
+		case TYPE_CONTINUATION:
+			if (headerBlock == null || streamId != headerBlockStream) {
+				throw new IOException("Received an unexpected HTTP/2 CONTINUATION frame.");
+			}
+			appendHeaderBlock(flags, payload);
+			break;
+		case TYPE_RST_STREAM:
+			checkLength(type, payload, 4, 4);
+			processReset(streamId, payload.getInt());
+			break;
+		case TYPE_SETTINGS:
+			if ((flags & FLAG_ACK) == 0) {
+				processSettings(payload);
+			}
+			break;
+		case TYPE_PUSH_PROMISE:
+			throw new IOException("Received a HTTP/2 PUSH_PROMISE although push is disabled.");
+		case TYPE_PING:
+			if ((flags & FLAG_ACK) == 0) {
+				writeFrame(TYPE_PING, FLAG_ACK, 0, copy(payload));
+			}
+			break;
+		case TYPE_GOAWAY:
+			checkLength(type, payload, 8, Integer.MAX_VALUE);
+			processGoAway(payload.getInt() & 0x7fffffff, payload.getInt());
+			break;
+		case TYPE_WINDOW_UPDATE:
+			checkLength(type, payload, 4, 4);
+			processWindowUpdate(streamId, payload.getInt() & 0x7fffffff);
+			break;
+		default:
+			// PRIORITY and unknown frames are ignored
+			break;
+		}
+	}
+
+	/**
+	 * A frame of an invalid length is a connection error, the connection is closed
+	 */
+	private static void checkLength(final int type, final ByteBuffer payload, final int min, final int max)
+			throws IOException {
+		final int length = payload.remaining();
+		if (length < min || length > max) {
+			throw new IOException(
+					String.format("Received a HTTP/2 frame of type %s with an invalid length: %s", type, length));
+		}
+	}
+
+	private static byte[] copy(final ByteBuffer payload) {
+		final byte[] bytes = new byte[payload.remaining()];
+		payload.get(bytes);
+		return bytes;
+	}
+
+	private static int skipPadding(final int flags, final ByteBuffer payload) throws IOException {
+		if ((flags & FLAG_PADDED) == 0) {
+			return 0;
+		}
+		final int padding = payload.get() & 0xff;
+		if (padding > payload.remaining()) {
+			throw new IOException("Received a HTTP/2 frame with invalid padding.");
+		}
+		payload.limit(payload.limit() - padding);
+		return padding;
+	}
+
+	private void processData(final int flags, final int streamId, final ByteBuffer payload) throws IOException {
+		final int length = payload.remaining();
+		skipPadding(flags, payload);
+		// the window of the connection is consumed even by streams which were reset
+		unacknowledged += length;
+		if (unacknowledged >= CONNECTION_WINDOW_SIZE / 2) {
+			writeFrame(TYPE_WINDOW_UPDATE, 0, 0, intPayload(unacknowledged));
+			unacknowledged = 0;
+		}
+		final Stream stream = streams.get(streamId);
+		if (stream == null) {
+			return;
+		}
+		if (stream.content == null) {
+			stream.content = new ByteArrayOutputStream(Math.max(payload.remaining(), 256));
+		}
+		stream.content.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+		if ((flags & FLAG_END_STREAM) != 0) {
+			complete(stream);
+			return;
+		}
+		stream.unacknowledged += length;
+		if (stream.unacknowledged >= STREAM_WINDOW_SIZE / 2) {
+			writeFrame(TYPE_WINDOW_UPDATE, 0, stream.id, intPayload(stream.unacknowledged));
+			stream.unacknowledged = 0;
+		}
+	}
+
+	private void processHeaders(final int flags, final int streamId, final ByteBuffer payload) throws IOException {
+		skipPadding(flags, payload);
+		if ((flags & FLAG_PRIORITY) != 0) {
+			payload.position(payload.position() + 5);
+		}
+		headerBlock = new ByteArrayOutputStream(payload.remaining());
+		headerBlockStream = streamId;
+		headerBlockEndStream = (flags & FLAG_END_STREAM) != 0;
+		appendHeaderBlock(flags, payload);
+	}
+
+	private void appendHeaderBlock(final int flags, final ByteBuffer payload) throws IOException {
+		headerBlock.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+		if ((flags & FLAG_END_HEADERS) == 0) {
+			return;
+		}
+		final Map<String, String> fields = new LinkedHashMap<String, String>();
+		decoder.decode(ByteBuffer.wrap(headerBlock.toByteArray()), fields);
+		headerBlock = null;
+		final Stream stream = streams.get(headerBlockStream);
+		if (stream == null) {
+			return;
+		}
+		final String status = fields.remove(":status");
+		if (stream.status < 0 && status != null) {
+			final int code;
+			try {
+				code = Integer.parseInt(status);
+			} catch (final NumberFormatException e) {
+				throw new IOException(String.format("Received an invalid HTTP/2 status: %s", status));
+			}
+			if (code >= 200) {
+				stream.status = code;
+				stream.headers = new HashMap<String, String>();
+				for (final Entry<String, String> field : fields.entrySet()) {
+					stream.headers.put(canonical(field.getKey()), field.getValue());
+				}
+			}
+		}
+		if (headerBlockEndStream) {
+			complete(stream);
+		}
+	}
+
+	/**
+	 * HTTP/2 transfers the names of headers in lower case, they are capitalized like those of HTTP/1.1, e.g.
+	 * {@code X-Arango-Endpoint}.
+	 */
+	static String canonical(final String name) {
+		final char[] chars = name.toCharArray();
+		boolean upper = true;
+		for (int i = 0; i < chars.length; i++) {
+			if (upper) {
+				chars[i] = Character.toUpperCase(chars[i]);
+			}
+			upper = chars[i] == '-';
+		}
+		return new String(chars);
+	}
+
+	private void processReset(final int streamId, final int errorCode) {
+		final Stream stream = streams.get(streamId);
+		if (stream == null) {
+			return;
+		}
+		endStream(stream);
+		if (errorCode == ERROR_REFUSED_STREAM) {
+			// the server did not process the request
+			connection.rejected(stream.exchange);
+		} else {
+			connection.failed(stream.exchange,
+				new IOException(String.format("The server reset the stream with error code %s", errorCode)), false);
+		}
+	}
+
+	private void processSettings(final ByteBuffer payload) throws IOException {
+		while (payload.remaining() >= 6) {
+			final int identifier = payload.getShort() & 0xffff;
+			final int value = payload.getInt();
+			switch (identifier) {
+			case SETTINGS_HEADER_TABLE_SIZE:
+				encoder.setMaxTableSize(value);
+				break;
+			case SETTINGS_MAX_CONCURRENT_STREAMS:
+				maxConcurrentStreams = value;
+				break;
+			case SETTINGS_INITIAL_WINDOW_SIZE:
+				if (value < 0) {
+					throw new IOException(String.format("Received an invalid HTTP/2 window size: %s", value));
+				}
+				final int delta = value - initialWindow;
+				initialWindow = value;
+				for (final Stream stream : streams.values()) {
+					stream.window += delta;
+				}
+				break;
+			case SETTINGS_MAX_FRAME_SIZE:
+				maxFrameSize = value;
+				break;
+			default:
+				break;
+			}
+		}
+		writeFrame(TYPE_SETTINGS, FLAG_ACK, 0, new byte[0]);
+	}
+
+	private void processGoAway(final int lastStreamId, final int errorCode) {
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug(String.format("Received GOAWAY from %s, last stream %s, error code %s", channel,
+				lastStreamId, errorCode));
+		}
+		this.lastStreamId = lastStreamId;
+		draining = true;
+		// streams after the last one were not processed by the server and are sent again
+		final List<Stream> refused = new ArrayList<Stream>();
+		for (final Stream stream : streams.values()) {
+			if (stream.id > lastStreamId) {
+				refused.add(stream);
+			}
+		}
+		for (final Stream stream : refused) {
+			endStream(stream);
+			connection.rejected(stream.exchange);
+		}
+		if (reserved.compareAndSet(0, RETIRED)) {
+			terminate(null);
+		}
+	}
+
+	private void processWindowUpdate(final int streamId, final int increment) {
+		if (streamId == 0) {
+			connectionWindow += increment;
+		} else {
+			final Stream stream = streams.get(streamId);
+			if (stream != null) {
+				stream.window += increment;
+			}
+		}
+	}
+
+	private void complete(final Stream stream) throws IOException {
+		if (stream.status < 0) {
+			throw new IOException(String.format("Received no HTTP/2 response headers for stream %s", stream.id));
+		}
+		endStream(stream);
+		final byte[] content = stream.content != null ? stream.content.toByteArray() : null;
+		connection.completed(stream.exchange, stream.status, stream.headers, content);
+	}
+
+	private void endStream(final Stream stream) {
+		streams.remove(stream.id);
+		exchanges.remove(stream.exchange);
+		sending.remove(stream);
+		release();
+	}
+
+	@Override
+	public void failed(final Exception e) {
+		terminate(e instanceof IOException ? (IOException) e : new IOException(e));
+	}
+
+	@Override
+	public void checkTtl() {
+		if (isExpired()) {
+			drain();
+		}
+	}
+
+	/**
+	 * Closes the socket within the selector thread. Requests which were not started are handed back. Requests which
+	 * got no response yet are sent again if they are safe to repeat, otherwise they fail with the given cause.
+	 */
+	private void terminate(final IOException cause) {
+		if (terminated != null) {
+			return;
+		}
+		final IOException reason = cause != null ? cause : new IOException("The connection is closed.");
+		terminated = reason;
+		final SocketChannel channel = this.channel;
+		if (channel != null) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Close connection %s", channel));
+			}
+			try {
+				channel.close();
+			} catch (final IOException e) {
+				LOGGER.debug(e.getMessage(), e);
+			}
+		}
+		connection.closed(this);
+		for (final Stream stream : new ArrayList<Stream>(streams.values())) {
+			streams.remove(stream.id);
+			connection.failed(stream.exchange, reason, stream.status < 0);
+		}
+		exchanges.clear();
+		sending.clear();
+		output.clear();
+		for (HttpExchange exchange; (exchange = submitted.poll()) != null;) {
+			handBack(exchange, reason);
+		}
+	}
+
+	private void handBack(final HttpExchange exchange, final IOException cause) {
+		if (connected) {
+			connection.rejected(exchange);
+		} else {
+			// the host is not reachable, the request fails so that the next host is tried
+			connection.failed(exchange, cause, false);
+		}
+	}
+
+}
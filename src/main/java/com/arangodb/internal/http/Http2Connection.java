@@ -0,0 +1,174 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.Protocol;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.util.CURLLogger;
+import com.arangodb.internal.util.JsonStreamEncoder;
+import com.arangodb.internal.velocystream.internal.VstEventLoop;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
+import com.arangodb.util.ArangoSerialization;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+
+/**
+ * Non-blocking client which multiplexes the HTTP requests of a host or one of its traffic lanes as HTTP/2 streams over
+ * up to {@code maxConnections} sockets, driven by the selector threads of a {@link VstEventLoopGroup}. Every request
+ * uses the socket with the fewest streams in flight, a new socket is opened only when all sockets carry as many
+ * streams as their server allows. Further requests wait in a queue without occupying a thread. The sockets speak
+ * HTTP/2 without TLS and without an upgrade from HTTP/1.1 ({@code h2c} with prior knowledge).
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class Http2Connection extends AbstractHttpAsyncConnection<Http2Channel> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Http2Connection.class);
+
+	/**
+	 * Headers of HTTP/1.1 which must not be sent over HTTP/2
+	 */
+	private static final Set<String> CONNECTION_HEADERS = new HashSet<String>(
+			Arrays.asList("connection", "host", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade"));
+
+	private final String authority;
+
+	/**
+	 * @param contentType
+	 *            {@link Protocol#HTTP_JSON} or {@link Protocol#HTTP_VPACK}
+	 */
+	public Http2Connection(final HostDescription host, final Integer timeout, final String user,
+		final String password, final ArangoSerialization util, final Protocol contentType, final Long ttl,
+		final int maxConnections, final VstEventLoopGroup eventLoopGroup, final ScheduledThreadPoolExecutor deadlines) {
+		super(host, timeout, user, password, util, contentType, ttl, maxConnections, eventLoopGroup, deadlines);
+		authority = host.isUnixSocket() ? "localhost" : host.getHost() + ":" + host.getPort();
+	}
+
+	@Override
+	protected HttpExchange createExchange(final Request request) throws UnsupportedEncodingException {
+		final RequestType type = request.getRequestType();
+		final List<String> fields = new ArrayList<String>(24);
+		fields.add(":method");
+		fields.add(type.name());
+		fields.add(":scheme");
+		fields.add("http");
+		fields.add(":authority");
+		fields.add(authority);
+		fields.add(":path");
+		fields.add(HttpConnection.buildUrl("", request));
+		fields.add("user-agent");
+		fields.add(USER_AGENT);
+		if (contentType == Protocol.HTTP_VPACK) {
+			fields.add("accept");
+			fields.add(CONTENT_TYPE_VPACK);
+		}
+		if (authorization != null) {
+			fields.add("authorization");
+			fields.add(authorization);
+		}
+		for (final Entry<String, String> header : request.getHeaderParam().entrySet()) {
+			final String name = header.getKey().toLowerCase();
+			if (!CONNECTION_HEADERS.contains(name)) {
+				fields.add(name);
+				fields.add(header.getValue());
+			}
+		}
+		ByteBuffer body = null;
+		final VPackSlice slice = request.getBody();
+		if (slice != null && type != RequestType.GET && type != RequestType.HEAD) {
+			if (contentType == Protocol.HTTP_VPACK) {
+				body = ByteBuffer.wrap(slice.getBuffer(), slice.getStart(), slice.getByteSize()).slice();
+				fields.add("content-type");
+				fields.add(CONTENT_TYPE_VPACK);
+			} else {
+				body = ByteBuffer.wrap(JsonStreamEncoder.encode(slice));
+				fields.add("content-type");
+				fields.add(CONTENT_TYPE_APPLICATION_JSON_UTF8);
+			}
+			fields.add("content-length");
+			fields.add(String.valueOf(body.remaining()));
+		}
+		if (LOGGER.isDebugEnabled()) {
+			CURLLogger.log(HttpConnection.buildUrl(HttpConnection.buildBaseUrl(host, false), request), request,
+				credentials, util);
+		}
+		return new HttpExchange(request, fields, body);
+	}
+
+	@Override
+	protected Http2Channel createChannel(final VstEventLoop eventLoop) {
+		return new Http2Channel(this, eventLoop, ttl);
+	}
+
+	/**
+	 * @return the socket with the fewest streams which accepts another one
+	 */
+	@Override
+	protected Http2Channel acquire() {
+		while (true) {
+			Http2Channel least = null;
+			int min = Integer.MAX_VALUE;
+			for (final Http2Channel channel : channels) {
+				final int streams = channel.getStreams();
+				if (streams < min && channel.isAvailable()) {
+					least = channel;
+					min = streams;
+				}
+			}
+			if (least == null || least.tryAcquire()) {
+				return least;
+			}
+		}
+	}
+
+	@Override
+	public void closeExpired() {
+		for (final Http2Channel channel : channels) {
+			if (channel.isExpired()) {
+				channel.drain();
+			}
+		}
+	}
+
+	@Override
+	public void closeIdle(final long idleTimeout) {
+		final long time = System.currentTimeMillis() - idleTimeout;
+		for (final Http2Channel channel : channels) {
+			channel.closeIfIdleSince(time);
+		}
+	}
+
+}
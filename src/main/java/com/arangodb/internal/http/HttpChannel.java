@@ -0,0 +1,63 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+
+/**
+ * A socket of a non-blocking HTTP connection, which carries the requests handed to it
+ * 
+ * @author Mark Vollmary
+ *
+ */
+interface HttpChannel {
+
+	/**
+	 * Starts to connect the socket, which is completed by the selector thread
+	 */
+	void open(Integer connectTimeout) throws IOException;
+
+	boolean isConnected();
+
+	/**
+	 * Frees the socket acquired by the caller without handing it a request
+	 */
+	void release();
+
+	/**
+	 * Hands the given exchange to the socket acquired by the caller
+	 */
+	void send(HttpExchange exchange);
+
+	/**
+	 * Stops to carry the given exchange, because its response is no longer awaited
+	 */
+	void abort(HttpExchange exchange);
+
+	/**
+	 * Closes the socket and hands the exchanges it carried back to its connection
+	 * 
+	 * @param cause
+	 *            the reason, {@code null} if the socket is closed because it expired or was idle
+	 */
+	void close(IOException cause);
+
+}
@@ -0,0 +1,54 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.Response;
+
+/**
+ * Client which sends the HTTP requests of a host or one of its traffic lanes over a number of sockets of its own.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public interface HttpClientConnection extends Connection {
+
+	/**
+	 * Sends the request and waits for its response
+	 */
+	Response execute(final Request request) throws ArangoDBException, IOException;
+
+	/**
+	 * Closes the sockets which expired, either because of the connection time to live or the keep-alive timeout of the
+	 * server.
+	 */
+	void closeExpired();
+
+	/**
+	 * Closes the sockets which were not used for at least the given time.
+	 */
+	void closeIdle(final long idleTimeout);
+
+}
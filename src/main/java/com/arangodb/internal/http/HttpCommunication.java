@@ -23,21 +23,34 @@ package com.arangodb.internal.http;
 import java.io.Closeable;
 import java.io.IOException;
 import java.net.SocketException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.Function;
+import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.ArangoRequestParam;
+import com.arangodb.internal.InternalArangoDatabase;
 import com.arangodb.internal.net.AccessType;
 import com.arangodb.internal.net.ArangoDBRedirectException;
+import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.Host;
 import com.arangodb.internal.net.HostDescription;
 import com.arangodb.internal.net.HostHandle;
 import com.arangodb.internal.net.HostHandler;
 import com.arangodb.internal.util.HostUtils;
 import com.arangodb.internal.util.RequestUtils;
+import com.arangodb.internal.util.ResponseUtils;
 import com.arangodb.util.ArangoSerialization;
 import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
 import com.arangodb.velocystream.Response;
 
 /**
@@ -51,6 +64,8 @@ public class HttpCommunication implements Closeable {
 	public static class Builder {
 
 		private final HostHandler hostHandler;
+		private Integer maxConnections;
+		private Boolean nonBlocking;
 
 		public Builder(final HostHandler hostHandler) {
 			super();
@@ -59,23 +74,190 @@ public class HttpCommunication implements Closeable {
 
 		public Builder(final Builder builder) {
 			this(builder.hostHandler);
+			maxConnections(builder.maxConnections);
+			nonBlocking(builder.nonBlocking);
+		}
+
+		public Builder maxConnections(final Integer maxConnections) {
+			this.maxConnections = maxConnections;
+			return this;
+		}
+
+		/**
+		 * @param nonBlocking
+		 *            whether or not the connections are {@link HttpAsyncConnection}s
+		 */
+		public Builder nonBlocking(final Boolean nonBlocking) {
+			this.nonBlocking = nonBlocking;
+			return this;
 		}
 
 		public HttpCommunication build(final ArangoSerialization util) {
-			return new HttpCommunication(hostHandler);
+			return new HttpCommunication(hostHandler, maxConnections, nonBlocking);
 		}
 	}
 
 	private final HostHandler hostHandler;
+	private final int maxConnections;
+	private final boolean nonBlocking;
+	private volatile ExecutorService executor;
 
-	private HttpCommunication(final HostHandler hostHandler) {
+	private HttpCommunication(final HostHandler hostHandler, final Integer maxConnections, final Boolean nonBlocking) {
 		super();
 		this.hostHandler = hostHandler;
+		this.maxConnections = maxConnections != null ? Math.max(1, maxConnections)
+				: ArangoDefaults.MAX_CONNECTIONS_HTTP_DEFAULT;
+		this.nonBlocking = Boolean.TRUE == nonBlocking;
 	}
 
 	@Override
 	public void close() throws IOException {
 		hostHandler.close();
+		final ExecutorService executor = this.executor;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * With non-blocking connections the returned future is completed by the selector thread which received the
+	 * response. Otherwise the request is executed on a thread pool with one thread per pooled connection, because the
+	 * HTTP client blocks while waiting for the response. More threads would only wait for a free connection.
+	 */
+	public ArangoFuture<Response> executeAsync(final Request request, final HostHandle hostHandle) {
+		if (nonBlocking) {
+			final AccessType accessType = RequestUtils.determineAccessType(request);
+			final Host host = hostHandler.get(hostHandle, accessType);
+			if (host == null) {
+				return ArangoFuture.failed(new ArangoDBException("No host available."));
+			}
+			return executeAsync(request, hostHandle, accessType, host);
+		}
+		final ArangoFuture<Response> future = new ArangoFuture<Response>();
+		executor().execute(new Runnable() {
+			@Override
+			public void run() {
+				if (future.isDone()) {
+					return;
+				}
+				try {
+					future.complete(execute(request, hostHandle));
+				} catch (final ArangoDBException e) {
+					future.completeExceptionally(e);
+				} catch (final IOException e) {
+					future.completeExceptionally(new ArangoDBException(e));
+				} catch (final RuntimeException e) {
+					future.completeExceptionally(e);
+				}
+			}
+		});
+		return future;
+	}
+
+	private ArangoFuture<Response> executeAsync(
+		final Request request,
+		final HostHandle hostHandle,
+		final AccessType accessType,
+		final Host host) {
+		final ArangoFuture<Response> response;
+		final long start = host.requestStarted();
+		try {
+			response = ((HttpAsyncConnection) host.connection(request.getLane())).executeAsync(request);
+		} catch (final RuntimeException e) {
+			host.requestCompleted(start, ResponseUtils.isFailure(e));
+			return ArangoFuture.failed(e);
+		}
+		response.addListener(new Runnable() {
+			@Override
+			public void run() {
+				host.requestCompleted(start, failed(response));
+				if (!response.isCompletedExceptionally()) {
+					hostHandler.success();
+					hostHandler.confirm();
+				}
+			}
+		});
+		return response.exceptionallyCompose(new Function<Throwable, ArangoFuture<Response>>() {
+			@Override
+			public ArangoFuture<Response> apply(final Throwable e) {
+				if (e instanceof SocketException) {
+					hostHandler.fail();
+					if (hostHandle != null && hostHandle.getHost() != null) {
+						hostHandle.setHost(null);
+					}
+					final Host next = hostHandler.get(hostHandle, accessType);
+					if (next != null) {
+						LOGGER.warn(String.format("Could not connect to %s. Try connecting to %s",
+							host.getDescription(), next.getDescription()));
+						return executeAsync(request, hostHandle, accessType, next);
+					}
+				} else if (e instanceof ArangoDBRedirectException) {
+					final String location = ArangoDBRedirectException.class.cast(e).getLocation();
+					hostHandler.closeCurrentOnError();
+					hostHandler.fail();
+					return executeAsync(request, new HostHandle().setHost(HostUtils.createFromLocation(location)));
+				}
+				return ArangoFuture.failed(e instanceof ArangoDBException ? e : new ArangoDBException(e));
+			}
+		});
+	}
+
+	/**
+	 * @return whether or not the completed response failed without a response of the server
+	 */
+	private static boolean failed(final ArangoFuture<Response> response) {
+		if (!response.isCompletedExceptionally() || response.isCancelled()) {
+			return false;
+		}
+		try {
+			response.get();
+			return false;
+		} catch (final ExecutionException e) {
+			return ResponseUtils.isFailure(e.getCause());
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return true;
+		}
+	}
+
+	private ExecutorService executor() {
+		ExecutorService result = executor;
+		if (result == null) {
+			synchronized (this) {
+				result = executor;
+				if (result == null) {
+					final AtomicInteger count = new AtomicInteger();
+					result = Executors.newFixedThreadPool(maxConnections, new ThreadFactory() {
+						@Override
+						public Thread newThread(final Runnable r) {
+							final Thread thread = new Thread(r, "arangodb-http-" + count.incrementAndGet());
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+					executor = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Executes the request on the given host, without host selection and failover. The request is not accounted in the
+	 * latency and the requests in flight of the host.
+	 */
+	public Response executeOnHost(final Request request, final Host host) throws ArangoDBException, IOException {
+		return ((HttpClientConnection) host.connection()).execute(request);
+	}
+
+	/**
+	 * Opens the socket of the given connection and checks the credentials with a {@code GET /_api/version}, because
+	 * the underlying client opens its socket on demand and authenticates every request.
+	 */
+	public void open(final Connection connection) throws ArangoDBException, IOException {
+		((HttpClientConnection) connection)
+				.execute(new Request(ArangoRequestParam.SYSTEM, RequestType.GET, InternalArangoDatabase.PATH_API_VERSION))
+				.release();
 	}
 
 	public Response execute(final Request request, final HostHandle hostHandle) throws ArangoDBException, IOException {
@@ -84,8 +266,19 @@ public class HttpCommunication implements Closeable {
 		try {
 			while (true) {
 				try {
-					final HttpConnection connection = (HttpConnection) host.connection();
-					final Response response = connection.execute(request);
+					final HttpClientConnection connection = (HttpClientConnection) host.connection(request.getLane());
+					final Response response;
+					final long start = host.requestStarted();
+					boolean failed = true;
+					try {
+						response = connection.execute(request);
+						failed = false;
+					} catch (final ArangoDBException e) {
+						failed = ResponseUtils.isFailure(e);
+						throw e;
+					} finally {
+						host.requestCompleted(start, failed);
+					}
 					hostHandler.success();
 					hostHandler.confirm();
 					return response;
@@ -24,7 +24,6 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.SocketException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -58,7 +57,6 @@ import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
@@ -66,6 +64,7 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHeaderElementIterator;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.ssl.SSLContexts;
@@ -74,22 +73,26 @@ import org.slf4j.LoggerFactory;
 
 import com.arangodb.ArangoDBException;
 import com.arangodb.Protocol;
-import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.ArangoDefaults;
 import com.arangodb.internal.net.HostDescription;
 import com.arangodb.internal.util.CURLLogger;
 import com.arangodb.internal.util.IOUtils;
+import com.arangodb.internal.util.JsonStreamDecoder;
 import com.arangodb.internal.util.ResponseUtils;
 import com.arangodb.util.ArangoSerialization;
-import com.arangodb.util.ArangoSerializer.Options;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocystream.Request;
 import com.arangodb.velocystream.Response;
 
 /**
+ * One client with a connection manager of its own per host and traffic lane. The manager keeps up to
+ * {@code maxConnections} sockets to the host and leases a free one to every request, so concurrent requests share the
+ * same client instead of each pooled connection carrying a client of its own.
+ * 
  * @author Mark Vollmary
  *
  */
-public class HttpConnection implements Connection {
+public class HttpConnection implements HttpClientConnection {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(HttpCommunication.class);
 	private static final ContentType CONTENT_TYPE_APPLICATION_JSON_UTF8 = ContentType.create("application/json",
@@ -106,6 +109,7 @@ public class HttpConnection implements Connection {
 		private Long ttl;
 		private SSLContext sslContext;
 		private Integer timeout;
+		private Integer maxConnections;
 
 		public Builder user(final String user) {
 			this.user = user;
@@ -152,13 +156,20 @@ public class HttpConnection implements Connection {
 			return this;
 		}
 
+		public Builder maxConnections(final Integer maxConnections) {
+			this.maxConnections = maxConnections;
+			return this;
+		}
+
 		public HttpConnection build() {
-			return new HttpConnection(host, timeout, user, password, useSsl, sslContext, util, contentType, ttl);
+			return new HttpConnection(host, timeout, user, password, useSsl, sslContext, util, contentType, ttl,
+					maxConnections);
 		}
 	}
 
 	private final PoolingHttpClientConnectionManager cm;
 	private final CloseableHttpClient client;
+	private final RequestConfig requestConfig;
 	private final String user;
 	private final String password;
 	private final ArangoSerialization util;
@@ -168,7 +179,7 @@ public class HttpConnection implements Connection {
 
 	private HttpConnection(final HostDescription host, final Integer timeout, final String user, final String password,
 		final Boolean useSsl, final SSLContext sslContext, final ArangoSerialization util, final Protocol contentType,
-		final Long ttl) {
+		final Long ttl, final Integer maxConnections) {
 		super();
 		this.host = host;
 		this.user = user;
@@ -178,7 +189,9 @@ public class HttpConnection implements Connection {
 		this.contentType = contentType;
 		final RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder
 				.<ConnectionSocketFactory> create();
-		if (Boolean.TRUE == useSsl) {
+		if (host.isUnixSocket()) {
+			registryBuilder.register("http", new UnixDomainSocketFactory(host.getPath()));
+		} else if (Boolean.TRUE == useSsl) {
 			if (sslContext != null) {
 				registryBuilder.register("https", new SSLConnectionSocketFactory(sslContext));
 			} else {
@@ -188,21 +201,24 @@ public class HttpConnection implements Connection {
 			registryBuilder.register("http", new PlainConnectionSocketFactory());
 		}
 		cm = new PoolingHttpClientConnectionManager(registryBuilder.build());
-		cm.setDefaultMaxPerRoute(1);
-		cm.setMaxTotal(1);
-		final RequestConfig.Builder requestConfig = RequestConfig.custom();
+		final int max = maxConnections != null ? Math.max(1, maxConnections) : 1;
+		cm.setDefaultMaxPerRoute(max);
+		cm.setMaxTotal(max);
+		cm.setValidateAfterInactivity(ArangoDefaults.HTTP_VALIDATE_AFTER_INACTIVITY);
+		final RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
 		if (timeout != null && timeout >= 0) {
-			requestConfig.setConnectTimeout(timeout);
-			requestConfig.setConnectionRequestTimeout(timeout);
-			requestConfig.setSocketTimeout(timeout);
+			requestConfigBuilder.setConnectTimeout(timeout);
+			requestConfigBuilder.setConnectionRequestTimeout(timeout);
+			requestConfigBuilder.setSocketTimeout(timeout);
 		}
+		requestConfig = requestConfigBuilder.build();
 		final ConnectionKeepAliveStrategy keepAliveStrategy = new ConnectionKeepAliveStrategy() {
 			@Override
 			public long getKeepAliveDuration(final HttpResponse response, final HttpContext context) {
 				return HttpConnection.this.getKeepAliveDuration(response);
 			}
 		};
-		final HttpClientBuilder builder = HttpClientBuilder.create().setDefaultRequestConfig(requestConfig.build())
+		final HttpClientBuilder builder = HttpClientBuilder.create().setDefaultRequestConfig(requestConfig)
 				.setConnectionManager(cm).setKeepAliveStrategy(keepAliveStrategy)
 				.setRetryHandler(new DefaultHttpRequestRetryHandler());
 		if (ttl != null) {
@@ -227,15 +243,56 @@ public class HttpConnection implements Connection {
 		return 30L * 1000L;
 	}
 
+	@Override
+	public int getInFlight() {
+		return cm.getTotalStats().getLeased();
+	}
+
+	@Override
+	public int getQueued() {
+		return cm.getTotalStats().getPending();
+	}
+
+	/**
+	 * @return number of sockets which are open, whether leased to a request or idle
+	 */
+	@Override
+	public int getOpen() {
+		final PoolStats stats = cm.getTotalStats();
+		return stats.getLeased() + stats.getAvailable();
+	}
+
+	@Override
+	public void closeExpired() {
+		cm.closeExpiredConnections();
+	}
+
+	@Override
+	public void closeIdle(final long idleTimeout) {
+		cm.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * The underlying client opens its sockets on demand, so an HTTP connection is always ready.
+	 */
+	@Override
+	public boolean isReady() {
+		return true;
+	}
+
 	@Override
 	public void close() throws IOException {
 		cm.shutdown();
 		client.close();
 	}
 
+	@Override
 	public Response execute(final Request request) throws ArangoDBException, IOException, SocketException {
-		final String url = buildUrl(buildBaseUrl(host), request);
+		final String url = buildUrl(buildBaseUrl(host, useSsl), request);
 		final HttpRequestBase httpRequest = buildHttpRequestBase(request, url);
+		if (request.getTimeout() != null) {
+			httpRequest.setConfig(RequestConfig.copy(requestConfig).setSocketTimeout(request.getTimeout()).build());
+		}
 		httpRequest.setHeader("User-Agent", "Mozilla/5.0 (compatible; ArangoDB-JavaDriver/1.1; +http://mt.orz.at/)");
 		if (contentType == Protocol.HTTP_VPACK) {
 			httpRequest.setHeader("Accept", "application/x-velocypack");
@@ -281,21 +338,24 @@ public class HttpConnection implements Connection {
 		final VPackSlice body = request.getBody();
 		if (body != null) {
 			if (contentType == Protocol.HTTP_VPACK) {
-				httpRequest.setEntity(new ByteArrayEntity(
-						Arrays.copyOfRange(body.getBuffer(), body.getStart(), body.getStart() + body.getByteSize()),
+				httpRequest.setEntity(new ByteArrayEntity(body.getBuffer(), body.getStart(), body.getByteSize(),
 						CONTENT_TYPE_VPACK));
 			} else {
-				httpRequest.setEntity(new StringEntity(body.toString(), CONTENT_TYPE_APPLICATION_JSON_UTF8));
+				httpRequest.setEntity(new JsonEntity(body, CONTENT_TYPE_APPLICATION_JSON_UTF8));
 			}
 		}
 		return httpRequest;
 	}
 
-	private String buildBaseUrl(final HostDescription host) {
+	static String buildBaseUrl(final HostDescription host, final Boolean useSsl) {
+		if (host.isUnixSocket()) {
+			// the socket factory connects to the path, the url only has to be valid
+			return "http://localhost";
+		}
 		return (Boolean.TRUE == useSsl ? "https://" : "http://") + host.getHost() + ":" + host.getPort();
 	}
 
-	private static String buildUrl(final String baseUrl, final Request request) throws UnsupportedEncodingException {
+	static String buildUrl(final String baseUrl, final Request request) throws UnsupportedEncodingException {
 		final StringBuilder sb = new StringBuilder().append(baseUrl);
 		final String database = request.getDatabase();
 		if (database != null && !database.isEmpty()) {
@@ -355,10 +415,9 @@ public class HttpConnection implements Connection {
 					response.setBody(new VPackSlice(content));
 				}
 			} else {
-				final String content = IOUtils.toString(entity.getContent());
-				if (!content.isEmpty()) {
-					response.setBody(
-						util.serialize(content, new Options().stringAsJson(true).serializeNullValues(true)));
+				final VPackSlice body = JsonStreamDecoder.decode(entity.getContent(), entity.getContentLength());
+				if (body != null) {
+					response.setBody(body);
 				}
 			}
 		}
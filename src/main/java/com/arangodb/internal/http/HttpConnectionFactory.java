@@ -20,12 +20,19 @@
 
 package com.arangodb.internal.http;
 
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
 import javax.net.ssl.SSLContext;
 
 import com.arangodb.Protocol;
 import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.ConnectionFactory;
+import com.arangodb.internal.net.ConnectionPool;
+import com.arangodb.internal.net.ConnectionReaper;
 import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
 import com.arangodb.util.ArangoSerialization;
 
 /**
@@ -35,19 +42,90 @@ import com.arangodb.util.ArangoSerialization;
 public class HttpConnectionFactory implements ConnectionFactory {
 
 	private final HttpConnection.Builder builder;
+	private final Integer timeout;
+	private final String user;
+	private final String password;
+	private final ArangoSerialization util;
+	private final Protocol contentType;
+	private final boolean http2;
+	private final Long connectionTtl;
+	private final VstEventLoopGroup eventLoopGroup;
+	private final ScheduledThreadPoolExecutor deadlines;
 
 	public HttpConnectionFactory(final Integer timeout, final String user, final String password, final Boolean useSsl,
 		final SSLContext sslContext, final ArangoSerialization util, final Protocol protocol,
 		final Long connectionTtl) {
+		this(timeout, user, password, useSsl, sslContext, util, protocol, connectionTtl, null);
+	}
+
+	/**
+	 * @param protocol
+	 *            with {@link Protocol#HTTP2_JSON} and {@link Protocol#HTTP2_VPACK} the connections use HTTP/2, unless
+	 *            SSL is used
+	 * @param eventLoopGroup
+	 *            selector threads for non-blocking connections or {@code null} to use blocking connections. SSL is
+	 *            only supported by blocking connections. HTTP/2 requires selector threads.
+	 */
+	public HttpConnectionFactory(final Integer timeout, final String user, final String password, final Boolean useSsl,
+		final SSLContext sslContext, final ArangoSerialization util, final Protocol protocol, final Long connectionTtl,
+		final VstEventLoopGroup eventLoopGroup) {
 		super();
+		this.timeout = timeout;
+		this.user = user;
+		this.password = password;
+		this.util = util;
+		contentType = protocol == Protocol.HTTP2_JSON ? Protocol.HTTP_JSON
+				: protocol == Protocol.HTTP2_VPACK ? Protocol.HTTP_VPACK : protocol;
+		this.connectionTtl = connectionTtl;
 		builder = new HttpConnection.Builder().timeout(timeout).user(user).password(password).useSsl(useSsl)
-				.sslContext(sslContext).serializationUtil(util).contentType(protocol).ttl(connectionTtl);
-
+				.sslContext(sslContext).serializationUtil(util).contentType(contentType).ttl(connectionTtl);
+		this.eventLoopGroup = Boolean.TRUE == useSsl ? null : eventLoopGroup;
+		http2 = contentType != protocol && this.eventLoopGroup != null;
+		if (this.eventLoopGroup != null) {
+			deadlines = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+				@Override
+				public Thread newThread(final Runnable r) {
+					final Thread thread = new Thread(r, "arangodb-http-deadlines");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			// the thread terminates while no deadline is pending
+			deadlines.setKeepAliveTime(1, TimeUnit.SECONDS);
+			deadlines.allowCoreThreadTimeOut(true);
+		} else {
+			deadlines = null;
+		}
 	}
 
+
 	@Override
 	public Connection create(final HostDescription host) {
-		return builder.host(host).build();
+		return create(host, 1);
+	}
+
+	/**
+	 * @return a client for the given host which keeps up to {@code maxConnections} sockets to it
+	 */
+	public synchronized HttpClientConnection create(final HostDescription host, final int maxConnections) {
+		if (http2) {
+			return new Http2Connection(host, timeout, user, password, util, contentType, connectionTtl, maxConnections,
+					eventLoopGroup, deadlines);
+		}
+		if (eventLoopGroup != null) {
+			return new HttpNioConnection(host, timeout, user, password, util, contentType, connectionTtl,
+					maxConnections, eventLoopGroup, deadlines);
+		}
+		return builder.host(host).maxConnections(maxConnections).build();
+	}
+
+	@Override
+	public ConnectionPool createPool(
+		final HostDescription host,
+		final int minConnections,
+		final int maxConnections,
+		final ConnectionReaper reaper) {
+		return new HttpConnectionPool(host, minConnections, maxConnections, this, reaper);
 	}
 
 }
@@ -0,0 +1,131 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.ConnectionPool;
+import com.arangodb.internal.net.ConnectionReaper;
+import com.arangodb.internal.net.HostDescription;
+
+/**
+ * Hands out a single {@link HttpClientConnection} per host and traffic lane, which spreads the requests over up to
+ * {@code maxConnections} sockets. With a {@link ConnectionReaper} the sockets which were idle for
+ * longer than the idle timeout are closed in the background, as long as more than {@code minConnections} are open.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class HttpConnectionPool implements ConnectionPool {
+
+	private final HostDescription host;
+	private final int minConnections;
+	private final int maxConnections;
+	private final HttpConnectionFactory factory;
+	private final ConnectionReaper reaper;
+	private volatile HttpClientConnection connection;
+
+	public HttpConnectionPool(final HostDescription host, final int minConnections, final int maxConnections,
+		final HttpConnectionFactory factory, final ConnectionReaper reaper) {
+		super();
+		this.host = host;
+		this.maxConnections = Math.max(1, maxConnections);
+		this.minConnections = Math.max(0, Math.min(minConnections, this.maxConnections));
+		this.factory = factory;
+		this.reaper = reaper;
+	}
+
+	@Override
+	public Connection createConnection(final HostDescription host) {
+		return factory.create(host, maxConnections);
+	}
+
+	@Override
+	public Connection connection() {
+		HttpClientConnection result = connection;
+		if (result == null) {
+			synchronized (this) {
+				result = connection;
+				if (result == null) {
+					result = (HttpClientConnection) createConnection(host);
+					connection = result;
+					if (reaper != null) {
+						reaper.register(this);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Collection<Connection> connections() {
+		final HttpClientConnection result = connection;
+		return result != null ? Collections.<Connection> singletonList(result) : Collections.<Connection> emptyList();
+	}
+
+	/**
+	 * The client opens its sockets on demand, so the connection is returned once per socket to open. Opening it
+	 * concurrently leases a socket of its own to every caller.
+	 */
+	@Override
+	public Collection<Connection> warmUp() {
+		if (minConnections == 0) {
+			return connections();
+		}
+		final Connection result = connection();
+		return new ArrayList<Connection>(Collections.nCopies(minConnections, result));
+	}
+
+	/**
+	 * Sockets which are leased to a request are never closed. Expired sockets are closed in any case.
+	 * 
+	 * @return always {@code false}, so that the pool stays registered while it is open
+	 */
+	@Override
+	public boolean closeIdle(final long idleTimeout) throws IOException {
+		final HttpClientConnection result = connection;
+		if (result != null) {
+			result.closeExpired();
+			if (result.getOpen() > minConnections) {
+				result.closeIdle(idleTimeout);
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (reaper != null) {
+			reaper.unregister(this);
+		}
+		final HttpClientConnection result = connection;
+		connection = null;
+		if (result != null) {
+			result.close();
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.arangodb.ArangoFuture;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+import com.arangodb.velocystream.Response;
+
+/**
+ * A request encoded for the wire together with the future of its response. The headers of HTTP/2 are compressed by the
+ * channel which sends the request, such a request has a list of header fields instead of an encoded head.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+class HttpExchange {
+
+	private final Request request;
+	private final ByteBuffer head;
+	private final List<String> fields;
+	private final ByteBuffer body;
+	private final ArangoFuture<Response> future;
+	private volatile HttpChannel channel;
+	private boolean retried;
+
+	HttpExchange(final Request request, final ByteBuffer head, final ByteBuffer body) {
+		this(request, head, null, body);
+	}
+
+	/**
+	 * @param fields
+	 *            the headers of a HTTP/2 request, alternating names and values
+	 */
+	HttpExchange(final Request request, final List<String> fields, final ByteBuffer body) {
+		this(request, null, fields, body);
+	}
+
+	private HttpExchange(final Request request, final ByteBuffer head, final List<String> fields,
+		final ByteBuffer body) {
+		super();
+		this.request = request;
+		this.head = head;
+		this.fields = fields;
+		this.body = body;
+		future = new ArangoFuture<Response>();
+	}
+
+	Request getRequest() {
+		return request;
+	}
+
+	ArangoFuture<Response> getFuture() {
+		return future;
+	}
+
+	boolean isHead() {
+		return request.getRequestType() == RequestType.HEAD;
+	}
+
+	/**
+	 * @return new buffers over the encoded request, so that it can be written again after a failed attempt
+	 */
+	ByteBuffer[] buffers() {
+		return body != null ? new ByteBuffer[] { head.duplicate(), body.duplicate() }
+				: new ByteBuffer[] { head.duplicate() };
+	}
+
+	List<String> getFields() {
+		return fields;
+	}
+
+	/**
+	 * @return a new buffer over the body or {@code null} if the request has none
+	 */
+	ByteBuffer getBody() {
+		return body != null ? body.duplicate() : null;
+	}
+
+	HttpChannel getChannel() {
+		return channel;
+	}
+
+	void setChannel(final HttpChannel channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * A request is sent a second time when the server closed a reused socket before it answered, which happens when
+	 * the keep-alive timeout of the server elapsed concurrently. Only requests which are safe to repeat are retried,
+	 * and only once.
+	 * 
+	 * @return whether or not the request may be sent again
+	 */
+	boolean retry() {
+		if (retried || future.isDone()) {
+			return false;
+		}
+		final RequestType type = request.getRequestType();
+		if (type == RequestType.GET || type == RequestType.HEAD || request.isIdempotent()) {
+			retried = true;
+			return true;
+		}
+		return false;
+	}
+
+}
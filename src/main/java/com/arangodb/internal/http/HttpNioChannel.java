@@ -0,0 +1,334 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.UnixDomainSockets;
+import com.arangodb.internal.velocystream.internal.SelectableTransport;
+import com.arangodb.internal.velocystream.internal.VstEventLoop;
+
+/**
+ * A single non-blocking socket of a {@link HttpNioConnection}, which carries one request at a time. Connecting,
+ * writing the request and reading the response are performed by the selector thread of a {@link VstEventLoop}.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+class HttpNioChannel implements SelectableTransport, HttpChannel {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HttpNioChannel.class);
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	private final HttpNioConnection connection;
+	private final VstEventLoop eventLoop;
+	private final AtomicBoolean busy;
+	private final AtomicBoolean closed;
+	private final AtomicBoolean flushScheduled;
+	private final AtomicReference<HttpExchange> exchange;
+	private final Long ttlTime;
+	private SocketChannel channel;
+	private SelectionKey key;
+	private volatile boolean connected;
+	private volatile long lastUsed;
+
+	// only accessed by the selector thread
+	private final ByteBuffer readBuffer;
+	private final HttpResponseParser parser;
+	private HttpExchange writing;
+	private ByteBuffer[] pending;
+	private int served;
+
+	/**
+	 * The channel is created busy, so that its creator can send the first request over it
+	 */
+	HttpNioChannel(final HttpNioConnection connection, final VstEventLoop eventLoop, final Long ttl) {
+		super();
+		this.connection = connection;
+		this.eventLoop = eventLoop;
+		busy = new AtomicBoolean(true);
+		closed = new AtomicBoolean(false);
+		flushScheduled = new AtomicBoolean(false);
+		exchange = new AtomicReference<HttpExchange>();
+		lastUsed = System.currentTimeMillis();
+		ttlTime = ttl != null ? lastUsed + ttl : null;
+		readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		parser = new HttpResponseParser();
+	}
+
+	/**
+	 * Starts a non-blocking connect, which is completed by the selector thread. Only a Unix domain socket is connected
+	 * within the calling thread.
+	 */
+	@Override
+	public void open(final Integer connectTimeout) throws IOException {
+		final HostDescription host = connection.getHost();
+		final SocketChannel channel;
+		if (host.isUnixSocket()) {
+			channel = UnixDomainSockets.open(host.getPath());
+			channel.configureBlocking(false);
+			connected = true;
+		} else {
+			channel = SocketChannel.open();
+			try {
+				channel.configureBlocking(false);
+				channel.socket().setKeepAlive(true);
+				channel.socket().setTcpNoDelay(true);
+				connected = channel.connect(new InetSocketAddress(host.getHost(), host.getPort()));
+			} catch (final IOException e) {
+				channel.close();
+				throw e;
+			}
+		}
+		this.channel = channel;
+		if (!connected && connectTimeout != null && connectTimeout > 0) {
+			connection.schedule(new Runnable() {
+				@Override
+				public void run() {
+					if (!connected) {
+						close(new ConnectException(String.format("Could not connect to %s within %s ms",
+							connection.getHost(), connectTimeout)));
+					}
+				}
+			}, connectTimeout, TimeUnit.MILLISECONDS);
+		}
+		eventLoop.register(this);
+	}
+
+	@Override
+	public void register(final Selector selector) throws IOException {
+		if (closed.get()) {
+			return;
+		}
+		key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+		if (connected) {
+			flush();
+		}
+	}
+
+	@Override
+	public void connect() throws IOException {
+		if (channel.finishConnect()) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Connected to %s", channel));
+			}
+			connected = true;
+			key.interestOps(SelectionKey.OP_READ);
+			flush();
+		}
+	}
+
+	boolean isOpen() {
+		return !closed.get();
+	}
+
+	@Override
+	public boolean isConnected() {
+		return connected && !closed.get();
+	}
+
+	/**
+	 * @return whether or not the channel was free and is now reserved for the caller
+	 */
+	boolean tryAcquire() {
+		return !closed.get() && busy.compareAndSet(false, true);
+	}
+
+	@Override
+	public void release() {
+		lastUsed = System.currentTimeMillis();
+		busy.set(false);
+	}
+
+	boolean isIdleSince(final long time) {
+		return !busy.get() && lastUsed <= time;
+	}
+
+	boolean isExpired() {
+		return ttlTime != null && System.currentTimeMillis() > ttlTime;
+	}
+
+	/**
+	 * Sends the request of the given exchange over this channel, which has to be acquired by the caller. The request
+	 * is written by the selector thread.
+	 */
+	@Override
+	public void send(final HttpExchange exchange) {
+		exchange.setChannel(this);
+		this.exchange.set(exchange);
+		if (closed.get()) {
+			// closed concurrently, the exchange is handed back unless the closing thread took it already
+			if (this.exchange.compareAndSet(exchange, null)) {
+				connection.rejected(exchange);
+			}
+			return;
+		}
+		if (flushScheduled.compareAndSet(false, true)) {
+			eventLoop.flush(this);
+		}
+	}
+
+	/**
+	 * Closes the channel if it still carries the given exchange
+	 */
+	@Override
+	public void abort(final HttpExchange exchange) {
+		if (this.exchange.get() == exchange) {
+			close(new IOException("The response is no longer awaited."));
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushScheduled.set(false);
+		if (key == null || !key.isValid() || !connected) {
+			return;
+		}
+		final HttpExchange exchange = this.exchange.get();
+		if (exchange != null && exchange != writing) {
+			writing = exchange;
+			pending = exchange.buffers();
+			parser.reset(exchange.isHead());
+		}
+		if (pending != null) {
+			channel.write(pending);
+			if (pending[pending.length - 1].hasRemaining()) {
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+				return;
+			}
+			pending = null;
+		}
+		key.interestOps(SelectionKey.OP_READ);
+	}
+
+	@Override
+	public void read() throws IOException {
+		int read;
+		do {
+			read = channel.read(readBuffer);
+			readBuffer.flip();
+			try {
+				process();
+			} finally {
+				readBuffer.compact();
+			}
+			if (closed.get()) {
+				return;
+			}
+		} while (read > 0);
+		if (read == -1) {
+			final HttpExchange exchange = this.exchange.get();
+			if (exchange != null && exchange == writing && parser.endOfStream()) {
+				complete(exchange);
+			} else {
+				close(new IOException("The connection was closed by the server."));
+			}
+		}
+	}
+
+	private void process() throws IOException {
+		while (readBuffer.hasRemaining()) {
+			final HttpExchange exchange = this.exchange.get();
+			if (exchange == null || exchange != writing) {
+				throw new IOException("Received data without a pending request.");
+			}
+			if (!parser.parse(readBuffer)) {
+				return;
+			}
+			complete(exchange);
+			if (closed.get()) {
+				return;
+			}
+		}
+	}
+
+	private void complete(final HttpExchange exchange) {
+		if (!this.exchange.compareAndSet(exchange, null)) {
+			return;
+		}
+		served++;
+		pending = null;
+		final boolean keepAlive = parser.isKeepAlive();
+		if (!keepAlive) {
+			close(null);
+		}
+		connection.completed(this, exchange, parser.getStatus(), parser.getHeaders(), parser.getContent(),
+			keepAlive);
+	}
+
+	@Override
+	public void failed(final Exception e) {
+		close(e instanceof IOException ? (IOException) e : new IOException(e));
+	}
+
+	@Override
+	public void checkTtl() {
+		if (isExpired() && tryAcquire()) {
+			close(null);
+		}
+	}
+
+	/**
+	 * Closes the socket. An exchange still carried by the channel is sent again if the server closed a reused socket
+	 * before it answered, otherwise it fails with the given cause.
+	 */
+	@Override
+	public void close(final IOException cause) {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+		final SocketChannel channel = this.channel;
+		if (channel != null) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Close connection %s", channel));
+			}
+			try {
+				channel.close();
+			} catch (final IOException e) {
+				LOGGER.debug(e.getMessage(), e);
+			}
+		}
+		final HttpExchange exchange = this.exchange.getAndSet(null);
+		if (exchange != null && cause != null && connected && exchange != writing) {
+			// the request was not written yet
+			connection.closed(this, null, cause, false);
+			connection.rejected(exchange);
+			return;
+		}
+		final boolean retry = exchange != null && cause != null && served > 0 && !parser.isStarted();
+		connection.closed(this, exchange, cause != null ? cause : new IOException("The connection is closed."),
+			retry);
+	}
+
+}
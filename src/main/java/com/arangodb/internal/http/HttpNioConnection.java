@@ -0,0 +1,172 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.Protocol;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.util.CURLLogger;
+import com.arangodb.internal.util.JsonStreamEncoder;
+import com.arangodb.internal.velocystream.internal.VstEventLoop;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
+import com.arangodb.util.ArangoSerialization;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+
+/**
+ * Non-blocking client which sends the HTTP requests of a host or one of its traffic lanes over up to
+ * {@code maxConnections} sockets, driven by the selector threads of a {@link VstEventLoopGroup}. Every socket carries
+ * one request at a time. Further requests wait in a queue without occupying a thread and are written as soon as a
+ * socket becomes free. Their responses complete the returned futures within the selector thread.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class HttpNioConnection extends AbstractHttpAsyncConnection<HttpNioChannel> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HttpNioConnection.class);
+	private static final String CRLF = "\r\n";
+
+	public HttpNioConnection(final HostDescription host, final Integer timeout, final String user,
+		final String password, final ArangoSerialization util, final Protocol contentType, final Long ttl,
+		final int maxConnections, final VstEventLoopGroup eventLoopGroup, final ScheduledThreadPoolExecutor deadlines) {
+		super(host, timeout, user, password, util, contentType, ttl, maxConnections, eventLoopGroup, deadlines);
+	}
+
+	@Override
+	protected HttpExchange createExchange(final Request request) throws UnsupportedEncodingException {
+		final RequestType type = request.getRequestType();
+		final StringBuilder head = new StringBuilder(256).append(type.name()).append(' ')
+				.append(HttpConnection.buildUrl("", request)).append(" HTTP/1.1").append(CRLF);
+		head.append("Host: ")
+				.append(host.isUnixSocket() ? "localhost" : host.getHost() + ":" + host.getPort()).append(CRLF);
+		head.append("User-Agent: ").append(USER_AGENT).append(CRLF);
+		if (contentType == Protocol.HTTP_VPACK) {
+			head.append("Accept: ").append(CONTENT_TYPE_VPACK).append(CRLF);
+		}
+		if (authorization != null) {
+			head.append("Authorization: ").append(authorization).append(CRLF);
+		}
+		for (final Entry<String, String> header : request.getHeaderParam().entrySet()) {
+			head.append(header.getKey()).append(": ").append(header.getValue()).append(CRLF);
+		}
+		ByteBuffer body = null;
+		final VPackSlice slice = request.getBody();
+		if (slice != null && type != RequestType.GET && type != RequestType.HEAD) {
+			if (contentType == Protocol.HTTP_VPACK) {
+				body = ByteBuffer.wrap(slice.getBuffer(), slice.getStart(), slice.getByteSize()).slice();
+				head.append("Content-Type: ").append(CONTENT_TYPE_VPACK).append(CRLF);
+			} else {
+				body = ByteBuffer.wrap(JsonStreamEncoder.encode(slice));
+				head.append("Content-Type: ").append(CONTENT_TYPE_APPLICATION_JSON_UTF8).append(CRLF);
+			}
+			head.append("Content-Length: ").append(body.remaining()).append(CRLF);
+		} else if (type == RequestType.POST || type == RequestType.PUT || type == RequestType.PATCH
+				|| type == RequestType.DELETE) {
+			head.append("Content-Length: 0").append(CRLF);
+		}
+		head.append(CRLF);
+		if (LOGGER.isDebugEnabled()) {
+			CURLLogger.log(HttpConnection.buildUrl(HttpConnection.buildBaseUrl(host, false), request), request,
+				credentials, util);
+		}
+		return new HttpExchange(request, ByteBuffer.wrap(head.toString().getBytes("UTF-8")), body);
+	}
+
+	@Override
+	protected HttpNioChannel createChannel(final VstEventLoop eventLoop) {
+		return new HttpNioChannel(this, eventLoop, ttl);
+	}
+
+	/**
+	 * @return the first free socket
+	 */
+	@Override
+	protected HttpNioChannel acquire() {
+		for (final HttpNioChannel channel : channels) {
+			if (channel.tryAcquire()) {
+				return channel;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Called by a channel which received the complete response of the given exchange
+	 */
+	void completed(
+		final HttpNioChannel channel,
+		final HttpExchange exchange,
+		final int status,
+		final Map<String, String> headers,
+		final byte[] content,
+		final boolean keepAlive) {
+		if (keepAlive) {
+			// free the socket first, so that a request sent by a listener of the future can use it
+			channel.release();
+		}
+		completed(exchange, status, headers, content);
+	}
+
+	/**
+	 * Called by a channel which is closed, together with the exchange it carried, if any
+	 * 
+	 * @param retry
+	 *            whether or not the request may be sent again, because the server closed the socket before it
+	 *            answered
+	 */
+	void closed(final HttpNioChannel channel, final HttpExchange exchange, final IOException cause, final boolean retry) {
+		closed(channel);
+		if (exchange != null) {
+			failed(exchange, cause, retry);
+		}
+	}
+
+	@Override
+	public void closeExpired() {
+		for (final HttpNioChannel channel : channels) {
+			if (channel.isExpired() && channel.tryAcquire()) {
+				channel.close(null);
+			}
+		}
+	}
+
+	@Override
+	public void closeIdle(final long idleTimeout) {
+		final long time = System.currentTimeMillis() - idleTimeout;
+		for (final HttpNioChannel channel : channels) {
+			if (channel.isIdleSince(time) && channel.tryAcquire()) {
+				channel.close(null);
+			}
+		}
+	}
+
+}
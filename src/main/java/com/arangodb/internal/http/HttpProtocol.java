@@ -25,7 +25,10 @@ import java.io.IOException;
 import org.apache.http.client.ClientProtocolException;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
 import com.arangodb.internal.net.CommunicationProtocol;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.Host;
 import com.arangodb.internal.net.HostHandle;
 import com.arangodb.velocystream.Request;
 import com.arangodb.velocystream.Response;
@@ -54,6 +57,29 @@ public class HttpProtocol implements CommunicationProtocol {
 		}
 	}
 
+	@Override
+	public ArangoFuture<Response> executeAsync(final Request request, final HostHandle hostHandle) {
+		return httpCommunitaction.executeAsync(request, hostHandle);
+	}
+
+	@Override
+	public Response executeOnHost(final Request request, final Host host) throws ArangoDBException {
+		try {
+			return httpCommunitaction.executeOnHost(request, host);
+		} catch (final IOException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+
+	@Override
+	public void open(final Connection connection) throws ArangoDBException {
+		try {
+			httpCommunitaction.open(connection);
+		} catch (final IOException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+
 	@Override
 	public void close() throws IOException {
 		httpCommunitaction.close();
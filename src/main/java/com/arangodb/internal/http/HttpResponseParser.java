@@ -0,0 +1,325 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental parser of HTTP/1.1 responses, which is fed with the bytes of a socket as they arrive. Bodies with a
+ * {@code Content-Length} are read into an array of that size, chunked bodies and bodies delimited by the end of the
+ * stream are collected until they are complete.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class HttpResponseParser {
+
+	private static final int MAX_LINE_LENGTH = 64 * 1024;
+
+	private enum State {
+		STATUS_LINE, HEADERS, BODY, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, BODY_UNTIL_CLOSE, DONE
+	}
+
+	private final StringBuilder line;
+	private State state;
+	private boolean head;
+	private boolean http10;
+	private int status;
+	private Map<String, String> headers;
+	private boolean chunked;
+	private long contentLength;
+	private String connection;
+	private boolean untilClose;
+	private byte[] content;
+	private int contentPosition;
+	private ByteArrayOutputStream stream;
+	private long remaining;
+
+	public HttpResponseParser() {
+		super();
+		line = new StringBuilder();
+		reset(false);
+	}
+
+	/**
+	 * Prepares the parser for the response of the next request
+	 * 
+	 * @param head
+	 *            whether or not the request is a {@code HEAD} request, whose response has no body
+	 */
+	public void reset(final boolean head) {
+		this.head = head;
+		state = State.STATUS_LINE;
+		line.setLength(0);
+		status = 0;
+		headers = new HashMap<String, String>();
+		content = null;
+		stream = null;
+	}
+
+	/**
+	 * @return whether or not any byte of the response was received
+	 */
+	public boolean isStarted() {
+		return state != State.STATUS_LINE || line.length() > 0;
+	}
+
+	/**
+	 * Consumes the bytes of the buffer which belong to the current response
+	 * 
+	 * @return whether or not the response is complete
+	 */
+	public boolean parse(final ByteBuffer buffer) throws IOException {
+		while (true) {
+			switch (state) {
+			case STATUS_LINE:
+				if (!readLine(buffer)) {
+					return false;
+				}
+				if (line.length() > 0) {
+					parseStatusLine();
+					state = State.HEADERS;
+				}
+				line.setLength(0);
+				break;
+			case HEADERS:
+				if (!readLine(buffer)) {
+					return false;
+				}
+				if (line.length() > 0) {
+					parseHeader();
+				} else {
+					headersComplete();
+				}
+				line.setLength(0);
+				break;
+			case BODY:
+				readContent(buffer);
+				if (remaining > 0) {
+					return false;
+				}
+				state = State.DONE;
+				break;
+			case CHUNK_SIZE:
+				if (!readLine(buffer)) {
+					return false;
+				}
+				remaining = parseChunkSize();
+				state = remaining > 0 ? State.CHUNK_DATA : State.TRAILERS;
+				line.setLength(0);
+				break;
+			case CHUNK_DATA:
+				readStream(buffer);
+				if (remaining > 0) {
+					return false;
+				}
+				state = State.CHUNK_END;
+				break;
+			case CHUNK_END:
+				if (!readLine(buffer)) {
+					return false;
+				}
+				state = State.CHUNK_SIZE;
+				line.setLength(0);
+				break;
+			case TRAILERS:
+				if (!readLine(buffer)) {
+					return false;
+				}
+				if (line.length() == 0) {
+					content = stream.toByteArray();
+					stream = null;
+					state = State.DONE;
+				}
+				line.setLength(0);
+				break;
+			case BODY_UNTIL_CLOSE:
+				remaining = buffer.remaining();
+				readStream(buffer);
+				return false;
+			case DONE:
+			default:
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Called when the server closed the stream
+	 * 
+	 * @return whether or not the response is complete, because its body is delimited by the end of the stream
+	 */
+	public boolean endOfStream() {
+		if (state != State.BODY_UNTIL_CLOSE) {
+			return false;
+		}
+		content = stream.toByteArray();
+		stream = null;
+		state = State.DONE;
+		return true;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * @return the body of the response or {@code null} if it has none
+	 */
+	public byte[] getContent() {
+		return content;
+	}
+
+	/**
+	 * @return whether or not the server keeps the connection open after the response
+	 */
+	public boolean isKeepAlive() {
+		if (untilClose) {
+			return false;
+		}
+		return http10 ? "keep-alive".equalsIgnoreCase(connection) : !"close".equalsIgnoreCase(connection);
+	}
+
+	private boolean readLine(final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			final char c = (char) (buffer.get() & 0xff);
+			if (c == '\n') {
+				final int length = line.length();
+				if (length > 0 && line.charAt(length - 1) == '\r') {
+					line.setLength(length - 1);
+				}
+				return true;
+			}
+			if (line.length() >= MAX_LINE_LENGTH) {
+				throw new IOException("Received a line of the HTTP response which is too long.");
+			}
+			line.append(c);
+		}
+		return false;
+	}
+
+	private void parseStatusLine() throws IOException {
+		final String statusLine = line.toString();
+		final int first = statusLine.indexOf(' ');
+		if (!statusLine.startsWith("HTTP/") || first < 0) {
+			throw new IOException(String.format("Received an invalid HTTP status line: %s", statusLine));
+		}
+		http10 = statusLine.startsWith("HTTP/1.0");
+		final int second = statusLine.indexOf(' ', first + 1);
+		try {
+			status = Integer.parseInt(statusLine.substring(first + 1, second > 0 ? second : statusLine.length()));
+		} catch (final NumberFormatException e) {
+			throw new IOException(String.format("Received an invalid HTTP status line: %s", statusLine));
+		}
+		chunked = false;
+		contentLength = -1;
+		connection = null;
+		untilClose = false;
+	}
+
+	private void parseHeader() {
+		final String header = line.toString();
+		final int colon = header.indexOf(':');
+		if (colon <= 0) {
+			return;
+		}
+		final String name = header.substring(0, colon).trim();
+		final String value = header.substring(colon + 1).trim();
+		headers.put(name, value);
+		if ("Content-Length".equalsIgnoreCase(name)) {
+			try {
+				contentLength = Long.parseLong(value);
+			} catch (final NumberFormatException e) {
+				contentLength = -1;
+			}
+		} else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+			chunked = value.toLowerCase().contains("chunked");
+		} else if ("Connection".equalsIgnoreCase(name)) {
+			connection = value;
+		}
+	}
+
+	private void headersComplete() throws IOException {
+		if (status >= 100 && status < 200) {
+			// interim response, the final response follows
+			final boolean head = this.head;
+			reset(head);
+			return;
+		}
+		if (head || status == 204 || status == 304) {
+			state = State.DONE;
+		} else if (chunked) {
+			stream = new ByteArrayOutputStream();
+			state = State.CHUNK_SIZE;
+		} else if (contentLength >= 0) {
+			if (contentLength > Integer.MAX_VALUE) {
+				throw new IOException(String.format("Received a HTTP response which is too large: %s", contentLength));
+			}
+			content = new byte[(int) contentLength];
+			contentPosition = 0;
+			remaining = contentLength;
+			state = remaining > 0 ? State.BODY : State.DONE;
+		} else {
+			stream = new ByteArrayOutputStream();
+			untilClose = true;
+			state = State.BODY_UNTIL_CLOSE;
+		}
+	}
+
+	private long parseChunkSize() throws IOException {
+		final String size = line.toString();
+		final int extension = size.indexOf(';');
+		try {
+			return Long.parseLong((extension >= 0 ? size.substring(0, extension) : size).trim(), 16);
+		} catch (final NumberFormatException e) {
+			throw new IOException(String.format("Received an invalid chunk size: %s", size));
+		}
+	}
+
+	private void readContent(final ByteBuffer buffer) {
+		final int length = (int) Math.min(remaining, buffer.remaining());
+		buffer.get(content, contentPosition, length);
+		contentPosition += length;
+		remaining -= length;
+	}
+
+	private void readStream(final ByteBuffer buffer) {
+		final int length = (int) Math.min(remaining, buffer.remaining());
+		if (buffer.hasArray()) {
+			stream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+			buffer.position(buffer.position() + length);
+		} else {
+			final byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			stream.write(bytes, 0, length);
+		}
+		remaining -= length;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.arangodb.internal.util.JsonStreamEncoder;
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * Request entity which writes the JSON of a VelocyPack body straight to the socket. The length of the JSON, which is
+ * sent as Content-Length, is counted without encoding the body.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class JsonEntity extends AbstractHttpEntity {
+
+	private final VPackSlice body;
+	private long length;
+
+	public JsonEntity(final VPackSlice body, final ContentType contentType) {
+		super();
+		this.body = body;
+		length = -1;
+		setContentType(contentType.toString());
+	}
+
+	@Override
+	public boolean isRepeatable() {
+		return true;
+	}
+
+	@Override
+	public long getContentLength() {
+		if (length < 0) {
+			length = JsonStreamEncoder.length(body);
+		}
+		return length;
+	}
+
+	@Override
+	public InputStream getContent() throws IOException {
+		return new ByteArrayInputStream(JsonStreamEncoder.encode(body));
+	}
+
+	@Override
+	public void writeTo(final OutputStream outstream) throws IOException {
+		JsonStreamEncoder.encode(body, outstream);
+		outstream.flush();
+	}
+
+	@Override
+	public boolean isStreaming() {
+		return false;
+	}
+
+}
@@ -23,6 +23,7 @@ package com.arangodb.internal.net;
 import java.io.Closeable;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
 import com.arangodb.velocystream.Request;
 import com.arangodb.velocystream.Response;
 
@@ -34,4 +35,21 @@ public interface CommunicationProtocol extends Closeable {
 
 	Response execute(final Request request, HostHandle hostHandle) throws ArangoDBException;
 
+	/**
+	 * Executes the request without blocking the caller for the response. A failure is reported through the returned
+	 * future.
+	 */
+	ArangoFuture<Response> executeAsync(final Request request, HostHandle hostHandle);
+
+	/**
+	 * Executes the request on the given host, without host selection and without failing over to another host. Used
+	 * to probe the health of a single host, so the request is not accounted in the latency of the host.
+	 */
+	Response executeOnHost(final Request request, Host host) throws ArangoDBException;
+
+	/**
+	 * Opens and authenticates the given connection, unless it is ready already. Used to warm up the connection pools.
+	 */
+	void open(Connection connection) throws ArangoDBException;
+
 }
@@ -28,4 +28,25 @@ import java.io.Closeable;
  */
 public interface Connection extends Closeable {
 
+	/**
+	 * @return number of requests which are sent over this connection and wait for their response
+	 */
+	int getInFlight();
+
+	/**
+	 * @return number of requests which wait for this connection to accept them
+	 */
+	int getQueued();
+
+	/**
+	 * @return number of sockets of this connection which are open
+	 */
+	int getOpen();
+
+	/**
+	 * @return whether or not the connection is open and can take a request without being opened or authenticated
+	 *         first
+	 */
+	boolean isReady();
+
 }
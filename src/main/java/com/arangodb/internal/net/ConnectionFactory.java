@@ -28,4 +28,13 @@ public interface ConnectionFactory {
 
 	Connection create(final HostDescription host);
 
+	/**
+	 * Creates the pool which hands out the connections of the given host or one of its traffic lanes.
+	 */
+	ConnectionPool createPool(
+		final HostDescription host,
+		final int minConnections,
+		final int maxConnections,
+		final ConnectionReaper reaper);
+
 }
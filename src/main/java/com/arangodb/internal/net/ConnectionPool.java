@@ -21,6 +21,8 @@
 package com.arangodb.internal.net;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
 
 /**
  * @author Mark Vollmary
@@ -32,4 +34,21 @@ public interface ConnectionPool extends Closeable {
 
 	Connection connection();
 
+	Collection<Connection> connections();
+
+	/**
+	 * Creates connections until the minimum size of the pool is reached.
+	 * 
+	 * @return the connections of the pool, which are not necessarily opened yet
+	 */
+	Collection<Connection> warmUp();
+
+	/**
+	 * Closes the connections which neither had a request in flight nor were handed out for at least the given time,
+	 * as long as the pool is above its minimum size.
+	 * 
+	 * @return whether or not the pool is at its minimum size
+	 */
+	boolean closeIdle(final long idleTimeout) throws IOException;
+
 }
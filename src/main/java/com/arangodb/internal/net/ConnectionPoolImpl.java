@@ -22,28 +22,61 @@ package com.arangodb.internal.net;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Hands out the ready connection with the fewest requests in flight or queued without locking. Connections which are
+ * still being opened are only used when no ready connection exists and the pool is exhausted. Connections which were
+ * ready once and are closed now, e.g. by the keep-alive timeout of the server, are removed from the pool. A new
+ * connection is created only when every ready connection is busy and {@code maxConnections} is not reached. With a
+ * {@link ConnectionReaper} the pool shrinks back to {@code minConnections} once the extra connections are idle.
+ * 
  * @author Mark Vollmary
  *
  */
 public class ConnectionPoolImpl implements ConnectionPool {
 
+	private static class PooledConnection {
+		private final Connection connection;
+		private volatile long lastUsed;
+		private volatile boolean retired;
+		private volatile boolean wasReady;
+
+		private PooledConnection(final Connection connection) {
+			super();
+			this.connection = connection;
+			lastUsed = System.currentTimeMillis();
+		}
+	}
+
 	private final HostDescription host;
+	private final int minConnections;
 	private final int maxConnections;
-	private final List<Connection> connections;
-	private int current;
+	private final List<PooledConnection> connections;
+	private final AtomicInteger size;
+	private final AtomicInteger current;
 	private final ConnectionFactory factory;
+	private final ConnectionReaper reaper;
 
 	public ConnectionPoolImpl(final HostDescription host, final Integer maxConnections,
 		final ConnectionFactory factory) {
+		this(host, 0, maxConnections, factory, null);
+	}
+
+	public ConnectionPoolImpl(final HostDescription host, final Integer minConnections, final Integer maxConnections,
+		final ConnectionFactory factory, final ConnectionReaper reaper) {
 		super();
 		this.host = host;
 		this.maxConnections = maxConnections;
+		this.minConnections = Math.max(0, Math.min(minConnections, maxConnections));
 		this.factory = factory;
-		connections = new ArrayList<Connection>();
-		current = 0;
+		this.reaper = reaper;
+		connections = new CopyOnWriteArrayList<PooledConnection>();
+		size = new AtomicInteger();
+		current = new AtomicInteger();
 	}
 
 	@Override
@@ -52,25 +85,153 @@ public class ConnectionPoolImpl implements ConnectionPool {
 	}
 
 	@Override
-	public synchronized Connection connection() {
-		final Connection connection;
-		if (connections.size() < maxConnections) {
-			connection = createConnection(host);
-			connections.add(connection);
-			current++;
-		} else {
-			final int index = (current++) % connections.size();
-			connection = connections.get(index);
+	public Connection connection() {
+		while (true) {
+			final Object[] snapshot = connections.toArray();
+			final int n = snapshot.length;
+			PooledConnection selected = null;
+			PooledConnection ready = null;
+			int readyLoad = Integer.MAX_VALUE;
+			PooledConnection other = null;
+			int otherLoad = Integer.MAX_VALUE;
+			// start at a rotating offset, so that connections with the same load are used in turn
+			final int start = n > 0 ? (current.getAndIncrement() & Integer.MAX_VALUE) % n : 0;
+			for (int i = 0; i < n && selected == null; i++) {
+				final PooledConnection pooled = (PooledConnection) snapshot[(start + i) % n];
+				final long lastUsed = pooled.lastUsed;
+				final Connection connection = pooled.connection;
+				final int load = connection.getInFlight() + connection.getQueued();
+				if (connection.isReady()) {
+					if (!pooled.wasReady) {
+						pooled.wasReady = true;
+					}
+					if (load == 0) {
+						selected = pooled;
+					} else if (load < readyLoad) {
+						ready = pooled;
+						readyLoad = load;
+					}
+				} else if (pooled.wasReady && load == 0) {
+					// closed since it was ready, so it gives up its slot
+					if (retire(pooled, lastUsed)) {
+						try {
+							connection.close();
+						} catch (final IOException e) {
+							// the connection is closed already
+						}
+					}
+				} else if (load < otherLoad) {
+					other = pooled;
+					otherLoad = load;
+				}
+			}
+			if (selected == null) {
+				selected = tryCreate(maxConnections);
+				if (selected != null && reaper != null && size.get() > minConnections) {
+					reaper.register(this);
+				}
+			}
+			if (selected == null) {
+				selected = ready != null ? ready : other;
+			}
+			if (selected == null) {
+				// another caller reserved the last free slot but did not add its connection yet
+				Thread.yield();
+				continue;
+			}
+			selected.lastUsed = System.currentTimeMillis();
+			if (!selected.retired) {
+				return selected.connection;
+			}
+			// the connection is closed as idle concurrently, select another one
+		}
+	}
+
+	private PooledConnection tryCreate(final int limit) {
+		while (true) {
+			final int count = size.get();
+			if (count >= limit) {
+				return null;
+			}
+			if (size.compareAndSet(count, count + 1)) {
+				final PooledConnection pooled = new PooledConnection(createConnection(host));
+				connections.add(pooled);
+				return pooled;
+			}
+		}
+	}
+
+	@Override
+	public Collection<Connection> connections() {
+		final Collection<Connection> result = new ArrayList<Connection>();
+		for (final PooledConnection pooled : connections) {
+			result.add(pooled.connection);
 		}
-		return connection;
+		return result;
 	}
 
 	@Override
-	public void close() throws IOException {
-		for (final Connection connection : connections) {
-			connection.close();
+	public Collection<Connection> warmUp() {
+		while (tryCreate(minConnections) != null) {
+			// create connections until the minimum size is reached
+		}
+		return connections();
+	}
+
+	/**
+	 * A connection with a request in flight or queued counts as used, so its idle time starts when its last response
+	 * was received and not when it was handed out. A connection is retired before it is removed, and kept if it was
+	 * handed out in between, so that a caller never gets a connection which is closed by this method.
+	 */
+	@Override
+	public synchronized boolean closeIdle(final long idleTimeout) throws IOException {
+		final long now = System.currentTimeMillis();
+		for (final PooledConnection pooled : connections) {
+			if (size.get() <= minConnections) {
+				break;
+			}
+			final Connection connection = pooled.connection;
+			if (connection.getInFlight() + connection.getQueued() > 0) {
+				pooled.lastUsed = now;
+			} else {
+				final long lastUsed = pooled.lastUsed;
+				if (now - lastUsed >= idleTimeout && retire(pooled, lastUsed)) {
+					connection.close();
+				}
+			}
+		}
+		return size.get() <= minConnections;
+	}
+
+	/**
+	 * Removes the connection from the pool, unless it was handed out since its last use was read
+	 * 
+	 * @return whether or not the connection was removed by the caller, which has to close it
+	 */
+	private boolean retire(final PooledConnection pooled, final long lastUsed) {
+		pooled.retired = true;
+		if (pooled.lastUsed != lastUsed) {
+			pooled.retired = false;
+			return false;
+		}
+		if (connections.remove(pooled)) {
+			size.decrementAndGet();
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (reaper != null) {
+			reaper.unregister(this);
+		}
+		final List<PooledConnection> closed = new ArrayList<PooledConnection>(connections);
+		connections.removeAll(closed);
+		size.addAndGet(-closed.size());
+		for (final PooledConnection pooled : closed) {
+			pooled.connection.close();
 		}
-		connections.clear();
 	}
 
 }
@@ -0,0 +1,117 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closes the connections of the registered pools which were idle for longer than the idle timeout. A pool registers
+ * itself when it grows above its minimum size and is dropped again once it shrank back to it. The background thread is
+ * started with the first registered pool and stopped when no pool is left, so an idle driver does not keep it alive.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class ConnectionReaper {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionReaper.class);
+
+	private final long idleTimeout;
+	private final Set<ConnectionPool> pools;
+	private ScheduledThreadPoolExecutor scheduler;
+
+	public ConnectionReaper(final long idleTimeout) {
+		super();
+		this.idleTimeout = idleTimeout;
+		pools = new CopyOnWriteArraySet<ConnectionPool>();
+	}
+
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	public void register(final ConnectionPool pool) {
+		if (pools.add(pool)) {
+			start();
+		}
+	}
+
+	public void unregister(final ConnectionPool pool) {
+		if (pools.remove(pool)) {
+			stopIfUnused();
+		}
+	}
+
+	/**
+	 * Closes the idle connections of every registered pool once.
+	 */
+	public void reap() {
+		for (final ConnectionPool pool : pools) {
+			try {
+				if (pool.closeIdle(idleTimeout) && pools.remove(pool)) {
+					stopIfUnused();
+				}
+			} catch (final IOException e) {
+				LOGGER.error(e.getMessage(), e);
+			} catch (final RuntimeException e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+		}
+	}
+
+	private synchronized void start() {
+		if (scheduler != null) {
+			return;
+		}
+		final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable r) {
+				final Thread thread = new Thread(r, "arangodb-connection-reaper");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		final long interval = Math.max(idleTimeout / 2, 1L);
+		executor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				reap();
+			}
+		}, interval, interval, TimeUnit.MILLISECONDS);
+		scheduler = executor;
+	}
+
+	private synchronized void stopIfUnused() {
+		if (pools.isEmpty() && scheduler != null) {
+			scheduler.shutdown();
+			scheduler = null;
+		}
+	}
+
+}
@@ -53,6 +53,11 @@ public class DirtyReadHostHandler implements HostHandler {
 		return determineHostHandler().get(hostHandle, accessType);
 	}
 
+	@Override
+	public Host alternative(final Host host, final AccessType accessType) {
+		return (accessType == AccessType.DIRTY_READ ? follower : master).alternative(host, accessType);
+	}
+
 	@Override
 	public void success() {
 		determineHostHandler().success();
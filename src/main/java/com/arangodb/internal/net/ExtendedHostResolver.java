@@ -20,31 +20,78 @@
 
 package com.arangodb.internal.net;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.arangodb.internal.util.HostUtils;
 
 /**
+ * Resolves the hosts of a cluster. The list of hosts is refreshed in the background and published as an immutable
+ * snapshot, so that callers of {@link #resolve(boolean, boolean)} neither wait for the refresh nor see a partially
+ * updated list. Hosts which are still part of the cluster keep their connections, removed hosts are closed after their
+ * requests in flight completed.
+ * 
  * @author Mark Vollmary
  *
  */
 public class ExtendedHostResolver implements HostResolver {
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(ExtendedHostResolver.class);
+
 	private static final long MAX_CACHE_TIME = 60 * 60 * 1000;
+	private static final long DRAIN_TIMEOUT = 60 * 1000;
+	private static final long DRAIN_POLL_INTERVAL = 100;
+
 	private EndpointResolver resolver;
-	private final List<Host> hosts;
+	private volatile List<Host> hosts;
+	private final Integer minConnections;
 	private final Integer maxConnections;
 	private final ConnectionFactory connectionFactory;
-	private long lastUpdate;
+	private final ConnectionReaper reaper;
+	private final Collection<Lane> lanes;
+	private volatile long lastUpdate;
+	private final AtomicBoolean refreshing;
+	private final ThreadPoolExecutor executor;
 
 	public ExtendedHostResolver(final List<Host> hosts, final Integer maxConnections,
 		final ConnectionFactory connectionFactory) {
+		this(hosts, 0, maxConnections, connectionFactory, null, Collections.<Lane> emptyList());
+	}
+
+	public ExtendedHostResolver(final List<Host> hosts, final Integer minConnections, final Integer maxConnections,
+		final ConnectionFactory connectionFactory, final ConnectionReaper reaper, final Collection<Lane> lanes) {
 		super();
-		this.hosts = hosts;
+		this.hosts = Collections.unmodifiableList(new ArrayList<Host>(hosts));
+		this.minConnections = minConnections;
 		this.maxConnections = maxConnections;
 		this.connectionFactory = connectionFactory;
+		this.reaper = reaper;
+		this.lanes = lanes;
 		lastUpdate = 0;
+		refreshing = new AtomicBoolean();
+		executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable r) {
+						final Thread thread = new Thread(r, "arangodb-endpoint-refresh");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		executor.allowCoreThreadTimeOut(true);
 	}
 
 	@Override
@@ -52,28 +99,96 @@ public class ExtendedHostResolver implements HostResolver {
 		this.resolver = resolver;
 	}
 
+	/**
+	 * Returns the current snapshot of the hosts. If the snapshot is expired a refresh is started in the background.
+	 */
 	@Override
 	public List<Host> resolve(final boolean initial, final boolean closeConnections) {
-		if (!initial && isExpired()) {
+		if (!initial && isExpired() && refreshing.compareAndSet(false, true)) {
 			lastUpdate = System.currentTimeMillis();
-			final Collection<String> endpoints = resolver.resolve(closeConnections);
-			if (!endpoints.isEmpty()) {
-				hosts.clear();
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						refresh();
+					} catch (final RuntimeException e) {
+						LOGGER.warn(String.format("Could not refresh the list of hosts: %s", e.getMessage()));
+					} finally {
+						refreshing.set(false);
+					}
+				}
+			});
+		}
+		return hosts;
+	}
+
+	private void refresh() {
+		final Collection<String> endpoints = resolver.resolve(false);
+		if (endpoints.isEmpty()) {
+			return;
+		}
+		final List<Host> current = hosts;
+		final Map<HostDescription, Host> retained = new HashMap<HostDescription, Host>();
+		for (final Host host : current) {
+			retained.put(host.getDescription(), host);
+		}
+		final List<Host> refreshed = new ArrayList<Host>();
+		for (final String endpoint : endpoints) {
+			HostDescription description = null;
+			if (HostDescription.isUnixSocket(endpoint)) {
+				description = new HostDescription(endpoint, 0);
+			} else if (endpoint.matches(".*://.+:[0-9]+")) {
+				final String[] s = endpoint.replaceAll(".*://", "").split(":");
+				if (s.length == 2) {
+					description = new HostDescription(s[0], Integer.valueOf(s[1]));
+				}
 			}
-			for (final String endpoint : endpoints) {
-				if (endpoint.matches(".*://.+:[0-9]+")) {
-					final String[] s = endpoint.replaceAll(".*://", "").split(":");
-					if (s.length == 2) {
-						final HostDescription description = new HostDescription(s[0], Integer.valueOf(s[1]));
-						hosts.add(HostUtils.createHost(description, maxConnections, connectionFactory));
+			if (description != null) {
+				final Host host = retained.remove(description);
+				refreshed.add(host != null ? host
+						: HostUtils.createHost(description, minConnections, maxConnections, connectionFactory,
+							reaper, lanes));
+			}
+		}
+		if (refreshed.isEmpty()) {
+			return;
+		}
+		hosts = Collections.unmodifiableList(refreshed);
+		drain(retained.values());
+	}
+
+	/**
+	 * Closes the removed hosts once they have no more requests in flight, but at the latest after
+	 * {@link #DRAIN_TIMEOUT}.
+	 */
+	private void drain(final Collection<Host> removed) {
+		final List<Host> draining = new ArrayList<Host>(removed);
+		final long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT;
+		while (!draining.isEmpty()) {
+			for (int i = draining.size() - 1; i >= 0; i--) {
+				final Host host = draining.get(i);
+				if (host.getInFlight() == 0 || System.currentTimeMillis() >= deadline) {
+					draining.remove(i);
+					try {
+						host.close();
+					} catch (final IOException e) {
+						LOGGER.warn(String.format("Could not close removed host %s", host.getDescription()), e);
 					}
 				}
 			}
+			if (!draining.isEmpty()) {
+				try {
+					Thread.sleep(DRAIN_POLL_INTERVAL);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
 		}
-		return hosts;
 	}
 
 	private boolean isExpired() {
 		return System.currentTimeMillis() > lastUpdate + MAX_CACHE_TIME;
 	}
+
 }
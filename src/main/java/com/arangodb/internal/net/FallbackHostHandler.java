@@ -47,6 +47,11 @@ public class FallbackHostHandler implements HostHandler {
 		return current != lastSuccess || iterations < 3 ? current : null;
 	}
 
+	@Override
+	public Host alternative(final Host host, final AccessType accessType) {
+		return null;
+	}
+
 	@Override
 	public void success() {
 		lastSuccess = current;
@@ -0,0 +1,229 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.ArangoDBException;
+
+/**
+ * Probes every host in the background and opens the circuit breaker of a host after a number of consecutive failed
+ * probes. Hosts with an open circuit breaker are skipped when a host is selected for a request, unless the request is
+ * bound to the host or no other host is available. The circuit breaker is closed again with the first successful
+ * probe.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class HealthCheckHostHandler implements HostHandler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(HealthCheckHostHandler.class);
+
+	public interface HostProbe {
+		void probe(Host host) throws ArangoDBException;
+	}
+
+	private final HostHandler hostHandler;
+	private final HostResolver resolver;
+	private final long interval;
+	private final int threshold;
+	private final Map<Host, Integer> failures;
+	private volatile HostProbe probe;
+	private volatile ScheduledThreadPoolExecutor scheduler;
+	private volatile boolean closed;
+	private volatile Host substitute;
+
+	public HealthCheckHostHandler(final HostHandler hostHandler, final HostResolver resolver, final long interval,
+		final int threshold) {
+		super();
+		this.hostHandler = hostHandler;
+		this.resolver = resolver;
+		this.interval = interval;
+		this.threshold = Math.max(1, threshold);
+		failures = new HashMap<Host, Integer>();
+	}
+
+	public void init(final HostProbe probe) {
+		this.probe = probe;
+	}
+
+	/**
+	 * Replaces a host with an open circuit breaker by the next available host in the host list. The state of the
+	 * underlying host handler is left untouched, so its failover still ends after every host was tried once.
+	 */
+	@Override
+	public Host get(final HostHandle hostHandle, final AccessType accessType) {
+		start();
+		final boolean bound = hostHandle != null && hostHandle.getHost() != null;
+		final Host host = hostHandler.get(hostHandle, accessType);
+		if (!bound && host != null && !host.isAvailable()) {
+			final List<Host> hosts = resolver.resolve(false, false);
+			final int size = hosts.size();
+			final int index = Math.max(hosts.indexOf(host), 0);
+			for (int i = 1; i <= size; i++) {
+				final Host candidate = hosts.get((index + i) % size);
+				if (candidate.isAvailable()) {
+					if (hostHandle != null) {
+						hostHandle.setHost(candidate.getDescription());
+					}
+					substitute = candidate;
+					return candidate;
+				}
+			}
+		}
+		substitute = null;
+		return host;
+	}
+
+	@Override
+	public Host alternative(final Host host, final AccessType accessType) {
+		final Host alternative = hostHandler.alternative(host, accessType);
+		if (alternative == null || alternative.isAvailable()) {
+			return alternative;
+		}
+		for (final Host candidate : resolver.resolve(false, false)) {
+			if (candidate != host && candidate.isAvailable()) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Probes every host once and updates their circuit breakers.
+	 */
+	public void checkHosts() {
+		final HostProbe probe = this.probe;
+		if (probe == null) {
+			return;
+		}
+		synchronized (failures) {
+			checkHosts(probe);
+		}
+	}
+
+	private void checkHosts(final HostProbe probe) {
+		final List<Host> hosts = resolver.resolve(false, false);
+		failures.keySet().retainAll(hosts);
+		for (final Host host : hosts) {
+			try {
+				probe.probe(host);
+				failures.remove(host);
+				if (!host.isAvailable()) {
+					host.setAvailable(true);
+					LOGGER.info(String.format("Host %s is available again", host.getDescription()));
+				}
+			} catch (final RuntimeException e) {
+				final Integer count = failures.get(host);
+				final int failed = count != null ? count + 1 : 1;
+				failures.put(host, failed);
+				if (failed >= threshold && host.isAvailable()) {
+					host.setAvailable(false);
+					LOGGER.warn(String.format("Host %s failed %s health checks and is skipped until it recovers: %s",
+						host.getDescription(), failed, e.getMessage()));
+				}
+			}
+		}
+	}
+
+	private void start() {
+		if (scheduler != null || probe == null || closed) {
+			return;
+		}
+		synchronized (this) {
+			if (scheduler == null && !closed) {
+				final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable r) {
+						final Thread thread = new Thread(r, "arangodb-health-check");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+				executor.scheduleWithFixedDelay(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							checkHosts();
+						} catch (final RuntimeException e) {
+							LOGGER.error(e.getMessage(), e);
+						}
+					}
+				}, interval, interval, TimeUnit.MILLISECONDS);
+				scheduler = executor;
+			}
+		}
+	}
+
+	@Override
+	public void success() {
+		hostHandler.success();
+	}
+
+	@Override
+	public void fail() {
+		hostHandler.fail();
+	}
+
+	@Override
+	public void reset() {
+		hostHandler.reset();
+	}
+
+	@Override
+	public void confirm() {
+		hostHandler.confirm();
+	}
+
+	@Override
+	public void close() throws IOException {
+		final ScheduledThreadPoolExecutor executor;
+		synchronized (this) {
+			closed = true;
+			executor = scheduler;
+			scheduler = null;
+		}
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		hostHandler.close();
+	}
+
+	@Override
+	public void closeCurrentOnError() {
+		final Host host = substitute;
+		if (host != null) {
+			host.closeOnError();
+		} else {
+			hostHandler.closeCurrentOnError();
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.arangodb.velocystream.Request;
+
+/**
+ * Decides whether and when an idempotent document read is sent a second time to another host, because the response
+ * from the first host takes longer than usual. The delay is the configured percentile of the recent response latencies
+ * of the first host. The share of hedged requests is capped by a budget: every eligible request deposits the budget
+ * ratio into a token bucket and every hedge takes a whole token.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class HedgingPolicy {
+
+	private static final long TOKEN = 1000;
+	private static final long MAX_TOKENS = 10 * TOKEN;
+
+	private final double percentile;
+	private final long deposit;
+	private final AtomicLong tokens;
+
+	/**
+	 * @param percentile
+	 *            percentile of the response latencies of a host after which a request is hedged, e.g. 0.95
+	 * @param budget
+	 *            maximum ratio of hedged requests to eligible requests, e.g. 0.05
+	 */
+	public HedgingPolicy(final double percentile, final double budget) {
+		super();
+		this.percentile = Math.min(Math.max(percentile, 0.0), 1.0);
+		deposit = Math.round(Math.min(Math.max(budget, 0.0), 1.0) * TOKEN);
+		tokens = new AtomicLong(MAX_TOKENS);
+	}
+
+	/**
+	 * Only requests marked as idempotent, which are the document reads, are hedged. Any other request, even a
+	 * {@code GET}, may have side effects on the server, like creating a cursor, which a second attempt would repeat.
+	 * Requests which have to be executed on a particular host are never hedged. Has to be called before the
+	 * {@link HostHandler} selects the host, because it binds the handle to the selected host.
+	 */
+	public boolean isEligible(final Request request, final HostHandle hostHandle) {
+		if (hostHandle != null && hostHandle.getHost() != null) {
+			return false;
+		}
+		return request.isIdempotent();
+	}
+
+	/**
+	 * Accounts an eligible request against the budget.
+	 * 
+	 * @return the delay in nanoseconds after which the request should be hedged, {@code -1} if too few latencies of
+	 *         the host are known yet
+	 */
+	public long delay(final Host host) {
+		long current;
+		do {
+			current = tokens.get();
+		} while (current < MAX_TOKENS && !tokens.compareAndSet(current, Math.min(current + deposit, MAX_TOKENS)));
+		return host.getLatency(percentile);
+	}
+
+	/**
+	 * @return {@code true} if the budget allows one more hedged request, which is accounted
+	 */
+	public boolean tryAcquire() {
+		long current;
+		do {
+			current = tokens.get();
+			if (current < TOKEN) {
+				return false;
+			}
+		} while (!tokens.compareAndSet(current, current - TOKEN));
+		return true;
+	}
+
+	/**
+	 * @return an available host other than the given one, or {@code null} if the host handler does not offer one
+	 */
+	public Host alternative(final HostHandler hostHandler, final Host host, final AccessType accessType) {
+		final Host alternative = hostHandler.alternative(host, accessType);
+		return alternative != null && alternative.isAvailable() ? alternative : null;
+	}
+
+}
@@ -21,6 +21,7 @@
 package com.arangodb.internal.net;
 
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * @author Mark Vollmary
@@ -32,6 +33,94 @@ public interface Host {
 
 	Connection connection();
 
+	/**
+	 * @param lane
+	 *            name of the traffic lane, {@code null} for the default connection pool. A lane which is not
+	 *            configured uses the default connection pool.
+	 * @return a connection of the connection pool of the given lane
+	 */
+	Connection connection(String lane);
+
+	/**
+	 * @return the connections of all lanes of this host
+	 */
+	Collection<Connection> connections();
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane, {@code null} for the default connection pool
+	 * @return the connections of the given lane, or an empty collection if the lane is not configured
+	 */
+	Collection<Connection> connections(String lane);
+
+	/**
+	 * @return the names of the traffic lanes configured for this host
+	 */
+	Collection<String> lanes();
+
+	/**
+	 * Creates connections until the minimum size of the connection pool is reached.
+	 * 
+	 * @return the connections of this host, which are not necessarily opened yet
+	 */
+	Collection<Connection> warmUp();
+
+	/**
+	 * @return number of requests sent to this host which wait for their response
+	 */
+	int getInFlight();
+
+	/**
+	 * @return exponentially weighted moving average of the response latency of this host in nanoseconds, where a
+	 *         latency above the average replaces it immediately (peak-EWMA)
+	 */
+	double getLatency();
+
+	/**
+	 * @param percentile
+	 *            percentile between 0 and 1, e.g. 0.95
+	 * @return estimated percentile of the recent response latencies of this host in nanoseconds, {@code -1} if too
+	 *         few responses were received yet
+	 */
+	long getLatency(double percentile);
+
+	/**
+	 * @return the load score of this host, the latency multiplied by the number of requests in flight plus one. Lower
+	 *         is better.
+	 */
+	double getScore();
+
+	/**
+	 * @return false if the circuit breaker of this host is open because health checks failed, true otherwise
+	 */
+	boolean isAvailable();
+
+	/**
+	 * Opens or closes the circuit breaker of this host.
+	 * 
+	 * @param available
+	 *            false to open the circuit breaker, true to close it
+	 */
+	void setAvailable(boolean available);
+
+	/**
+	 * Accounts a request sent to this host.
+	 * 
+	 * @return the start time of the request, which has to be passed to {@link #requestCompleted(long, boolean)}
+	 */
+	long requestStarted();
+
+	/**
+	 * Accounts a request to this host which received its response or failed.
+	 * 
+	 * @param start
+	 *            the start time returned by {@link #requestStarted()}
+	 * @param failed
+	 *            whether or not the request failed without a response of the server, e.g. because the connection was
+	 *            refused or the request timed out. An error response of the server is not a failure.
+	 */
+	void requestCompleted(long start, boolean failed);
+
 	void closeOnError();
 
 	void close() throws IOException;
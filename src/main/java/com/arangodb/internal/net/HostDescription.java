@@ -21,18 +21,27 @@
 package com.arangodb.internal.net;
 
 /**
+ * Address of an ArangoDB server. Besides a host name or ip together with a port, a host can be the path of a Unix
+ * domain socket in the form {@code unix:///tmp/arangodb.sock}, in which case the port is ignored.
+ * 
  * @author Mark Vollmary
  *
  */
 public class HostDescription {
 
+	public static final String UNIX_SOCKET_PREFIX = "unix://";
+
 	private final String host;
 	private final int port;
 
 	public HostDescription(final String host, final int port) {
 		super();
 		this.host = host;
-		this.port = port;
+		this.port = isUnixSocket(host) ? 0 : port;
+	}
+
+	public static boolean isUnixSocket(final String host) {
+		return host != null && host.startsWith(UNIX_SOCKET_PREFIX);
 	}
 
 	public String getHost() {
@@ -43,9 +52,21 @@ public class HostDescription {
 		return port;
 	}
 
+	public boolean isUnixSocket() {
+		return isUnixSocket(host);
+	}
+
+	/**
+	 * @return the file system path of the Unix domain socket or {@code null} if the host is not a Unix domain socket
+	 */
+	public String getPath() {
+		return isUnixSocket() ? host.substring(UNIX_SOCKET_PREFIX.length()) : null;
+	}
+
 	@Override
 	public String toString() {
-		return String.format("host[addr=%s,port=%s]", host, port);
+		return isUnixSocket() ? String.format("host[path=%s]", getPath())
+				: String.format("host[addr=%s,port=%s]", host, port);
 	}
 
 	@Override
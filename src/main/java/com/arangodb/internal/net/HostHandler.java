@@ -30,6 +30,14 @@ public interface HostHandler {
 
 	Host get(HostHandle hostHandle, AccessType accessType);
 
+	/**
+	 * Selects a second host for a request which is already sent to the given host, without affecting the selection of
+	 * subsequent hosts.
+	 * 
+	 * @return a host other than the given one, or {@code null} if there is none
+	 */
+	Host alternative(Host host, AccessType accessType);
+
 	void success();
 
 	void fail();
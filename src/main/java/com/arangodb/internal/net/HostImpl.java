@@ -21,6 +21,13 @@
 package com.arangodb.internal.net;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.arangodb.ArangoDBException;
 
@@ -30,18 +37,44 @@ import com.arangodb.ArangoDBException;
  */
 public class HostImpl implements Host {
 
+	private static final long LATENCY_DECAY = TimeUnit.SECONDS.toNanos(10);
+	// latency accounted at least for a failed request, so that a host which fails fast does not look fast
+	private static final long FAILURE_PENALTY = TimeUnit.SECONDS.toNanos(1);
+
 	private final ConnectionPool connectionPool;
+	private final Map<String, ConnectionPool> lanes;
 	private final HostDescription description;
+	private final AtomicInteger inFlight;
+	private final Object latencyLock;
+	private double latency;
+	private long latencyStamp;
+	private final LatencyHistogram latencies;
+	private volatile boolean available;
 
 	public HostImpl(final ConnectionPool connectionPool, final HostDescription description) {
+		this(connectionPool, Collections.<String, ConnectionPool> emptyMap(), description);
+	}
+
+	public HostImpl(final ConnectionPool connectionPool, final Map<String, ConnectionPool> lanes,
+		final HostDescription description) {
 		super();
 		this.connectionPool = connectionPool;
+		this.lanes = Collections.unmodifiableMap(new HashMap<String, ConnectionPool>(lanes));
 		this.description = description;
+		inFlight = new AtomicInteger();
+		latencyLock = new Object();
+		latency = 0;
+		latencyStamp = System.nanoTime();
+		latencies = new LatencyHistogram();
+		available = true;
 	}
 
 	@Override
 	public void close() throws IOException {
 		connectionPool.close();
+		for (final ConnectionPool pool : lanes.values()) {
+			pool.close();
+		}
 	}
 
 	@Override
@@ -54,10 +87,122 @@ public class HostImpl implements Host {
 		return connectionPool.connection();
 	}
 
+	@Override
+	public Connection connection(final String lane) {
+		return pool(lane).connection();
+	}
+
+	private ConnectionPool pool(final String lane) {
+		final ConnectionPool pool = lane != null ? lanes.get(lane) : null;
+		return pool != null ? pool : connectionPool;
+	}
+
+	@Override
+	public Collection<Connection> connections() {
+		final Collection<Connection> connections = new ArrayList<Connection>(connectionPool.connections());
+		for (final ConnectionPool pool : lanes.values()) {
+			connections.addAll(pool.connections());
+		}
+		return connections;
+	}
+
+	@Override
+	public Collection<Connection> connections(final String lane) {
+		if (lane == null) {
+			return connectionPool.connections();
+		}
+		final ConnectionPool pool = lanes.get(lane);
+		return pool != null ? pool.connections() : Collections.<Connection> emptyList();
+	}
+
+	@Override
+	public Collection<String> lanes() {
+		return lanes.keySet();
+	}
+
+	@Override
+	public Collection<Connection> warmUp() {
+		final Collection<Connection> connections = new ArrayList<Connection>(connectionPool.warmUp());
+		for (final ConnectionPool pool : lanes.values()) {
+			connections.addAll(pool.warmUp());
+		}
+		return connections;
+	}
+
+	@Override
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	@Override
+	public double getLatency() {
+		synchronized (latencyLock) {
+			return decay(System.nanoTime());
+		}
+	}
+
+	@Override
+	public long getLatency(final double percentile) {
+		return latencies.getPercentile(percentile);
+	}
+
+	@Override
+	public double getScore() {
+		return getLatency() * (inFlight.get() + 1);
+	}
+
+	@Override
+	public boolean isAvailable() {
+		return available;
+	}
+
+	@Override
+	public void setAvailable(final boolean available) {
+		this.available = available;
+	}
+
+	@Override
+	public long requestStarted() {
+		inFlight.incrementAndGet();
+		return System.nanoTime();
+	}
+
+	@Override
+	public void requestCompleted(final long start, final boolean failed) {
+		inFlight.decrementAndGet();
+		final long now = System.nanoTime();
+		final long rtt;
+		if (failed) {
+			// only responses are sampled for the latency percentiles
+			rtt = Math.max(now - start, FAILURE_PENALTY);
+		} else {
+			rtt = Math.max(now - start, 0L);
+			latencies.record(rtt);
+		}
+		synchronized (latencyLock) {
+			if (rtt > latency) {
+				latency = rtt;
+			} else {
+				final double weight = Math.exp(-Math.max(now - latencyStamp, 0L) / (double) LATENCY_DECAY);
+				latency = latency * weight + rtt * (1.0 - weight);
+			}
+			latencyStamp = Math.max(now, latencyStamp);
+		}
+	}
+
+	/**
+	 * Lets the latency decay towards zero for the time no response was received, so that an idle host which was slow
+	 * once gets requests again.
+	 */
+	private double decay(final long now) {
+		final long elapsed = Math.max(now - latencyStamp, 0L);
+		return latency * Math.exp(-elapsed / (double) LATENCY_DECAY);
+	}
+
 	@Override
 	public void closeOnError() {
 		try {
-			connectionPool.close();
+			close();
 		} catch (final IOException e) {
 			throw new ArangoDBException(e);
 		}
@@ -0,0 +1,60 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+/**
+ * A named traffic lane with connection pools of its own, so that requests routed to it do not share connections with
+ * the requests of other lanes.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class Lane {
+
+	private final String name;
+	private final int minConnections;
+	private final int maxConnections;
+
+	public Lane(final String name, final int minConnections, final int maxConnections) {
+		super();
+		this.name = name;
+		this.maxConnections = Math.max(1, maxConnections);
+		this.minConnections = Math.max(0, Math.min(minConnections, this.maxConnections));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getMinConnections() {
+		return minConnections;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("lane[name=%s,min=%s,max=%s]", name, minConnections, maxConnections);
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of response latencies with exponentially growing buckets, from which percentiles are estimated.
+ * Once {@value #MAX_SAMPLES} samples are counted all counts are halved, so that the histogram follows changes of the
+ * latency.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class LatencyHistogram {
+
+	static final int MIN_SAMPLES = 32;
+	private static final int MAX_SAMPLES = 2048;
+	private static final int BUCKETS = 96;
+	private static final double MIN_LATENCY = TimeUnit.MICROSECONDS.toNanos(50);
+	private static final double GROWTH = 1.2;
+	private static final double LOG_GROWTH = Math.log(GROWTH);
+
+	private final AtomicLongArray counts;
+	private final AtomicLong total;
+
+	public LatencyHistogram() {
+		super();
+		counts = new AtomicLongArray(BUCKETS);
+		total = new AtomicLong();
+	}
+
+	/**
+	 * @param latency
+	 *            latency in nanoseconds
+	 */
+	public void record(final long latency) {
+		counts.incrementAndGet(bucket(latency));
+		if (total.incrementAndGet() >= MAX_SAMPLES) {
+			halve();
+		}
+	}
+
+	private synchronized void halve() {
+		if (total.get() < MAX_SAMPLES) {
+			return;
+		}
+		long sum = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			long count;
+			do {
+				count = counts.get(i);
+			} while (!counts.compareAndSet(i, count, count / 2));
+			sum += count / 2;
+		}
+		total.set(sum);
+	}
+
+	/**
+	 * @param percentile
+	 *            percentile between 0 and 1, e.g. 0.95
+	 * @return upper bound of the bucket containing the given percentile of the recorded latencies in nanoseconds, or
+	 *         {@code -1} if fewer than {@value #MIN_SAMPLES} latencies were recorded
+	 */
+	public long getPercentile(final double percentile) {
+		final long samples = total.get();
+		if (samples < MIN_SAMPLES) {
+			return -1;
+		}
+		final long rank = Math.max(1L, (long) Math.ceil(percentile * samples));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return upperBound(i);
+			}
+		}
+		return upperBound(BUCKETS - 1);
+	}
+
+	private static int bucket(final long latency) {
+		if (latency <= MIN_LATENCY) {
+			return 0;
+		}
+		return Math.min((int) Math.ceil(Math.log(latency / MIN_LATENCY) / LOG_GROWTH), BUCKETS - 1);
+	}
+
+	private static long upperBound(final int bucket) {
+		return (long) (MIN_LATENCY * Math.pow(GROWTH, bucket));
+	}
+
+}
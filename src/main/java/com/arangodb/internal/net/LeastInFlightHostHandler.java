@@ -0,0 +1,130 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Picks the host with the fewest requests waiting for their response. Hosts with the same number of requests in flight
+ * are used in turn. While failing over, the hosts are tried in turn regardless of their load.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class LeastInFlightHostHandler implements HostHandler {
+
+	private final HostResolver resolver;
+	private int offset;
+	private int fails;
+	private volatile Host current;
+
+	public LeastInFlightHostHandler(final HostResolver resolver) {
+		super();
+		this.resolver = resolver;
+		resolver.resolve(true, false);
+		offset = 0;
+		fails = 0;
+	}
+
+	@Override
+	public Host get(final HostHandle hostHandle, final AccessType accessType) {
+		final List<Host> hosts = resolver.resolve(false, false);
+		final int size = hosts.size();
+		if (size == 0 || fails > size) {
+			return null;
+		}
+		if (hostHandle != null && hostHandle.getHost() != null) {
+			final HostDescription hostDescription = hostHandle.getHost();
+			for (final Host host : hosts) {
+				if (hostDescription.equals(host.getDescription())) {
+					current = host;
+					return host;
+				}
+			}
+		}
+		final int start = (offset++ & Integer.MAX_VALUE) % size;
+		Host host = hosts.get(start);
+		if (fails == 0) {
+			int min = host.getInFlight();
+			for (int i = 1; i < size && min > 0; i++) {
+				final Host candidate = hosts.get((start + i) % size);
+				final int inFlight = candidate.getInFlight();
+				if (inFlight < min) {
+					host = candidate;
+					min = inFlight;
+				}
+			}
+		}
+		if (hostHandle != null && hostHandle.getHost() == null) {
+			hostHandle.setHost(host.getDescription());
+		}
+		current = host;
+		return host;
+	}
+
+	@Override
+	public Host alternative(final Host host, final AccessType accessType) {
+		Host alternative = null;
+		for (final Host candidate : resolver.resolve(false, false)) {
+			if (candidate != host && (alternative == null || candidate.getInFlight() < alternative.getInFlight())) {
+				alternative = candidate;
+			}
+		}
+		return alternative;
+	}
+
+	@Override
+	public void success() {
+		fails = 0;
+	}
+
+	@Override
+	public void fail() {
+		fails++;
+	}
+
+	@Override
+	public void reset() {
+		fails = 0;
+	}
+
+	@Override
+	public void confirm() {
+	}
+
+	@Override
+	public void close() throws IOException {
+		final List<Host> hosts = resolver.resolve(false, false);
+		for (final Host host : hosts) {
+			host.close();
+		}
+	}
+
+	@Override
+	public void closeCurrentOnError() {
+		final Host host = current;
+		if (host != null) {
+			host.closeOnError();
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Picks two random hosts and uses the one with the lower {@link Host#getScore() score} (power of two choices). The
+ * score combines the peak-EWMA of the response latency with the number of requests in flight, so slow or stalled
+ * hosts receive fewer requests.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class PeakEwmaHostHandler implements HostHandler {
+
+	private final HostResolver resolver;
+	private final Random random;
+	private int offset;
+	private int fails;
+	private volatile Host current;
+
+	public PeakEwmaHostHandler(final HostResolver resolver) {
+		super();
+		this.resolver = resolver;
+		resolver.resolve(true, false);
+		random = new Random();
+		offset = 0;
+		fails = 0;
+	}
+
+	@Override
+	public Host get(final HostHandle hostHandle, final AccessType accessType) {
+		final List<Host> hosts = resolver.resolve(false, false);
+		final int size = hosts.size();
+		if (size == 0 || fails > size) {
+			return null;
+		}
+		if (hostHandle != null && hostHandle.getHost() != null) {
+			final HostDescription hostDescription = hostHandle.getHost();
+			for (final Host host : hosts) {
+				if (hostDescription.equals(host.getDescription())) {
+					current = host;
+					return host;
+				}
+			}
+		}
+		final Host host;
+		if (fails > 0) {
+			host = hosts.get((offset++ & Integer.MAX_VALUE) % size);
+		} else if (size == 1) {
+			host = hosts.get(0);
+		} else {
+			final int first = random.nextInt(size);
+			int second = random.nextInt(size - 1);
+			if (second >= first) {
+				second++;
+			}
+			final Host a = hosts.get(first);
+			final Host b = hosts.get(second);
+			host = b.getScore() < a.getScore() ? b : a;
+		}
+		if (hostHandle != null && hostHandle.getHost() == null) {
+			hostHandle.setHost(host.getDescription());
+		}
+		current = host;
+		return host;
+	}
+
+	@Override
+	public Host alternative(final Host host, final AccessType accessType) {
+		Host alternative = null;
+		for (final Host candidate : resolver.resolve(false, false)) {
+			if (candidate != host && (alternative == null || candidate.getScore() < alternative.getScore())) {
+				alternative = candidate;
+			}
+		}
+		return alternative;
+	}
+
+	@Override
+	public void success() {
+		fails = 0;
+	}
+
+	@Override
+	public void fail() {
+		fails++;
+	}
+
+	@Override
+	public void reset() {
+		fails = 0;
+	}
+
+	@Override
+	public void confirm() {
+	}
+
+	@Override
+	public void close() throws IOException {
+		final List<Host> hosts = resolver.resolve(false, false);
+		for (final Host host : hosts) {
+			host.close();
+		}
+	}
+
+	@Override
+	public void closeCurrentOnError() {
+		final Host host = current;
+		if (host != null) {
+			host.closeOnError();
+		}
+	}
+
+}
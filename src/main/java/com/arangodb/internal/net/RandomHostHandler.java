@@ -51,6 +51,18 @@ public class RandomHostHandler implements HostHandler {
 		return current;
 	}
 
+	@Override
+	public Host alternative(final Host host, final AccessType accessType) {
+		final ArrayList<Host> hosts = new ArrayList<Host>(resolver.resolve(false, false));
+		Collections.shuffle(hosts);
+		for (final Host candidate : hosts) {
+			if (candidate != host) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public void success() {
 		current = origin;
@@ -66,6 +66,19 @@ public class RoundRobinHostHandler implements HostHandler {
 		return host;
 	}
 
+	@Override
+	public Host alternative(final Host host, final AccessType accessType) {
+		final List<Host> hosts = resolver.resolve(false, false);
+		final int size = hosts.size();
+		for (int i = 0; i < size; i++) {
+			final Host candidate = hosts.get((current + i) % size);
+			if (candidate != host) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public void success() {
 		fails = 0;
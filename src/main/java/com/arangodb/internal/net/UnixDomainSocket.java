@@ -0,0 +1,371 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A {@link Socket} connected to a Unix domain socket, for code which works with blocking sockets. The streams are
+ * backed by a non-blocking {@link SocketChannel} from {@link UnixDomainSockets}, so that reads honor
+ * {@link #setSoTimeout(int)} and a read and a write can be in progress at the same time. Options which only apply to
+ * TCP are ignored.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class UnixDomainSocket extends Socket {
+
+	private final String path;
+	private volatile SocketChannel channel;
+	private Selector readSelector;
+	private Selector writeSelector;
+	private InputStream inputStream;
+	private OutputStream outputStream;
+	private volatile int soTimeout;
+	private volatile boolean closed;
+	private volatile boolean inputShutdown;
+	private volatile boolean outputShutdown;
+
+	/**
+	 * @param path
+	 *            file system path of the Unix domain socket
+	 */
+	public UnixDomainSocket(final String path) {
+		super();
+		this.path = path;
+	}
+
+	/**
+	 * Connects to the Unix domain socket given in the constructor.
+	 */
+	public synchronized void connect() throws IOException {
+		if (closed) {
+			throw new SocketException("Socket is closed");
+		}
+		if (channel != null) {
+			throw new SocketException("Already connected");
+		}
+		final SocketChannel channel = UnixDomainSockets.open(path);
+		try {
+			channel.configureBlocking(false);
+			readSelector = Selector.open();
+			channel.register(readSelector, SelectionKey.OP_READ);
+			writeSelector = Selector.open();
+			channel.register(writeSelector, SelectionKey.OP_WRITE);
+		} catch (final IOException e) {
+			closeQuietly(channel, readSelector, writeSelector);
+			throw e;
+		}
+		inputStream = new ChannelInputStream();
+		outputStream = new ChannelOutputStream();
+		this.channel = channel;
+	}
+
+	/**
+	 * Connects to the Unix domain socket given in the constructor. The endpoint and the timeout are ignored.
+	 */
+	@Override
+	public void connect(final SocketAddress endpoint, final int timeout) throws IOException {
+		connect();
+	}
+
+	@Override
+	public void bind(final SocketAddress bindpoint) throws IOException {
+		throw new SocketException("Binding is not supported for Unix domain sockets");
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			super.close();
+		} finally {
+			closeQuietly(channel, readSelector, writeSelector);
+		}
+	}
+
+	private static void closeQuietly(final SocketChannel channel, final Selector... selectors) {
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+		} catch (final IOException e) {
+			// ignore, the socket is closed anyway
+		}
+		for (final Selector selector : selectors) {
+			if (selector != null) {
+				try {
+					selector.close();
+				} catch (final IOException e) {
+					// ignore, the socket is closed anyway
+				}
+			}
+		}
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		checkConnected();
+		return inputStream;
+	}
+
+	@Override
+	public OutputStream getOutputStream() throws IOException {
+		checkConnected();
+		return outputStream;
+	}
+
+	private void checkConnected() throws SocketException {
+		if (closed) {
+			throw new SocketException("Socket is closed");
+		}
+		if (channel == null) {
+			throw new SocketException("Socket is not connected");
+		}
+	}
+
+	@Override
+	public boolean isConnected() {
+		return channel != null;
+	}
+
+	@Override
+	public boolean isBound() {
+		return channel != null;
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public void shutdownInput() throws IOException {
+		checkConnected();
+		inputShutdown = true;
+	}
+
+	@Override
+	public void shutdownOutput() throws IOException {
+		checkConnected();
+		outputShutdown = true;
+	}
+
+	@Override
+	public boolean isInputShutdown() {
+		return inputShutdown;
+	}
+
+	@Override
+	public boolean isOutputShutdown() {
+		return outputShutdown;
+	}
+
+	@Override
+	public void setSoTimeout(final int timeout) throws SocketException {
+		if (timeout < 0) {
+			throw new IllegalArgumentException("timeout can't be negative");
+		}
+		soTimeout = timeout;
+	}
+
+	@Override
+	public int getSoTimeout() {
+		return soTimeout;
+	}
+
+	@Override
+	public void setTcpNoDelay(final boolean on) {
+	}
+
+	@Override
+	public boolean getTcpNoDelay() {
+		return false;
+	}
+
+	@Override
+	public void setKeepAlive(final boolean on) {
+	}
+
+	@Override
+	public boolean getKeepAlive() {
+		return false;
+	}
+
+	@Override
+	public void setSoLinger(final boolean on, final int linger) {
+	}
+
+	@Override
+	public int getSoLinger() {
+		return -1;
+	}
+
+	@Override
+	public void setReuseAddress(final boolean on) {
+	}
+
+	@Override
+	public boolean getReuseAddress() {
+		return false;
+	}
+
+	@Override
+	public void setSendBufferSize(final int size) {
+	}
+
+	@Override
+	public void setReceiveBufferSize(final int size) {
+	}
+
+	@Override
+	public InetAddress getInetAddress() {
+		return null;
+	}
+
+	@Override
+	public InetAddress getLocalAddress() {
+		return null;
+	}
+
+	@Override
+	public SocketAddress getRemoteSocketAddress() {
+		return null;
+	}
+
+	@Override
+	public SocketAddress getLocalSocketAddress() {
+		return null;
+	}
+
+	@Override
+	public int getPort() {
+		return 0;
+	}
+
+	@Override
+	public int getLocalPort() {
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("UnixDomainSocket[path=%s]", path);
+	}
+
+	private class ChannelInputStream extends InputStream {
+
+		@Override
+		public int read() throws IOException {
+			final byte[] b = new byte[1];
+			final int n = read(b, 0, 1);
+			return n < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (inputShutdown) {
+				return -1;
+			}
+			final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			final int timeout = soTimeout;
+			final long deadline = System.currentTimeMillis() + timeout;
+			try {
+				while (true) {
+					checkConnected();
+					final int n = channel.read(buffer);
+					if (n != 0) {
+						return n;
+					}
+					long wait = 0;
+					if (timeout > 0) {
+						wait = deadline - System.currentTimeMillis();
+						if (wait <= 0) {
+							throw new SocketTimeoutException("Read timed out");
+						}
+					}
+					readSelector.select(wait);
+					readSelector.selectedKeys().clear();
+				}
+			} catch (final ClosedSelectorException e) {
+				throw new SocketException("Socket is closed");
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			UnixDomainSocket.this.close();
+		}
+
+	}
+
+	private class ChannelOutputStream extends OutputStream {
+
+		@Override
+		public void write(final int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+			if (outputShutdown) {
+				throw new SocketException("Socket output is shutdown");
+			}
+			final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			try {
+				while (buffer.hasRemaining()) {
+					checkConnected();
+					if (channel.write(buffer) == 0) {
+						writeSelector.select();
+						writeSelector.selectedKeys().clear();
+					}
+				}
+			} catch (final ClosedSelectorException e) {
+				throw new SocketException("Socket is closed");
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			UnixDomainSocket.this.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.net;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.SocketAddress;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Opens {@link SocketChannel}s to Unix domain sockets. The support was added to the JDK with Java 16 and is accessed
+ * reflectively, so that the driver still runs on older Java versions as long as no Unix domain socket is used.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public final class UnixDomainSockets {
+
+	private static final Object UNIX;
+	private static final Method OPEN;
+	private static final Method ADDRESS;
+
+	static {
+		Object unix = null;
+		Method open = null;
+		Method address = null;
+		try {
+			unix = Class.forName("java.net.StandardProtocolFamily").getField("UNIX").get(null);
+			open = SocketChannel.class.getMethod("open", Class.forName("java.net.ProtocolFamily"));
+			address = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class);
+		} catch (final Exception e) {
+			unix = null;
+		}
+		UNIX = unix;
+		OPEN = unix != null ? open : null;
+		ADDRESS = unix != null ? address : null;
+	}
+
+	private UnixDomainSockets() {
+		super();
+	}
+
+	/**
+	 * @return whether or not the running JVM supports Unix domain sockets
+	 */
+	public static boolean isSupported() {
+		return UNIX != null;
+	}
+
+	/**
+	 * @param path
+	 *            file system path of the Unix domain socket
+	 * @return a connected channel in blocking mode
+	 * @throws IOException
+	 *             if the JVM does not support Unix domain sockets or the connect failed
+	 */
+	public static SocketChannel open(final String path) throws IOException {
+		if (!isSupported()) {
+			throw new IOException(
+					String.format("Could not connect to %s. Unix domain sockets require Java 16 or later.", path));
+		}
+		final SocketChannel channel = (SocketChannel) invoke(OPEN, UNIX);
+		try {
+			channel.connect((SocketAddress) invoke(ADDRESS, path));
+		} catch (final IOException e) {
+			channel.close();
+			throw e;
+		}
+		return channel;
+	}
+
+	private static Object invoke(final Method method, final Object arg) throws IOException {
+		try {
+			return method.invoke(null, arg);
+		} catch (final InvocationTargetException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause.getMessage(), cause);
+		} catch (final IllegalAccessException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+}
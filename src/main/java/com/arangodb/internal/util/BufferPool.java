@@ -0,0 +1,181 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.arangodb.entity.BufferPoolStatisticsEntity;
+
+/**
+ * Driver-wide pool of byte buffers, organized in size classes of powers of two. Buffers larger than the biggest size
+ * class are neither pooled nor counted. Each size class retains at most {@code maxClassBytes} of released buffers.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class BufferPool {
+
+	private static final int MIN_BUFFER_SHIFT = 10;
+
+	private final boolean enabled;
+	private final boolean direct;
+	private final int maxBufferSize;
+	private final SizeClass[] heapClasses;
+	private final SizeClass[] directClasses;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final AtomicLong releases;
+	private final AtomicLong discards;
+
+	public BufferPool(final boolean enabled, final boolean direct, final int maxBufferSize, final int maxClassBytes) {
+		super();
+		this.enabled = enabled;
+		this.direct = direct;
+		this.maxBufferSize = Math.max(1 << MIN_BUFFER_SHIFT, Integer.highestOneBit(maxBufferSize));
+		final int classes = Integer.numberOfTrailingZeros(this.maxBufferSize) - MIN_BUFFER_SHIFT + 1;
+		heapClasses = new SizeClass[classes];
+		directClasses = new SizeClass[classes];
+		for (int i = 0; i < classes; i++) {
+			final int capacity = 1 << (i + MIN_BUFFER_SHIFT);
+			final int maxBuffers = enabled ? Math.max(1, maxClassBytes / capacity) : 0;
+			heapClasses[i] = new SizeClass(maxBuffers);
+			directClasses[i] = new SizeClass(direct ? maxBuffers : 0);
+		}
+		hits = new AtomicLong();
+		misses = new AtomicLong();
+		releases = new AtomicLong();
+		discards = new AtomicLong();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Lends a heap buffer with a backing array of at least {@code size} bytes. The limit of the returned buffer is set
+	 * to {@code size}.
+	 */
+	public ByteBuffer acquire(final int size) {
+		return acquire(size, false);
+	}
+
+	/**
+	 * Lends a buffer for socket I/O of at least {@code size} bytes, which is a direct buffer if the pool is configured
+	 * to use direct memory. The limit of the returned buffer is set to {@code size}.
+	 */
+	public ByteBuffer acquireIo(final int size) {
+		return acquire(size, direct);
+	}
+
+	private ByteBuffer acquire(final int size, final boolean direct) {
+		if (!enabled || size > maxBufferSize) {
+			return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+		}
+		final int index = sizeClass(size);
+		ByteBuffer buffer = (direct ? directClasses : heapClasses)[index].poll();
+		if (buffer != null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+			final int capacity = 1 << (index + MIN_BUFFER_SHIFT);
+			buffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+		}
+		buffer.limit(size);
+		return buffer;
+	}
+
+	/**
+	 * Returns a buffer to the pool. The buffer must not be used by the caller afterwards. Buffers which were not lent by
+	 * this pool are ignored.
+	 */
+	public void release(final ByteBuffer buffer) {
+		final int capacity = buffer.capacity();
+		if (!enabled || capacity > maxBufferSize || Integer.bitCount(capacity) != 1
+				|| capacity < 1 << MIN_BUFFER_SHIFT) {
+			return;
+		}
+		buffer.clear();
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		if ((buffer.isDirect() ? directClasses : heapClasses)[sizeClass(capacity)].offer(buffer)) {
+			releases.incrementAndGet();
+		} else {
+			discards.incrementAndGet();
+		}
+	}
+
+	private static int sizeClass(final int size) {
+		if (size <= 1 << MIN_BUFFER_SHIFT) {
+			return 0;
+		}
+		return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_BUFFER_SHIFT;
+	}
+
+	public BufferPoolStatisticsEntity getStatistics() {
+		long pooledBytes = 0;
+		for (int i = 0; i < heapClasses.length; i++) {
+			final long capacity = 1L << (i + MIN_BUFFER_SHIFT);
+			pooledBytes += capacity * (heapClasses[i].size() + directClasses[i].size());
+		}
+		return new BufferPoolStatisticsEntity(hits.get(), misses.get(), releases.get(), discards.get(), pooledBytes);
+	}
+
+	private static class SizeClass {
+
+		private final int maxBuffers;
+		private final Queue<ByteBuffer> buffers;
+		private final AtomicInteger size;
+
+		SizeClass(final int maxBuffers) {
+			super();
+			this.maxBuffers = maxBuffers;
+			buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+			size = new AtomicInteger();
+		}
+
+		ByteBuffer poll() {
+			final ByteBuffer buffer = buffers.poll();
+			if (buffer != null) {
+				size.decrementAndGet();
+			}
+			return buffer;
+		}
+
+		boolean offer(final ByteBuffer buffer) {
+			if (size.incrementAndGet() > maxBuffers) {
+				size.decrementAndGet();
+				return false;
+			}
+			buffers.add(buffer);
+			return true;
+		}
+
+		int size() {
+			return size.get();
+		}
+
+	}
+
+}
@@ -20,11 +20,17 @@
 
 package com.arangodb.internal.util;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import com.arangodb.internal.net.ConnectionFactory;
-import com.arangodb.internal.net.ConnectionPoolImpl;
+import com.arangodb.internal.net.ConnectionPool;
+import com.arangodb.internal.net.ConnectionReaper;
 import com.arangodb.internal.net.Host;
 import com.arangodb.internal.net.HostDescription;
 import com.arangodb.internal.net.HostImpl;
+import com.arangodb.internal.net.Lane;
 
 /**
  * @author Mark Vollmary
@@ -51,6 +57,22 @@ public final class HostUtils {
 		final HostDescription description,
 		final int maxConnections,
 		final ConnectionFactory factory) {
-		return new HostImpl(new ConnectionPoolImpl(description, maxConnections, factory), description);
+		return new HostImpl(factory.createPool(description, 0, maxConnections, null), description);
+	}
+
+	public static Host createHost(
+		final HostDescription description,
+		final int minConnections,
+		final int maxConnections,
+		final ConnectionFactory factory,
+		final ConnectionReaper reaper,
+		final Collection<Lane> lanes) {
+		final Map<String, ConnectionPool> pools = new HashMap<String, ConnectionPool>();
+		for (final Lane lane : lanes) {
+			pools.put(lane.getName(), factory.createPool(description, lane.getMinConnections(),
+				lane.getMaxConnections(), reaper));
+		}
+		return new HostImpl(factory.createPool(description, minConnections, maxConnections, reaper), pools,
+				description);
 	}
 }
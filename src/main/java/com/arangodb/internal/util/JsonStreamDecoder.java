@@ -0,0 +1,442 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.arangodb.velocypack.exception.VPackException;
+
+/**
+ * Parses the UTF-8 encoded JSON of a response body directly into VelocyPack. Other than parsing a {@link String}, the
+ * body is neither decoded into characters nor held in memory as a whole, every byte is read once and only string values
+ * and attribute names are materialized.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public final class JsonStreamDecoder {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+	private static final int MAX_BUFFER_SIZE = 64 * 1024;
+	private static final char REPLACEMENT = '\uFFFD';
+
+	private final InputStream input;
+	private final byte[] buffer;
+	private int position;
+	private int limit;
+	private long offset;
+	private final VPackBuilder builder;
+	private StringBuilder chars;
+
+	private JsonStreamDecoder(final InputStream input, final byte[] buffer, final int limit) {
+		super();
+		this.input = input;
+		this.buffer = buffer;
+		this.limit = limit;
+		position = 0;
+		offset = 0;
+		builder = new VPackBuilder();
+	}
+
+	/**
+	 * Reads the given stream up to its end and closes it.
+	 * 
+	 * @param input
+	 *            the UTF-8 encoded JSON
+	 * @param contentLength
+	 *            the length of the content or a negative number if unknown. It is used to size the read buffer.
+	 * @return the parsed value or {@code null} if the stream contains no value
+	 * @throws ArangoDBException
+	 *             if the stream contains no valid JSON
+	 */
+	public static VPackSlice decode(final InputStream input, final long contentLength)
+			throws ArangoDBException, IOException {
+		final int size = contentLength > 0 ? (int) Math.min(contentLength, MAX_BUFFER_SIZE) : DEFAULT_BUFFER_SIZE;
+		try {
+			return new JsonStreamDecoder(input, new byte[size], 0).decode();
+		} finally {
+			try {
+				input.close();
+			} catch (final IOException e) {
+			}
+		}
+	}
+
+	/**
+	 * @param content
+	 *            the UTF-8 encoded JSON
+	 * @return the parsed value or {@code null} if the content contains no value
+	 * @throws ArangoDBException
+	 *             if the content is no valid JSON
+	 */
+	public static VPackSlice decode(final byte[] content) throws ArangoDBException {
+		try {
+			return new JsonStreamDecoder(null, content, content.length).decode();
+		} catch (final IOException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+
+	private VPackSlice decode() throws IOException {
+		try {
+			int c = skipWhitespace();
+			if (c == -1) {
+				return null;
+			}
+			value(null, c);
+			c = skipWhitespace();
+			if (c != -1) {
+				throw unexpected(c);
+			}
+			return builder.slice();
+		} catch (final VPackException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+
+	private void value(final String name, final int c) throws IOException {
+		switch (c) {
+		case '{':
+			builder.add(name, ValueType.OBJECT);
+			object();
+			builder.close();
+			break;
+		case '[':
+			builder.add(name, ValueType.ARRAY);
+			array();
+			builder.close();
+			break;
+		case '"':
+			builder.add(name, string());
+			break;
+		case 't':
+			literal("rue");
+			builder.add(name, Boolean.TRUE);
+			break;
+		case 'f':
+			literal("alse");
+			builder.add(name, Boolean.FALSE);
+			break;
+		case 'n':
+			literal("ull");
+			builder.add(name, ValueType.NULL);
+			break;
+		default:
+			number(name, c);
+			break;
+		}
+	}
+
+	private void object() throws IOException {
+		int c = skipWhitespace();
+		if (c == '}') {
+			return;
+		}
+		while (true) {
+			if (c != '"') {
+				throw unexpected(c);
+			}
+			final String name = string();
+			c = skipWhitespace();
+			if (c != ':') {
+				throw unexpected(c);
+			}
+			value(name, skipWhitespace());
+			c = skipWhitespace();
+			if (c == '}') {
+				return;
+			}
+			if (c != ',') {
+				throw unexpected(c);
+			}
+			c = skipWhitespace();
+		}
+	}
+
+	private void array() throws IOException {
+		int c = skipWhitespace();
+		if (c == ']') {
+			return;
+		}
+		while (true) {
+			value(null, c);
+			c = skipWhitespace();
+			if (c == ']') {
+				return;
+			}
+			if (c != ',') {
+				throw unexpected(c);
+			}
+			c = skipWhitespace();
+		}
+	}
+
+	private void literal(final String rest) throws IOException {
+		for (int i = 0; i < rest.length(); i++) {
+			final int c = read();
+			if (c != rest.charAt(i)) {
+				throw unexpected(c);
+			}
+		}
+	}
+
+	/**
+	 * Integers are added as long like the {@link com.arangodb.velocypack.VPackParser} does, only integers exceeding the
+	 * range of a long are added as double.
+	 */
+	private void number(final String name, final int first) throws IOException {
+		final StringBuilder number = chars();
+		boolean integral = true;
+		int c = first;
+		if (c == '-') {
+			number.append('-');
+			c = read();
+		}
+		if (c == '0') {
+			number.append('0');
+			c = read();
+		} else {
+			c = digits(number, c);
+		}
+		if (c == '.') {
+			integral = false;
+			number.append('.');
+			c = digits(number, read());
+		}
+		if (c == 'e' || c == 'E') {
+			integral = false;
+			number.append('e');
+			c = read();
+			if (c == '+' || c == '-') {
+				number.append((char) c);
+				c = read();
+			}
+			c = digits(number, c);
+		}
+		unread(c);
+		final String value = number.toString();
+		if (integral) {
+			try {
+				builder.add(name, Long.valueOf(value));
+				return;
+			} catch (final NumberFormatException e) {
+			}
+		}
+		builder.add(name, Double.valueOf(value));
+	}
+
+	/**
+	 * Appends the given digit and all following ones
+	 * 
+	 * @return the first character after the digits
+	 */
+	private int digits(final StringBuilder number, final int first) throws IOException {
+		if (first < '0' || first > '9') {
+			throw unexpected(first);
+		}
+		int c = first;
+		do {
+			number.append((char) c);
+			c = read();
+		} while (c >= '0' && c <= '9');
+		return c;
+	}
+
+	/**
+	 * Reads a string after its opening quote. A string which contains no escape sequence and lies within the current
+	 * buffer is decoded right from it.
+	 */
+	private String string() throws IOException {
+		final int start = position;
+		for (int i = start; i < limit; i++) {
+			final byte b = buffer[i];
+			if (b == '"') {
+				position = i + 1;
+				return new String(buffer, start, i - start, UTF8);
+			}
+			if (b == '\\' || (b >= 0 && b < 0x20)) {
+				break;
+			}
+		}
+		final StringBuilder chars = chars();
+		while (true) {
+			final int c = read();
+			if (c == '"') {
+				return chars.toString();
+			} else if (c == '\\') {
+				escape(chars);
+			} else if (c < 0x20) {
+				throw unexpected(c);
+			} else if (c < 0x80) {
+				chars.append((char) c);
+			} else {
+				codePoint(chars, c);
+			}
+		}
+	}
+
+	private void escape(final StringBuilder chars) throws IOException {
+		final int c = read();
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			chars.append((char) c);
+			break;
+		case 'b':
+			chars.append('\b');
+			break;
+		case 'f':
+			chars.append('\f');
+			break;
+		case 'n':
+			chars.append('\n');
+			break;
+		case 'r':
+			chars.append('\r');
+			break;
+		case 't':
+			chars.append('\t');
+			break;
+		case 'u':
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				final int h = read();
+				final int digit = Character.digit(h, 16);
+				if (h == -1 || digit == -1) {
+					throw unexpected(h);
+				}
+				value = value << 4 | digit;
+			}
+			// surrogate pairs are escaped as two sequences, each of them is appended as a single char
+			chars.append((char) value);
+			break;
+		default:
+			throw unexpected(c);
+		}
+	}
+
+	/**
+	 * Decodes a multi-byte UTF-8 sequence. A malformed sequence is replaced by U+FFFD, as it is by a
+	 * {@link java.io.InputStreamReader}.
+	 */
+	private void codePoint(final StringBuilder chars, final int lead) throws IOException {
+		final int length;
+		int codePoint;
+		if ((lead & 0xE0) == 0xC0) {
+			length = 1;
+			codePoint = lead & 0x1F;
+		} else if ((lead & 0xF0) == 0xE0) {
+			length = 2;
+			codePoint = lead & 0x0F;
+		} else if ((lead & 0xF8) == 0xF0) {
+			length = 3;
+			codePoint = lead & 0x07;
+		} else {
+			chars.append(REPLACEMENT);
+			return;
+		}
+		for (int i = 0; i < length; i++) {
+			final int c = read();
+			if ((c & 0xC0) != 0x80) {
+				unread(c);
+				chars.append(REPLACEMENT);
+				return;
+			}
+			codePoint = codePoint << 6 | (c & 0x3F);
+		}
+		if ((length == 1 && codePoint < 0x80) || (length == 2 && codePoint < 0x800)
+				|| (length == 3 && (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT))
+				|| (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+			chars.append(REPLACEMENT);
+		} else {
+			chars.appendCodePoint(codePoint);
+		}
+	}
+
+	private StringBuilder chars() {
+		if (chars == null) {
+			chars = new StringBuilder();
+		} else {
+			chars.setLength(0);
+		}
+		return chars;
+	}
+
+	private int skipWhitespace() throws IOException {
+		int c;
+		do {
+			c = read();
+		} while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+		return c;
+	}
+
+	/**
+	 * @return the next byte or -1 at the end of the input
+	 */
+	private int read() throws IOException {
+		if (position == limit && !fill()) {
+			return -1;
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	/**
+	 * Steps back the byte last returned by {@link #read()}, which is always still within the buffer
+	 */
+	private void unread(final int c) {
+		if (c != -1) {
+			position--;
+		}
+	}
+
+	private boolean fill() throws IOException {
+		if (input == null) {
+			return false;
+		}
+		offset += limit;
+		position = 0;
+		limit = 0;
+		int read;
+		do {
+			read = input.read(buffer, 0, buffer.length);
+		} while (read == 0);
+		if (read == -1) {
+			return false;
+		}
+		limit = read;
+		return true;
+	}
+
+	private ArangoDBException unexpected(final int c) {
+		final long at = offset + position - (c == -1 ? 0 : 1);
+		return new ArangoDBException(c == -1 ? String.format("Invalid JSON: unexpected end of input at offset %s", at)
+				: String.format("Invalid JSON: unexpected character '%s' at offset %s", (char) c, at));
+	}
+
+}
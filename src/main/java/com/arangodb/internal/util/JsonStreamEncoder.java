@@ -0,0 +1,282 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Map.Entry;
+
+import com.arangodb.velocypack.ObjectIterator;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.internal.util.DateUtil;
+
+/**
+ * Writes VelocyPack as UTF-8 encoded JSON, the same JSON as {@link VPackSlice#toString()} returns. Other than
+ * {@link VPackSlice#toString()}, no {@link String} of the whole document is built. String values and attribute names
+ * are copied from the UTF-8 bytes of the VelocyPack, only the characters which have to be escaped are rewritten.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public final class JsonStreamEncoder {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final int BUFFER_SIZE = 8 * 1024;
+	private static final byte[] HEX = "0123456789ABCDEF".getBytes(UTF8);
+	private static final byte[] NULL = "null".getBytes(UTF8);
+	private static final byte[] TRUE = "true".getBytes(UTF8);
+	private static final byte[] FALSE = "false".getBytes(UTF8);
+	private static final String NON_REPRESENTABLE = "(non-representable type)";
+
+	/**
+	 * The escape of every ASCII character: 0 for none, 'u' for a unicode escape, otherwise the character following the
+	 * backslash. Like the {@link com.arangodb.velocypack.VPackParser}, the slash is escaped too.
+	 */
+	private static final byte[] ESCAPES = new byte[128];
+
+	static {
+		for (int i = 0; i < 0x20; i++) {
+			ESCAPES[i] = 'u';
+		}
+		ESCAPES['\b'] = 'b';
+		ESCAPES['\t'] = 't';
+		ESCAPES['\n'] = 'n';
+		ESCAPES['\f'] = 'f';
+		ESCAPES['\r'] = 'r';
+		ESCAPES['"'] = '"';
+		ESCAPES['\\'] = '\\';
+		ESCAPES['/'] = '/';
+	}
+
+	private final OutputStream output;
+	private final byte[] buffer;
+	private int position;
+	private long count;
+
+	private JsonStreamEncoder(final OutputStream output, final byte[] buffer) {
+		super();
+		this.output = output;
+		this.buffer = buffer;
+		position = 0;
+		count = 0;
+	}
+
+	/**
+	 * @return the number of bytes of the JSON of the given VelocyPack
+	 */
+	public static long length(final VPackSlice slice) {
+		final JsonStreamEncoder encoder = new JsonStreamEncoder(null, null);
+		try {
+			encoder.value(slice);
+		} catch (final IOException e) {
+			// nothing is written
+		}
+		return encoder.count;
+	}
+
+	/**
+	 * Writes the JSON of the given VelocyPack to the given stream, which is neither flushed nor closed
+	 */
+	public static void encode(final VPackSlice slice, final OutputStream output) throws IOException {
+		final JsonStreamEncoder encoder = new JsonStreamEncoder(output, new byte[BUFFER_SIZE]);
+		encoder.value(slice);
+		encoder.flushBuffer();
+	}
+
+	/**
+	 * @return the JSON of the given VelocyPack within an array of the exact length
+	 */
+	public static byte[] encode(final VPackSlice slice) {
+		final long length = length(slice);
+		if (length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("The JSON of %s bytes exceeds an array", length));
+		}
+		final JsonStreamEncoder encoder = new JsonStreamEncoder(null, new byte[(int) length]);
+		try {
+			encoder.value(slice);
+		} catch (final IOException e) {
+			// nothing is written
+		}
+		return encoder.buffer;
+	}
+
+	private void value(final VPackSlice slice) throws IOException {
+		if (slice.isObject()) {
+			object(slice);
+		} else if (slice.isArray()) {
+			write('[');
+			for (int i = 0; i < slice.getLength(); i++) {
+				if (i > 0) {
+					write(',');
+				}
+				value(slice.get(i));
+			}
+			write(']');
+		} else if (slice.isBoolean()) {
+			write(slice.isTrue() ? TRUE : FALSE);
+		} else if (slice.isString()) {
+			string(slice);
+		} else if (slice.isDouble()) {
+			ascii(String.valueOf(slice.getAsDouble()));
+		} else if (slice.isInt()) {
+			ascii(String.valueOf(slice.getAsLong()));
+		} else if (slice.isNumber()) {
+			ascii(String.valueOf(slice.getAsNumber()));
+		} else if (slice.isDate()) {
+			string(DateUtil.format(slice.getAsDate()));
+		} else if (slice.isNull()) {
+			write(NULL);
+		} else {
+			string(NON_REPRESENTABLE);
+		}
+	}
+
+	/**
+	 * Writes the attributes in the order they are stored, like {@link VPackSlice#objectIterator()} returns them
+	 */
+	private void object(final VPackSlice slice) throws IOException {
+		write('{');
+		final KeyIterator iterator = new KeyIterator(slice);
+		boolean first = true;
+		while (iterator.hasNext()) {
+			final Entry<String, VPackSlice> entry = iterator.next();
+			if (!first) {
+				write(',');
+			}
+			first = false;
+			final VPackSlice key = iterator.key();
+			if (key.isString()) {
+				string(key);
+			} else {
+				// an attribute name translated into an integer
+				string(entry.getKey());
+			}
+			write(':');
+			value(entry.getValue());
+		}
+		write('}');
+	}
+
+	private void string(final VPackSlice slice) throws IOException {
+		final byte[] vpack = slice.getBuffer();
+		final int start = slice.getStart();
+		final int head = vpack[start] & 0xFF;
+		if (head == 0xBF) {
+			long length = 0;
+			for (int i = 8; i > 0; i--) {
+				length = length << 8 | (vpack[start + i] & 0xFF);
+			}
+			string(vpack, start + 9, (int) length);
+		} else {
+			string(vpack, start + 1, head - 0x40);
+		}
+	}
+
+	private void string(final String value) throws IOException {
+		final byte[] bytes = value.getBytes(UTF8);
+		string(bytes, 0, bytes.length);
+	}
+
+	private void string(final byte[] bytes, final int offset, final int length) throws IOException {
+		write('"');
+		int from = offset;
+		final int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			final byte b = bytes[i];
+			if (b >= 0 && ESCAPES[b] != 0) {
+				write(bytes, from, i - from);
+				from = i + 1;
+				write('\\');
+				final byte escape = ESCAPES[b];
+				write(escape);
+				if (escape == 'u') {
+					write('0');
+					write('0');
+					write(HEX[b >> 4]);
+					write(HEX[b & 0xF]);
+				}
+			}
+		}
+		write(bytes, from, end - from);
+		write('"');
+	}
+
+	private void ascii(final String value) throws IOException {
+		for (int i = 0; i < value.length(); i++) {
+			write(value.charAt(i));
+		}
+	}
+
+	private void write(final int b) throws IOException {
+		count++;
+		if (buffer == null) {
+			return;
+		}
+		if (position == buffer.length) {
+			flushBuffer();
+		}
+		buffer[position++] = (byte) b;
+	}
+
+	private void write(final byte[] bytes) throws IOException {
+		write(bytes, 0, bytes.length);
+	}
+
+	private void write(final byte[] bytes, final int offset, final int length) throws IOException {
+		count += length;
+		if (buffer == null || length == 0) {
+			return;
+		}
+		if (length > buffer.length - position) {
+			flushBuffer();
+			if (length > buffer.length) {
+				output.write(bytes, offset, length);
+				return;
+			}
+		}
+		System.arraycopy(bytes, offset, buffer, position, length);
+		position += length;
+	}
+
+	private void flushBuffer() throws IOException {
+		if (position > 0) {
+			output.write(buffer, 0, position);
+			position = 0;
+		}
+	}
+
+	/**
+	 * Exposes the name of the attribute last returned, without decoding it into a {@link String}
+	 */
+	private static class KeyIterator extends ObjectIterator {
+
+		KeyIterator(final VPackSlice slice) {
+			super(slice);
+		}
+
+		VPackSlice key() {
+			return getCurrent();
+		}
+
+	}
+
+}
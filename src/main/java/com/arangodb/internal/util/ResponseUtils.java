@@ -41,6 +41,14 @@ public final class ResponseUtils {
 		super();
 	}
 
+	/**
+	 * @return whether or not the request failed without a response of the server, like a connection failure or a
+	 *         timeout, as opposed to an error response
+	 */
+	public static boolean isFailure(final Throwable e) {
+		return !(e instanceof ArangoDBException) || ((ArangoDBException) e).getResponseCode() == null;
+	}
+
 	public static void checkError(final ArangoSerialization util, final Response response) throws ArangoDBException {
 		try {
 			final int responseCode = response.getResponseCode();
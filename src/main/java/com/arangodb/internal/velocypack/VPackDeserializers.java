@@ -82,6 +82,22 @@ public class VPackDeserializers {
 		}
 	};
 
+	/**
+	 * Copies the slice into its own array, so that it does not reference the buffer of the response.
+	 */
+	public static final VPackDeserializer<VPackSlice> DETACHED_VPACK = new VPackDeserializer<VPackSlice>() {
+		@Override
+		public VPackSlice deserialize(
+			final VPackSlice parent,
+			final VPackSlice vpack,
+			final VPackDeserializationContext context) throws VPackException {
+			final int size = vpack.getByteSize();
+			final byte[] buffer = new byte[size];
+			System.arraycopy(vpack.getBuffer(), vpack.getStart(), buffer, 0, size);
+			return new VPackSlice(buffer);
+		}
+	};
+
 	public static final VPackDeserializer<CollectionType> COLLECTION_TYPE = new VPackDeserializer<CollectionType>() {
 		@Override
 		public CollectionType deserialize(
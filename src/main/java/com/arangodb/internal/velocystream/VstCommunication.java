@@ -32,9 +32,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.SaturationPolicy;
 import com.arangodb.internal.ArangoDefaults;
 import com.arangodb.internal.net.AccessType;
 import com.arangodb.internal.net.ArangoDBRedirectException;
+import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.Host;
 import com.arangodb.internal.net.HostDescription;
 import com.arangodb.internal.net.HostHandle;
@@ -67,29 +69,81 @@ public abstract class VstCommunication<R, C extends VstConnection> implements Cl
 	protected final String password;
 
 	protected final Integer chunksize;
-	private final HostHandler hostHandler;
+	private final int maxConnections;
+	private final SaturationPolicy saturationPolicy;
+	protected final Integer requestTimeout;
+	protected final HostHandler hostHandler;
+
+	/**
+	 * A ready connection together with the host it belongs to, which accounts the requests sent over it.
+	 */
+	protected static class HostConnection<C> {
+
+		private final Host host;
+		private final C connection;
+
+		HostConnection(final Host host, final C connection) {
+			super();
+			this.host = host;
+			this.connection = connection;
+		}
+
+		public Host getHost() {
+			return host;
+		}
+
+		public C getConnection() {
+			return connection;
+		}
+
+	}
 
 	protected VstCommunication(final Integer timeout, final String user, final String password, final Boolean useSsl,
 		final SSLContext sslContext, final ArangoSerialization util, final Integer chunksize,
+		final Integer maxConnections, final SaturationPolicy saturationPolicy, final Integer requestTimeout,
 		final HostHandler hostHandler) {
 		this.user = user;
 		this.password = password;
 		this.util = util;
 		this.hostHandler = hostHandler;
 		this.chunksize = chunksize != null ? chunksize : ArangoDefaults.CHUNK_DEFAULT_CONTENT_SIZE;
+		this.maxConnections = maxConnections != null ? Math.max(1, maxConnections)
+				: ArangoDefaults.MAX_CONNECTIONS_VST_DEFAULT;
+		this.saturationPolicy = saturationPolicy;
+		this.requestTimeout = requestTimeout;
 	}
 
+	/**
+	 * Returns a ready connection without any synchronization. Only if the connection still has to be opened or
+	 * authenticated the caller synchronizes with other callers.
+	 */
 	@SuppressWarnings("unchecked")
-	protected synchronized C connect(final HostHandle hostHandle, final AccessType accessType) {
-		Host host = hostHandler.get(hostHandle, accessType);
+	protected HostConnection<C> connect(final HostHandle hostHandle, final AccessType accessType, final String lane) {
+		final Host host = hostHandler.get(hostHandle, accessType);
+		if (host != null) {
+			final C connection = (C) host.connection(lane);
+			if (connection.isReady()) {
+				return new HostConnection<C>(host, connection);
+			}
+		}
+		return connect(host, hostHandle, accessType, lane);
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized HostConnection<C> connect(
+		final Host initialHost,
+		final HostHandle hostHandle,
+		final AccessType accessType,
+		final String lane) {
+		Host host = initialHost;
 		while (true) {
 			if (host == null) {
 				hostHandler.reset();
 				throw new ArangoDBException("Was not able to connect to any host");
 			}
-			final C connection = (C) host.connection();
-			if (connection.isOpen()) {
-				return connection;
+			final C connection = (C) host.connection(lane);
+			if (connection.isReady()) {
+				return new HostConnection<C>(host, connection);
 			} else {
 				try {
 					connection.open();
@@ -97,8 +151,9 @@ public abstract class VstCommunication<R, C extends VstConnection> implements Cl
 					if (user != null) {
 						authenticate(connection);
 					}
+					connection.markReady();
 					hostHandler.confirm();
-					return connection;
+					return new HostConnection<C>(host, connection);
 				} catch (final IOException e) {
 					hostHandler.fail();
 					if (hostHandle != null && hostHandle.getHost() != null) {
@@ -128,21 +183,95 @@ public abstract class VstCommunication<R, C extends VstConnection> implements Cl
 
 	public R execute(final Request request, final HostHandle hostHandle) throws ArangoDBException {
 		try {
-			final C connection = connect(hostHandle, RequestUtils.determineAccessType(request));
-			return execute(request, connection);
+			final HostConnection<C> selected = connect(request, hostHandle);
+			final Host host = selected.getHost();
+			final long start = host.requestStarted();
+			boolean failed = true;
+			try {
+				final R response = execute(request, selected.getConnection());
+				failed = false;
+				return response;
+			} catch (final ArangoDBException e) {
+				failed = ResponseUtils.isFailure(e);
+				throw e;
+			} finally {
+				host.requestCompleted(start, failed);
+			}
 		} catch (final ArangoDBException e) {
 			if (e instanceof ArangoDBRedirectException) {
-				final String location = ArangoDBRedirectException.class.cast(e).getLocation();
-				final HostDescription redirectHost = HostUtils.createFromLocation(location);
-				hostHandler.closeCurrentOnError();
-				hostHandler.fail();
-				return execute(request, new HostHandle().setHost(redirectHost));
+				return execute(request, redirect((ArangoDBRedirectException) e));
 			} else {
 				throw e;
 			}
 		}
 	}
 
+	/**
+	 * Executes the request on the given host. A connection which is not ready yet is opened without synchronizing with
+	 * the callers of {@link #connect(HostHandle, AccessType, String)}, so that probing an unreachable host does not
+	 * block them. The request is not accounted in the latency and the requests in flight of the host.
+	 */
+	@SuppressWarnings("unchecked")
+	public R executeOnHost(final Request request, final Host host) throws ArangoDBException {
+		final C connection = (C) host.connection();
+		open(connection);
+		return execute(request, connection);
+	}
+
+	/**
+	 * Opens and authenticates the given connection, unless it is ready already. Like
+	 * {@link #executeOnHost(Request, Host)} this does not synchronize with the callers of
+	 * {@link #connect(HostHandle, AccessType, String)}.
+	 */
+	@SuppressWarnings("unchecked")
+	public void open(final Connection connection) throws ArangoDBException {
+		final C c = (C) connection;
+		if (!c.isReady()) {
+			synchronized (c) {
+				if (!c.isReady()) {
+					try {
+						c.open();
+					} catch (final IOException e) {
+						throw new ArangoDBException(e);
+					}
+					if (user != null) {
+						authenticate(c);
+					}
+					c.markReady();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a ready connection for the given request. With {@link SaturationPolicy#SPILL} saturated connections are
+	 * skipped as long as the pool is not exhausted.
+	 */
+	protected HostConnection<C> connect(final Request request, final HostHandle hostHandle)
+			throws ArangoDBException {
+		final AccessType accessType = RequestUtils.determineAccessType(request);
+		final String lane = request.getLane();
+		HostConnection<C> selected = connect(hostHandle, accessType, lane);
+		if (saturationPolicy == SaturationPolicy.SPILL) {
+			for (int i = 1; i < maxConnections && selected.getConnection().isSaturated(); i++) {
+				selected = connect(hostHandle, accessType, lane);
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Marks the current host as failed.
+	 * 
+	 * @return the handle of the host the request was redirected to
+	 */
+	protected HostHandle redirect(final ArangoDBRedirectException e) {
+		final HostDescription redirectHost = HostUtils.createFromLocation(e.getLocation());
+		hostHandler.closeCurrentOnError();
+		hostHandler.fail();
+		return new HostHandle().setHost(redirectHost);
+	}
+
 	protected abstract R execute(final Request request, C connection) throws ArangoDBException;
 
 	protected void checkError(final Response response) throws ArangoDBException {
@@ -159,7 +288,7 @@ public abstract class VstCommunication<R, C extends VstConnection> implements Cl
 
 	protected Message createMessage(final Request request) throws VPackParserException {
 		final long id = mId.incrementAndGet();
-		return new Message(id, util.serialize(request), request.getBody());
+		return new Message(id, util.serialize(request), request.getBody(), request.getPriority());
 	}
 
 	protected Collection<Chunk> buildChunks(final Message message) {
@@ -20,16 +20,38 @@
 
 package com.arangodb.internal.velocystream;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.net.ssl.SSLContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.Function;
+import com.arangodb.SaturationPolicy;
+import com.arangodb.internal.net.ArangoDBRedirectException;
+import com.arangodb.internal.net.HedgingPolicy;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostHandle;
 import com.arangodb.internal.net.HostHandler;
+import com.arangodb.internal.util.RequestUtils;
+import com.arangodb.internal.util.ResponseUtils;
 import com.arangodb.internal.velocystream.internal.AuthenticationRequest;
-import com.arangodb.internal.velocystream.internal.VstConnectionSync;
 import com.arangodb.internal.velocystream.internal.Message;
+import com.arangodb.internal.velocystream.internal.MessageFuture;
+import com.arangodb.internal.velocystream.internal.VstConnectionSync;
 import com.arangodb.util.ArangoSerialization;
 import com.arangodb.velocypack.exception.VPackParserException;
 import com.arangodb.velocystream.Request;
@@ -42,6 +64,7 @@ import com.arangodb.velocystream.Response;
 public class VstCommunicationSync extends VstCommunication<Response, VstConnectionSync> {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(VstCommunicationSync.class);
+	private static final int PURGE_INTERVAL = 1024;
 
 	public static class Builder {
 
@@ -54,6 +77,9 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
 		private SSLContext sslContext;
 		private Integer chunksize;
 		private Integer maxConnections;
+		private SaturationPolicy saturationPolicy;
+		private Integer requestTimeout;
+		private HedgingPolicy hedgingPolicy;
 
 		public Builder(final HostHandler hostHandler) {
 			super();
@@ -63,7 +89,9 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
 		public Builder(final Builder builder) {
 			this(builder.hostHandler);
 			timeout(builder.timeout).user(builder.user).password(builder.password).useSsl(builder.useSsl)
-					.sslContext(builder.sslContext).chunksize(builder.chunksize).maxConnections(builder.maxConnections);
+					.sslContext(builder.sslContext).chunksize(builder.chunksize).maxConnections(builder.maxConnections)
+					.saturationPolicy(builder.saturationPolicy).requestTimeout(builder.requestTimeout)
+					.hedgingPolicy(builder.hedgingPolicy);
 		}
 
 		public Builder timeout(final Integer timeout) {
@@ -101,43 +129,399 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
 			return this;
 		}
 
+		public Builder saturationPolicy(final SaturationPolicy saturationPolicy) {
+			this.saturationPolicy = saturationPolicy;
+			return this;
+		}
+
+		public Builder requestTimeout(final Integer requestTimeout) {
+			this.requestTimeout = requestTimeout;
+			return this;
+		}
+
+		public Builder hedgingPolicy(final HedgingPolicy hedgingPolicy) {
+			this.hedgingPolicy = hedgingPolicy;
+			return this;
+		}
+
 		public Builder connectionTtl(final Long connectionTtl) {
 			this.connectionTtl = connectionTtl;
 			return this;
 		}
 
-		public VstCommunication<Response, VstConnectionSync> build(final ArangoSerialization util) {
+		public VstCommunicationSync build(final ArangoSerialization util) {
 			return new VstCommunicationSync(hostHandler, timeout, user, password, useSsl, sslContext, util, chunksize,
-					maxConnections, connectionTtl);
+					maxConnections, connectionTtl, saturationPolicy, requestTimeout, hedgingPolicy);
 		}
 
 	}
 
+	private final HedgingPolicy hedgingPolicy;
+	private volatile ScheduledThreadPoolExecutor deadlines;
+	private final AtomicInteger completedDeadlines;
+
 	protected VstCommunicationSync(final HostHandler hostHandler, final Integer timeout, final String user,
 		final String password, final Boolean useSsl, final SSLContext sslContext, final ArangoSerialization util,
-		final Integer chunksize, final Integer maxConnections, final Long ttl) {
-		super(timeout, user, password, useSsl, sslContext, util, chunksize, hostHandler);
+		final Integer chunksize, final Integer maxConnections, final Long ttl,
+		final SaturationPolicy saturationPolicy, final Integer requestTimeout, final HedgingPolicy hedgingPolicy) {
+		super(timeout, user, password, useSsl, sslContext, util, chunksize, maxConnections, saturationPolicy,
+				requestTimeout, hostHandler);
+		this.hedgingPolicy = hedgingPolicy;
+		completedDeadlines = new AtomicInteger();
 	}
 
 	@Override
 	protected Response execute(final Request request, final VstConnectionSync connection) throws ArangoDBException {
 		try {
 			final Message requestMessage = createMessage(request);
-			final Message responseMessage = send(requestMessage, connection);
-			final Response response = createResponse(responseMessage);
+			final Message responseMessage = send(requestMessage, connection, timeout(request));
+			return createResponse(responseMessage, connection);
+		} catch (final VPackParserException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+
+	private Integer timeout(final Request request) {
+		return request.getTimeout() != null ? request.getTimeout() : requestTimeout;
+	}
+
+	private Response createResponse(final Message message, final VstConnectionSync connection)
+			throws ArangoDBException, VPackParserException {
+		final Response response = createResponse(message);
+		response.setBuffer(message.getBuffer(), connection.getBufferPool());
+		try {
 			checkError(response);
-			return response;
+		} catch (final ArangoDBException e) {
+			response.release();
+			throw e;
+		}
+		return response;
+	}
+
+	/**
+	 * Executes hedged requests like {@link #executeAsync(Request, HostHandle)} and waits for the response. All other
+	 * requests are executed as before.
+	 */
+	@Override
+	public Response execute(final Request request, final HostHandle hostHandle) throws ArangoDBException {
+		if (hedgingPolicy == null || !hedgingPolicy.isEligible(request, hostHandle)) {
+			return super.execute(request, hostHandle);
+		}
+		final ArangoFuture<Response> future = executeAsync(request, hostHandle);
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new ArangoDBException(e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			throw cause instanceof ArangoDBException ? (ArangoDBException) cause : new ArangoDBException(cause);
+		}
+	}
+
+	/**
+	 * Sends the request without waiting for its response. The returned future is completed by the reader of the
+	 * connection. Only opening and authenticating a new connection is done by the calling thread.
+	 */
+	public ArangoFuture<Response> executeAsync(final Request request, final HostHandle hostHandle) {
+		// decided before the host handler binds the handle to the selected host
+		final boolean hedged = hedgingPolicy != null && hedgingPolicy.isEligible(request, hostHandle);
+		final Attempt attempt;
+		try {
+			final HostConnection<VstConnectionSync> selected = connect(request, hostHandle);
+			attempt = send(request, selected.getHost(), selected.getConnection());
+		} catch (final ArangoDBException e) {
+			return ArangoFuture.failed(e);
+		}
+		final ArangoFuture<Response> response = hedged ? hedge(request, hostHandle, attempt) : response(attempt);
+		return response.exceptionallyCompose(new Function<Throwable, ArangoFuture<Response>>() {
+			@Override
+			public ArangoFuture<Response> apply(final Throwable e) {
+				if (e instanceof ArangoDBRedirectException) {
+					return executeAsync(request, redirect((ArangoDBRedirectException) e));
+				}
+				return ArangoFuture.failed(e instanceof ArangoDBException ? e : new ArangoDBException(e));
+			}
+		});
+	}
+
+	/**
+	 * A request sent to a host, whose response is outstanding.
+	 */
+	private static class Attempt {
+
+		private final Host host;
+		private final VstConnectionSync connection;
+		private final MessageFuture future;
+		private volatile boolean superseded;
+
+		private Attempt(final Host host, final VstConnectionSync connection, final MessageFuture future) {
+			super();
+			this.host = host;
+			this.connection = connection;
+			this.future = future;
+		}
+
+	}
+
+	private Attempt send(final Request request, final Host host, final VstConnectionSync connection)
+			throws ArangoDBException {
+		final Message message;
+		try {
+			message = createMessage(request);
 		} catch (final VPackParserException e) {
 			throw new ArangoDBException(e);
 		}
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug(String.format("Send Message (id=%s, head=%s, body=%s)", message.getId(), message.getHead(),
+				message.getBody() != null ? message.getBody() : "{}"));
+		}
+		final long start = host.requestStarted();
+		final MessageFuture future;
+		try {
+			future = connection.send(message, buildChunks(message));
+		} catch (final RuntimeException e) {
+			host.requestCompleted(start, ResponseUtils.isFailure(e));
+			throw e;
+		}
+		final Attempt attempt = new Attempt(host, connection, future);
+		future.addListener(new Runnable() {
+			@Override
+			public void run() {
+				// error responses complete the future regularly, superseded and cancelled attempts did not fail
+				host.requestCompleted(start,
+					future.isCompletedExceptionally() && !future.isCancelled() && !attempt.superseded);
+			}
+		});
+		expireAfter(connection, future, timeout(request));
+		return attempt;
+	}
+
+	private ArangoFuture<Response> response(final Attempt attempt) {
+		return attempt.future.thenApply(new Function<Message, Response>() {
+			@Override
+			public Response apply(final Message message) {
+				try {
+					return createResponse(message, attempt.connection);
+				} catch (final VPackParserException e) {
+					throw new ArangoDBException(e);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sends the request a second time to another host, if the response of the first host is not received within the
+	 * delay of the {@link HedgingPolicy}. The first response wins, the other request is evicted from the
+	 * {@link com.arangodb.internal.velocystream.internal.MessageStore} of its connection. Only connections which are
+	 * ready and not saturated are used for hedging, so that the scheduler thread never blocks.
+	 */
+	private ArangoFuture<Response> hedge(final Request request, final HostHandle hostHandle, final Attempt primary) {
+		final long delay = hedgingPolicy.delay(primary.host);
+		if (delay < 0) {
+			return response(primary);
+		}
+		final Race race = new Race(hostHandle, primary);
+		final ScheduledThreadPoolExecutor scheduler = deadlines();
+		final ScheduledFuture<?> task = scheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+				if (race.winner.isDone() || !hedgingPolicy.tryAcquire()) {
+					return;
+				}
+				final Host host = hedgingPolicy.alternative(hostHandler, primary.host,
+					RequestUtils.determineAccessType(request));
+				if (host == null) {
+					return;
+				}
+				final VstConnectionSync connection = (VstConnectionSync) host.connection(request.getLane());
+				if (!connection.isReady() || connection.isSaturated()) {
+					return;
+				}
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug(String.format("Hedge request to %s on %s", primary.host.getDescription(),
+						host.getDescription()));
+				}
+				race.pending.incrementAndGet();
+				final Attempt hedged;
+				try {
+					hedged = send(request, host, connection);
+				} catch (final ArangoDBException e) {
+					race.failed(e);
+					return;
+				}
+				race.add(hedged);
+			}
+		}, delay, TimeUnit.NANOSECONDS);
+		race.winner.addListener(new Runnable() {
+			@Override
+			public void run() {
+				if (task.cancel(false) && completedDeadlines.incrementAndGet() % PURGE_INTERVAL == 0) {
+					scheduler.purge();
+				}
+				if (race.winner.isCancelled()) {
+					race.cancel();
+				}
+			}
+		});
+		race.add(primary);
+		return race.winner.thenCompose(new Function<Attempt, ArangoFuture<Response>>() {
+			@Override
+			public ArangoFuture<Response> apply(final Attempt attempt) {
+				return response(attempt);
+			}
+		});
+	}
+
+	/**
+	 * The attempts of a hedged request. The first attempt which receives its response wins.
+	 */
+	private class Race {
+
+		private final HostHandle hostHandle;
+		private final Attempt primary;
+		private final ArangoFuture<Attempt> winner;
+		private final AtomicBoolean won;
+		private final AtomicInteger pending;
+		private final List<Attempt> attempts;
+
+		private Race(final HostHandle hostHandle, final Attempt primary) {
+			super();
+			this.hostHandle = hostHandle;
+			this.primary = primary;
+			winner = new ArangoFuture<Attempt>();
+			won = new AtomicBoolean(false);
+			pending = new AtomicInteger(1);
+			attempts = new CopyOnWriteArrayList<Attempt>();
+		}
+
+		private void add(final Attempt attempt) {
+			attempts.add(attempt);
+			attempt.future.addListener(new Runnable() {
+				@Override
+				public void run() {
+					completed(attempt);
+				}
+			});
+			if (winner.isCancelled()) {
+				attempt.future.cancel(true);
+			}
+		}
+
+		/**
+		 * Cancels all attempts after the caller gave up waiting.
+		 */
+		private void cancel() {
+			for (final Attempt attempt : attempts) {
+				attempt.future.cancel(true);
+			}
+		}
+
+		private void completed(final Attempt attempt) {
+			final Message message;
+			try {
+				message = attempt.future.get();
+			} catch (final ExecutionException e) {
+				failed(e.getCause());
+				return;
+			} catch (final CancellationException e) {
+				failed(e);
+				return;
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failed(e);
+				return;
+			}
+			// the handle is bound to the winning host before the caller is woken up
+			final boolean first = won.compareAndSet(false, true);
+			if (first && attempt != primary && hostHandle != null) {
+				hostHandle.setHost(attempt.host.getDescription());
+			}
+			if (!first || !winner.complete(attempt)) {
+				// lost the race or the caller gave up
+				if (message.getBuffer() != null) {
+					attempt.connection.getBufferPool().release(message.getBuffer());
+				}
+				return;
+			}
+			for (final Attempt other : attempts) {
+				if (other != attempt) {
+					other.superseded = true;
+					other.connection.expire(other.future, new ArangoDBException(String.format(
+						"Hedged message (id=%s) was answered by another host", other.future.getMessageId())));
+				}
+			}
+		}
+
+		private void failed(final Throwable e) {
+			if (pending.decrementAndGet() == 0) {
+				winner.completeExceptionally(e instanceof ArangoDBException ? e : new ArangoDBException(e));
+			}
+		}
+
+	}
+
+	private void expireAfter(final VstConnectionSync connection, final MessageFuture future, final Integer timeout) {
+		if (timeout == null || timeout <= 0) {
+			return;
+		}
+		final ScheduledThreadPoolExecutor scheduler = deadlines();
+		final ScheduledFuture<?> deadline = scheduler.schedule(new Runnable() {
+			@Override
+			public void run() {
+				connection.expire(future, new ArangoDBException(String
+						.format("Response of message (id=%s) not received within %s ms", future.getMessageId(), timeout)));
+			}
+		}, timeout, TimeUnit.MILLISECONDS);
+		future.addListener(new Runnable() {
+			@Override
+			public void run() {
+				// cancelled tasks stay queued until their delay elapsed, purge them from time to time
+				if (deadline.cancel(false) && completedDeadlines.incrementAndGet() % PURGE_INTERVAL == 0) {
+					scheduler.purge();
+				}
+			}
+		});
+	}
+
+	private ScheduledThreadPoolExecutor deadlines() {
+		ScheduledThreadPoolExecutor scheduler = deadlines;
+		if (scheduler == null) {
+			synchronized (this) {
+				scheduler = deadlines;
+				if (scheduler == null) {
+					scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+						@Override
+						public Thread newThread(final Runnable r) {
+							final Thread thread = new Thread(r, "arangodb-vst-deadlines");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+					deadlines = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	@Override
+	public void close() throws IOException {
+		super.close();
+		final ScheduledThreadPoolExecutor scheduler = deadlines;
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
 	}
 
-	private Message send(final Message message, final VstConnectionSync connection) throws ArangoDBException {
+	private Message send(final Message message, final VstConnectionSync connection, final Integer timeout)
+			throws ArangoDBException {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug(String.format("Send Message (id=%s, head=%s, body=%s)", message.getId(), message.getHead(),
 				message.getBody() != null ? message.getBody() : "{}"));
 		}
-		return connection.write(message, buildChunks(message));
+		return connection.write(message, buildChunks(message), timeout);
 	}
 
 	@Override
@@ -145,6 +529,7 @@ public class VstCommunicationSync extends VstCommunication<Response, VstConnecti
 		final Response response = execute(
 			new AuthenticationRequest(user, password != null ? password : "", ENCRYPTION_PLAIN), connection);
 		checkError(response);
+		response.release();
 	}
 
 }
@@ -22,11 +22,18 @@ package com.arangodb.internal.velocystream;
 
 import javax.net.ssl.SSLContext;
 
+import com.arangodb.FlushPolicy;
+import com.arangodb.SaturationPolicy;
 import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.ConnectionFactory;
+import com.arangodb.internal.net.ConnectionPool;
+import com.arangodb.internal.net.ConnectionPoolImpl;
+import com.arangodb.internal.net.ConnectionReaper;
 import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.util.BufferPool;
 import com.arangodb.internal.velocystream.internal.MessageStore;
 import com.arangodb.internal.velocystream.internal.VstConnectionSync;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
 
 /**
  * @author Mark Vollmary
@@ -35,17 +42,35 @@ import com.arangodb.internal.velocystream.internal.VstConnectionSync;
 public class VstConnectionFactorySync implements ConnectionFactory {
 
 	private final VstConnectionSync.Builder builder;
+	private final Integer timeout;
+	private final Integer maxInFlight;
+	private final SaturationPolicy saturationPolicy;
 
 	public VstConnectionFactorySync(final HostDescription host, final Integer timeout, final Long connectionTtl,
-		final Boolean useSsl, final SSLContext sslContext) {
+		final Boolean useSsl, final SSLContext sslContext, final VstEventLoopGroup eventLoopGroup,
+		final FlushPolicy flushPolicy, final BufferPool bufferPool, final Integer maxInFlight,
+		final SaturationPolicy saturationPolicy, final Long maxReassemblyBytes) {
 		super();
+		this.timeout = timeout;
+		this.maxInFlight = maxInFlight;
+		this.saturationPolicy = saturationPolicy;
 		builder = new VstConnectionSync.Builder().timeout(timeout).ttl(connectionTtl).useSsl(useSsl)
-				.sslContext(sslContext);
+				.sslContext(sslContext).eventLoopGroup(eventLoopGroup).flushPolicy(flushPolicy)
+				.bufferPool(bufferPool).maxReassemblyBytes(maxReassemblyBytes);
 	}
 
 	@Override
 	public Connection create(final HostDescription host) {
-		return builder.messageStore(new MessageStore()).host(host).build();
+		return builder.messageStore(new MessageStore(maxInFlight, saturationPolicy, timeout)).host(host).build();
+	}
+
+	@Override
+	public ConnectionPool createPool(
+		final HostDescription host,
+		final int minConnections,
+		final int maxConnections,
+		final ConnectionReaper reaper) {
+		return new ConnectionPoolImpl(host, minConnections, maxConnections, this, reaper);
 	}
 
 }
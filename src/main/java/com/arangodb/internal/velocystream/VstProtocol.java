@@ -23,9 +23,11 @@ package com.arangodb.internal.velocystream;
 import java.io.IOException;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
 import com.arangodb.internal.net.CommunicationProtocol;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.Host;
 import com.arangodb.internal.net.HostHandle;
-import com.arangodb.internal.velocystream.internal.VstConnectionSync;
 import com.arangodb.velocystream.Request;
 import com.arangodb.velocystream.Response;
 
@@ -35,9 +37,9 @@ import com.arangodb.velocystream.Response;
  */
 public class VstProtocol implements CommunicationProtocol {
 
-	private final VstCommunication<Response, VstConnectionSync> communication;
+	private final VstCommunicationSync communication;
 
-	public VstProtocol(final VstCommunication<Response, VstConnectionSync> communication) {
+	public VstProtocol(final VstCommunicationSync communication) {
 		super();
 		this.communication = communication;
 	}
@@ -47,6 +49,21 @@ public class VstProtocol implements CommunicationProtocol {
 		return communication.execute(request, hostHandle);
 	}
 
+	@Override
+	public ArangoFuture<Response> executeAsync(final Request request, final HostHandle hostHandle) {
+		return communication.executeAsync(request, hostHandle);
+	}
+
+	@Override
+	public Response executeOnHost(final Request request, final Host host) throws ArangoDBException {
+		return communication.executeOnHost(request, host);
+	}
+
+	@Override
+	public void open(final Connection connection) throws ArangoDBException {
+		communication.open(connection);
+	}
+
 	@Override
 	public void close() throws IOException {
 		communication.close();
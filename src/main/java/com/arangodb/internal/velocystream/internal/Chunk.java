@@ -70,6 +70,13 @@ public class Chunk {
 		return 1 == (chunkX & 0x1);
 	}
 
+	/**
+	 * @return whether or not the message consists of this chunk only
+	 */
+	public boolean isSingleChunk() {
+		return isFirstChunk() && getChunk() == 1;
+	}
+
 	public int getChunk() {
 		return chunkX >> 1;
 	}
@@ -0,0 +1,159 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.arangodb.velocystream.RequestPriority;
+
+/**
+ * Decides the order in which the chunks of pending messages are written by a {@link VstTransport}. Instead of writing
+ * the chunks of a message back-to-back, the chunks of all pending messages of the same priority are interleaved round
+ * robin, so that a small request does not wait until a large upload is completely written. Messages with a higher
+ * {@link RequestPriority} are served first, but a waiting lower priority gets a chunk through after
+ * {@value #MAX_OVERTAKES} chunks overtook it.
+ * 
+ * Messages can be added by any thread, whereas {@link #next()} and {@link #discardStarted()} must only be called by
+ * the single thread writing to the connection.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class ChunkScheduler {
+
+	static final int MAX_OVERTAKES = 8;
+
+	private final Queue<OutboundMessage> incoming;
+	private final AtomicInteger pending;
+
+	// only accessed by the writing thread
+	private final ArrayDeque<OutboundMessage>[] active;
+	private final int[] overtakes;
+	private OutboundMessage last;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public ChunkScheduler() {
+		super();
+		incoming = new ConcurrentLinkedQueue<OutboundMessage>();
+		pending = new AtomicInteger();
+		final int priorities = RequestPriority.values().length;
+		active = new ArrayDeque[priorities];
+		for (int i = 0; i < priorities; i++) {
+			active[i] = new ArrayDeque<OutboundMessage>();
+		}
+		overtakes = new int[priorities];
+	}
+
+	public void add(final OutboundMessage message) {
+		pending.incrementAndGet();
+		incoming.add(message);
+	}
+
+	/**
+	 * @return whether or not all added messages are completely written
+	 */
+	public boolean isEmpty() {
+		return pending.get() == 0;
+	}
+
+	/**
+	 * Selects the message whose next chunk is written next. The caller has to take exactly one chunk with
+	 * {@link OutboundMessage#nextChunk()} from the returned message before calling this method again.
+	 * 
+	 * @return the selected message or {@code null} if there is nothing left to write
+	 */
+	public OutboundMessage next() {
+		if (last != null) {
+			if (last.hasNextChunk()) {
+				active[last.getPriority().ordinal()].add(last);
+			} else {
+				pending.decrementAndGet();
+			}
+			last = null;
+		}
+		for (OutboundMessage message; (message = incoming.poll()) != null;) {
+			if (message.hasNextChunk()) {
+				active[message.getPriority().ordinal()].add(message);
+			} else {
+				pending.decrementAndGet();
+			}
+		}
+		final int selected = select();
+		if (selected < 0) {
+			return null;
+		}
+		last = active[selected].poll();
+		return last;
+	}
+
+	private int select() {
+		int selected = -1;
+		// the lowest starving priority first
+		for (int i = active.length - 1; i >= 0; i--) {
+			if (!active[i].isEmpty() && overtakes[i] >= MAX_OVERTAKES) {
+				selected = i;
+				break;
+			}
+		}
+		if (selected < 0) {
+			for (int i = 0; i < active.length; i++) {
+				if (!active[i].isEmpty()) {
+					selected = i;
+					break;
+				}
+			}
+			if (selected < 0) {
+				return -1;
+			}
+		}
+		overtakes[selected] = 0;
+		for (int i = selected + 1; i < active.length; i++) {
+			if (!active[i].isEmpty()) {
+				overtakes[i]++;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Drops all messages from which chunks were already written, because their remaining chunks can not be continued
+	 * on a new socket.
+	 */
+	public void discardStarted() {
+		if (last != null) {
+			pending.decrementAndGet();
+			last = null;
+		}
+		for (final ArrayDeque<OutboundMessage> messages : active) {
+			for (final Iterator<OutboundMessage> iterator = messages.iterator(); iterator.hasNext();) {
+				if (iterator.next().isStarted()) {
+					iterator.remove();
+					pending.decrementAndGet();
+				}
+			}
+		}
+	}
+
+}
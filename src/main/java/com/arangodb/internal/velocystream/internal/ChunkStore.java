@@ -25,6 +25,9 @@ import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.arangodb.ArangoDBException;
+import com.arangodb.internal.util.BufferPool;
+
 /**
  * @author Mark Vollmary
  *
@@ -32,17 +35,35 @@ import java.util.Map;
 public class ChunkStore {
 
 	private final MessageStore messageStore;
+	private final BufferPool bufferPool;
+	private final Long maxBytes;
 	private final Map<Long, ByteBuffer> data;
+	private long bytes;
 
-	public ChunkStore(final MessageStore messageStore) {
+	/**
+	 * @param maxBytes
+	 *            maximum number of bytes of partially received messages, {@code null} for no limit. Messages which
+	 *            would exceed the limit fail and their chunks are skipped.
+	 */
+	public ChunkStore(final MessageStore messageStore, final BufferPool bufferPool, final Long maxBytes) {
 		super();
 		this.messageStore = messageStore;
+		this.bufferPool = bufferPool;
+		this.maxBytes = maxBytes;
+		bytes = 0;
 		data = new HashMap<Long, ByteBuffer>();
 	}
 
 	public ByteBuffer storeChunk(final Chunk chunk) throws BufferUnderflowException, IndexOutOfBoundsException {
 		final long messageId = chunk.getMessageId();
 		ByteBuffer chunkBuffer = data.get(messageId);
+		if (!messageStore.isPending(messageId)) {
+			// the caller gave up waiting, drop the message without reading its content
+			if (chunkBuffer != null) {
+				discard(messageId, chunkBuffer);
+			}
+			return null;
+		}
 		if (chunkBuffer == null) {
 			if (!chunk.isFirstChunk()) {
 				messageStore.cancel(messageId);
@@ -50,12 +71,44 @@ public class ChunkStore {
 			}
 			final int length = (int) (chunk.getMessageLength() > 0 ? chunk.getMessageLength()
 					: chunk.getContentLength());
-			chunkBuffer = ByteBuffer.allocate(length);
+			if (exceedsMaxBytes(messageId, length)) {
+				return null;
+			}
+			chunkBuffer = bufferPool.acquire(length);
 			data.put(messageId, chunkBuffer);
+			bytes += length;
 		}
 		return chunkBuffer;
 	}
 
+	/**
+	 * Returns the buffer for the content of a message consisting of a single chunk. The message is not stored, but
+	 * subject to the same limit as partially received messages.
+	 * 
+	 * @return the buffer or {@code null} if the content has to be skipped
+	 */
+	public ByteBuffer storeSingleChunk(final Chunk chunk) {
+		final long messageId = chunk.getMessageId();
+		if (!messageStore.isPending(messageId)) {
+			return null;
+		}
+		final int length = chunk.getContentLength();
+		if (exceedsMaxBytes(messageId, length)) {
+			return null;
+		}
+		return bufferPool.acquire(length);
+	}
+
+	private boolean exceedsMaxBytes(final long messageId, final int length) {
+		if (maxBytes != null && bytes + length > maxBytes) {
+			messageStore.fail(messageId, new ArangoDBException(String.format(
+				"Response of %s bytes exceeds the maximum of %s bytes being reassembled on connection", length,
+				maxBytes)));
+			return true;
+		}
+		return false;
+	}
+
 	public void checkCompleteness(final long messageId) {
 		checkCompleteness(messageId, data.get(messageId));
 	}
@@ -63,9 +116,18 @@ public class ChunkStore {
 	private void checkCompleteness(final long messageId, final ByteBuffer chunkBuffer)
 			throws BufferUnderflowException, IndexOutOfBoundsException {
 		if (chunkBuffer.position() == chunkBuffer.limit()) {
-			messageStore.consume(new Message(messageId, chunkBuffer.array()));
 			data.remove(messageId);
+			bytes -= chunkBuffer.limit();
+			if (!messageStore.consume(new Message(messageId, chunkBuffer))) {
+				bufferPool.release(chunkBuffer);
+			}
 		}
 	}
 
+	private void discard(final long messageId, final ByteBuffer chunkBuffer) {
+		data.remove(messageId);
+		bytes -= chunkBuffer.limit();
+		bufferPool.release(chunkBuffer);
+	}
+
 }
@@ -21,8 +21,10 @@
 package com.arangodb.internal.velocystream.internal;
 
 import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 
 import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocystream.RequestPriority;
 
 /**
  * @author Mark Vollmary
@@ -33,24 +35,50 @@ public class Message {
 	private final long id;
 	private final VPackSlice head;
 	private final VPackSlice body;
+	private final ByteBuffer buffer;
+	private final RequestPriority priority;
 
 	public Message(final long id, final byte[] chunkBuffer) throws BufferUnderflowException, IndexOutOfBoundsException {
+		this(id, ByteBuffer.wrap(chunkBuffer));
+	}
+
+	/**
+	 * @param buffer
+	 *            buffer containing the message from its array offset up to its limit. The backing array may be larger
+	 *            than the message.
+	 */
+	public Message(final long id, final ByteBuffer buffer) throws BufferUnderflowException, IndexOutOfBoundsException {
 		super();
 		this.id = id;
-		head = new VPackSlice(chunkBuffer);
+		this.buffer = buffer;
+		priority = RequestPriority.NORMAL;
+		final byte[] array = buffer.array();
+		final int offset = buffer.arrayOffset();
+		head = new VPackSlice(array, offset);
 		final int headSize = head.getByteSize();
-		if (chunkBuffer.length > headSize) {
-			body = new VPackSlice(chunkBuffer, headSize);
+		if (buffer.limit() > headSize) {
+			body = new VPackSlice(array, offset + headSize);
 		} else {
 			body = null;
 		}
 	}
 
 	public Message(final long id, final VPackSlice head, final VPackSlice body) {
+		this(id, head, body, null);
+	}
+
+	/**
+	 * @param priority
+	 *            hint for the order in which the chunks of the message are written, {@code null} for
+	 *            {@link RequestPriority#NORMAL}
+	 */
+	public Message(final long id, final VPackSlice head, final VPackSlice body, final RequestPriority priority) {
 		super();
 		this.id = id;
 		this.head = head;
 		this.body = body;
+		buffer = null;
+		this.priority = priority != null ? priority : RequestPriority.NORMAL;
 	}
 
 	public long getId() {
@@ -61,8 +89,19 @@ public class Message {
 		return head;
 	}
 
+	public RequestPriority getPriority() {
+		return priority;
+	}
+
 	public VPackSlice getBody() {
 		return body;
 	}
 
+	/**
+	 * @return the buffer backing a received message, {@code null} for messages to send
+	 */
+	public ByteBuffer getBuffer() {
+		return buffer;
+	}
+
 }
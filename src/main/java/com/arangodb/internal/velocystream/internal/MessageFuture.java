@@ -0,0 +1,65 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import com.arangodb.ArangoFuture;
+
+/**
+ * Completion of a single request message, completed by the reader with either the response message or an error.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class MessageFuture extends ArangoFuture<Message> {
+
+	private final long messageId;
+	private volatile MessageStore messageStore;
+
+	public MessageFuture(final long messageId) {
+		super();
+		this.messageId = messageId;
+	}
+
+	public long getMessageId() {
+		return messageId;
+	}
+
+	void storedIn(final MessageStore messageStore) {
+		this.messageStore = messageStore;
+	}
+
+	/**
+	 * Cancels the future and evicts the message from the {@link MessageStore} it is stored in, so that its slot is
+	 * free for other messages and its response is discarded when it arrives.
+	 */
+	@Override
+	public boolean cancel(final boolean mayInterruptIfRunning) {
+		if (!super.cancel(mayInterruptIfRunning)) {
+			return false;
+		}
+		final MessageStore store = messageStore;
+		if (store != null) {
+			store.remove(messageId);
+		}
+		return true;
+	}
+
+}
@@ -20,15 +20,15 @@
 
 package com.arangodb.internal.velocystream.internal;
 
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.SaturationPolicy;
 
 /**
  * @author Mark Vollmary
@@ -38,77 +38,172 @@ public class MessageStore {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(MessageStore.class);
 
-	private final Map<Long, FutureTask<Message>> task;
-	private final Map<Long, Message> response;
-	private final Map<Long, Exception> error;
+	private static final int TABLE_CAPACITY_DEFAULT = 256;
+	private static final int TABLE_CAPACITY_MAX = 1 << 16;
+
+	private final MessageTable task;
+	private final AtomicInteger inFlight;
+	private final Semaphore slots;
+	private final SaturationPolicy saturationPolicy;
+	private final Integer timeout;
 
 	public MessageStore() {
+		this(null, null, null);
+	}
+
+	/**
+	 * @param maxInFlight
+	 *            maximum number of messages waiting for their response, {@code null} for no limit
+	 * @param saturationPolicy
+	 *            whether {@link #storeMessage(MessageFuture)} blocks or fails when the limit is reached
+	 * @param timeout
+	 *            maximum time in milliseconds to block, {@code null} or {@code 0} to block without limit
+	 */
+	public MessageStore(final Integer maxInFlight, final SaturationPolicy saturationPolicy, final Integer timeout) {
 		super();
-		task = new ConcurrentHashMap<Long, FutureTask<Message>>();
-		response = new ConcurrentHashMap<Long, Message>();
-		error = new ConcurrentHashMap<Long, Exception>();
+		task = new MessageTable(maxInFlight != null ? Math.min(TABLE_CAPACITY_MAX, Math.max(1, maxInFlight) * 2)
+				: TABLE_CAPACITY_DEFAULT);
+		inFlight = new AtomicInteger();
+		slots = maxInFlight != null ? new Semaphore(Math.max(1, maxInFlight)) : null;
+		this.saturationPolicy = saturationPolicy != null ? saturationPolicy : SaturationPolicy.BLOCK;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Stores the future of a message which waits for its response. If the maximum number of messages in flight is
+	 * reached, the caller either waits for a free slot or fails immediately, depending on the {@link SaturationPolicy}.
+	 */
+	public void storeMessage(final MessageFuture future) throws ArangoDBException {
+		if (slots != null) {
+			acquireSlot();
+		}
+		inFlight.incrementAndGet();
+		task.put(future);
+		future.storedIn(this);
+	}
+
+	private void acquireSlot() throws ArangoDBException {
+		if (saturationPolicy == SaturationPolicy.FAIL) {
+			if (!slots.tryAcquire()) {
+				throw new ArangoDBException("Maximum number of requests in flight on connection reached");
+			}
+			return;
+		}
+		try {
+			if (timeout == null || timeout <= 0) {
+				slots.acquire();
+			} else if (!slots.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+				throw new ArangoDBException(
+						"Timeout while waiting for a free slot of the requests in flight on connection");
+			}
+		} catch (final InterruptedException e) {
+			throw new ArangoDBException(e);
+		}
+	}
+
+	private MessageFuture release(final long messageId) {
+		final MessageFuture future = task.remove(messageId);
+		if (future != null) {
+			inFlight.decrementAndGet();
+			if (slots != null) {
+				slots.release();
+			}
+		}
+		return future;
 	}
 
-	public void storeMessage(final long messageId, final FutureTask<Message> future) {
-		task.put(messageId, future);
+	/**
+	 * @return whether or not the maximum number of messages in flight is reached
+	 */
+	public boolean isSaturated() {
+		return slots != null && slots.availablePermits() <= 0;
 	}
 
-	public void consume(final Message message) {
-		final FutureTask<Message> future = task.remove(message.getId());
+	/**
+	 * @return number of messages waiting for their response
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * @return estimated number of callers waiting for a free slot
+	 */
+	public int getQueued() {
+		return slots != null ? slots.getQueueLength() : 0;
+	}
+
+	/**
+	 * @return whether or not a response for the message with the given id is still awaited. Messages whose caller gave
+	 *         up waiting are evicted and their late chunks can be skipped.
+	 */
+	public boolean isPending(final long messageId) {
+		return task.contains(messageId);
+	}
+
+	/**
+	 * @return {@code false} if no caller awaits the message anymore
+	 */
+	public boolean consume(final Message message) {
+		final MessageFuture future = release(message.getId());
 		if (future != null) {
 			if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug(String.format("Received Message (id=%s, head=%s, body=%s)", message.getId(),
 					message.getHead(), message.getBody() != null ? message.getBody() : "{}"));
 			}
-			response.put(message.getId(), message);
-			future.run();
+			future.complete(message);
+			return true;
 		}
+		return false;
 	}
 
-	public Message get(final long messageId) throws ArangoDBException {
-		final Message result = response.remove(messageId);
-		if (result == null) {
-			final Exception e = error.remove(messageId);
-			if (e != null) {
-				throw new ArangoDBException(e);
-			}
-		}
-		return result;
+	public void remove(final long messageId) {
+		release(messageId);
 	}
 
 	public void cancel(final long messageId) {
-		final FutureTask<Message> future = task.remove(messageId);
+		final MessageFuture future = release(messageId);
 		if (future != null) {
 			LOGGER.error(String.format("Cancel Message unexpected (id=%s).", messageId));
 			future.cancel(true);
 		}
 	}
 
+	/**
+	 * Completes the message with the given id exceptionally.
+	 */
+	public void fail(final long messageId, final Exception e) {
+		final MessageFuture future = release(messageId);
+		if (future != null) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Exceptionally complete Message (id=%s).", messageId));
+			}
+			future.completeExceptionally(e);
+		}
+	}
+
 	public void clear(final Exception e) {
-		if (!task.isEmpty()) {
+		if (!isEmpty()) {
 			LOGGER.error(e.getMessage(), e);
 		}
-		for (final Entry<Long, FutureTask<Message>> entry : task.entrySet()) {
-			if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug(String.format("Exceptionally complete Message (id=%s).", entry.getKey()));
-			}
-			error.put(entry.getKey(), e);
-			entry.getValue().run();
+		for (final MessageFuture future : task.values()) {
+			fail(future.getMessageId(), e);
 		}
-		task.clear();
 	}
 
 	public void clear() {
-		for (final Entry<Long, FutureTask<Message>> entry : task.entrySet()) {
-			if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug(String.format("Cancel Message (id=%s).", entry.getKey()));
+		for (final MessageFuture pending : task.values()) {
+			final MessageFuture future = release(pending.getMessageId());
+			if (future != null) {
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug(String.format("Cancel Message (id=%s).", future.getMessageId()));
+				}
+				future.cancel(true);
 			}
-			entry.getValue().cancel(true);
 		}
-		task.clear();
 	}
 
 	public boolean isEmpty() {
-		return task.isEmpty();
+		return inFlight.get() == 0;
 	}
 }
@@ -0,0 +1,130 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open addressed table of the messages waiting for their response, keyed by the primitive message id. Message ids are
+ * increasing, so the home slot of a message is its id masked by the capacity and collisions only occur if a message
+ * is still pending when a message with the same home slot is stored. Colliding messages are linearly probed into one
+ * of the next {@value #MAX_PROBE} slots. Messages not fitting into the table are kept in an overflow map.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+class MessageTable {
+
+	private static final int MAX_PROBE = 16;
+
+	private final AtomicReferenceArray<MessageFuture> slots;
+	private final int mask;
+	private final int maxProbe;
+	private final AtomicInteger probe;
+	private final Map<Long, MessageFuture> overflow;
+
+	/**
+	 * @param capacity
+	 *            number of slots, rounded up to the next power of two
+	 */
+	MessageTable(final int capacity) {
+		super();
+		final int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+		slots = new AtomicReferenceArray<MessageFuture>(size);
+		mask = size - 1;
+		maxProbe = Math.min(MAX_PROBE, size);
+		probe = new AtomicInteger();
+		overflow = new ConcurrentHashMap<Long, MessageFuture>();
+	}
+
+	int capacity() {
+		return slots.length();
+	}
+
+	void put(final MessageFuture future) {
+		final int home = (int) future.getMessageId() & mask;
+		for (int i = 0; i < maxProbe; i++) {
+			final int index = (home + i) & mask;
+			if (slots.get(index) == null) {
+				// publish the probe length before the future, so every lookup covers the slot
+				raiseProbe(i);
+				if (slots.compareAndSet(index, null, future)) {
+					return;
+				}
+			}
+		}
+		overflow.put(future.getMessageId(), future);
+	}
+
+	private void raiseProbe(final int length) {
+		int current;
+		while ((current = probe.get()) < length) {
+			if (probe.compareAndSet(current, length)) {
+				return;
+			}
+		}
+	}
+
+	boolean contains(final long messageId) {
+		final int home = (int) messageId & mask;
+		final int length = probe.get();
+		for (int i = 0; i <= length; i++) {
+			final MessageFuture future = slots.get((home + i) & mask);
+			if (future != null && future.getMessageId() == messageId) {
+				return true;
+			}
+		}
+		return !overflow.isEmpty() && overflow.containsKey(messageId);
+	}
+
+	MessageFuture remove(final long messageId) {
+		final int home = (int) messageId & mask;
+		final int length = probe.get();
+		for (int i = 0; i <= length; i++) {
+			final int index = (home + i) & mask;
+			final MessageFuture future = slots.get(index);
+			if (future != null && future.getMessageId() == messageId && slots.compareAndSet(index, future, null)) {
+				return future;
+			}
+		}
+		return overflow.isEmpty() ? null : overflow.remove(messageId);
+	}
+
+	/**
+	 * @return snapshot of the stored futures
+	 */
+	Collection<MessageFuture> values() {
+		final Collection<MessageFuture> values = new ArrayList<MessageFuture>(overflow.values());
+		for (int i = 0; i < slots.length(); i++) {
+			final MessageFuture future = slots.get(i);
+			if (future != null) {
+				values.add(future);
+			}
+		}
+		return values;
+	}
+
+}
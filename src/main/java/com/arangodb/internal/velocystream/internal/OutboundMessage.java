@@ -0,0 +1,81 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import com.arangodb.velocystream.RequestPriority;
+
+/**
+ * A request message together with the chunks it is split into, waiting to be written by a {@link VstTransport}.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class OutboundMessage {
+
+	private final Message message;
+	private final Collection<Chunk> chunks;
+	private Iterator<Chunk> iterator;
+	private boolean started;
+
+	public OutboundMessage(final Message message, final Collection<Chunk> chunks) {
+		super();
+		this.message = message;
+		this.chunks = chunks;
+	}
+
+	public RequestPriority getPriority() {
+		return message.getPriority();
+	}
+
+	public Message getMessage() {
+		return message;
+	}
+
+	public Collection<Chunk> getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * @return whether or not at least one chunk of the message was taken for writing
+	 */
+	public boolean isStarted() {
+		return started;
+	}
+
+	public boolean hasNextChunk() {
+		if (iterator == null) {
+			iterator = chunks.iterator();
+		}
+		return iterator.hasNext();
+	}
+
+	public Chunk nextChunk() {
+		if (iterator == null) {
+			iterator = chunks.iterator();
+		}
+		started = true;
+		return iterator.next();
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.io.IOException;
+import java.nio.channels.Selector;
+
+/**
+ * Non-blocking transport whose reads and writes are performed by a {@link VstEventLoop}. All methods are only called
+ * by the selector thread of the event loop.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public interface SelectableTransport {
+
+	/**
+	 * Registers the channel of the transport with the selector of the event loop
+	 */
+	void register(Selector selector) throws IOException;
+
+	/**
+	 * Completes a non-blocking connect of the channel
+	 */
+	void connect() throws IOException;
+
+	/**
+	 * Writes as much pending data as the channel accepts without blocking
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * Reads all available data from the channel
+	 */
+	void read() throws IOException;
+
+	/**
+	 * Called when one of the other methods threw an exception
+	 */
+	void failed(Exception e);
+
+	/**
+	 * Called about once per second to close the channel when its time to live expired
+	 */
+	void checkTtl();
+
+}
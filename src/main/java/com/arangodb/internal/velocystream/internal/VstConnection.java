@@ -20,33 +20,20 @@
 
 package com.arangodb.internal.velocystream.internal;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.Collection;
-import java.util.Date;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
-import javax.net.SocketFactory;
 import javax.net.ssl.SSLContext;
-import javax.net.ssl.SSLSocket;
-import javax.net.ssl.SSLSocketFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.FlushPolicy;
 import com.arangodb.internal.ArangoDefaults;
 import com.arangodb.internal.net.Connection;
 import com.arangodb.internal.net.HostDescription;
-import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.internal.util.BufferPool;
 
 /**
  * @author Mark Vollmary
@@ -55,9 +42,7 @@ import com.arangodb.velocypack.VPackSlice;
 public abstract class VstConnection implements Connection {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(VstConnection.class);
-	private static final byte[] PROTOCOL_HEADER = "VST/1.0\r\n\r\n".getBytes();
 
-	private ExecutorService executor;
 	protected final MessageStore messageStore;
 
 	private final Integer timeout;
@@ -65,14 +50,17 @@ public abstract class VstConnection implements Connection {
 	private final Boolean useSsl;
 	private final SSLContext sslContext;
 
-	private Socket socket;
-	private OutputStream outputStream;
-	private InputStream inputStream;
+	private final FlushPolicy flushPolicy;
+	private final BufferPool bufferPool;
+	private final Long maxReassemblyBytes;
 
 	private final HostDescription host;
+	private final VstTransport transport;
+	private volatile boolean ready;
 
 	protected VstConnection(final HostDescription host, final Integer timeout, final Long ttl, final Boolean useSsl,
-		final SSLContext sslContext, final MessageStore messageStore) {
+		final SSLContext sslContext, final MessageStore messageStore, final VstEventLoopGroup eventLoopGroup,
+		final FlushPolicy flushPolicy, final BufferPool bufferPool, final Long maxReassemblyBytes) {
 		super();
 		this.host = host;
 		this.timeout = timeout;
@@ -80,189 +68,111 @@ public abstract class VstConnection implements Connection {
 		this.useSsl = useSsl;
 		this.sslContext = sslContext;
 		this.messageStore = messageStore;
+		this.flushPolicy = flushPolicy != null ? flushPolicy : ArangoDefaults.DEFAULT_FLUSH_POLICY;
+		this.bufferPool = bufferPool != null ? bufferPool : new BufferPool(false, false, 0, 0);
+		this.maxReassemblyBytes = maxReassemblyBytes;
+		transport = eventLoopGroup != null && Boolean.TRUE != useSsl ? new VstNioTransport(this, eventLoopGroup.next())
+				: new VstSocketTransport(this);
 	}
 
-	public boolean isOpen() {
-		return socket != null && socket.isConnected() && !socket.isClosed();
+	public HostDescription getHost() {
+		return host;
 	}
 
-	public synchronized void open() throws IOException {
-		if (isOpen()) {
-			return;
-		}
-		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug(String.format("Open connection to %s", host));
-		}
-		if (Boolean.TRUE == useSsl) {
-			if (sslContext != null) {
-				socket = sslContext.getSocketFactory().createSocket();
-			} else {
-				socket = SSLSocketFactory.getDefault().createSocket();
-			}
-		} else {
-			socket = SocketFactory.getDefault().createSocket();
-		}
-		socket.connect(new InetSocketAddress(host.getHost(), host.getPort()),
-			timeout != null ? timeout : ArangoDefaults.DEFAULT_TIMEOUT);
-		socket.setKeepAlive(true);
-		socket.setTcpNoDelay(true);
-		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug(String.format("Connected to %s", socket));
-		}
+	public Integer getTimeout() {
+		return timeout;
+	}
 
-		outputStream = new BufferedOutputStream(socket.getOutputStream());
-		inputStream = socket.getInputStream();
+	public Long getTtl() {
+		return ttl;
+	}
 
-		if (Boolean.TRUE == useSsl) {
-			if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug(String.format("Start Handshake on %s", socket));
-			}
-			((SSLSocket) socket).startHandshake();
-		}
-		sendProtocolHeader();
-		executor = Executors.newSingleThreadExecutor();
-		executor.submit(new Callable<Void>() {
-			@Override
-			public Void call() throws Exception {
-				final long openTime = new Date().getTime();
-				final Long ttlTime = ttl != null ? openTime + ttl : null;
-				final ChunkStore chunkStore = new ChunkStore(messageStore);
-				while (true) {
-					if (ttlTime != null && new Date().getTime() > ttlTime && messageStore.isEmpty()) {
-						close();
-						break;
-					}
-					if (!isOpen()) {
-						messageStore.clear(new IOException("The socket is closed."));
-						close();
-						break;
-					}
-					try {
-						final Chunk chunk = readChunk();
-						final ByteBuffer chunkBuffer = chunkStore.storeChunk(chunk);
-						if (chunkBuffer != null) {
-							final byte[] buf = new byte[chunk.getContentLength()];
-							readBytesIntoBuffer(buf, 0, buf.length);
-							chunkBuffer.put(buf);
-							chunkStore.checkCompleteness(chunk.getMessageId());
-						}
-					} catch (final Exception e) {
-						messageStore.clear(e);
-						close();
-						break;
-					}
-				}
-				return null;
-			}
-		});
+	public Boolean getUseSsl() {
+		return useSsl;
+	}
+
+	public SSLContext getSslContext() {
+		return sslContext;
+	}
+
+	public FlushPolicy getFlushPolicy() {
+		return flushPolicy;
+	}
+
+	public BufferPool getBufferPool() {
+		return bufferPool;
+	}
+
+	public Long getMaxReassemblyBytes() {
+		return maxReassemblyBytes;
 	}
 
 	@Override
-	public synchronized void close() {
-		messageStore.clear();
-		if (executor != null && !executor.isShutdown()) {
-			executor.shutdown();
-		}
-		if (socket != null && !socket.isClosed()) {
-			try {
-				if (LOGGER.isDebugEnabled()) {
-					LOGGER.debug(String.format("Close connection %s", socket));
-				}
-				socket.close();
-			} catch (final IOException e) {
-				throw new ArangoDBException(e);
-			}
-		}
+	public int getInFlight() {
+		return messageStore.getInFlight();
 	}
 
-	private synchronized void sendProtocolHeader() throws IOException {
-		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug(String.format("Send velocystream protocol header to %s", socket));
-		}
-		outputStream.write(PROTOCOL_HEADER);
-		outputStream.flush();
+	@Override
+	public int getQueued() {
+		return messageStore.getQueued();
 	}
 
-	protected synchronized void writeIntern(final Message message, final Collection<Chunk> chunks)
-			throws ArangoDBException {
-		for (final Chunk chunk : chunks) {
-			try {
-				if (LOGGER.isDebugEnabled()) {
-					LOGGER.debug(String.format("Send chunk %s:%s from message %s", chunk.getChunk(),
-						chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
-				}
-				writeChunkHead(chunk);
-				final int contentOffset = chunk.getContentOffset();
-				final int contentLength = chunk.getContentLength();
-				final VPackSlice head = message.getHead();
-				final int headLength = head.getByteSize();
-				int written = 0;
-				if (contentOffset < headLength) {
-					written = Math.min(contentLength, headLength - contentOffset);
-					outputStream.write(head.getBuffer(), contentOffset, written);
-				}
-				if (written < contentLength) {
-					final VPackSlice body = message.getBody();
-					outputStream.write(body.getBuffer(), contentOffset + written - headLength, contentLength - written);
-				}
-				outputStream.flush();
-			} catch (final IOException e) {
-				throw new ArangoDBException(e);
-			}
-		}
+	@Override
+	public int getOpen() {
+		return isOpen() ? 1 : 0;
 	}
 
-	private synchronized void writeChunkHead(final Chunk chunk) throws IOException {
-		final long messageLength = chunk.getMessageLength();
-		final int headLength = messageLength > -1L ? ArangoDefaults.CHUNK_MAX_HEADER_SIZE
-				: ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
-		final int length = chunk.getContentLength() + headLength;
-		final ByteBuffer buffer = ByteBuffer.allocate(headLength).order(ByteOrder.LITTLE_ENDIAN);
-		buffer.putInt(length);
-		buffer.putInt(chunk.getChunkX());
-		buffer.putLong(chunk.getMessageId());
-		if (messageLength > -1L) {
-			buffer.putLong(messageLength);
-		}
-		outputStream.write(buffer.array());
+	/**
+	 * @return whether or not the maximum number of requests in flight on this connection is reached
+	 */
+	public boolean isSaturated() {
+		return messageStore.isSaturated();
+	}
+
+	public boolean isOpen() {
+		return transport.isOpen();
+	}
+
+	/**
+	 * @return whether or not the connection is open and authenticated, so that requests can be sent without further
+	 *         synchronization
+	 */
+	@Override
+	public boolean isReady() {
+		return ready && isOpen();
+	}
+
+	public void markReady() {
+		ready = true;
 	}
 
-	protected Chunk readChunk() throws IOException {
-		final ByteBuffer chunkHeadBuffer = readBytes(ArangoDefaults.CHUNK_MIN_HEADER_SIZE);
-		final int length = chunkHeadBuffer.getInt();
-		final int chunkX = chunkHeadBuffer.getInt();
-		final long messageId = chunkHeadBuffer.getLong();
-		final long messageLength;
-		final int contentLength;
-		if ((1 == (chunkX & 0x1)) && ((chunkX >> 1) > 1)) {
-			messageLength = readBytes(ArangoDefaults.LONG_BYTES).getLong();
-			contentLength = length - ArangoDefaults.CHUNK_MAX_HEADER_SIZE;
-		} else {
-			messageLength = -1L;
-			contentLength = length - ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
+	public synchronized void open() throws IOException {
+		if (isOpen()) {
+			return;
 		}
-		final Chunk chunk = new Chunk(messageId, chunkX, messageLength, 0, contentLength);
+		ready = false;
 		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug(String.format("Received chunk %s:%s from message %s", chunk.getChunk(),
-				chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
+			LOGGER.debug(String.format("Open connection to %s", host));
 		}
-		return chunk;
+		transport.open();
 	}
 
-	private ByteBuffer readBytes(final int len) throws IOException {
-		final byte[] buf = new byte[len];
-		readBytesIntoBuffer(buf, 0, len);
-		return ByteBuffer.wrap(buf).order(ByteOrder.LITTLE_ENDIAN);
+	@Override
+	public synchronized void close() {
+		ready = false;
+		messageStore.clear();
+		try {
+			transport.close();
+		} catch (final IOException e) {
+			throw new ArangoDBException(e);
+		}
 	}
 
-	protected void readBytesIntoBuffer(final byte[] buf, final int off, final int len) throws IOException {
-		for (int readed = 0; readed < len;) {
-			final int read = inputStream.read(buf, off + readed, len - readed);
-			if (read == -1) {
-				throw new IOException("Reached the end of the stream.");
-			} else {
-				readed += read;
-			}
+	protected void writeIntern(final Message message, final Collection<Chunk> chunks) throws ArangoDBException {
+		try {
+			transport.write(message, chunks);
+		} catch (final IOException e) {
+			throw new ArangoDBException(e);
 		}
 	}
 
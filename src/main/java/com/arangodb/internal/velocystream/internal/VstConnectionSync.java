@@ -21,15 +21,17 @@
 package com.arangodb.internal.velocystream.internal;
 
 import java.util.Collection;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.net.ssl.SSLContext;
 
 import com.arangodb.ArangoDBException;
+import com.arangodb.FlushPolicy;
 import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.util.BufferPool;
 
 /**
  * @author Mark Vollmary
@@ -45,6 +47,10 @@ public class VstConnectionSync extends VstConnection {
 		private Long ttl;
 		private Boolean useSsl;
 		private SSLContext sslContext;
+		private VstEventLoopGroup eventLoopGroup;
+		private FlushPolicy flushPolicy;
+		private BufferPool bufferPool;
+		private Long maxReassemblyBytes;
 
 		public Builder host(final HostDescription host) {
 			this.host = host;
@@ -76,28 +82,67 @@ public class VstConnectionSync extends VstConnection {
 			return this;
 		}
 
+		public Builder eventLoopGroup(final VstEventLoopGroup eventLoopGroup) {
+			this.eventLoopGroup = eventLoopGroup;
+			return this;
+		}
+
+		public Builder flushPolicy(final FlushPolicy flushPolicy) {
+			this.flushPolicy = flushPolicy;
+			return this;
+		}
+
+		public Builder bufferPool(final BufferPool bufferPool) {
+			this.bufferPool = bufferPool;
+			return this;
+		}
+
+		public Builder maxReassemblyBytes(final Long maxReassemblyBytes) {
+			this.maxReassemblyBytes = maxReassemblyBytes;
+			return this;
+		}
+
 		public VstConnectionSync build() {
-			return new VstConnectionSync(host, timeout, ttl, useSsl, sslContext, messageStore);
+			return new VstConnectionSync(host, timeout, ttl, useSsl, sslContext, messageStore, eventLoopGroup,
+					flushPolicy, bufferPool, maxReassemblyBytes);
 		}
 	}
 
 	private VstConnectionSync(final HostDescription host, final Integer timeout, final Long ttl, final Boolean useSsl,
-		final SSLContext sslContext, final MessageStore messageStore) {
-		super(host, timeout, ttl, useSsl, sslContext, messageStore);
+		final SSLContext sslContext, final MessageStore messageStore, final VstEventLoopGroup eventLoopGroup,
+		final FlushPolicy flushPolicy, final BufferPool bufferPool, final Long maxReassemblyBytes) {
+		super(host, timeout, ttl, useSsl, sslContext, messageStore, eventLoopGroup, flushPolicy, bufferPool,
+				maxReassemblyBytes);
 	}
 
-	public Message write(final Message message, final Collection<Chunk> chunks) throws ArangoDBException {
-		final FutureTask<Message> task = new FutureTask<Message>(new Callable<Message>() {
-			@Override
-			public Message call() throws Exception {
-				return messageStore.get(message.getId());
-			}
-		});
-		messageStore.storeMessage(message.getId(), task);
-		super.writeIntern(message, chunks);
+	/**
+	 * Sends the message and waits for its response. If the response is not received within the given timeout or the
+	 * caller is interrupted, the message is evicted from the {@link MessageStore} and its response is discarded when it
+	 * arrives later.
+	 * 
+	 * @param timeout
+	 *            maximum time in milliseconds to wait for the response, {@code null} or {@code 0} to wait without
+	 *            limit
+	 */
+	public Message write(final Message message, final Collection<Chunk> chunks, final Integer timeout)
+			throws ArangoDBException {
+		final MessageFuture future = send(message, chunks);
 		try {
-			return task.get();
+			if (timeout == null || timeout <= 0) {
+				return future.get();
+			}
+			try {
+				return future.get(timeout, TimeUnit.MILLISECONDS);
+			} catch (final TimeoutException e) {
+				if (evict(future)) {
+					throw new ArangoDBException(String.format(
+						"Response of message (id=%s) not received within %s ms", message.getId(), timeout));
+				}
+				return future.get();
+			}
 		} catch (final InterruptedException e) {
+			evict(future);
+			Thread.currentThread().interrupt();
 			throw new ArangoDBException(e);
 		} catch (final ExecutionException e) {
 			throw new ArangoDBException(e);
@@ -106,4 +151,36 @@ public class VstConnectionSync extends VstConnection {
 		}
 	}
 
+	/**
+	 * Sends the message without waiting for its response. The returned future is completed by the reader of the
+	 * connection.
+	 */
+	public MessageFuture send(final Message message, final Collection<Chunk> chunks) throws ArangoDBException {
+		final MessageFuture future = new MessageFuture(message.getId());
+		messageStore.storeMessage(future);
+		try {
+			super.writeIntern(message, chunks);
+		} catch (final ArangoDBException e) {
+			messageStore.remove(message.getId());
+			throw e;
+		}
+		return future;
+	}
+
+	/**
+	 * Evicts the message of the given future and completes it with the given exception, if its response was not
+	 * received yet.
+	 */
+	public void expire(final MessageFuture future, final Exception e) {
+		messageStore.fail(future.getMessageId(), e);
+	}
+
+	/**
+	 * @return {@code true} if the message was evicted, {@code false} if its response was received meanwhile
+	 */
+	private boolean evict(final MessageFuture future) {
+		messageStore.remove(future.getMessageId());
+		return future.cancel(true);
+	}
+
 }
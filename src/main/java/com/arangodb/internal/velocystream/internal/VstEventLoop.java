@@ -0,0 +1,164 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selector thread which performs the reads and writes of all {@link SelectableTransport}s registered on it. The thread
+ * is started with the first registered transport and terminates as soon as no transport is registered anymore.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class VstEventLoop implements Runnable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(VstEventLoop.class);
+	private static final long SELECT_TIMEOUT = 1000L;
+
+	private final String name;
+	private final Queue<SelectableTransport> registrations;
+	private final Queue<SelectableTransport> flushes;
+	private Selector selector;
+	private boolean running;
+
+	public VstEventLoop(final String name) {
+		super();
+		this.name = name;
+		registrations = new ConcurrentLinkedQueue<SelectableTransport>();
+		flushes = new ConcurrentLinkedQueue<SelectableTransport>();
+		running = false;
+	}
+
+	public void register(final SelectableTransport transport) throws IOException {
+		registrations.add(transport);
+		synchronized (this) {
+			if (!running) {
+				selector = Selector.open();
+				running = true;
+				final Thread thread = new Thread(this, name);
+				thread.setDaemon(true);
+				thread.start();
+			}
+			selector.wakeup();
+		}
+	}
+
+	/**
+	 * Schedules a write of the pending data of the given transport within the selector thread
+	 */
+	public void flush(final SelectableTransport transport) {
+		flushes.add(transport);
+		synchronized (this) {
+			if (running) {
+				selector.wakeup();
+			}
+		}
+	}
+
+	@Override
+	public void run() {
+		final Selector selector = this.selector;
+		while (true) {
+			try {
+				selector.select(SELECT_TIMEOUT);
+			} catch (final IOException e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+			processRegistrations(selector);
+			processSelectedKeys(selector);
+			processFlushes();
+			checkTtl(selector);
+			synchronized (this) {
+				if (selector.keys().isEmpty() && registrations.isEmpty()) {
+					running = false;
+					// lets closed transports release their buffers
+					processFlushes();
+					try {
+						selector.close();
+					} catch (final IOException e) {
+						LOGGER.error(e.getMessage(), e);
+					}
+					break;
+				}
+			}
+		}
+	}
+
+	private void processRegistrations(final Selector selector) {
+		for (SelectableTransport transport; (transport = registrations.poll()) != null;) {
+			try {
+				transport.register(selector);
+			} catch (final IOException e) {
+				transport.failed(e);
+			}
+		}
+	}
+
+	private void processSelectedKeys(final Selector selector) {
+		final Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+		while (iterator.hasNext()) {
+			final SelectionKey key = iterator.next();
+			iterator.remove();
+			final SelectableTransport transport = (SelectableTransport) key.attachment();
+			try {
+				if (key.isValid() && key.isConnectable()) {
+					transport.connect();
+				}
+				if (key.isValid() && key.isWritable()) {
+					transport.flush();
+				}
+				if (key.isValid() && key.isReadable()) {
+					transport.read();
+				}
+			} catch (final Exception e) {
+				transport.failed(e);
+			}
+		}
+	}
+
+	private void processFlushes() {
+		for (SelectableTransport transport; (transport = flushes.poll()) != null;) {
+			try {
+				transport.flush();
+			} catch (final Exception e) {
+				transport.failed(e);
+			}
+		}
+	}
+
+	private void checkTtl(final Selector selector) {
+		for (final SelectionKey key : selector.keys()) {
+			if (key.isValid()) {
+				((SelectableTransport) key.attachment()).checkTtl();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed set of {@link VstEventLoop}s shared by all connections of an ArangoDB instance.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class VstEventLoopGroup {
+
+	private static final AtomicInteger GROUP_ID = new AtomicInteger(0);
+
+	private final VstEventLoop[] loops;
+	private final AtomicInteger current;
+
+	public VstEventLoopGroup(final int threads) {
+		super();
+		final int groupId = GROUP_ID.incrementAndGet();
+		loops = new VstEventLoop[Math.max(1, threads)];
+		for (int i = 0; i < loops.length; i++) {
+			loops[i] = new VstEventLoop(String.format("arangodb-vst-%s-%s", groupId, i));
+		}
+		current = new AtomicInteger(0);
+	}
+
+	public VstEventLoop next() {
+		return loops[(current.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+	}
+
+}
@@ -0,0 +1,404 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.FlushPolicy;
+import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.UnixDomainSockets;
+import com.arangodb.internal.util.BufferPool;
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * Non-blocking transport which is driven by a shared {@link VstEventLoop}. Connecting and sending the protocol header
+ * happen blocking within the calling thread, all further reads and writes are performed by the selector thread.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class VstNioTransport extends VstTransport implements SelectableTransport {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(VstNioTransport.class);
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_WRITE_BUFFERS = 256;
+	private static final int COPY_THRESHOLD = 1024;
+
+	private final VstEventLoop eventLoop;
+	private final ChunkScheduler scheduler;
+	private final AtomicBoolean flushScheduled;
+	private SocketChannel channel;
+	private SelectionKey key;
+	private Long ttlTime;
+	private final Queue<ByteBuffer> retiredBuffers;
+	private boolean buffersLent;
+
+	// write state, only accessed by the selector thread
+	private final FlushPolicy flushPolicy;
+	private ByteBuffer writeBuffer;
+	private final ByteBuffer[] pending;
+	private int pendingOffset;
+	private int pendingCount;
+	private int segmentStart;
+
+	// read state, only accessed by the selector thread
+	private ByteBuffer readBuffer;
+	private ChunkStore chunkStore;
+	private Chunk chunk;
+	private ByteBuffer contentBuffer;
+	private int remaining;
+
+	public VstNioTransport(final VstConnection connection, final VstEventLoop eventLoop) {
+		super(connection);
+		this.eventLoop = eventLoop;
+		scheduler = new ChunkScheduler();
+		flushScheduled = new AtomicBoolean(false);
+		flushPolicy = connection.getFlushPolicy();
+		retiredBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+		buffersLent = false;
+		pending = new ByteBuffer[MAX_WRITE_BUFFERS];
+	}
+
+	@Override
+	public boolean isOpen() {
+		final SocketChannel channel = this.channel;
+		return channel != null && channel.isOpen() && channel.isConnected();
+	}
+
+	@Override
+	public void open() throws IOException {
+		final HostDescription host = connection.getHost();
+		final Integer timeout = connection.getTimeout();
+		final SocketChannel channel = host.isUnixSocket() ? UnixDomainSockets.open(host.getPath())
+				: SocketChannel.open();
+		try {
+			if (!host.isUnixSocket()) {
+				channel.socket().connect(new InetSocketAddress(host.getHost(), host.getPort()),
+					timeout != null ? timeout : ArangoDefaults.DEFAULT_TIMEOUT);
+				channel.socket().setKeepAlive(true);
+				channel.socket().setTcpNoDelay(true);
+			}
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Connected to %s", channel));
+				LOGGER.debug(String.format("Send velocystream protocol header to %s", channel));
+			}
+			final ByteBuffer header = ByteBuffer.wrap(PROTOCOL_HEADER);
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			channel.configureBlocking(false);
+		} catch (final IOException e) {
+			channel.close();
+			throw e;
+		}
+		final Long ttl = connection.getTtl();
+		ttlTime = ttl != null ? new Date().getTime() + ttl : null;
+		synchronized (this) {
+			retireBuffers();
+			final BufferPool bufferPool = connection.getBufferPool();
+			writeBuffer = bufferPool.acquireIo(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			readBuffer = bufferPool.acquireIo(READ_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			buffersLent = true;
+		}
+		chunkStore = new ChunkStore(connection.messageStore, connection.getBufferPool(),
+				connection.getMaxReassemblyBytes());
+		chunk = null;
+		contentBuffer = null;
+		this.channel = channel;
+		eventLoop.register(this);
+	}
+
+	@Override
+	public void register(final Selector selector) throws IOException {
+		key = channel.register(selector, SelectionKey.OP_READ, this);
+		for (int i = pendingOffset; i < pendingCount; i++) {
+			pending[i] = null;
+		}
+		pendingOffset = pendingCount = 0;
+		// the remaining chunks of messages partially written to a previous socket are useless
+		scheduler.discardStarted();
+		if (!scheduler.isEmpty()) {
+			// messages written before the registration completed
+			flush();
+		}
+	}
+
+	/**
+	 * The channel is connected blocking by {@link #open()}.
+	 */
+	@Override
+	public void connect() {
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		final SocketChannel channel = this.channel;
+		if (channel != null && channel.isOpen()) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Close connection %s", channel));
+			}
+			channel.close();
+		}
+		retireBuffers();
+	}
+
+	/**
+	 * Hands the read and write buffer of the current socket over to the selector thread, which returns them to the
+	 * pool with its next flush. The selector thread may still be using them when the socket is closed by another
+	 * thread.
+	 */
+	private void retireBuffers() {
+		if (buffersLent) {
+			retiredBuffers.add(readBuffer);
+			retiredBuffers.add(writeBuffer);
+			buffersLent = false;
+			eventLoop.flush(this);
+		}
+	}
+
+	@Override
+	public void failed(final Exception e) {
+		connection.messageStore.clear(e);
+		connection.close();
+	}
+
+	@Override
+	public void checkTtl() {
+		if (ttlTime != null && new Date().getTime() > ttlTime && connection.messageStore.isEmpty()) {
+			connection.close();
+		}
+	}
+
+	/**
+	 * Enqueues the message for the selector thread. The selector thread is only woken up if no flush is already
+	 * scheduled for this transport.
+	 */
+	@Override
+	public void write(final Message message, final Collection<Chunk> chunks) throws IOException {
+		if (!isOpen()) {
+			throw new IOException("The socket is closed.");
+		}
+		scheduler.add(new OutboundMessage(message, chunks));
+		if (flushScheduled.compareAndSet(false, true)) {
+			eventLoop.flush(this);
+		}
+	}
+
+	/**
+	 * Writes as much pending data as the socket accepts without blocking. Only called by the selector thread.
+	 */
+	@Override
+	public void flush() throws IOException {
+		flushScheduled.set(false);
+		for (ByteBuffer buffer; (buffer = retiredBuffers.poll()) != null;) {
+			connection.getBufferPool().release(buffer);
+		}
+		if (key == null || !key.isValid()) {
+			return;
+		}
+		while (true) {
+			if (pendingOffset == pendingCount && !prepareBatch()) {
+				key.interestOps(SelectionKey.OP_READ);
+				return;
+			}
+			channel.write(pending, pendingOffset, pendingCount - pendingOffset);
+			while (pendingOffset < pendingCount && !pending[pendingOffset].hasRemaining()) {
+				pending[pendingOffset++] = null;
+			}
+			if (pendingOffset < pendingCount) {
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Collects the chunks for the next gathering write. Chunk headers and small contents are copied into the shared
+	 * write buffer, larger contents are referenced directly from the message. The chunks are taken in the order of the
+	 * {@link ChunkScheduler}.
+	 * 
+	 * @return whether or not there is anything to write
+	 */
+	private boolean prepareBatch() {
+		writeBuffer.clear();
+		pendingOffset = 0;
+		pendingCount = 0;
+		segmentStart = 0;
+		while (pendingCount < MAX_WRITE_BUFFERS - 3
+				&& writeBuffer.remaining() >= ArangoDefaults.CHUNK_MAX_HEADER_SIZE) {
+			final OutboundMessage outbound = scheduler.next();
+			if (outbound == null) {
+				break;
+			}
+			final Chunk chunk = outbound.nextChunk();
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Send chunk %s:%s from message %s", chunk.getChunk(),
+					chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
+			}
+			putChunkHead(chunk, writeBuffer);
+			addContent(outbound.getMessage(), chunk);
+			if (flushPolicy == FlushPolicy.CHUNK || (flushPolicy == FlushPolicy.MESSAGE && !outbound.hasNextChunk())) {
+				break;
+			}
+		}
+		addSegment();
+		return pendingCount > 0;
+	}
+
+	private void addContent(final Message message, final Chunk chunk) {
+		final int contentOffset = chunk.getContentOffset();
+		final int contentLength = chunk.getContentLength();
+		final VPackSlice head = message.getHead();
+		final int headLength = head.getByteSize();
+		int added = 0;
+		if (contentOffset < headLength) {
+			added = Math.min(contentLength, headLength - contentOffset);
+			addContent(head.getBuffer(), head.getStart() + contentOffset, added);
+		}
+		if (added < contentLength) {
+			final VPackSlice body = message.getBody();
+			addContent(body.getBuffer(), body.getStart() + contentOffset + added - headLength, contentLength - added);
+		}
+	}
+
+	private void addContent(final byte[] array, final int offset, final int length) {
+		if (length <= COPY_THRESHOLD && length <= writeBuffer.remaining()) {
+			writeBuffer.put(array, offset, length);
+		} else {
+			addSegment();
+			pending[pendingCount++] = ByteBuffer.wrap(array, offset, length);
+		}
+	}
+
+	private void addSegment() {
+		final int position = writeBuffer.position();
+		if (position > segmentStart) {
+			final ByteBuffer segment = writeBuffer.duplicate();
+			segment.position(segmentStart).limit(position);
+			pending[pendingCount++] = segment;
+			segmentStart = position;
+		}
+	}
+
+	/**
+	 * Reads all available data from the socket and hands over completed chunks to the {@link ChunkStore}. Larger chunk
+	 * contents are read directly into the buffer of their message once the read buffer is drained. Only called by the
+	 * selector thread.
+	 */
+	@Override
+	public void read() throws IOException {
+		while (true) {
+			final int read;
+			if (readBuffer.position() == 0 && contentBuffer != null && remaining >= COPY_THRESHOLD) {
+				read = readContent();
+			} else {
+				read = channel.read(readBuffer);
+				readBuffer.flip();
+				while (processReadBuffer()) {
+				}
+				readBuffer.compact();
+			}
+			if (read == -1) {
+				throw new IOException("Reached the end of the stream.");
+			}
+			if (read == 0) {
+				break;
+			}
+		}
+	}
+
+	private int readContent() throws IOException {
+		final int limit = contentBuffer.limit();
+		contentBuffer.limit(contentBuffer.position() + remaining);
+		final int read;
+		try {
+			read = channel.read(contentBuffer);
+		} finally {
+			contentBuffer.limit(limit);
+		}
+		if (read > 0) {
+			remaining -= read;
+			if (remaining == 0) {
+				completeChunk();
+			}
+		}
+		return read;
+	}
+
+	private boolean processReadBuffer() {
+		if (chunk == null) {
+			if (readBuffer.remaining() < ArangoDefaults.CHUNK_MIN_HEADER_SIZE) {
+				return false;
+			}
+			final int chunkX = readBuffer.getInt(readBuffer.position() + ArangoDefaults.INTEGER_BYTES);
+			if (readBuffer.remaining() < chunkHeadLength(chunkX)) {
+				return false;
+			}
+			chunk = readChunkHead(readBuffer);
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Received chunk %s:%s from message %s", chunk.getChunk(),
+					chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
+			}
+			contentBuffer = contentBuffer(chunk, chunkStore);
+			remaining = chunk.getContentLength();
+		}
+		final int length = Math.min(remaining, readBuffer.remaining());
+		if (contentBuffer != null) {
+			final int limit = readBuffer.limit();
+			readBuffer.limit(readBuffer.position() + length);
+			contentBuffer.put(readBuffer);
+			readBuffer.limit(limit);
+		} else {
+			readBuffer.position(readBuffer.position() + length);
+		}
+		remaining -= length;
+		if (remaining > 0) {
+			return false;
+		}
+		completeChunk();
+		return true;
+	}
+
+	private void completeChunk() {
+		if (contentBuffer != null) {
+			contentRead(chunk, contentBuffer, chunkStore);
+		}
+		chunk = null;
+		contentBuffer = null;
+	}
+
+}
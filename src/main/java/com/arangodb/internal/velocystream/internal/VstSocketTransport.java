@@ -0,0 +1,286 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.arangodb.FlushPolicy;
+import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.UnixDomainSocket;
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * Blocking transport with a dedicated reader thread per connection.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class VstSocketTransport extends VstTransport {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(VstSocketTransport.class);
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+	private final ChunkScheduler scheduler;
+	private final AtomicBoolean writing;
+	private final FlushPolicy flushPolicy;
+	// only accessed by the thread holding the writing flag
+	private final ByteBuffer headBuffer;
+	private ExecutorService executor;
+	private Socket socket;
+	private OutputStream outputStream;
+	private InputStream inputStream;
+
+	public VstSocketTransport(final VstConnection connection) {
+		super(connection);
+		scheduler = new ChunkScheduler();
+		writing = new AtomicBoolean(false);
+		flushPolicy = connection.getFlushPolicy();
+		headBuffer = ByteBuffer.allocate(ArangoDefaults.CHUNK_MAX_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	@Override
+	public boolean isOpen() {
+		return socket != null && socket.isConnected() && !socket.isClosed();
+	}
+
+	@Override
+	public void open() throws IOException {
+		final HostDescription host = connection.getHost();
+		final Integer timeout = connection.getTimeout();
+		final boolean useSsl = Boolean.TRUE == connection.getUseSsl() && !host.isUnixSocket();
+		if (host.isUnixSocket()) {
+			socket = new UnixDomainSocket(host.getPath());
+		} else if (useSsl) {
+			final SSLContext sslContext = connection.getSslContext();
+			if (sslContext != null) {
+				socket = sslContext.getSocketFactory().createSocket();
+			} else {
+				socket = SSLSocketFactory.getDefault().createSocket();
+			}
+		} else {
+			socket = SocketFactory.getDefault().createSocket();
+		}
+		socket.connect(host.isUnixSocket() ? null : new InetSocketAddress(host.getHost(), host.getPort()),
+			timeout != null ? timeout : ArangoDefaults.DEFAULT_TIMEOUT);
+		socket.setKeepAlive(true);
+		socket.setTcpNoDelay(true);
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug(String.format("Connected to %s", socket));
+		}
+
+		outputStream = new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE);
+		inputStream = socket.getInputStream();
+
+		if (useSsl) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Start Handshake on %s", socket));
+			}
+			((SSLSocket) socket).startHandshake();
+		}
+		sendProtocolHeader();
+		final Long ttl = connection.getTtl();
+		final MessageStore messageStore = connection.messageStore;
+		executor = Executors.newSingleThreadExecutor();
+		executor.submit(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				final long openTime = new Date().getTime();
+				final Long ttlTime = ttl != null ? openTime + ttl : null;
+				final ChunkStore chunkStore = new ChunkStore(messageStore, connection.getBufferPool(),
+						connection.getMaxReassemblyBytes());
+				final ByteBuffer headBuffer = ByteBuffer.allocate(ArangoDefaults.CHUNK_MAX_HEADER_SIZE)
+						.order(ByteOrder.LITTLE_ENDIAN);
+				while (true) {
+					if (ttlTime != null && new Date().getTime() > ttlTime && messageStore.isEmpty()) {
+						connection.close();
+						break;
+					}
+					if (!isOpen()) {
+						messageStore.clear(new IOException("The socket is closed."));
+						connection.close();
+						break;
+					}
+					try {
+						final Chunk chunk = readChunk(headBuffer);
+						final int length = chunk.getContentLength();
+						final ByteBuffer buffer = contentBuffer(chunk, chunkStore);
+						if (buffer != null) {
+							readBytesIntoBuffer(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+							buffer.position(buffer.position() + length);
+							contentRead(chunk, buffer, chunkStore);
+						} else {
+							skipBytes(length);
+						}
+					} catch (final Exception e) {
+						messageStore.clear(e);
+						connection.close();
+						break;
+					}
+				}
+				return null;
+			}
+		});
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (executor != null && !executor.isShutdown()) {
+			executor.shutdown();
+		}
+		if (socket != null && !socket.isClosed()) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug(String.format("Close connection %s", socket));
+			}
+			socket.close();
+		}
+	}
+
+	private synchronized void sendProtocolHeader() throws IOException {
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug(String.format("Send velocystream protocol header to %s", socket));
+		}
+		outputStream.write(PROTOCOL_HEADER);
+		outputStream.flush();
+	}
+
+	/**
+	 * Enqueues the message and writes it, if no other thread is currently writing. Otherwise the writing thread takes
+	 * over the message, so that callers never wait for each other. The chunks of all pending messages are written in
+	 * the order of the {@link ChunkScheduler}.
+	 */
+	@Override
+	public void write(final Message message, final Collection<Chunk> chunks) throws IOException {
+		scheduler.add(new OutboundMessage(message, chunks));
+		while (!scheduler.isEmpty() && writing.compareAndSet(false, true)) {
+			try {
+				for (OutboundMessage outbound; (outbound = scheduler.next()) != null;) {
+					write(outbound.getMessage(), outbound.nextChunk());
+					if (flushPolicy == FlushPolicy.CHUNK
+							|| (flushPolicy == FlushPolicy.MESSAGE && !outbound.hasNextChunk())) {
+						outputStream.flush();
+					}
+				}
+				if (flushPolicy == FlushPolicy.BATCH) {
+					outputStream.flush();
+				}
+			} catch (final IOException e) {
+				scheduler.discardStarted();
+				connection.messageStore.clear(e);
+				connection.close();
+				throw e;
+			} finally {
+				writing.set(false);
+			}
+		}
+	}
+
+	private void write(final Message message, final Chunk chunk) throws IOException {
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug(String.format("Send chunk %s:%s from message %s", chunk.getChunk(),
+				chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
+		}
+		headBuffer.clear();
+		putChunkHead(chunk, headBuffer);
+		outputStream.write(headBuffer.array(), 0, headBuffer.position());
+		writeContent(message, chunk);
+	}
+
+	private void writeContent(final Message message, final Chunk chunk) throws IOException {
+		final int contentOffset = chunk.getContentOffset();
+		final int contentLength = chunk.getContentLength();
+		final VPackSlice head = message.getHead();
+		final int headLength = head.getByteSize();
+		int written = 0;
+		if (contentOffset < headLength) {
+			written = Math.min(contentLength, headLength - contentOffset);
+			outputStream.write(head.getBuffer(), head.getStart() + contentOffset, written);
+		}
+		if (written < contentLength) {
+			final VPackSlice body = message.getBody();
+			outputStream.write(body.getBuffer(), body.getStart() + contentOffset + written - headLength,
+				contentLength - written);
+		}
+	}
+
+	protected Chunk readChunk(final ByteBuffer headBuffer) throws IOException {
+		final byte[] head = headBuffer.array();
+		readBytesIntoBuffer(head, 0, ArangoDefaults.CHUNK_MIN_HEADER_SIZE);
+		final int headLength = chunkHeadLength(headBuffer.getInt(ArangoDefaults.INTEGER_BYTES));
+		if (headLength > ArangoDefaults.CHUNK_MIN_HEADER_SIZE) {
+			readBytesIntoBuffer(head, ArangoDefaults.CHUNK_MIN_HEADER_SIZE,
+				headLength - ArangoDefaults.CHUNK_MIN_HEADER_SIZE);
+		}
+		headBuffer.clear();
+		final Chunk chunk = readChunkHead(headBuffer);
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug(String.format("Received chunk %s:%s from message %s", chunk.getChunk(),
+				chunk.isFirstChunk() ? 1 : 0, chunk.getMessageId()));
+		}
+		return chunk;
+	}
+
+	private void skipBytes(final int len) throws IOException {
+		for (long skipped = 0; skipped < len;) {
+			final long skip = inputStream.skip(len - skipped);
+			if (skip > 0) {
+				skipped += skip;
+			} else if (inputStream.read() == -1) {
+				throw new IOException("Reached the end of the stream.");
+			} else {
+				skipped++;
+			}
+		}
+	}
+
+	protected void readBytesIntoBuffer(final byte[] buf, final int off, final int len) throws IOException {
+		for (int readed = 0; readed < len;) {
+			final int read = inputStream.read(buf, off + readed, len - readed);
+			if (read == -1) {
+				throw new IOException("Reached the end of the stream.");
+			} else {
+				readed += read;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+
+import com.arangodb.internal.ArangoDefaults;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public abstract class VstTransport {
+
+	protected static final byte[] PROTOCOL_HEADER = "VST/1.0\r\n\r\n".getBytes();
+
+	protected final VstConnection connection;
+
+	protected VstTransport(final VstConnection connection) {
+		super();
+		this.connection = connection;
+	}
+
+	public abstract boolean isOpen();
+
+	public abstract void open() throws IOException;
+
+	public abstract void write(final Message message, final Collection<Chunk> chunks) throws IOException;
+
+	public abstract void close() throws IOException;
+
+	/**
+	 * Puts the header of the given chunk into the buffer, which has to be in {@link ByteOrder#LITTLE_ENDIAN}
+	 */
+	protected static void putChunkHead(final Chunk chunk, final ByteBuffer buffer) {
+		final long messageLength = chunk.getMessageLength();
+		final int headLength = messageLength > -1L ? ArangoDefaults.CHUNK_MAX_HEADER_SIZE
+				: ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
+		buffer.putInt(chunk.getContentLength() + headLength);
+		buffer.putInt(chunk.getChunkX());
+		buffer.putLong(chunk.getMessageId());
+		if (messageLength > -1L) {
+			buffer.putLong(messageLength);
+		}
+	}
+
+	/**
+	 * @return the number of header bytes of a chunk starting with the given chunkX value
+	 */
+	protected static int chunkHeadLength(final int chunkX) {
+		return (1 == (chunkX & 0x1)) && ((chunkX >> 1) > 1) ? ArangoDefaults.CHUNK_MAX_HEADER_SIZE
+				: ArangoDefaults.CHUNK_MIN_HEADER_SIZE;
+	}
+
+	/**
+	 * Returns the buffer the content of the given chunk has to be read into at its current position. Single chunk
+	 * messages get their own buffer, which is not kept in the {@link ChunkStore}, but limited like the partially
+	 * received messages. Chunks of messages which are no longer awaited, e.g. because their deadline expired, are
+	 * skipped.
+	 * 
+	 * @return the buffer or {@code null} if the content has to be skipped
+	 */
+	protected ByteBuffer contentBuffer(final Chunk chunk, final ChunkStore chunkStore) {
+		return chunk.isSingleChunk() ? chunkStore.storeSingleChunk(chunk) : chunkStore.storeChunk(chunk);
+	}
+
+	/**
+	 * Called after the content of the given chunk was completely read into the buffer returned by
+	 * {@link #contentBuffer(Chunk, ChunkStore)}
+	 */
+	protected void contentRead(final Chunk chunk, final ByteBuffer buffer, final ChunkStore chunkStore) {
+		if (chunk.isSingleChunk()) {
+			if (!connection.messageStore.consume(new Message(chunk.getMessageId(), buffer))) {
+				connection.getBufferPool().release(buffer);
+			}
+		} else {
+			chunkStore.checkCompleteness(chunk.getMessageId());
+		}
+	}
+
+	protected static Chunk readChunkHead(final ByteBuffer buffer) {
+		final int length = buffer.getInt();
+		final int chunkX = buffer.getInt();
+		final long messageId = buffer.getLong();
+		final int headLength = chunkHeadLength(chunkX);
+		final long messageLength = headLength == ArangoDefaults.CHUNK_MAX_HEADER_SIZE ? buffer.getLong() : -1L;
+		return new Chunk(messageId, chunkX, messageLength, 0, length - headLength);
+	}
+
+}
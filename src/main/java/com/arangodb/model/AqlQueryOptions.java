@@ -48,6 +48,10 @@ public class AqlQueryOptions implements Serializable {
 	private Options options;
 	@Expose(serialize = false)
 	private Boolean allowDirtyRead;
+	@Expose(serialize = false)
+	private Integer timeout;
+	@Expose(serialize = false)
+	private String lane;
 
 	public AqlQueryOptions() {
 		super();
@@ -455,4 +459,34 @@ public class AqlQueryOptions implements Serializable {
 		return allowDirtyRead;
 	}
 
+	public Integer getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout
+	 *            maximum time in milliseconds to wait for the response, applies to every batch of the cursor.
+	 *            Overrides the request timeout of the driver.
+	 * @return options
+	 */
+	public AqlQueryOptions timeout(final Integer timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request, applies to every batch of the
+	 *            cursor
+	 * @return options
+	 */
+	public AqlQueryOptions lane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
 }
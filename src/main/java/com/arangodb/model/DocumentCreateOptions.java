@@ -33,6 +33,7 @@ public class DocumentCreateOptions {
 	private Boolean returnOld;
 	private Boolean overwrite;
 	private Boolean silent;
+	private String lane;
 
 	public DocumentCreateOptions() {
 		super();
@@ -114,4 +115,19 @@ public class DocumentCreateOptions {
 		return this;
 	}
 
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request. Inserts of multiple
+	 *            documents use the lane {@code "bulk"} by default.
+	 * @return options
+	 */
+	public DocumentCreateOptions lane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
 }
@@ -32,6 +32,7 @@ public class DocumentDeleteOptions {
 	private String ifMatch;
 	private Boolean returnOld;
 	private Boolean silent;
+	private String lane;
 
 	public DocumentDeleteOptions() {
 		super();
@@ -95,4 +96,19 @@ public class DocumentDeleteOptions {
 		return this;
 	}
 
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request. Deletions of multiple
+	 *            documents use the lane {@code "bulk"} by default.
+	 * @return options
+	 */
+	public DocumentDeleteOptions lane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
 }
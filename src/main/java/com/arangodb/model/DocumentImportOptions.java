@@ -37,6 +37,7 @@ public class DocumentImportOptions {
 	private OnDuplicate onDuplicate;
 	private Boolean complete;
 	private Boolean details;
+	private String lane;
 
 	public DocumentImportOptions() {
 		super();
@@ -158,4 +159,19 @@ public class DocumentImportOptions {
 		return this;
 	}
 
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request. Defaults to the lane
+	 *            {@code "bulk"}.
+	 * @return options
+	 */
+	public DocumentImportOptions lane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
 }
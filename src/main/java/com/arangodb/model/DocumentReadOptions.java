@@ -35,6 +35,10 @@ public class DocumentReadOptions {
 	private boolean catchException;
 	@Expose(serialize = false)
 	private Boolean allowDirtyRead;
+	@Expose(serialize = false)
+	private Integer timeout;
+	@Expose(serialize = false)
+	private String lane;
 
 	public DocumentReadOptions() {
 		super();
@@ -100,4 +104,33 @@ public class DocumentReadOptions {
 		return allowDirtyRead;
 	}
 
+	public Integer getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout
+	 *            maximum time in milliseconds to wait for the response. Overrides the request timeout of the
+	 *            driver.
+	 * @return options
+	 */
+	public DocumentReadOptions timeout(final Integer timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request
+	 * @return options
+	 */
+	public DocumentReadOptions lane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
 }
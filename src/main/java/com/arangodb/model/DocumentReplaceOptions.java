@@ -34,6 +34,7 @@ public class DocumentReplaceOptions {
 	private Boolean returnNew;
 	private Boolean returnOld;
 	private Boolean silent;
+	private String lane;
 
 	public DocumentReplaceOptions() {
 		super();
@@ -127,4 +128,19 @@ public class DocumentReplaceOptions {
 		return this;
 	}
 
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request. Replacements of multiple
+	 *            documents use the lane {@code "bulk"} by default.
+	 * @return options
+	 */
+	public DocumentReplaceOptions lane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
 }
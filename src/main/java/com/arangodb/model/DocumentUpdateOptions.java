@@ -37,6 +37,7 @@ public class DocumentUpdateOptions {
 	private Boolean returnOld;
 	private Boolean serializeNull;
 	private Boolean silent;
+	private String lane;
 
 	public DocumentUpdateOptions() {
 		super();
@@ -179,4 +180,19 @@ public class DocumentUpdateOptions {
 		return this;
 	}
 
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request. Updates of multiple
+	 *            documents use the lane {@code "bulk"} by default.
+	 * @return options
+	 */
+	public DocumentUpdateOptions lane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
 }
@@ -41,6 +41,14 @@ public class Request {
 	private final Map<String, String> headerParam;
 	@Expose(serialize = false)
 	private VPackSlice body;
+	@Expose(serialize = false)
+	private Integer timeout;
+	@Expose(serialize = false)
+	private String lane;
+	@Expose(serialize = false)
+	private RequestPriority priority;
+	@Expose(serialize = false)
+	private boolean idempotent;
 
 	public Request(final String database, final RequestType requestType, final String path) {
 		super();
@@ -113,4 +121,64 @@ public class Request {
 		return this;
 	}
 
+	public Integer getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout
+	 *            maximum time in milliseconds to wait for the response, {@code null} for the default of the driver
+	 * @return request
+	 */
+	public Request setTimeout(final Integer timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+
+	public String getLane() {
+		return lane;
+	}
+
+	/**
+	 * @param lane
+	 *            name of the traffic lane whose connections are used for the request, {@code null} for the default
+	 *            connection pool
+	 * @return request
+	 */
+	public Request setLane(final String lane) {
+		this.lane = lane;
+		return this;
+	}
+
+	public RequestPriority getPriority() {
+		return priority;
+	}
+
+	/**
+	 * @param priority
+	 *            hint for the order in which the chunks of the request are written over a VelocyStream connection,
+	 *            {@code null} for {@link RequestPriority#NORMAL}. Ignored by HTTP.
+	 * @return request
+	 */
+	public Request setPriority(final RequestPriority priority) {
+		this.priority = priority;
+		return this;
+	}
+
+	public boolean isIdempotent() {
+		return idempotent;
+	}
+
+	/**
+	 * @param idempotent
+	 *            whether or not the request only reads and can be sent a second time to another host without side
+	 *            effects. {@code GET} and {@code HEAD} requests are retried anyway, but only requests marked as
+	 *            idempotent can be hedged.
+	 * @return request
+	 */
+	public Request setIdempotent(final boolean idempotent) {
+		this.idempotent = idempotent;
+		return this;
+	}
+
 }
@@ -0,0 +1,37 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.velocystream;
+
+/**
+ * Hint for the order in which the chunks of concurrently written requests are sent over a VelocyStream connection.
+ * Chunks of requests with a higher priority overtake chunks of requests with a lower priority, so that small
+ * requests don't wait behind large uploads. Lower priorities are never starved completely.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public enum RequestPriority {
+
+	HIGH,
+	NORMAL,
+	LOW
+
+}
@@ -20,9 +20,11 @@
 
 package com.arangodb.velocystream;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.arangodb.internal.util.BufferPool;
 import com.arangodb.velocypack.VPackSlice;
 import com.arangodb.velocypack.annotations.Expose;
 
@@ -38,6 +40,10 @@ public class Response {
 	private Map<String, String> meta;
 	@Expose(deserialize = false)
 	private VPackSlice body = null;
+	@Expose(serialize = false, deserialize = false)
+	private ByteBuffer buffer = null;
+	@Expose(serialize = false, deserialize = false)
+	private BufferPool bufferPool = null;
 
 	public Response() {
 		super();
@@ -84,4 +90,31 @@ public class Response {
 		this.body = body;
 	}
 
+	/**
+	 * Sets the buffer backing the body of this response and the pool it was lent from.
+	 */
+	public void setBuffer(final ByteBuffer buffer, final BufferPool bufferPool) {
+		this.buffer = buffer;
+		this.bufferPool = bufferPool;
+	}
+
+	/**
+	 * Returns whether the body of this response is backed by a buffer lent from the buffer pool of the driver.
+	 */
+	public boolean isPooled() {
+		return buffer != null;
+	}
+
+	/**
+	 * Returns the buffer backing the body of this response to the buffer pool of the driver. Neither the body nor any
+	 * {@link VPackSlice} obtained from it must be used afterwards.
+	 */
+	public void release() {
+		if (buffer != null) {
+			body = null;
+			bufferPool.release(buffer);
+			buffer = null;
+		}
+	}
+
 }
@@ -0,0 +1,219 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ArangoFutureTest {
+
+	@Test
+	public void complete() throws InterruptedException, ExecutionException {
+		final ArangoFuture<String> future = new ArangoFuture<String>();
+		assertThat(future.isDone(), is(false));
+		assertThat(future.complete("a"), is(true));
+		assertThat(future.complete("b"), is(false));
+		assertThat(future.completeExceptionally(new ArangoDBException("c")), is(false));
+		assertThat(future.isDone(), is(true));
+		assertThat(future.isCompletedExceptionally(), is(false));
+		assertThat(future.get(), is("a"));
+	}
+
+	@Test
+	public void completeExceptionally() throws InterruptedException {
+		final ArangoDBException exception = new ArangoDBException("a");
+		final ArangoFuture<String> future = ArangoFuture.failed(exception);
+		assertThat(future.isCompletedExceptionally(), is(true));
+		try {
+			future.get();
+			fail();
+		} catch (final ExecutionException e) {
+			assertThat(e.getCause(), is(sameInstance((Throwable) exception)));
+		}
+	}
+
+	@Test
+	public void getTimeout() throws InterruptedException, ExecutionException {
+		final ArangoFuture<String> future = new ArangoFuture<String>();
+		try {
+			future.get(10, TimeUnit.MILLISECONDS);
+			fail();
+		} catch (final TimeoutException e) {
+		}
+	}
+
+	@Test
+	public void listener() {
+		final AtomicInteger calls = new AtomicInteger();
+		final Runnable listener = new Runnable() {
+			@Override
+			public void run() {
+				calls.incrementAndGet();
+			}
+		};
+		final ArangoFuture<String> future = new ArangoFuture<String>();
+		future.addListener(listener);
+		assertThat(calls.get(), is(0));
+		future.complete("a");
+		assertThat(calls.get(), is(1));
+		future.addListener(listener);
+		assertThat(calls.get(), is(2));
+	}
+
+	@Test
+	public void thenApply() throws InterruptedException, ExecutionException {
+		final ArangoFuture<String> future = new ArangoFuture<String>();
+		final ArangoFuture<Integer> length = future.thenApply(new Function<String, Integer>() {
+			@Override
+			public Integer apply(final String value) {
+				return value.length();
+			}
+		});
+		future.complete("abc");
+		assertThat(length.get(), is(3));
+	}
+
+	@Test
+	public void thenApplyFailed() throws InterruptedException {
+		final ArangoDBException exception = new ArangoDBException("a");
+		final ArangoFuture<Integer> length = ArangoFuture.<String> failed(exception)
+				.thenApply(new Function<String, Integer>() {
+					@Override
+					public Integer apply(final String value) {
+						fail();
+						return null;
+					}
+				});
+		try {
+			length.get();
+			fail();
+		} catch (final ExecutionException e) {
+			assertThat(e.getCause(), is(sameInstance((Throwable) exception)));
+		}
+	}
+
+	@Test
+	public void thenCompose() throws InterruptedException, ExecutionException {
+		final ArangoFuture<String> inner = new ArangoFuture<String>();
+		final ArangoFuture<String> result = ArangoFuture.completed("a")
+				.thenCompose(new Function<String, ArangoFuture<String>>() {
+					@Override
+					public ArangoFuture<String> apply(final String value) {
+						return inner;
+					}
+				});
+		assertThat(result.isDone(), is(false));
+		inner.complete("b");
+		assertThat(result.get(), is("b"));
+	}
+
+	@Test
+	public void exceptionally() throws InterruptedException, ExecutionException {
+		final ArangoFuture<String> result = ArangoFuture.<String> failed(new ArangoDBException("a"))
+				.exceptionally(new Function<Throwable, String>() {
+					@Override
+					public String apply(final Throwable e) {
+						return e.getMessage();
+					}
+				});
+		assertThat(result.get(), is("a"));
+	}
+
+	@Test
+	public void exceptionallyCompose() throws InterruptedException {
+		final ArangoFuture<String> result = ArangoFuture.<String> failed(new ArangoDBException("a"))
+				.exceptionallyCompose(new Function<Throwable, ArangoFuture<String>>() {
+					@Override
+					public ArangoFuture<String> apply(final Throwable e) {
+						return ArangoFuture.failed(new IllegalStateException(e.getMessage()));
+					}
+				});
+		try {
+			result.get();
+			fail();
+		} catch (final ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+		}
+	}
+
+	@Test
+	public void cancel() {
+		final ArangoFuture<String> future = new ArangoFuture<String>();
+		final ArangoFuture<Integer> length = future.thenApply(new Function<String, Integer>() {
+			@Override
+			public Integer apply(final String value) {
+				return value.length();
+			}
+		});
+		assertThat(future.cancel(true), is(true));
+		assertThat(future.isCancelled(), is(true));
+		assertThat(length.isCompletedExceptionally(), is(true));
+		assertThat(future.complete("a"), is(false));
+	}
+
+	@Test
+	public void cancelDerived() {
+		final ArangoFuture<String> source = new ArangoFuture<String>();
+		final ArangoFuture<String> inner = new ArangoFuture<String>();
+		final ArangoFuture<String> composed = source.thenCompose(new Function<String, ArangoFuture<String>>() {
+			@Override
+			public ArangoFuture<String> apply(final String value) {
+				return inner;
+			}
+		});
+		final ArangoFuture<String> recovered = composed
+				.exceptionallyCompose(new Function<Throwable, ArangoFuture<String>>() {
+					@Override
+					public ArangoFuture<String> apply(final Throwable e) {
+						return ArangoFuture.completed("b");
+					}
+				});
+		assertThat(source.complete("a"), is(true));
+		assertThat(recovered.cancel(true), is(true));
+		assertThat(composed.isCancelled(), is(true));
+		assertThat(inner.isCancelled(), is(true));
+
+		final ArangoFuture<String> pending = new ArangoFuture<String>();
+		final ArangoFuture<Integer> length = pending.thenApply(new Function<String, Integer>() {
+			@Override
+			public Integer apply(final String value) {
+				return value.length();
+			}
+		});
+		assertThat(length.cancel(true), is(true));
+		assertThat(pending.isCancelled(), is(true));
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.internal.net.CommunicationProtocol;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostHandle;
+import com.arangodb.internal.util.ArangoDeserializerImpl;
+import com.arangodb.internal.util.ArangoSerializationFactory;
+import com.arangodb.internal.util.ArangoSerializerImpl;
+import com.arangodb.internal.util.BufferPool;
+import com.arangodb.internal.util.DefaultArangoSerialization;
+import com.arangodb.internal.velocypack.VPackDeserializers;
+import com.arangodb.internal.velocypack.VPackDriverModule;
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+import com.arangodb.velocystream.Response;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ArangoExecutorSyncTest {
+
+	private final BufferPool bufferPool = new BufferPool(true, false, 1 << 16, 1 << 16);
+
+	private final ArangoExecutorSync executor = new ArangoExecutorSync(new PooledProtocol(), serialization(),
+			new DocumentCache());
+
+	private static ArangoSerializationFactory serialization() {
+		final VPack vpack = new VPack.Builder().registerModule(new VPackDriverModule())
+				.registerDeserializer(VPackSlice.class, VPackDeserializers.DETACHED_VPACK).build();
+		final VPackParser parser = new VPackParser.Builder().registerModule(new VPackDriverModule()).build();
+		final DefaultArangoSerialization internal = new DefaultArangoSerialization(
+				new ArangoSerializerImpl(vpack, vpack, parser), new ArangoDeserializerImpl(vpack, parser));
+		return new ArangoSerializationFactory(internal, internal);
+	}
+
+	private static Request request(final String value) {
+		return new Request("_system", RequestType.GET, "/_api/document/test/" + value);
+	}
+
+	@Test
+	public void sliceOutlivesPooledBuffer() {
+		final VPackSlice first = executor.execute(request("first"), VPackSlice.class);
+		final VPackSlice second = executor.execute(request("second"), VPackSlice.class);
+		assertThat(bufferPool.getStatistics().getHits(), is(1L));
+		assertThat(first.get("value").getAsString(), is("first"));
+		assertThat(second.get("value").getAsString(), is("second"));
+	}
+
+	@Test
+	public void sliceOutlivesPooledBufferAsync() throws Exception {
+		final VPackSlice first = executor.<VPackSlice> executeAsync(request("first"), VPackSlice.class, null).get();
+		executor.execute(request("second"), VPackSlice.class);
+		assertThat(first.get("value").getAsString(), is("first"));
+	}
+
+	/**
+	 * Answers every request with an object holding the last segment of its path, in a buffer lent from the pool.
+	 */
+	private class PooledProtocol implements CommunicationProtocol {
+
+		@Override
+		public Response execute(final Request request, final HostHandle hostHandle) throws ArangoDBException {
+			final String path = request.getRequest();
+			final VPackBuilder builder = new VPackBuilder();
+			builder.add(ValueType.OBJECT);
+			builder.add("value", path.substring(path.lastIndexOf('/') + 1));
+			builder.close();
+			final VPackSlice body = builder.slice();
+			final ByteBuffer buffer = bufferPool.acquire(body.getByteSize());
+			System.arraycopy(body.getBuffer(), body.getStart(), buffer.array(), 0, body.getByteSize());
+			final Response response = new Response();
+			response.setResponseCode(200);
+			response.setBody(new VPackSlice(buffer.array(), 0));
+			response.setBuffer(buffer, bufferPool);
+			return response;
+		}
+
+		@Override
+		public ArangoFuture<Response> executeAsync(final Request request, final HostHandle hostHandle) {
+			return ArangoFuture.completed(execute(request, hostHandle));
+		}
+
+		@Override
+		public Response executeOnHost(final Request request, final Host host) throws ArangoDBException {
+			return execute(request, null);
+		}
+
+		@Override
+		public void open(final Connection connection) throws ArangoDBException {
+		}
+
+		@Override
+		public void close() throws IOException {
+		}
+
+	}
+
+}
@@ -0,0 +1,304 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal;
+
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.arangodb.Protocol;
+import com.arangodb.internal.http.HttpConnectionFactory;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.ConnectionFactory;
+import com.arangodb.internal.net.ConnectionPool;
+import com.arangodb.internal.net.ConnectionPoolImpl;
+import com.arangodb.internal.net.ConnectionReaper;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.HostImpl;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ConnectionPoolTest {
+
+	private static class TestConnection implements Connection {
+
+		private volatile int inFlight;
+		private volatile boolean ready = true;
+
+		@Override
+		public int getInFlight() {
+			return inFlight;
+		}
+
+		@Override
+		public int getQueued() {
+			return 0;
+		}
+
+		@Override
+		public int getOpen() {
+			return ready ? 1 : 0;
+		}
+
+		@Override
+		public boolean isReady() {
+			return ready;
+		}
+
+		@Override
+		public void close() throws IOException {
+			ready = false;
+		}
+
+	}
+
+	private static class TestConnectionFactory implements ConnectionFactory {
+
+		private final AtomicInteger created = new AtomicInteger();
+
+		@Override
+		public Connection create(final HostDescription host) {
+			created.incrementAndGet();
+			return new TestConnection();
+		}
+
+		@Override
+		public ConnectionPool createPool(
+			final HostDescription host,
+			final int minConnections,
+			final int maxConnections,
+			final ConnectionReaper reaper) {
+			return new ConnectionPoolImpl(host, minConnections, maxConnections, this, reaper);
+		}
+
+	}
+
+	private static final HostDescription HOST = new HostDescription("127.0.0.1", 8529);
+
+	@Test
+	public void createOnlyIfAllConnectionsAreBusy() {
+		final TestConnectionFactory factory = new TestConnectionFactory();
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 3, factory);
+		final TestConnection first = (TestConnection) pool.connection();
+		for (int i = 0; i < 10; i++) {
+			assertThat(pool.connection(), is(sameInstance((Connection) first)));
+		}
+		assertThat(factory.created.get(), is(1));
+		first.inFlight = 1;
+		final TestConnection second = (TestConnection) pool.connection();
+		assertThat(second, is(not(sameInstance(first))));
+		assertThat(factory.created.get(), is(2));
+		assertThat(pool.connection(), is(sameInstance((Connection) second)));
+	}
+
+	@Test
+	public void leastLoadedConnection() {
+		final TestConnectionFactory factory = new TestConnectionFactory();
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 3, factory);
+		final List<TestConnection> connections = new ArrayList<TestConnection>();
+		for (int i = 0; i < 3; i++) {
+			final TestConnection connection = (TestConnection) pool.connection();
+			connection.inFlight = 5 + i;
+			connections.add(connection);
+		}
+		connections.get(1).inFlight = 2;
+		for (int i = 0; i < 10; i++) {
+			assertThat(pool.connection(), is(sameInstance((Connection) connections.get(1))));
+		}
+		// a connection which is not ready is not used while a ready one exists, even with a lower load
+		connections.get(2).ready = false;
+		connections.get(2).inFlight = 1;
+		for (int i = 0; i < 10; i++) {
+			assertThat(pool.connection(), is(sameInstance((Connection) connections.get(1))));
+		}
+		assertThat(factory.created.get(), is(3));
+	}
+
+	@Test
+	public void closedConnectionGivesUpItsSlot() throws IOException {
+		final TestConnectionFactory factory = new TestConnectionFactory();
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 2, factory);
+		final TestConnection first = (TestConnection) pool.connection();
+		first.inFlight = 1;
+		final TestConnection second = (TestConnection) pool.connection();
+		second.inFlight = 1;
+		assertThat(pool.connection(), is(anyOf(sameInstance((Connection) first), sameInstance((Connection) second))));
+		// closed by the server, e.g. because of its keep-alive timeout
+		second.inFlight = 0;
+		second.close();
+		final TestConnection third = (TestConnection) pool.connection();
+		assertThat(third, is(not(anyOf(sameInstance(first), sameInstance(second)))));
+		assertThat(factory.created.get(), is(3));
+		assertThat(pool.connections().size(), is(2));
+		assertThat(pool.connections().contains(second), is(false));
+	}
+
+	@Test
+	public void connectionsInTurnWithSameLoad() {
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 2, new TestConnectionFactory());
+		final TestConnection first = (TestConnection) pool.connection();
+		first.inFlight = 1;
+		final TestConnection second = (TestConnection) pool.connection();
+		second.inFlight = 1;
+		int firstPicks = 0;
+		for (int i = 0; i < 10; i++) {
+			if (pool.connection() == first) {
+				firstPicks++;
+			}
+		}
+		assertThat(firstPicks, is(5));
+	}
+
+	@Test
+	public void concurrentCreationRespectsMaxConnections() throws InterruptedException {
+		final TestConnectionFactory factory = new TestConnectionFactory();
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 4, factory);
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<Thread>();
+		final List<Connection> picked = Collections.synchronizedList(new ArrayList<Connection>());
+		for (int t = 0; t < 8; t++) {
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (final InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < 1000; i++) {
+						final TestConnection connection = (TestConnection) pool.connection();
+						// keep every connection busy, so that the pool grows to its maximum
+						connection.inFlight = 1;
+						picked.add(connection);
+					}
+				}
+			};
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(factory.created.get(), is(4));
+		assertThat(pool.connections().size(), is(4));
+		assertThat(picked.size(), is(8000));
+	}
+
+	@Test
+	public void warmUpCreatesMinConnections() {
+		final TestConnectionFactory factory = new TestConnectionFactory();
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 2, 4, factory, null);
+		assertThat(pool.warmUp().size(), is(2));
+		assertThat(pool.warmUp().size(), is(2));
+		assertThat(factory.created.get(), is(2));
+	}
+
+	@Test
+	public void closeIdleKeepsMinConnections() throws IOException {
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 1, 3, new TestConnectionFactory(), null);
+		final List<TestConnection> connections = new ArrayList<TestConnection>();
+		for (int i = 0; i < 3; i++) {
+			final TestConnection connection = (TestConnection) pool.connection();
+			connection.inFlight = 1;
+			connections.add(connection);
+		}
+		assertThat(pool.closeIdle(0), is(false));
+		assertThat(pool.connections().size(), is(3));
+		assertThat(pool.closeIdle(60 * 1000), is(false));
+		for (final TestConnection connection : connections) {
+			connection.inFlight = 0;
+		}
+		assertThat(pool.closeIdle(60 * 1000), is(false));
+		assertThat(pool.connections().size(), is(3));
+		assertThat(pool.closeIdle(0), is(true));
+		assertThat(pool.connections().size(), is(1));
+		int closed = 0;
+		for (final TestConnection connection : connections) {
+			if (!connection.ready) {
+				closed++;
+			}
+		}
+		assertThat(closed, is(2));
+	}
+
+	@Test
+	public void reaperShrinksPool() throws InterruptedException {
+		final ConnectionReaper reaper = new ConnectionReaper(10);
+		final ConnectionPool pool = new ConnectionPoolImpl(HOST, 1, 2, new TestConnectionFactory(), reaper);
+		final TestConnection first = (TestConnection) pool.connection();
+		first.inFlight = 1;
+		final TestConnection second = (TestConnection) pool.connection();
+		assertThat(pool.connections().size(), is(2));
+		for (int i = 0; i < 100 && pool.connections().size() > 1; i++) {
+			Thread.sleep(10);
+		}
+		assertThat(pool.connections().size(), is(1));
+		assertThat(first.ready, is(true));
+		assertThat(second.ready, is(false));
+	}
+
+	@Test
+	public void lanesUseOwnPools() {
+		final TestConnectionFactory factory = new TestConnectionFactory();
+		final ConnectionPool bulk = new ConnectionPoolImpl(HOST, 1, factory);
+		final Host host = new HostImpl(new ConnectionPoolImpl(HOST, 1, factory),
+				Collections.singletonMap("bulk", bulk), HOST);
+		final Connection interactive = host.connection(null);
+		final Connection bulkConnection = host.connection("bulk");
+		assertThat(bulkConnection, is(not(sameInstance(interactive))));
+		assertThat(host.connection("unknown"), is(sameInstance(interactive)));
+		assertThat(host.connections("bulk").size(), is(1));
+		assertThat(host.connections("unknown").isEmpty(), is(true));
+		assertThat(host.connections().size(), is(2));
+		assertThat(host.lanes().contains("bulk"), is(true));
+	}
+
+	@Test
+	public void httpConnectionIsSharedByAllRequests() throws IOException {
+		final HttpConnectionFactory factory = new HttpConnectionFactory(null, null, null, null, null, null,
+				Protocol.HTTP_JSON, null);
+		final ConnectionPool pool = factory.createPool(HOST, 2, 5, null);
+		assertThat(pool.connections().isEmpty(), is(true));
+		final Connection connection = pool.connection();
+		assertThat(pool.connection(), is(sameInstance(connection)));
+		assertThat(pool.connections().size(), is(1));
+		assertThat(pool.warmUp().size(), is(2));
+		assertThat(connection.getOpen(), is(0));
+		pool.close();
+		assertThat(pool.connections().isEmpty(), is(true));
+	}
+
+}
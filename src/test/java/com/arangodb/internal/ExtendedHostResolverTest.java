@@ -0,0 +1,191 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.internal.net.Connection;
+import com.arangodb.internal.net.ConnectionFactory;
+import com.arangodb.internal.net.ConnectionPool;
+import com.arangodb.internal.net.ConnectionReaper;
+import com.arangodb.internal.net.ExtendedHostResolver;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.HostImpl;
+import com.arangodb.internal.net.HostResolver.EndpointResolver;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ExtendedHostResolverTest {
+
+	private static class ClosablePool implements ConnectionPool {
+
+		private final CountDownLatch closed = new CountDownLatch(1);
+
+		@Override
+		public Connection createConnection(final HostDescription host) {
+			return null;
+		}
+
+		@Override
+		public Connection connection() {
+			return null;
+		}
+
+		@Override
+		public Collection<Connection> connections() {
+			return new ArrayList<Connection>();
+		}
+
+		@Override
+		public Collection<Connection> warmUp() {
+			return connections();
+		}
+
+		@Override
+		public boolean closeIdle(final long idleTimeout) {
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed.countDown();
+		}
+
+	}
+
+	private static final ConnectionFactory FACTORY = new ConnectionFactory() {
+		@Override
+		public Connection create(final HostDescription host) {
+			return null;
+		}
+
+		@Override
+		public ConnectionPool createPool(
+			final HostDescription host,
+			final int minConnections,
+			final int maxConnections,
+			final ConnectionReaper reaper) {
+			return new ClosablePool();
+		}
+	};
+
+	private static List<Host> awaitRefresh(final ExtendedHostResolver resolver, final List<Host> initial)
+			throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			final List<Host> hosts = resolver.resolve(false, false);
+			if (hosts != initial) {
+				return hosts;
+			}
+			Thread.sleep(10);
+		}
+		throw new AssertionError("host list was not refreshed");
+	}
+
+	@Test
+	public void refreshKeepsRetainedHosts() throws InterruptedException {
+		final ClosablePool retainedPool = new ClosablePool();
+		final ClosablePool removedPool = new ClosablePool();
+		final Host retained = new HostImpl(retainedPool, new HostDescription("127.0.0.1", 8529));
+		final Host removed = new HostImpl(removedPool, new HostDescription("127.0.0.2", 8529));
+		final ExtendedHostResolver resolver = new ExtendedHostResolver(Arrays.asList(retained, removed), 1, FACTORY);
+		final CountDownLatch resolved = new CountDownLatch(1);
+		resolver.init(new EndpointResolver() {
+			@Override
+			public Collection<String> resolve(final boolean closeConnections) throws ArangoDBException {
+				try {
+					resolved.await(5, TimeUnit.SECONDS);
+				} catch (final InterruptedException e) {
+					throw new ArangoDBException(e);
+				}
+				return Arrays.asList("tcp://127.0.0.1:8529", "tcp://127.0.0.3:8529");
+			}
+		});
+		final List<Host> initial = resolver.resolve(true, false);
+		// the refresh runs in the background, the caller gets the current snapshot
+		assertThat(resolver.resolve(false, false), is(sameInstance(initial)));
+		resolved.countDown();
+		final List<Host> hosts = awaitRefresh(resolver, initial);
+		assertThat(hosts.size(), is(2));
+		assertThat(hosts.get(0), is(sameInstance(retained)));
+		assertThat(hosts.get(1).getDescription(), is(new HostDescription("127.0.0.3", 8529)));
+		assertThat(removedPool.closed.await(5, TimeUnit.SECONDS), is(true));
+		assertThat(retainedPool.closed.getCount(), is(1L));
+		assertThat(initial, contains(retained, removed));
+	}
+
+	@Test
+	public void removedHostIsClosedAfterRequestsInFlight() throws InterruptedException {
+		final ClosablePool removedPool = new ClosablePool();
+		final Host retained = new HostImpl(new ClosablePool(), new HostDescription("127.0.0.1", 8529));
+		final Host removed = new HostImpl(removedPool, new HostDescription("127.0.0.2", 8529));
+		final ExtendedHostResolver resolver = new ExtendedHostResolver(Arrays.asList(retained, removed), 1, FACTORY);
+		resolver.init(new EndpointResolver() {
+			@Override
+			public Collection<String> resolve(final boolean closeConnections) throws ArangoDBException {
+				return Arrays.asList("tcp://127.0.0.1:8529");
+			}
+		});
+		final long start = removed.requestStarted();
+		final List<Host> initial = resolver.resolve(true, false);
+		final List<Host> hosts = awaitRefresh(resolver, initial);
+		assertThat(hosts, contains(retained));
+		assertThat(removedPool.closed.await(300, TimeUnit.MILLISECONDS), is(false));
+		removed.requestCompleted(start, false);
+		assertThat(removedPool.closed.await(5, TimeUnit.SECONDS), is(true));
+	}
+
+	@Test
+	public void refreshAcceptsUnixSocketEndpoints() throws InterruptedException {
+		final Host retained = new HostImpl(new ClosablePool(), new HostDescription("127.0.0.1", 8529));
+		final ExtendedHostResolver resolver = new ExtendedHostResolver(Arrays.asList(retained), 1, FACTORY);
+		resolver.init(new EndpointResolver() {
+			@Override
+			public Collection<String> resolve(final boolean closeConnections) throws ArangoDBException {
+				return Arrays.asList("tcp://127.0.0.1:8529", "unix:///tmp/arangodb.sock");
+			}
+		});
+		final List<Host> initial = resolver.resolve(true, false);
+		final List<Host> hosts = awaitRefresh(resolver, initial);
+		assertThat(hosts.size(), is(2));
+		final HostDescription description = hosts.get(1).getDescription();
+		assertThat(description, is(new HostDescription("unix:///tmp/arangodb.sock", 8529)));
+		assertThat(description.isUnixSocket(), is(true));
+		assertThat(description.getPath(), is("/tmp/arangodb.sock"));
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.arangodb.internal.net.AccessType;
+import com.arangodb.internal.net.FallbackHostHandler;
+import com.arangodb.internal.net.HedgingPolicy;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.HostHandle;
+import com.arangodb.internal.net.HostImpl;
+import com.arangodb.internal.net.HostResolver;
+import com.arangodb.internal.net.LatencyHistogram;
+import com.arangodb.internal.net.RoundRobinHostHandler;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class HedgingPolicyTest {
+
+	private static final Host HOST_0 = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+	private static final Host HOST_1 = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+
+	private static final HostResolver HOSTS = new HostResolver() {
+		@Override
+		public List<Host> resolve(final boolean initial, final boolean closeConnections) {
+			return Arrays.asList(HOST_0, HOST_1);
+		}
+
+		@Override
+		public void init(final EndpointResolver resolver) {
+		}
+	};
+
+	@Test
+	public void latencyPercentile() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 20; i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		assertThat(histogram.getPercentile(0.5), is(-1L));
+		for (int i = 0; i < 70; i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		for (int i = 0; i < 10; i++) {
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+		}
+		assertThat(histogram.getPercentile(0.5), allOf(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(1)),
+			lessThan(TimeUnit.MICROSECONDS.toNanos(1200))));
+		assertThat(histogram.getPercentile(0.95), allOf(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100)),
+			lessThan(TimeUnit.MILLISECONDS.toNanos(120))));
+	}
+
+	@Test
+	public void eligibleRequests() {
+		final HedgingPolicy policy = new HedgingPolicy(0.95, 0.05);
+		assertThat(policy.isEligible(new Request("_system", RequestType.GET, "/_api/document/c/k").setIdempotent(true),
+			null), is(true));
+		assertThat(policy.isEligible(new Request("_system", RequestType.GET, "/_api/version"), null), is(false));
+		assertThat(policy.isEligible(new Request("_system", RequestType.POST, "/_api/cursor"), new HostHandle()),
+			is(false));
+		assertThat(policy.isEligible(new Request("_system", RequestType.PUT, "/_api/document").setIdempotent(true),
+			null), is(true));
+		assertThat(policy.isEligible(new Request("_system", RequestType.GET, "/_api/document/c/k").setIdempotent(true),
+			new HostHandle().setHost(HOST_0.getDescription())), is(false));
+	}
+
+	@Test
+	public void budget() {
+		final HedgingPolicy policy = new HedgingPolicy(0.95, 0.1);
+		int hedges = 0;
+		while (policy.tryAcquire()) {
+			hedges++;
+		}
+		assertThat(hedges, is(10));
+		for (int i = 0; i < 10; i++) {
+			assertThat(policy.delay(HOST_0), is(-1L));
+		}
+		assertThat(policy.tryAcquire(), is(true));
+		assertThat(policy.tryAcquire(), is(false));
+	}
+
+	@Test
+	public void alternativeHost() {
+		final HedgingPolicy policy = new HedgingPolicy(0.95, 0.05);
+		final RoundRobinHostHandler roundRobin = new RoundRobinHostHandler(HOSTS);
+		assertThat(policy.alternative(roundRobin, HOST_0, AccessType.READ), is(HOST_1));
+		assertThat(roundRobin.get(null, AccessType.READ), is(HOST_0));
+		assertThat(policy.alternative(new FallbackHostHandler(HOSTS), HOST_0, AccessType.READ), is(nullValue()));
+	}
+
+}
@@ -21,23 +21,38 @@
 package com.arangodb.internal;
 
 import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
+import com.arangodb.ArangoDBException;
+import com.arangodb.internal.net.ConnectionPoolImpl;
 import com.arangodb.internal.net.FallbackHostHandler;
+import com.arangodb.internal.net.HealthCheckHostHandler;
+import com.arangodb.internal.net.HealthCheckHostHandler.HostProbe;
 import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.HostHandle;
 import com.arangodb.internal.net.HostHandler;
 import com.arangodb.internal.net.HostImpl;
 import com.arangodb.internal.net.HostResolver;
 import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.LeastInFlightHostHandler;
+import com.arangodb.internal.net.PeakEwmaHostHandler;
 import com.arangodb.internal.net.RandomHostHandler;
 import com.arangodb.internal.net.RoundRobinHostHandler;
 
@@ -145,4 +160,208 @@ public class HostHandlerTest {
 		assertThat(pick4, is(pick0));
 	}
 
+	@Test
+	public void leastInFlightHostHandlerSingleHost() {
+		final HostHandler handler = new LeastInFlightHostHandler(SINGLE_HOST);
+		assertThat(handler.get(null, null), is(HOST_0));
+		handler.fail();
+		assertThat(handler.get(null, null), is(HOST_0));
+	}
+
+	@Test
+	public void leastInFlightHostHandlerMultipleHosts() {
+		final HostHandler handler = new LeastInFlightHostHandler(MULTIPLE_HOSTS);
+		final Host pick0 = handler.get(null, null);
+		final Host pick1 = handler.get(null, null);
+		final Host pick2 = handler.get(null, null);
+		assertThat(pick1, is(not(pick0)));
+		assertThat(pick2, not(anyOf(is(pick0), is(pick1))));
+		HOST_0.requestStarted();
+		HOST_0.requestStarted();
+		HOST_2.requestStarted();
+		try {
+			for (int i = 0; i < 3; i++) {
+				assertThat(handler.get(null, null), is(HOST_1));
+			}
+			HOST_1.requestStarted();
+			HOST_1.requestStarted();
+			for (int i = 0; i < 3; i++) {
+				assertThat(handler.get(null, null), is(HOST_2));
+			}
+			handler.fail();
+			final Host fallback0 = handler.get(null, null);
+			handler.fail();
+			final Host fallback1 = handler.get(null, null);
+			assertThat(fallback1, is(not(fallback0)));
+		} finally {
+			HOST_0.requestCompleted(System.nanoTime(), false);
+			HOST_0.requestCompleted(System.nanoTime(), false);
+			HOST_1.requestCompleted(System.nanoTime(), false);
+			HOST_1.requestCompleted(System.nanoTime(), false);
+			HOST_2.requestCompleted(System.nanoTime(), false);
+		}
+	}
+
+	@Test
+	public void leastInFlightHostHandlerNoHost() {
+		final HostHandler handler = new LeastInFlightHostHandler(hosts());
+		assertThat(handler.get(null, null), is(nullValue()));
+		final HostHandle hostHandle = new HostHandle();
+		assertThat(handler.get(hostHandle, null), is(nullValue()));
+		assertThat(hostHandle.getHost(), is(nullValue()));
+	}
+
+	@Test
+	public void peakEwmaHostHandlerSingleHost() {
+		final HostHandler handler = new PeakEwmaHostHandler(SINGLE_HOST);
+		assertThat(handler.get(null, null), is(HOST_0));
+		handler.fail();
+		assertThat(handler.get(null, null), is(HOST_0));
+	}
+
+	@Test
+	public void peakEwmaHostHandlerNoHost() {
+		final HostHandler handler = new PeakEwmaHostHandler(hosts());
+		assertThat(handler.get(null, null), is(nullValue()));
+		final HostHandle hostHandle = new HostHandle();
+		assertThat(handler.get(hostHandle, null), is(nullValue()));
+		assertThat(hostHandle.getHost(), is(nullValue()));
+	}
+
+	@Test
+	public void peakEwmaHostHandlerMultipleHosts() {
+		final Host fast0 = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+		final Host fast1 = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+		final Host slow = new HostImpl(null, new HostDescription("127.0.0.3", 8529));
+		slow.requestStarted();
+		slow.requestCompleted(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(500), false);
+		assertThat(slow.getLatency(), is(greaterThan((double) TimeUnit.MILLISECONDS.toNanos(400))));
+		assertThat(slow.getScore(), is(greaterThan(fast0.getScore())));
+		final HostHandler handler = new PeakEwmaHostHandler(new HostResolver() {
+			@Override
+			public List<Host> resolve(final boolean initial, final boolean closeConnections) {
+				final ArrayList<Host> hosts = new ArrayList<Host>();
+				hosts.add(fast0);
+				hosts.add(slow);
+				hosts.add(fast1);
+				return hosts;
+			}
+
+			@Override
+			public void init(final EndpointResolver resolver) {
+			}
+		});
+		for (int i = 0; i < 100; i++) {
+			assertThat(handler.get(null, null), is(not(slow)));
+		}
+		handler.fail();
+		final Host fallback0 = handler.get(null, null);
+		handler.fail();
+		final Host fallback1 = handler.get(null, null);
+		assertThat(fallback1, is(not(fallback0)));
+	}
+
+	@Test
+	public void peakEwmaHostHandlerFastFailingHost() {
+		final Host healthy = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+		final Host failing = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+		for (int i = 0; i < 10; i++) {
+			healthy.requestCompleted(healthy.requestStarted() - TimeUnit.MILLISECONDS.toNanos(20), false);
+			failing.requestCompleted(failing.requestStarted(), true);
+		}
+		assertThat(failing.getScore(), is(greaterThan(healthy.getScore())));
+		assertThat(failing.getLatency(0.5), is(-1L));
+		final HostHandler handler = new PeakEwmaHostHandler(hosts(failing, healthy));
+		for (int i = 0; i < 100; i++) {
+			assertThat(handler.get(null, null), is(healthy));
+		}
+	}
+
+	private static HostResolver hosts(final Host... hosts) {
+		return new HostResolver() {
+			@Override
+			public List<Host> resolve(final boolean initial, final boolean closeConnections) {
+				return Arrays.asList(hosts);
+			}
+
+			@Override
+			public void init(final EndpointResolver resolver) {
+			}
+		};
+	}
+
+	@Test
+	public void healthCheckHostHandlerSkipsUnavailableHosts() {
+		final Host host0 = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+		final Host host1 = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+		final Host host2 = new HostImpl(null, new HostDescription("127.0.0.3", 8529));
+		final HostResolver resolver = hosts(host0, host1, host2);
+		final HostHandler handler = new HealthCheckHostHandler(new RoundRobinHostHandler(resolver), resolver, 1000, 2);
+		host1.setAvailable(false);
+		for (int i = 0; i < 6; i++) {
+			assertThat(handler.get(null, null), is(not(host1)));
+		}
+		final HostHandle unbound = new HostHandle();
+		assertThat(handler.get(unbound, null), is(not(host1)));
+		assertThat(unbound.getHost(), is(not(host1.getDescription())));
+		final HostHandle bound = new HostHandle().setHost(host1.getDescription());
+		assertThat(handler.get(bound, null), is(host1));
+		host0.setAvailable(false);
+		host2.setAvailable(false);
+		assertThat(handler.get(null, null), is(notNullValue()));
+	}
+
+	@Test
+	public void healthCheckHostHandlerCircuitBreaker() {
+		final Host host0 = new HostImpl(null, new HostDescription("127.0.0.1", 8529));
+		final Host host1 = new HostImpl(null, new HostDescription("127.0.0.2", 8529));
+		final HostResolver resolver = hosts(host0, host1);
+		final HealthCheckHostHandler handler = new HealthCheckHostHandler(new RoundRobinHostHandler(resolver),
+				resolver, 60000, 2);
+		final Set<Host> down = new HashSet<Host>();
+		handler.init(new HostProbe() {
+			@Override
+			public void probe(final Host host) throws ArangoDBException {
+				if (down.contains(host)) {
+					throw new ArangoDBException("down");
+				}
+			}
+		});
+		down.add(host1);
+		handler.checkHosts();
+		assertThat(host1.isAvailable(), is(true));
+		handler.checkHosts();
+		assertThat(host1.isAvailable(), is(false));
+		assertThat(host0.isAvailable(), is(true));
+		down.clear();
+		handler.checkHosts();
+		assertThat(host1.isAvailable(), is(true));
+	}
+
+	@Test
+	public void healthCheckHostHandlerStopsProbingAfterClose() throws Exception {
+		final HostDescription description = new HostDescription("127.0.0.1", 8529);
+		final Host host = new HostImpl(new ConnectionPoolImpl(description, 1, null), description);
+		final HostResolver resolver = hosts(host);
+		final HealthCheckHostHandler handler = new HealthCheckHostHandler(new RoundRobinHostHandler(resolver),
+				resolver, 1, 1);
+		final AtomicInteger probes = new AtomicInteger();
+		final CountDownLatch probed = new CountDownLatch(1);
+		handler.init(new HostProbe() {
+			@Override
+			public void probe(final Host host) throws ArangoDBException {
+				probes.incrementAndGet();
+				probed.countDown();
+			}
+		});
+		assertThat(handler.get(null, null), is(host));
+		assertThat(probed.await(5, TimeUnit.SECONDS), is(true));
+		handler.close();
+		Thread.sleep(20);
+		final int count = probes.get();
+		assertThat(handler.get(null, null), is(host));
+		Thread.sleep(50);
+		assertThat(probes.get(), is(count));
+	}
+
 }
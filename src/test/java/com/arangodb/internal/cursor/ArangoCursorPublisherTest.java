@@ -0,0 +1,215 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.cursor;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.arangodb.ArangoCursor;
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.entity.CursorEntity;
+import com.arangodb.internal.ArangoCursorExecute;
+import com.arangodb.internal.InternalArangoDatabase;
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ArangoCursorPublisherTest {
+
+	private static class Execute implements ArangoCursorExecute {
+		private final List<ArangoFuture<CursorEntity>> fetches = new ArrayList<ArangoFuture<CursorEntity>>();
+		private final List<String> closed = new ArrayList<String>();
+
+		@Override
+		public CursorEntity next(final String id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close(final String id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public ArangoFuture<CursorEntity> nextAsync(final String id) {
+			final ArangoFuture<CursorEntity> future = new ArangoFuture<CursorEntity>();
+			fetches.add(future);
+			return future;
+		}
+
+		@Override
+		public ArangoFuture<Void> closeAsync(final String id) {
+			closed.add(id);
+			return ArangoFuture.completed(null);
+		}
+	}
+
+	private static class RecordingSubscriber implements Subscriber<Long> {
+		private final List<Long> values = new ArrayList<Long>();
+		private Subscription subscription;
+		private boolean completed;
+		private Throwable error;
+
+		@Override
+		public void onSubscribe(final Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(final Long value) {
+			values.add(value);
+		}
+
+		@Override
+		public void onError(final Throwable error) {
+			this.error = error;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+
+	private static CursorEntity batch(final boolean hasMore, final String values) {
+		final VPackSlice slice = new VPackParser.Builder().build()
+				.fromJson("{\"id\":\"1\",\"hasMore\":" + hasMore + ",\"result\":" + values + "}");
+		return new VPack.Builder().build().deserialize(slice, CursorEntity.class);
+	}
+
+	private static ArangoCursor<Long> cursor(final Execute execute, final CursorEntity result) {
+		return new ArangoCursorImpl<Long>(null, execute, Long.class, result) {
+			@Override
+			protected ArangoCursorIterator<Long> createIterator(
+				final ArangoCursor<Long> cursor,
+				final InternalArangoDatabase<?, ?> db,
+				final ArangoCursorExecute execute,
+				final CursorEntity result) {
+				return new ArangoCursorIterator<Long>(cursor, execute, db, result) {
+					@Override
+					protected <R> R deserialize(final VPackSlice result, final Class<R> type) {
+						return type.cast(result.getAsLong());
+					}
+				};
+			}
+		};
+	}
+
+	@Test
+	public void fetchOnDemand() {
+		final Execute execute = new Execute();
+		final RecordingSubscriber subscriber = new RecordingSubscriber();
+		cursor(execute, batch(true, "[1,2]")).publisher().subscribe(subscriber);
+		subscriber.subscription.request(1);
+		assertThat(subscriber.values, contains(1L));
+		assertThat(execute.fetches.size(), is(0));
+		subscriber.subscription.request(1);
+		assertThat(subscriber.values, contains(1L, 2L));
+		assertThat(execute.fetches.size(), is(0));
+		subscriber.subscription.request(5);
+		assertThat(execute.fetches.size(), is(1));
+		execute.fetches.get(0).complete(batch(false, "[3]"));
+		assertThat(subscriber.values, contains(1L, 2L, 3L));
+		assertThat(subscriber.completed, is(true));
+		assertThat(execute.closed.isEmpty(), is(true));
+	}
+
+	@Test
+	public void completeWithoutDemand() {
+		final RecordingSubscriber subscriber = new RecordingSubscriber();
+		cursor(new Execute(), batch(false, "[]")).publisher().subscribe(subscriber);
+		assertThat(subscriber.completed, is(true));
+	}
+
+	@Test
+	public void cancel() {
+		final Execute execute = new Execute();
+		final RecordingSubscriber subscriber = new RecordingSubscriber();
+		cursor(execute, batch(true, "[1,2]")).publisher().subscribe(subscriber);
+		subscriber.subscription.request(1);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(1);
+		assertThat(subscriber.values, contains(1L));
+		assertThat(execute.closed, contains("1"));
+		assertThat(subscriber.completed, is(false));
+		assertThat(subscriber.error, is(nullValue()));
+	}
+
+	@Test
+	public void cancelWhileFetching() {
+		final Execute execute = new Execute();
+		final RecordingSubscriber subscriber = new RecordingSubscriber();
+		cursor(execute, batch(true, "[1]")).publisher().subscribe(subscriber);
+		subscriber.subscription.request(2);
+		subscriber.subscription.cancel();
+		assertThat(execute.closed.isEmpty(), is(true));
+		execute.fetches.get(0).complete(batch(true, "[2]"));
+		assertThat(subscriber.values, contains(1L));
+		assertThat(execute.closed, contains("1"));
+	}
+
+	@Test
+	public void fetchFailure() {
+		final Execute execute = new Execute();
+		final RecordingSubscriber subscriber = new RecordingSubscriber();
+		cursor(execute, batch(true, "[1]")).publisher().subscribe(subscriber);
+		subscriber.subscription.request(2);
+		execute.fetches.get(0).completeExceptionally(new ArangoDBException("failed"));
+		assertThat(subscriber.values, contains(1L));
+		assertThat(subscriber.error, is(instanceOf(ArangoDBException.class)));
+	}
+
+	@Test
+	public void nonPositiveRequest() {
+		final Execute execute = new Execute();
+		final RecordingSubscriber subscriber = new RecordingSubscriber();
+		cursor(execute, batch(true, "[1]")).publisher().subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertThat(subscriber.error, is(instanceOf(IllegalArgumentException.class)));
+		assertThat(execute.closed, contains("1"));
+	}
+
+	@Test
+	public void subscribeOnce() {
+		final Publisher<Long> publisher = cursor(new Execute(), batch(false, "[1]")).publisher();
+		publisher.subscribe(new RecordingSubscriber());
+		final RecordingSubscriber second = new RecordingSubscriber();
+		publisher.subscribe(second);
+		assertThat(second.error, is(instanceOf(IllegalStateException.class)));
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class HpackTest {
+
+	private static ByteBuffer hex(final String hex) {
+		final byte[] bytes = new byte[hex.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+		}
+		return ByteBuffer.wrap(bytes);
+	}
+
+	private static Map<String, String> decode(final HpackDecoder decoder, final ByteBuffer block) throws IOException {
+		final Map<String, String> headers = new HashMap<String, String>();
+		decoder.decode(block, headers);
+		return headers;
+	}
+
+	@Test
+	public void decodeHuffmanRequests() throws IOException {
+		// RFC 7541, C.4
+		final HpackDecoder decoder = new HpackDecoder();
+		final Map<String, String> first = decode(decoder, hex("828684418cf1e3c2e5f23a6ba0ab90f4ff"));
+		assertThat(first.get(":method"), is("GET"));
+		assertThat(first.get(":scheme"), is("http"));
+		assertThat(first.get(":path"), is("/"));
+		assertThat(first.get(":authority"), is("www.example.com"));
+		final Map<String, String> second = decode(decoder, hex("828684be5886a8eb10649cbf"));
+		assertThat(second.get(":authority"), is("www.example.com"));
+		assertThat(second.get("cache-control"), is("no-cache"));
+	}
+
+	@Test
+	public void decodeHuffmanResponse() throws IOException {
+		// RFC 7541, C.6.1
+		final Map<String, String> headers = decode(new HpackDecoder(),
+			hex("488264025885aec3771a4b6196d07abe941054d444a8200595040b8166e082a62d1bff6e919d29ad171863c78f0b97c8e9ae82ae43d3"));
+		assertThat(headers.get(":status"), is("302"));
+		assertThat(headers.get("cache-control"), is("private"));
+		assertThat(headers.get("date"), is("Mon, 21 Oct 2013 20:13:21 GMT"));
+		assertThat(headers.get("location"), is("https://www.example.com"));
+	}
+
+	@Test(expected = IOException.class)
+	public void invalidIndex() throws IOException {
+		decode(new HpackDecoder(), hex("be"));
+	}
+
+	@Test
+	public void repeatedHeadersAreIndexed() throws IOException {
+		final HpackEncoder encoder = new HpackEncoder();
+		final HpackDecoder decoder = new HpackDecoder();
+		final List<String> headers = Arrays.asList(":method", "GET", ":scheme", "http", ":authority",
+			"127.0.0.1:8529", ":path", "/_api/version", "user-agent", "ArangoDB-JavaDriver", "authorization",
+			"Basic cm9vdDo=", "x-arango-allow-dirty-read", "true");
+		final byte[] first = encoder.encode(headers);
+		final byte[] second = encoder.encode(headers);
+		// five indexed fields of one byte, :path and the custom header as literals
+		assertThat(second.length, is(5 + 15 + 32));
+		assertThat(first.length, is(second.length + 50));
+		for (final byte[] block : Arrays.asList(first, second)) {
+			final Map<String, String> decoded = decode(decoder, ByteBuffer.wrap(block));
+			assertThat(decoded.size(), is(7));
+			assertThat(decoded.get(":authority"), is("127.0.0.1:8529"));
+			assertThat(decoded.get("authorization"), is("Basic cm9vdDo="));
+			assertThat(decoded.get("x-arango-allow-dirty-read"), is("true"));
+		}
+	}
+
+	@Test
+	public void tableSizeUpdate() throws IOException {
+		final HpackEncoder encoder = new HpackEncoder();
+		final HpackDecoder decoder = new HpackDecoder();
+		final List<String> headers = Arrays.asList("user-agent", "ArangoDB-JavaDriver");
+		decode(decoder, ByteBuffer.wrap(encoder.encode(headers)));
+		encoder.setMaxTableSize(0);
+		final byte[] block = encoder.encode(headers);
+		assertThat(block[0], is((byte) 0x20));
+		assertThat(decode(decoder, ByteBuffer.wrap(block)).get("user-agent"), is("ArangoDB-JavaDriver"));
+	}
+
+}
@@ -0,0 +1,358 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.arangodb.ArangoFuture;
+import com.arangodb.Protocol;
+import com.arangodb.internal.http.HttpLoopbackServer.Peer;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+import com.arangodb.velocystream.Response;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class Http2ConnectionTest {
+
+	private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes();
+	private static final int DEFAULT_WINDOW_SIZE = 65535;
+	private static final int MAX_FRAME_SIZE = 16384;
+
+	private static final int TYPE_DATA = 0x0;
+	private static final int TYPE_HEADERS = 0x1;
+	private static final int TYPE_RST_STREAM = 0x3;
+	private static final int TYPE_SETTINGS = 0x4;
+	private static final int TYPE_PING = 0x6;
+	private static final int TYPE_GOAWAY = 0x7;
+	private static final int TYPE_WINDOW_UPDATE = 0x8;
+	private static final int TYPE_CONTINUATION = 0x9;
+
+	private static final int FLAG_END_STREAM = 0x1;
+	private static final int FLAG_ACK = 0x1;
+	private static final int FLAG_END_HEADERS = 0x4;
+
+	private static final int SETTINGS_INITIAL_WINDOW_SIZE = 0x4;
+	private static final int ERROR_REFUSED_STREAM = 0x7;
+
+	private HttpLoopbackServer server;
+	private ScheduledThreadPoolExecutor deadlines;
+	private Http2Connection connection;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new HttpLoopbackServer();
+		deadlines = new ScheduledThreadPoolExecutor(1);
+		connection = new Http2Connection(server.getHost(), 5000, null, null, null, Protocol.HTTP_JSON, null, 1,
+				new VstEventLoopGroup(1), deadlines);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		connection.close();
+		server.close();
+		deadlines.shutdownNow();
+	}
+
+	private static class Frame {
+		private final int type;
+		private final int flags;
+		private final int streamId;
+		private final byte[] payload;
+
+		private Frame(final int type, final int flags, final int streamId, final byte[] payload) {
+			super();
+			this.type = type;
+			this.flags = flags;
+			this.streamId = streamId;
+			this.payload = payload;
+		}
+	}
+
+	/**
+	 * A HTTP/2 connection accepted by the server, whose header blocks are encoded with a table of their own
+	 */
+	private static class H2Peer {
+		private final Peer peer;
+		private final HpackEncoder encoder;
+		private final HpackDecoder decoder;
+
+		private H2Peer(final Peer peer) throws InterruptedException {
+			super();
+			this.peer = peer;
+			encoder = new HpackEncoder();
+			decoder = new HpackDecoder();
+			assertThat(peer.read(PREFACE.length), is(PREFACE));
+		}
+	}
+
+	private H2Peer accept() throws InterruptedException {
+		return new H2Peer(server.accept());
+	}
+
+	private static Frame readFrame(final H2Peer h2) throws InterruptedException {
+		final ByteBuffer header = ByteBuffer.wrap(h2.peer.read(9));
+		final int length = ((header.get() & 0xff) << 16) | ((header.get() & 0xff) << 8) | (header.get() & 0xff);
+		final int type = header.get() & 0xff;
+		final int flags = header.get() & 0xff;
+		final int streamId = header.getInt() & 0x7fffffff;
+		return new Frame(type, flags, streamId, h2.peer.read(length));
+	}
+
+	/**
+	 * Reads the next frame of the given type and skips the frames of the connection in between
+	 */
+	private static Frame readFrame(final H2Peer h2, final int type) throws InterruptedException {
+		while (true) {
+			final Frame frame = readFrame(h2);
+			if (frame.type == type) {
+				return frame;
+			}
+			assertThat(frame.type == TYPE_SETTINGS || frame.type == TYPE_WINDOW_UPDATE || frame.type == TYPE_PING,
+				is(true));
+		}
+	}
+
+	private static Map<String, String> readHeaders(final H2Peer h2) throws Exception {
+		final Frame frame = readFrame(h2, TYPE_HEADERS);
+		assertThat(frame.flags & FLAG_END_HEADERS, is(FLAG_END_HEADERS));
+		final Map<String, String> fields = new HashMap<String, String>();
+		h2.decoder.decode(ByteBuffer.wrap(frame.payload), fields);
+		fields.put("stream", String.valueOf(frame.streamId));
+		return fields;
+	}
+
+	/**
+	 * Reads DATA frames of the given stream up to the given number of bytes, which end the stream or not
+	 */
+	private static byte[] readData(final H2Peer h2, final int streamId, final int length, final boolean end)
+			throws Exception {
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		while (data.size() < length) {
+			final Frame frame = readFrame(h2, TYPE_DATA);
+			assertThat(frame.streamId, is(streamId));
+			assertThat(frame.payload.length, is(lessThanOrEqualTo(MAX_FRAME_SIZE)));
+			data.write(frame.payload);
+			assertThat((frame.flags & FLAG_END_STREAM) != 0, is(end && data.size() == length));
+		}
+		assertThat(data.size(), is(length));
+		return data.toByteArray();
+	}
+
+	private static byte[] frame(final int type, final int flags, final int streamId, final byte[] payload) {
+		final ByteBuffer frame = ByteBuffer.allocate(9 + payload.length);
+		frame.put((byte) (payload.length >>> 16)).put((byte) (payload.length >>> 8)).put((byte) payload.length);
+		frame.put((byte) type).put((byte) flags).putInt(streamId).put(payload);
+		return frame.array();
+	}
+
+	private static void writeFrame(final H2Peer h2, final int type, final int flags, final int streamId,
+		final byte[] payload) throws Exception {
+		h2.peer.write(frame(type, flags, streamId, payload));
+	}
+
+	private static byte[] ints(final int... values) {
+		final ByteBuffer buffer = ByteBuffer.allocate(values.length * 4);
+		for (final int value : values) {
+			buffer.putInt(value);
+		}
+		return buffer.array();
+	}
+
+	private static void respond(final H2Peer h2, final int streamId, final String content) throws Exception {
+		final byte[] block = h2.encoder.encode(Arrays.asList(":status", "200", "content-type", "application/json"));
+		final byte[] body = content.getBytes("UTF-8");
+		writeFrame(h2, TYPE_HEADERS, FLAG_END_HEADERS, streamId, block);
+		writeFrame(h2, TYPE_DATA, FLAG_END_STREAM, streamId, body);
+	}
+
+	private static VPackSlice value(final int size) {
+		final char[] chars = new char[size];
+		Arrays.fill(chars, 'x');
+		final VPackBuilder builder = new VPackBuilder();
+		builder.add(ValueType.OBJECT);
+		builder.add("a", new String(chars));
+		builder.close();
+		return builder.slice();
+	}
+
+	private static String json(final int size) {
+		final char[] chars = new char[size];
+		Arrays.fill(chars, 'x');
+		return "{\"a\":\"" + new String(chars) + "\"}";
+	}
+
+	private static Response get(final ArangoFuture<Response> future) throws Exception {
+		return future.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void requestBodyAndResponseSpanningFrames() throws Exception {
+		final ArangoFuture<Response> future = connection
+				.executeAsync(new Request("_system", RequestType.POST, "/_api/document/c").setBody(value(40000)));
+		final H2Peer h2 = accept();
+		final Map<String, String> headers = readHeaders(h2);
+		assertThat(headers.get("stream"), is("1"));
+		assertThat(headers.get(":method"), is("POST"));
+		assertThat(headers.get(":path"), is("/_db/_system/_api/document/c"));
+		assertThat(headers.get("content-length"), is(String.valueOf(json(40000).length())));
+		assertThat(new String(readData(h2, 1, json(40000).length(), true), "UTF-8"), is(json(40000)));
+
+		writeFrame(h2, TYPE_PING, 0, 0, ints(1, 2));
+		final Frame ping = readFrame(h2, TYPE_PING);
+		assertThat(ping.flags, is(FLAG_ACK));
+		assertThat(ping.payload, is(ints(1, 2)));
+
+		// header block continued in a second frame, body in two frames, written in arbitrary parts
+		final byte[] block = h2.encoder.encode(Arrays.asList(":status", "200", "content-type", "application/json",
+			"x-arango-queue-time-seconds", "0.5"));
+		final String content = json(20000);
+		final ByteArrayOutputStream response = new ByteArrayOutputStream();
+		response.write(frame(TYPE_HEADERS, 0, 1, Arrays.copyOfRange(block, 0, 5)));
+		response.write(frame(TYPE_CONTINUATION, FLAG_END_HEADERS, 1, Arrays.copyOfRange(block, 5, block.length)));
+		response.write(frame(TYPE_DATA, 0, 1, content.substring(0, 12345).getBytes("UTF-8")));
+		response.write(frame(TYPE_DATA, FLAG_END_STREAM, 1, content.substring(12345).getBytes("UTF-8")));
+		h2.peer.write(response.toByteArray(), 1, 5, 9, 12, 30, 100, 5000, 12370, 12400);
+		final Response result = get(future);
+		assertThat(result.getResponseCode(), is(200));
+		assertThat(result.getMeta().get("X-Arango-Queue-Time-Seconds"), is("0.5"));
+		assertThat(result.getBody().get("a").getAsString().length(), is(20000));
+	}
+
+	@Test
+	public void flowControl() throws Exception {
+		final int length = json(150000).length();
+		final ArangoFuture<Response> future = connection
+				.executeAsync(new Request("_system", RequestType.POST, "/_api/document/c").setBody(value(150000)));
+		final H2Peer h2 = accept();
+		readHeaders(h2);
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		// the windows of the connection and of the stream are exhausted
+		body.write(readData(h2, 1, DEFAULT_WINDOW_SIZE, false));
+		Thread.sleep(100);
+		assertThat(h2.peer.available(), is(0));
+
+		writeFrame(h2, TYPE_WINDOW_UPDATE, 0, 0, ints(200000));
+		Thread.sleep(100);
+		assertThat(h2.peer.available(), is(0));
+
+		// a larger initial window applies to the open stream as well
+		final ByteBuffer settings = ByteBuffer.allocate(6);
+		settings.putShort((short) SETTINGS_INITIAL_WINDOW_SIZE).putInt(DEFAULT_WINDOW_SIZE + 20000);
+		writeFrame(h2, TYPE_SETTINGS, 0, 0, settings.array());
+		body.write(readData(h2, 1, 20000, false));
+		Thread.sleep(100);
+		assertThat(h2.peer.available(), is(0));
+
+		writeFrame(h2, TYPE_WINDOW_UPDATE, 0, 1, ints(100000));
+		body.write(readData(h2, 1, length - DEFAULT_WINDOW_SIZE - 20000, true));
+		assertThat(new String(body.toByteArray(), "UTF-8"), is(json(150000)));
+		respond(h2, 1, "{}");
+		assertThat(get(future).getResponseCode(), is(200));
+	}
+
+	@Test
+	public void retryRefusedStream() throws Exception {
+		final ArangoFuture<Response> future = connection
+				.executeAsync(new Request("_system", RequestType.GET, "/_api/version"));
+		final H2Peer h2 = accept();
+		assertThat(readHeaders(h2).get("stream"), is("1"));
+		writeFrame(h2, TYPE_RST_STREAM, 0, 1, ints(ERROR_REFUSED_STREAM));
+		final Map<String, String> retried = readHeaders(h2);
+		assertThat(retried.get("stream"), is("3"));
+		assertThat(retried.get(":path"), is("/_db/_system/_api/version"));
+		respond(h2, 3, "{\"a\":\"b\"}");
+		assertThat(get(future).getBody().get("a").getAsString(), is("b"));
+		assertThat(server.isAccepted(100), is(false));
+	}
+
+	@Test
+	public void retryStreamsAfterGoAway() throws Exception {
+		final ArangoFuture<Response> first = connection
+				.executeAsync(new Request("_system", RequestType.GET, "/_api/version"));
+		final ArangoFuture<Response> second = connection
+				.executeAsync(new Request("_system", RequestType.POST, "/_api/document/c").setBody(value(10)));
+		final H2Peer h2 = accept();
+		assertThat(readHeaders(h2).get("stream"), is("1"));
+		assertThat(readHeaders(h2).get("stream"), is("3"));
+		// the server did not process the second stream, which is sent again over a new socket
+		writeFrame(h2, TYPE_GOAWAY, 0, 0, ints(1, 0));
+		respond(h2, 1, "{\"a\":\"1\"}");
+		assertThat(get(first).getBody().get("a").getAsString(), is("1"));
+		h2.peer.awaitClosedByClient();
+
+		final H2Peer next = accept();
+		final Map<String, String> retried = readHeaders(next);
+		assertThat(retried.get("stream"), is("1"));
+		assertThat(retried.get(":method"), is("POST"));
+		readData(next, 1, json(10).length(), true);
+		respond(next, 1, "{\"a\":\"2\"}");
+		assertThat(get(second).getBody().get("a").getAsString(), is("2"));
+	}
+
+	@Test
+	public void closeConnectionOnFrameOfInvalidLength() throws Exception {
+		final byte[][] frames = { frame(TYPE_RST_STREAM, 0, 1, new byte[2]),
+				frame(TYPE_GOAWAY, 0, 0, new byte[4]), frame(TYPE_WINDOW_UPDATE, 0, 1, new byte[2]) };
+		for (final byte[] invalid : frames) {
+			final ArangoFuture<Response> future = connection
+					.executeAsync(new Request("_system", RequestType.POST, "/_api/document/c").setBody(value(10)));
+			final H2Peer h2 = accept();
+			readHeaders(h2);
+			h2.peer.write(invalid);
+			try {
+				get(future);
+				fail();
+			} catch (final ExecutionException e) {
+				assertThat(e.getCause(), is(instanceOf(IOException.class)));
+				assertThat(e.getCause().getMessage(), containsString("invalid length"));
+			}
+			h2.peer.awaitClosedByClient();
+		}
+		assertThat(connection.getInFlight(), is(0));
+	}
+
+}
@@ -0,0 +1,236 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.arangodb.internal.net.HostDescription;
+
+/**
+ * HTTP server on the loopback interface for transport tests. Every accepted socket is handed to the test as a
+ * {@link Peer}, which reads what the client sent and writes scripted bytes, split at arbitrary positions.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+class HttpLoopbackServer {
+
+	private static final long TIMEOUT = 5000L;
+
+	private final ServerSocketChannel serverChannel;
+	private final BlockingQueue<Peer> peers;
+
+	HttpLoopbackServer() throws IOException {
+		super();
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.socket().bind(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0));
+		peers = new LinkedBlockingQueue<Peer>();
+		final Thread acceptor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				serve();
+			}
+		}, "http-loopback-server");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	HostDescription getHost() {
+		return new HostDescription("127.0.0.1", serverChannel.socket().getLocalPort());
+	}
+
+	private void serve() {
+		while (serverChannel.isOpen()) {
+			try {
+				final SocketChannel channel = serverChannel.accept();
+				channel.socket().setTcpNoDelay(true);
+				peers.add(new Peer(channel));
+			} catch (final IOException e) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Waits for the next accepted connection
+	 */
+	Peer accept() throws InterruptedException {
+		final Peer peer = peers.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+		if (peer == null) {
+			throw new AssertionError("No connection accepted");
+		}
+		return peer;
+	}
+
+	/**
+	 * @return whether or not a further connection is accepted within the given time
+	 */
+	boolean isAccepted(final long millis) throws InterruptedException {
+		final Peer peer = peers.poll(millis, TimeUnit.MILLISECONDS);
+		if (peer != null) {
+			peers.add(peer);
+			return true;
+		}
+		return false;
+	}
+
+	void close() throws IOException {
+		serverChannel.close();
+		for (final Peer peer : peers) {
+			peer.close();
+		}
+	}
+
+	/**
+	 * A connection accepted by the server. The bytes sent by the client are buffered by a thread of their own.
+	 */
+	static class Peer {
+
+		private final SocketChannel channel;
+		private final ByteArrayOutputStream received;
+		private int position;
+		private boolean closedByClient;
+
+		private Peer(final SocketChannel channel) {
+			super();
+			this.channel = channel;
+			received = new ByteArrayOutputStream();
+			final Thread reader = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					read();
+				}
+			}, "http-loopback-peer");
+			reader.setDaemon(true);
+			reader.start();
+		}
+
+		private void read() {
+			final ByteBuffer buffer = ByteBuffer.allocate(8192);
+			try {
+				while (channel.read(buffer) != -1) {
+					synchronized (this) {
+						received.write(buffer.array(), 0, buffer.position());
+						notifyAll();
+					}
+					buffer.clear();
+				}
+			} catch (final IOException e) {
+			}
+			synchronized (this) {
+				closedByClient = true;
+				notifyAll();
+			}
+		}
+
+		/**
+		 * @return the number of received bytes which were not read yet
+		 */
+		synchronized int available() {
+			return received.size() - position;
+		}
+
+		/**
+		 * Waits for the given number of bytes and consumes them
+		 */
+		synchronized byte[] read(final int length) throws InterruptedException {
+			final long end = System.currentTimeMillis() + TIMEOUT;
+			while (available() < length && !closedByClient && System.currentTimeMillis() < end) {
+				wait(end - System.currentTimeMillis());
+			}
+			if (available() < length) {
+				throw new AssertionError(String.format("%s of %s bytes received", available(), length));
+			}
+			final byte[] bytes = Arrays.copyOfRange(received.toByteArray(), position, position + length);
+			position += length;
+			return bytes;
+		}
+
+		/**
+		 * Waits for the head of a HTTP/1.1 request and consumes it
+		 */
+		synchronized String readHead() throws InterruptedException {
+			final long end = System.currentTimeMillis() + TIMEOUT;
+			while (System.currentTimeMillis() < end) {
+				final String data = new String(received.toByteArray(), position, available());
+				final int index = data.indexOf("\r\n\r\n");
+				if (index >= 0) {
+					position += index + 4;
+					return data.substring(0, index + 4);
+				}
+				if (closedByClient) {
+					break;
+				}
+				wait(end - System.currentTimeMillis());
+			}
+			throw new AssertionError("No request head received");
+		}
+
+		/**
+		 * Waits until the client closed the connection
+		 */
+		synchronized void awaitClosedByClient() throws InterruptedException {
+			final long end = System.currentTimeMillis() + TIMEOUT;
+			while (!closedByClient && System.currentTimeMillis() < end) {
+				wait(end - System.currentTimeMillis());
+			}
+			if (!closedByClient) {
+				throw new AssertionError("The connection was not closed by the client");
+			}
+		}
+
+		/**
+		 * Writes the given bytes. Each part ends at one of the given positions and is written separately, so that the
+		 * client reads it on its own.
+		 */
+		void write(final byte[] data, final int... splits) throws IOException, InterruptedException {
+			int offset = 0;
+			for (final int split : splits) {
+				write(ByteBuffer.wrap(data, offset, split - offset));
+				offset = split;
+				Thread.sleep(5L);
+			}
+			write(ByteBuffer.wrap(data, offset, data.length - offset));
+		}
+
+		private void write(final ByteBuffer buffer) throws IOException {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+
+		void close() throws IOException {
+			channel.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.arangodb.ArangoFuture;
+import com.arangodb.Protocol;
+import com.arangodb.internal.http.HttpLoopbackServer.Peer;
+import com.arangodb.internal.velocystream.internal.VstEventLoopGroup;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+import com.arangodb.velocystream.Response;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class HttpNioConnectionTest {
+
+	private HttpLoopbackServer server;
+	private ScheduledThreadPoolExecutor deadlines;
+	private HttpNioConnection connection;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new HttpLoopbackServer();
+		deadlines = new ScheduledThreadPoolExecutor(1);
+		connection = new HttpNioConnection(server.getHost(), 5000, null, null, null, Protocol.HTTP_JSON, null, 1,
+				new VstEventLoopGroup(1), deadlines);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		connection.close();
+		server.close();
+		deadlines.shutdownNow();
+	}
+
+	private static VPackSlice value(final int size) {
+		final char[] chars = new char[size];
+		Arrays.fill(chars, 'x');
+		final VPackBuilder builder = new VPackBuilder();
+		builder.add(ValueType.OBJECT);
+		builder.add("a", new String(chars));
+		builder.close();
+		return builder.slice();
+	}
+
+	private static String json(final int size) {
+		final char[] chars = new char[size];
+		Arrays.fill(chars, 'x');
+		return "{\"a\":\"" + new String(chars) + "\"}";
+	}
+
+	private static byte[] response(final String content) {
+		return ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + content.length()
+				+ "\r\n\r\n" + content).getBytes();
+	}
+
+	private static int contentLength(final String head) {
+		final int index = head.indexOf("Content-Length: ");
+		return Integer.parseInt(head.substring(index + 16, head.indexOf("\r\n", index)));
+	}
+
+	private static Response get(final ArangoFuture<Response> future) throws Exception {
+		return future.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void requestAndResponseSplitAtArbitraryPositions() throws Exception {
+		final ArangoFuture<Response> future = connection
+				.executeAsync(new Request("_system", RequestType.POST, "/_api/document/c").setBody(value(200000)));
+		final Peer peer = server.accept();
+		final String head = peer.readHead();
+		assertThat(head, startsWith("POST /_db/_system/_api/document/c HTTP/1.1\r\n"));
+		assertThat(head, containsString("Content-Type: application/json; charset=utf-8\r\n"));
+		final int length = contentLength(head);
+		assertThat(length, is(json(200000).length()));
+		assertThat(new String(peer.read(length)), is(json(200000)));
+
+		final byte[] response = response(json(100000));
+		peer.write(response, 1, 5, 17, 40, 70, 85, 1000, 50000);
+		final Response first = get(future);
+		assertThat(first.getResponseCode(), is(200));
+		assertThat(first.getBody().get("a").getAsString().length(), is(100000));
+
+		// the socket is reused for a chunked response
+		final ArangoFuture<Response> next = connection
+				.executeAsync(new Request("_system", RequestType.GET, "/_api/version"));
+		assertThat(peer.readHead(), startsWith("GET /_db/_system/_api/version HTTP/1.1\r\n"));
+		final byte[] chunked = ("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n4\r\n{\"a\"\r\n"
+				+ "6\r\n:\"abc\"\r\n1\r\n}\r\n0\r\n\r\n").getBytes();
+		peer.write(chunked, 3, 50, 53, 60, 70);
+		assertThat(get(next).getBody().get("a").getAsString(), is("abc"));
+		assertThat(server.isAccepted(100), is(false));
+	}
+
+	@Test
+	public void queueRequestsWhileSocketIsBusy() throws Exception {
+		final ArangoFuture<Response> first = connection
+				.executeAsync(new Request("_system", RequestType.GET, "/_api/version"));
+		final ArangoFuture<Response> second = connection
+				.executeAsync(new Request("_system", RequestType.GET, "/_api/engine"));
+		final Peer peer = server.accept();
+		assertThat(peer.readHead(), startsWith("GET /_db/_system/_api/version "));
+		Thread.sleep(100);
+		assertThat(peer.available(), is(0));
+		assertThat(connection.getQueued(), is(1));
+		peer.write(response("{\"a\":\"1\"}"));
+		assertThat(get(first).getBody().get("a").getAsString(), is("1"));
+		assertThat(peer.readHead(), startsWith("GET /_db/_system/_api/engine "));
+		peer.write(response("{\"a\":\"2\"}"));
+		assertThat(get(second).getBody().get("a").getAsString(), is("2"));
+	}
+
+	@Test
+	public void retryIdempotentRequestOnReusedSocketClosedByServer() throws Exception {
+		final ArangoFuture<Response> first = connection
+				.executeAsync(new Request("_system", RequestType.GET, "/_api/version"));
+		final Peer peer = server.accept();
+		peer.readHead();
+		peer.write(response("{}"));
+		get(first);
+
+		// the keep-alive timeout of the server elapsed concurrently
+		final ArangoFuture<Response> retried = connection
+				.executeAsync(new Request("_system", RequestType.GET, "/_api/version"));
+		peer.readHead();
+		peer.close();
+		final Peer next = server.accept();
+		assertThat(next.readHead(), startsWith("GET /_db/_system/_api/version "));
+		next.write(response("{\"a\":\"b\"}"));
+		assertThat(get(retried).getBody().get("a").getAsString(), is("b"));
+
+		final ArangoFuture<Response> post = connection
+				.executeAsync(new Request("_system", RequestType.POST, "/_api/document/c").setBody(value(10)));
+		next.readHead();
+		next.close();
+		try {
+			get(post);
+			fail();
+		} catch (final ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(IOException.class)));
+		}
+		assertThat(server.isAccepted(100), is(false));
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.http;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class HttpResponseParserTest {
+
+	private static ByteBuffer buffer(final String s) throws UnsupportedEncodingException {
+		return ByteBuffer.wrap(s.getBytes("UTF-8"));
+	}
+
+	private static String content(final HttpResponseParser parser) throws UnsupportedEncodingException {
+		return new String(parser.getContent(), "UTF-8");
+	}
+
+	@Test
+	public void contentLengthSplitAcrossBuffers() throws IOException {
+		final HttpResponseParser parser = new HttpResponseParser();
+		parser.reset(false);
+		assertThat(parser.isStarted(), is(false));
+		assertThat(parser.parse(buffer("HTTP/1.1 200 OK\r\nContent-Le")), is(false));
+		assertThat(parser.isStarted(), is(true));
+		assertThat(parser.parse(buffer("ngth: 11\r\nContent-Type: application/json\r\n\r\n{\"a\":")), is(false));
+		final ByteBuffer last = buffer("\"abc\"}HTTP/1.1");
+		assertThat(parser.parse(last), is(true));
+		assertThat(last.remaining(), is(8));
+		assertThat(parser.getStatus(), is(200));
+		assertThat(parser.getHeaders().get("Content-Type"), is("application/json"));
+		assertThat(content(parser), is("{\"a\":\"abc\"}"));
+		assertThat(parser.isKeepAlive(), is(true));
+	}
+
+	@Test
+	public void chunked() throws IOException {
+		final HttpResponseParser parser = new HttpResponseParser();
+		parser.reset(false);
+		assertThat(parser.parse(buffer("HTTP/1.1 201 Created\r\nTransfer-Encoding: chunked\r\n\r\n4\r\nab")),
+			is(false));
+		assertThat(parser.parse(buffer("cd\r\n3;ext=1\r\nefg\r\n0\r\nX-Trailer: 1\r\n")), is(false));
+		assertThat(parser.parse(buffer("\r\n")), is(true));
+		assertThat(parser.getStatus(), is(201));
+		assertThat(content(parser), is("abcdefg"));
+	}
+
+	@Test
+	public void noContent() throws IOException {
+		final HttpResponseParser parser = new HttpResponseParser();
+		parser.reset(true);
+		assertThat(parser.parse(buffer("HTTP/1.1 200 OK\r\nContent-Length: 42\r\n\r\n")), is(true));
+		assertThat(parser.getContent(), is(nullValue()));
+		parser.reset(false);
+		assertThat(parser.parse(buffer("HTTP/1.1 204 No Content\r\n\r\n")), is(true));
+		assertThat(parser.getStatus(), is(204));
+		assertThat(parser.getContent(), is(nullValue()));
+	}
+
+	@Test
+	public void untilEndOfStream() throws IOException {
+		final HttpResponseParser parser = new HttpResponseParser();
+		parser.reset(false);
+		assertThat(parser.parse(buffer("HTTP/1.0 200 OK\r\n\r\nabc")), is(false));
+		assertThat(parser.parse(buffer("def")), is(false));
+		assertThat(parser.endOfStream(), is(true));
+		assertThat(content(parser), is("abcdef"));
+		assertThat(parser.isKeepAlive(), is(false));
+	}
+
+	@Test
+	public void skipInterimResponse() throws IOException {
+		final HttpResponseParser parser = new HttpResponseParser();
+		parser.reset(false);
+		assertThat(parser.parse(buffer("HTTP/1.1 100 Continue\r\n\r\nHTTP/1.1 200 OK\r\nConnection: close\r\n"
+				+ "Content-Length: 2\r\n\r\nok")),
+			is(true));
+		assertThat(parser.getStatus(), is(200));
+		assertThat(content(parser), is("ok"));
+		assertThat(parser.isKeepAlive(), is(false));
+	}
+
+	@Test(expected = IOException.class)
+	public void invalidStatusLine() throws IOException {
+		final HttpResponseParser parser = new HttpResponseParser();
+		parser.reset(false);
+		parser.parse(buffer("FOO 200 OK\r\n"));
+	}
+
+}
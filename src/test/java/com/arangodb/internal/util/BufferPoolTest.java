@@ -0,0 +1,136 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Test;
+
+import com.arangodb.entity.BufferPoolStatisticsEntity;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class BufferPoolTest {
+
+	@Test
+	public void acquire() {
+		final BufferPool pool = new BufferPool(true, false, 1024 * 1024, 1024 * 1024);
+		final ByteBuffer buffer = pool.acquire(1500);
+		assertThat(buffer.capacity(), is(2048));
+		assertThat(buffer.limit(), is(1500));
+		assertThat(buffer.position(), is(0));
+		assertThat(buffer.hasArray(), is(true));
+		assertThat(pool.acquire(10).capacity(), is(1024));
+		assertThat(pool.acquire(4096).capacity(), is(4096));
+	}
+
+	@Test
+	public void reuseReleasedBuffer() {
+		final BufferPool pool = new BufferPool(true, false, 1024 * 1024, 1024 * 1024);
+		final ByteBuffer buffer = pool.acquire(1500);
+		buffer.position(100);
+		pool.release(buffer);
+		final ByteBuffer reused = pool.acquire(1800);
+		assertThat(reused, is(sameInstance(buffer)));
+		assertThat(reused.position(), is(0));
+		assertThat(reused.limit(), is(1800));
+		assertThat(pool.acquire(1800), is(not(sameInstance(buffer))));
+		final BufferPoolStatisticsEntity statistics = pool.getStatistics();
+		assertThat(statistics.getHits(), is(1L));
+		assertThat(statistics.getMisses(), is(2L));
+		assertThat(statistics.getReleases(), is(1L));
+		assertThat(statistics.getPooledBytes(), is(0L));
+	}
+
+	@Test
+	public void discardWhenSizeClassIsFull() {
+		final BufferPool pool = new BufferPool(true, false, 1024 * 1024, 2048);
+		final ByteBuffer buffer1 = pool.acquire(2000);
+		final ByteBuffer buffer2 = pool.acquire(2000);
+		pool.release(buffer1);
+		pool.release(buffer2);
+		final BufferPoolStatisticsEntity statistics = pool.getStatistics();
+		assertThat(statistics.getReleases(), is(1L));
+		assertThat(statistics.getDiscards(), is(1L));
+		assertThat(statistics.getPooledBytes(), is(2048L));
+	}
+
+	@Test
+	public void largeBuffersAreNotPooled() {
+		final BufferPool pool = new BufferPool(true, false, 4096, 1024 * 1024);
+		final ByteBuffer buffer = pool.acquire(5000);
+		assertThat(buffer.capacity(), is(5000));
+		pool.release(buffer);
+		assertThat(pool.acquire(5000), is(not(sameInstance(buffer))));
+		final BufferPoolStatisticsEntity statistics = pool.getStatistics();
+		assertThat(statistics.getHits(), is(0L));
+		assertThat(statistics.getMisses(), is(0L));
+		assertThat(statistics.getReleases(), is(0L));
+	}
+
+	@Test
+	public void foreignBuffersAreIgnored() {
+		final BufferPool pool = new BufferPool(true, false, 1024 * 1024, 1024 * 1024);
+		pool.release(ByteBuffer.allocate(1000));
+		assertThat(pool.getStatistics().getReleases(), is(0L));
+	}
+
+	@Test
+	public void directIo() {
+		final BufferPool pool = new BufferPool(true, true, 1024 * 1024, 1024 * 1024);
+		final ByteBuffer buffer = pool.acquireIo(3000);
+		assertThat(buffer.isDirect(), is(true));
+		assertThat(buffer.capacity(), is(4096));
+		pool.release(buffer);
+		assertThat(pool.acquire(3000).isDirect(), is(false));
+		assertThat(pool.acquireIo(3000), is(sameInstance(buffer)));
+	}
+
+	@Test
+	public void disabled() {
+		final BufferPool pool = new BufferPool(false, false, 1024 * 1024, 1024 * 1024);
+		final ByteBuffer buffer = pool.acquire(1500);
+		assertThat(buffer.capacity(), is(1500));
+		pool.release(buffer);
+		assertThat(pool.acquire(1500), is(not(sameInstance(buffer))));
+		final BufferPoolStatisticsEntity statistics = pool.getStatistics();
+		assertThat(statistics.getHits(), is(0L));
+		assertThat(statistics.getMisses(), is(0L));
+		assertThat(statistics.getReleases(), is(0L));
+	}
+
+	@Test
+	public void resetByteOrderOnRelease() {
+		final BufferPool pool = new BufferPool(true, false, 1024 * 1024, 1024 * 1024);
+		final ByteBuffer buffer = pool.acquire(1024).order(ByteOrder.LITTLE_ENDIAN);
+		pool.release(buffer);
+		assertThat(pool.acquire(1024).order(), is(ByteOrder.BIG_ENDIAN));
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class JsonStreamDecoderTest {
+
+	private static final String JSON = "{\"_key\":\"123\",\"name\":\"d\\u00e9j\\u00e0 vu \\\"quoted\\\"\\n\",\"utf8\":\"\u00e4\u20ac\ud83d\ude00\","
+			+ "\"escaped\":\"\\ud83d\\ude00\\/\\t\",\"int\":42,\"negative\":-7,\"long\":9007199254740993,"
+			+ "\"double\":-1.5e-3,\"zero\":0,\"bool\":[true,false],\"null\":null,\"empty\":{},\"list\":[],"
+			+ "\"nested\":{\"a\":[1,{\"b\":[2.5,\"c\"]}],\"z\":\"last\"}}";
+
+	private final VPackParser parser = new VPackParser.Builder().build();
+
+	@Test
+	public void decodeContent() throws IOException {
+		assertSame(JsonStreamDecoder.decode(JSON.getBytes("UTF-8")), parser.fromJson(JSON, true));
+	}
+
+	@Test
+	public void decodeStream() throws IOException {
+		final VPackSlice expected = parser.fromJson(JSON, true);
+		final byte[] content = JSON.getBytes("UTF-8");
+		// small buffers split strings, numbers, literals and multi-byte characters
+		for (int contentLength = 1; contentLength < 16; contentLength++) {
+			assertSame(JsonStreamDecoder.decode(new ByteArrayInputStream(content), contentLength), expected);
+		}
+		assertSame(JsonStreamDecoder.decode(new ByteArrayInputStream(content), -1), expected);
+	}
+
+	@Test
+	public void decodeScalar() throws IOException {
+		assertSame(JsonStreamDecoder.decode(" \"value\" ".getBytes("UTF-8")), parser.fromJson("\"value\"", true));
+		assertThat(JsonStreamDecoder.decode("18446744073709551616".getBytes("UTF-8")).getAsDouble(),
+			is(18446744073709551616d));
+	}
+
+	@Test
+	public void decodeEmpty() throws IOException {
+		assertThat(JsonStreamDecoder.decode(new byte[0]), is(nullValue()));
+		assertThat(JsonStreamDecoder.decode(new ByteArrayInputStream(" \r\n".getBytes("UTF-8")), 3), is(nullValue()));
+	}
+
+	@Test
+	public void decodeInvalid() throws IOException {
+		for (final String json : new String[] { "{\"a\":1", "{\"a\" 1}", "[1,]", "{\"a\":tru}", "01", "-", "1.",
+				"\"a\nb\"", "\"\\x\"", "{} {}", "[1] x" }) {
+			try {
+				JsonStreamDecoder.decode(json.getBytes("UTF-8"));
+				fail(json);
+			} catch (final ArangoDBException e) {
+			}
+		}
+	}
+
+	private static void assertSame(final VPackSlice actual, final VPackSlice expected) {
+		assertThat(bytes(actual), is(bytes(expected)));
+	}
+
+	private static byte[] bytes(final VPackSlice slice) {
+		return Arrays.copyOfRange(slice.getBuffer(), slice.getStart(), slice.getStart() + slice.getByteSize());
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class JsonStreamEncoderTest {
+
+	private final VPackParser parser = new VPackParser.Builder().build();
+
+	@Test
+	public void encodeDocument() throws IOException {
+		assertEncoded(parser.fromJson("{\"_key\":\"123\",\"name\":\"d\\u00e9j\\u00e0 vu \\\"quoted\\\"\\n\","
+				+ "\"escaped\":\"\\u0001\\u001f\\b\\f\\r\\t\\\\/\",\"utf8\":\"\\u00e4\\u20ac\\ud83d\\ude00\","
+				+ "\"int\":42,\"negative\":-7,\"long\":9007199254740993,\"double\":-1.5e-3,\"zero\":0,"
+				+ "\"bool\":[true,false],\"null\":null,\"empty\":{},\"list\":[],"
+				+ "\"nested\":{\"a\":[1,{\"b\":[2.5,\"c\"]}],\"z\":\"last\"}}", true));
+	}
+
+	@Test
+	public void encodeTypes() throws IOException {
+		final VPackBuilder builder = new VPackBuilder();
+		builder.add(ValueType.ARRAY);
+		builder.add(Long.MIN_VALUE);
+		builder.add(new java.math.BigInteger("18446744073709551615"), ValueType.UINT);
+		builder.add(Double.valueOf(1e300));
+		builder.add(new Date(1500000000000L));
+		builder.add(new byte[] { 1, 2 });
+		builder.add(ValueType.NULL);
+		builder.close();
+		assertEncoded(builder.slice());
+	}
+
+	@Test
+	public void encodeLongStrings() throws IOException {
+		final StringBuilder value = new StringBuilder();
+		while (value.length() < 20000) {
+			value.append("\u00fc\"/").append(value.length());
+		}
+		final VPackBuilder builder = new VPackBuilder();
+		builder.add(ValueType.OBJECT);
+		builder.add("short", "x");
+		builder.add(value.substring(0, 200), value.substring(0, 200));
+		builder.add("long", value.toString());
+		builder.close();
+		assertEncoded(builder.slice());
+	}
+
+	@Test
+	public void encodeScalar() throws IOException {
+		assertEncoded(parser.fromJson("\"value\"", true));
+		assertEncoded(parser.fromJson("null", true));
+	}
+
+	private static void assertEncoded(final VPackSlice slice) throws IOException {
+		final byte[] expected = slice.toString().getBytes("UTF-8");
+		assertThat(JsonStreamEncoder.length(slice), is((long) expected.length));
+		assertThat(JsonStreamEncoder.encode(slice), is(expected));
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		JsonStreamEncoder.encode(slice, output);
+		assertThat(output.toByteArray(), is(expected));
+	}
+
+}
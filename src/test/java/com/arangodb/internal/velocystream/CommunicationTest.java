@@ -33,6 +33,7 @@ import org.junit.Test;
 import com.arangodb.ArangoDB;
 import com.arangodb.ArangoDBException;
 import com.arangodb.ArangoDatabase;
+import com.arangodb.Transport;
 import com.arangodb.entity.ArangoDBVersion;
 
 /**
@@ -51,6 +52,13 @@ public class CommunicationTest {
 		assertThat(version, is(notNullValue()));
 	}
 
+	@Test
+	public void chunkSizeSmallNio() {
+		final ArangoDB arangoDB = new ArangoDB.Builder().transport(Transport.NIO).chunksize(20).build();
+		final ArangoDBVersion version = arangoDB.getVersion();
+		assertThat(version, is(notNullValue()));
+	}
+
 	@Test
 	public void multiThread() throws Exception {
 		final ArangoDB arangoDB = new ArangoDB.Builder().build();
@@ -183,4 +191,33 @@ public class CommunicationTest {
 		final ArangoDBVersion version = arangoDB.getVersion();
 		assertThat(version, is(notNullValue()));
 	}
+
+	@Test
+	public void multiConnectionNio() throws Exception {
+		final ArangoDB arangoDB = new ArangoDB.Builder().transport(Transport.NIO).ioThreads(2).maxConnections(8)
+				.build();
+		arangoDB.getVersion();// authentication
+
+		final Collection<String> result = new ConcurrentLinkedQueue<String>();
+		final Collection<Thread> threads = new ConcurrentLinkedQueue<Thread>();
+		for (int i = 0; i < 8; i++) {
+			final Thread t = new Thread() {
+				@Override
+				public void run() {
+					try {
+						arangoDB.db().query("return sleep(1)", null, null, null);
+						result.add("1");
+					} catch (final ArangoDBException e) {
+						e.printStackTrace(System.err);
+					}
+				}
+			};
+			threads.add(t);
+			t.start();
+		}
+		for (final Thread t : threads) {
+			t.join();
+		}
+		assertThat(result.size(), is(8));
+	}
 }
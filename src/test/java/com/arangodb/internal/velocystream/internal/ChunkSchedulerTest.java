@@ -0,0 +1,97 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.arangodb.velocystream.RequestPriority;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ChunkSchedulerTest {
+
+	private static OutboundMessage message(final long id, final int chunks, final RequestPriority priority) {
+		final List<Chunk> list = new ArrayList<Chunk>();
+		for (int i = 0; i < chunks; i++) {
+			list.add(new Chunk(id, i, chunks, chunks * 10L, i * 10, 10));
+		}
+		return new OutboundMessage(new Message(id, null, null, priority), list);
+	}
+
+	private static List<Long> drain(final ChunkScheduler scheduler) {
+		final List<Long> order = new ArrayList<Long>();
+		for (OutboundMessage outbound; (outbound = scheduler.next()) != null;) {
+			order.add(outbound.nextChunk().getMessageId());
+		}
+		return order;
+	}
+
+	@Test
+	public void interleaveSamePriority() {
+		final ChunkScheduler scheduler = new ChunkScheduler();
+		scheduler.add(message(1L, 3, null));
+		scheduler.add(message(2L, 1, null));
+		scheduler.add(message(3L, 2, null));
+		assertThat(drain(scheduler).toString(), is("[1, 2, 3, 1, 3, 1]"));
+		assertThat(scheduler.isEmpty(), is(true));
+	}
+
+	@Test
+	public void higherPriorityOvertakes() {
+		final ChunkScheduler scheduler = new ChunkScheduler();
+		scheduler.add(message(1L, 4, RequestPriority.LOW));
+		assertThat(scheduler.next().nextChunk().getMessageId(), is(1L));
+		scheduler.add(message(2L, 2, RequestPriority.NORMAL));
+		assertThat(drain(scheduler).toString(), is("[2, 2, 1, 1, 1]"));
+	}
+
+	@Test
+	public void lowerPriorityNotStarved() {
+		final ChunkScheduler scheduler = new ChunkScheduler();
+		scheduler.add(message(1L, 2, RequestPriority.LOW));
+		scheduler.add(message(2L, 20, RequestPriority.HIGH));
+		final List<Long> order = drain(scheduler);
+		assertThat(order.indexOf(1L), is(ChunkScheduler.MAX_OVERTAKES));
+		assertThat(order.lastIndexOf(1L), is(2 * ChunkScheduler.MAX_OVERTAKES + 1));
+	}
+
+	@Test
+	public void discardStarted() {
+		final ChunkScheduler scheduler = new ChunkScheduler();
+		scheduler.add(message(1L, 2, null));
+		scheduler.next().nextChunk();
+		scheduler.add(message(2L, 2, null));
+		scheduler.discardStarted();
+		assertThat(drain(scheduler).toString(), is("[2, 2]"));
+		assertThat(scheduler.isEmpty(), is(true));
+		assertThat(scheduler.next(), is(nullValue()));
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.internal.util.BufferPool;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class ChunkStoreTest {
+
+	@Test
+	public void maxReassemblyBytes() throws Exception {
+		final MessageStore messageStore = new MessageStore();
+		final MessageFuture future1 = new MessageFuture(1L);
+		final MessageFuture future2 = new MessageFuture(2L);
+		messageStore.storeMessage(future1);
+		messageStore.storeMessage(future2);
+		final ChunkStore chunkStore = new ChunkStore(messageStore, new BufferPool(false, false, 0, 0), 150L);
+		assertThat(chunkStore.storeChunk(new Chunk(1L, 0, 2, 100L, 0, 50)), is(notNullValue()));
+		assertThat(chunkStore.storeChunk(new Chunk(2L, 0, 2, 100L, 0, 50)), is(nullValue()));
+		assertThat(chunkStore.storeChunk(new Chunk(2L, 1, 2, -1L, 50, 50)), is(nullValue()));
+		assertThat(future1.isDone(), is(false));
+		try {
+			future2.get();
+			fail();
+		} catch (final ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(ArangoDBException.class)));
+		}
+		assertThat(messageStore.getInFlight(), is(1));
+	}
+
+	@Test
+	public void maxReassemblyBytesOfSingleChunk() throws Exception {
+		final MessageStore messageStore = new MessageStore();
+		final MessageFuture future1 = new MessageFuture(1L);
+		final MessageFuture future2 = new MessageFuture(2L);
+		final MessageFuture future3 = new MessageFuture(3L);
+		messageStore.storeMessage(future1);
+		messageStore.storeMessage(future2);
+		messageStore.storeMessage(future3);
+		final ChunkStore chunkStore = new ChunkStore(messageStore, new BufferPool(false, false, 0, 0), 150L);
+		assertThat(chunkStore.storeChunk(new Chunk(1L, 0, 2, 100L, 0, 50)), is(notNullValue()));
+		assertThat(chunkStore.storeSingleChunk(new Chunk(2L, 0, 1, -1L, 0, 51)), is(nullValue()));
+		assertThat(chunkStore.storeSingleChunk(new Chunk(3L, 0, 1, -1L, 0, 50)), is(notNullValue()));
+		assertThat(future1.isDone(), is(false));
+		assertThat(future3.isDone(), is(false));
+		try {
+			future2.get();
+			fail();
+		} catch (final ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(ArangoDBException.class)));
+		}
+		assertThat(messageStore.isPending(2L), is(false));
+	}
+
+	@Test
+	public void evictedMessage() {
+		final MessageStore messageStore = new MessageStore();
+		messageStore.storeMessage(new MessageFuture(1L));
+		final BufferPool bufferPool = new BufferPool(true, false, 1024 * 1024, 1024 * 1024);
+		final ChunkStore chunkStore = new ChunkStore(messageStore, bufferPool, 150L);
+		assertThat(chunkStore.storeChunk(new Chunk(1L, 0, 2, 100L, 0, 50)), is(notNullValue()));
+		messageStore.remove(1L);
+		assertThat(messageStore.isPending(1L), is(false));
+		assertThat(chunkStore.storeChunk(new Chunk(1L, 1, 2, -1L, 50, 50)), is(nullValue()));
+		assertThat(bufferPool.getStatistics().getReleases(), is(1L));
+		messageStore.storeMessage(new MessageFuture(2L));
+		assertThat(chunkStore.storeChunk(new Chunk(2L, 0, 2, 150L, 0, 50)), is(notNullValue()));
+	}
+
+}
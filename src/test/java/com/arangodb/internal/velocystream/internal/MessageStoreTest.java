@@ -0,0 +1,216 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.ArangoFuture;
+import com.arangodb.Function;
+import com.arangodb.SaturationPolicy;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.ValueType;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class MessageStoreTest {
+
+	private static Message message(final long id) {
+		final VPackBuilder builder = new VPackBuilder();
+		builder.add(ValueType.ARRAY);
+		builder.add(1);
+		builder.add(2);
+		builder.add(200);
+		builder.close();
+		return new Message(id, builder.slice(), null);
+	}
+
+	@Test
+	public void consume() throws Exception {
+		final MessageStore store = new MessageStore();
+		final MessageFuture future1 = new MessageFuture(1L);
+		final MessageFuture future2 = new MessageFuture(2L);
+		store.storeMessage(future1);
+		store.storeMessage(future2);
+		final Message message2 = message(2L);
+		store.consume(message2);
+		assertThat(future1.isDone(), is(false));
+		assertThat(future2.get(), is(sameInstance(message2)));
+		final Message message1 = message(1L);
+		store.consume(message1);
+		assertThat(future1.get(), is(sameInstance(message1)));
+		assertThat(store.isEmpty(), is(true));
+	}
+
+	@Test
+	public void consumeFromOtherThread() throws Exception {
+		final MessageStore store = new MessageStore();
+		final MessageFuture future = new MessageFuture(1L);
+		store.storeMessage(future);
+		final Message message = message(1L);
+		new Thread() {
+			@Override
+			public void run() {
+				store.consume(message);
+			}
+		}.start();
+		assertThat(future.get(), is(sameInstance(message)));
+	}
+
+	@Test
+	public void clearWithError() throws Exception {
+		final MessageStore store = new MessageStore();
+		final MessageFuture future = new MessageFuture(1L);
+		store.storeMessage(future);
+		final IOException error = new IOException("closed");
+		store.clear(error);
+		assertThat(store.isEmpty(), is(true));
+		try {
+			future.get();
+			fail();
+		} catch (final ExecutionException e) {
+			assertThat(e.getCause(), is(instanceOf(IOException.class)));
+		}
+	}
+
+	@Test
+	public void clear() throws Exception {
+		final MessageStore store = new MessageStore();
+		final MessageFuture future = new MessageFuture(1L);
+		store.storeMessage(future);
+		store.clear();
+		assertThat(future.isCancelled(), is(true));
+		try {
+			future.get();
+			fail();
+		} catch (final CancellationException e) {
+		}
+		store.consume(message(1L));
+	}
+
+	@Test
+	public void evicted() {
+		final MessageStore store = new MessageStore();
+		final MessageFuture future = new MessageFuture(1L);
+		store.storeMessage(future);
+		assertThat(store.isPending(1L), is(true));
+		store.remove(1L);
+		assertThat(store.isPending(1L), is(false));
+		assertThat(store.consume(message(1L)), is(false));
+		assertThat(future.isDone(), is(false));
+	}
+
+	@Test
+	public void maxInFlightFail() {
+		final MessageStore store = new MessageStore(1, SaturationPolicy.FAIL, null);
+		store.storeMessage(new MessageFuture(1L));
+		assertThat(store.isSaturated(), is(true));
+		try {
+			store.storeMessage(new MessageFuture(2L));
+			fail();
+		} catch (final ArangoDBException e) {
+		}
+		assertThat(store.getInFlight(), is(1));
+		store.consume(message(1L));
+		assertThat(store.isSaturated(), is(false));
+		store.storeMessage(new MessageFuture(2L));
+		assertThat(store.getInFlight(), is(1));
+	}
+
+	@Test
+	public void cancelDerivedFuture() {
+		final MessageStore store = new MessageStore(1, SaturationPolicy.FAIL, null);
+		final MessageFuture future = new MessageFuture(1L);
+		store.storeMessage(future);
+		final ArangoFuture<Integer> derived = future.thenApply(new Function<Message, Integer>() {
+			@Override
+			public Integer apply(final Message message) {
+				return message.getHead().getLength();
+			}
+		}).exceptionallyCompose(new Function<Throwable, ArangoFuture<Integer>>() {
+			@Override
+			public ArangoFuture<Integer> apply(final Throwable e) {
+				return ArangoFuture.failed(e);
+			}
+		});
+		assertThat(derived.cancel(true), is(true));
+		assertThat(future.isCancelled(), is(true));
+		assertThat(store.isPending(1L), is(false));
+		assertThat(store.getInFlight(), is(0));
+		assertThat(store.isSaturated(), is(false));
+		assertThat(store.consume(message(1L)), is(false));
+		store.storeMessage(new MessageFuture(2L));
+		assertThat(store.getInFlight(), is(1));
+	}
+
+	@Test
+	public void maxInFlightBlock() throws Exception {
+		final MessageStore store = new MessageStore(1, SaturationPolicy.BLOCK, null);
+		store.storeMessage(new MessageFuture(1L));
+		final MessageFuture future = new MessageFuture(2L);
+		final Thread thread = new Thread() {
+			@Override
+			public void run() {
+				store.storeMessage(future);
+			}
+		};
+		thread.start();
+		while (store.getQueued() == 0) {
+			Thread.sleep(1);
+		}
+		assertThat(store.getInFlight(), is(1));
+		store.remove(1L);
+		thread.join();
+		assertThat(store.getQueued(), is(0));
+		assertThat(store.getInFlight(), is(1));
+		final Message message = message(2L);
+		store.consume(message);
+		assertThat(future.get(), is(sameInstance(message)));
+		assertThat(store.getInFlight(), is(0));
+	}
+
+	@Test
+	public void maxInFlightBlockTimeout() {
+		final MessageStore store = new MessageStore(1, SaturationPolicy.BLOCK, 10);
+		store.storeMessage(new MessageFuture(1L));
+		try {
+			store.storeMessage(new MessageFuture(2L));
+			fail();
+		} catch (final ArangoDBException e) {
+		}
+		store.clear(new IOException("closed"));
+		assertThat(store.getInFlight(), is(0));
+		store.storeMessage(new MessageFuture(2L));
+	}
+
+}
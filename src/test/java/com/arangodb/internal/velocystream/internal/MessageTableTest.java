@@ -0,0 +1,84 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class MessageTableTest {
+
+	@Test
+	public void capacity() {
+		assertThat(new MessageTable(1).capacity(), is(2));
+		assertThat(new MessageTable(100).capacity(), is(128));
+		assertThat(new MessageTable(128).capacity(), is(128));
+	}
+
+	@Test
+	public void putRemove() {
+		final MessageTable table = new MessageTable(8);
+		final MessageFuture future1 = new MessageFuture(1L);
+		final MessageFuture future2 = new MessageFuture(2L);
+		table.put(future1);
+		table.put(future2);
+		assertThat(table.remove(3L), is(nullValue()));
+		assertThat(table.remove(2L), is(sameInstance(future2)));
+		assertThat(table.remove(2L), is(nullValue()));
+		assertThat(table.remove(1L), is(sameInstance(future1)));
+		assertThat(table.values().isEmpty(), is(true));
+	}
+
+	@Test
+	public void collision() {
+		final MessageTable table = new MessageTable(8);
+		final MessageFuture future1 = new MessageFuture(1L);
+		final MessageFuture future9 = new MessageFuture(9L);
+		final MessageFuture future17 = new MessageFuture(17L);
+		table.put(future1);
+		table.put(future9);
+		table.put(future17);
+		assertThat(table.remove(9L), is(sameInstance(future9)));
+		assertThat(table.remove(17L), is(sameInstance(future17)));
+		assertThat(table.remove(1L), is(sameInstance(future1)));
+	}
+
+	@Test
+	public void overflow() {
+		final MessageTable table = new MessageTable(4);
+		for (long id = 0; id < 10; id++) {
+			table.put(new MessageFuture(id));
+		}
+		assertThat(table.values().size(), is(10));
+		for (long id = 0; id < 10; id++) {
+			assertThat(table.remove(id).getMessageId(), is(id));
+		}
+		assertThat(table.values().isEmpty(), is(true));
+	}
+
+}
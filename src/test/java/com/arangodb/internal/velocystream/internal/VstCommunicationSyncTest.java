@@ -0,0 +1,186 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.arangodb.ArangoFuture;
+import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.net.ConnectionPoolImpl;
+import com.arangodb.internal.net.HedgingPolicy;
+import com.arangodb.internal.net.Host;
+import com.arangodb.internal.net.HostDescription;
+import com.arangodb.internal.net.HostHandle;
+import com.arangodb.internal.net.HostImpl;
+import com.arangodb.internal.net.HostResolver;
+import com.arangodb.internal.net.RoundRobinHostHandler;
+import com.arangodb.internal.util.ArangoDeserializerImpl;
+import com.arangodb.internal.util.ArangoSerializerImpl;
+import com.arangodb.internal.util.DefaultArangoSerialization;
+import com.arangodb.internal.velocypack.VPackDriverModule;
+import com.arangodb.internal.velocystream.VstCommunicationSync;
+import com.arangodb.internal.velocystream.VstConnectionFactorySync;
+import com.arangodb.velocypack.VPack;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackParser;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+import com.arangodb.velocystream.Request;
+import com.arangodb.velocystream.RequestType;
+import com.arangodb.velocystream.Response;
+
+/**
+ * @author Mark Vollmary
+ *
+ */
+public class VstCommunicationSyncTest {
+
+	private VstLoopbackServer slow;
+	private VstLoopbackServer fast;
+	private VstCommunicationSync communication;
+
+	@Before
+	public void setUp() throws Exception {
+		slow = new VstLoopbackServer();
+		fast = new VstLoopbackServer();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (communication != null) {
+			communication.close();
+		}
+		slow.close();
+		fast.close();
+	}
+
+	private static DefaultArangoSerialization serialization() {
+		final VPack vpack = new VPack.Builder().registerModule(new VPackDriverModule()).build();
+		final VPackParser parser = new VPackParser.Builder().registerModule(new VPackDriverModule()).build();
+		return new DefaultArangoSerialization(new ArangoSerializerImpl(vpack, vpack, parser),
+				new ArangoDeserializerImpl(vpack, parser));
+	}
+
+	private static Host host(final HostDescription description) {
+		final VstConnectionFactorySync factory = new VstConnectionFactorySync(description, 5000, null, false, null,
+				null, null, null, null, null, null);
+		return new HostImpl(new ConnectionPoolImpl(description, 1, factory), description);
+	}
+
+	@Test
+	public void hedgeQueryThroughHostHandler() throws Exception {
+		final Host slowHost = host(slow.getHost());
+		final Host fastHost = host(fast.getHost());
+		final HostResolver resolver = new HostResolver() {
+			@Override
+			public List<Host> resolve(final boolean initial, final boolean closeConnections) {
+				return Arrays.asList(slowHost, fastHost);
+			}
+
+			@Override
+			public void init(final EndpointResolver resolver) {
+			}
+		};
+		// the hedging delay is derived from the known latencies of the host
+		for (int i = 0; i < 64; i++) {
+			slowHost.requestCompleted(slowHost.requestStarted() - TimeUnit.MILLISECONDS.toNanos(1), false);
+		}
+		communication = new VstCommunicationSync.Builder(new RoundRobinHostHandler(resolver))
+				.hedgingPolicy(new HedgingPolicy(0.95, 0.05)).build(serialization());
+		// hedged requests are only sent over connections which are ready
+		communication.open(fastHost.connection());
+		fast.awaitConnections(1);
+
+		final HostHandle hostHandle = new HostHandle();
+		final ArangoFuture<Response> future = communication.executeAsync(
+			new Request("_system", RequestType.GET, "/_api/document/c/k").setIdempotent(true), hostHandle);
+		final byte[] hedged = fast.awaitReceived(ArangoDefaults.CHUNK_MIN_HEADER_SIZE);
+		final long messageId = ByteBuffer.wrap(hedged).order(ByteOrder.LITTLE_ENDIAN).getLong(8);
+		fast.send(VstLoopbackServer.chunks(messageId, responseHead(), 1024));
+
+		assertThat(future.get(5, TimeUnit.SECONDS).getResponseCode(), is(200));
+		assertThat(slow.awaitReceived(ArangoDefaults.CHUNK_MIN_HEADER_SIZE).length > 0, is(true));
+		assertThat(hostHandle.getHost(), is(fastHost.getDescription()));
+	}
+
+	@Test
+	public void probeIsNotAccounted() throws Exception {
+		final Host fastHost = host(fast.getHost());
+		final HostResolver resolver = new HostResolver() {
+			@Override
+			public List<Host> resolve(final boolean initial, final boolean closeConnections) {
+				return Arrays.asList(fastHost);
+			}
+
+			@Override
+			public void init(final EndpointResolver resolver) {
+			}
+		};
+		communication = new VstCommunicationSync.Builder(new RoundRobinHostHandler(resolver))
+				.build(serialization());
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final Future<Response> probe = executor.submit(new Callable<Response>() {
+				@Override
+				public Response call() {
+					return communication.executeOnHost(new Request("_system", RequestType.GET, "/_api/version"),
+						fastHost);
+				}
+			});
+			final byte[] received = fast.awaitReceived(ArangoDefaults.CHUNK_MIN_HEADER_SIZE);
+			assertThat(fastHost.getInFlight(), is(0));
+			final long messageId = ByteBuffer.wrap(received).order(ByteOrder.LITTLE_ENDIAN).getLong(8);
+			fast.send(VstLoopbackServer.chunks(messageId, responseHead(), 1024));
+			assertThat(probe.get(5, TimeUnit.SECONDS).getResponseCode(), is(200));
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(fastHost.getInFlight(), is(0));
+		assertThat(fastHost.getLatency(), is(0.0));
+	}
+
+	private static byte[] responseHead() {
+		final VPackBuilder builder = new VPackBuilder();
+		builder.add(ValueType.ARRAY);
+		builder.add(1);
+		builder.add(2);
+		builder.add(200);
+		builder.close();
+		final VPackSlice slice = builder.slice();
+		return Arrays.copyOfRange(slice.getBuffer(), slice.getStart(), slice.getStart() + slice.getByteSize());
+	}
+
+}
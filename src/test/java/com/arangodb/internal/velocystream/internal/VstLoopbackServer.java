@@ -0,0 +1,211 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.arangodb.internal.ArangoDefaults;
+import com.arangodb.internal.net.HostDescription;
+
+/**
+ * VelocyStream server on the loopback interface for transport tests. It records the bytes it receives after the
+ * protocol header and writes scripted bytes, split at arbitrary positions.
+ * 
+ * @author Mark Vollmary
+ *
+ */
+class VstLoopbackServer {
+
+	private static final int PROTOCOL_HEADER_LENGTH = 11;
+	private static final long TIMEOUT = 5000L;
+
+	private final ServerSocket serverSocket;
+	private final ByteArrayOutputStream received;
+	private Socket socket;
+	private int connections;
+	private boolean closedByClient;
+
+	VstLoopbackServer() throws IOException {
+		super();
+		serverSocket = new ServerSocket(0, 8, InetAddress.getByName("127.0.0.1"));
+		received = new ByteArrayOutputStream();
+		final Thread acceptor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				accept();
+			}
+		}, "vst-loopback-server");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	HostDescription getHost() {
+		return new HostDescription("127.0.0.1", serverSocket.getLocalPort());
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			final Socket socket;
+			try {
+				socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+			} catch (final IOException e) {
+				return;
+			}
+			synchronized (this) {
+				this.socket = socket;
+				received.reset();
+				closedByClient = false;
+				connections++;
+				notifyAll();
+			}
+			read(socket);
+		}
+	}
+
+	private void read(final Socket socket) {
+		try {
+			final InputStream input = socket.getInputStream();
+			final byte[] header = new byte[PROTOCOL_HEADER_LENGTH];
+			int offset = 0;
+			while (offset < header.length) {
+				final int read = input.read(header, offset, header.length - offset);
+				if (read == -1) {
+					break;
+				}
+				offset += read;
+			}
+			final byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				synchronized (this) {
+					received.write(buffer, 0, read);
+					notifyAll();
+				}
+			}
+		} catch (final IOException e) {
+		}
+		synchronized (this) {
+			if (this.socket == socket) {
+				closedByClient = true;
+			}
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Waits for the given number of accepted connections
+	 */
+	synchronized void awaitConnections(final int count) throws InterruptedException {
+		final long end = System.currentTimeMillis() + TIMEOUT;
+		while (connections < count && System.currentTimeMillis() < end) {
+			wait(end - System.currentTimeMillis());
+		}
+		if (connections < count) {
+			throw new AssertionError(String.format("%s of %s connections accepted", connections, count));
+		}
+	}
+
+	/**
+	 * Waits until the client closed the current connection
+	 */
+	synchronized void awaitClosedByClient() throws InterruptedException {
+		final long end = System.currentTimeMillis() + TIMEOUT;
+		while (!closedByClient && System.currentTimeMillis() < end) {
+			wait(end - System.currentTimeMillis());
+		}
+		if (!closedByClient) {
+			throw new AssertionError("The connection was not closed by the client");
+		}
+	}
+
+	/**
+	 * @return the bytes received over the current connection, as soon as at least the given number arrived
+	 */
+	synchronized byte[] awaitReceived(final int length) throws InterruptedException {
+		final long end = System.currentTimeMillis() + TIMEOUT;
+		while (received.size() < length && System.currentTimeMillis() < end) {
+			wait(end - System.currentTimeMillis());
+		}
+		if (received.size() < length) {
+			throw new AssertionError(String.format("%s of %s bytes received", received.size(), length));
+		}
+		return received.toByteArray();
+	}
+
+	/**
+	 * Writes the given bytes over the current connection. Each part ends at one of the given positions and is flushed
+	 * separately, so that the client reads it on its own.
+	 */
+	void send(final byte[] data, final int... splits) throws IOException, InterruptedException {
+		final Socket socket;
+		synchronized (this) {
+			socket = this.socket;
+		}
+		final OutputStream output = socket.getOutputStream();
+		int offset = 0;
+		for (final int split : splits) {
+			output.write(data, offset, split - offset);
+			output.flush();
+			offset = split;
+			Thread.sleep(5L);
+		}
+		output.write(data, offset, data.length - offset);
+		output.flush();
+	}
+
+	void close() throws IOException {
+		serverSocket.close();
+		synchronized (this) {
+			if (socket != null) {
+				socket.close();
+			}
+		}
+	}
+
+	/**
+	 * Splits the given message content into chunks of the given maximum content size, as a server sends them
+	 */
+	static byte[] chunks(final long messageId, final byte[] content, final int chunkSize) {
+		final int numberOfChunks = Math.max(1, (content.length + chunkSize - 1) / chunkSize);
+		final ByteBuffer buffer = ByteBuffer
+				.allocate(content.length + numberOfChunks * ArangoDefaults.CHUNK_MAX_HEADER_SIZE)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		for (int i = 0; i < numberOfChunks; i++) {
+			final int offset = i * chunkSize;
+			final int length = Math.min(chunkSize, content.length - offset);
+			final long messageLength = (i == 0 && numberOfChunks > 1) ? content.length : -1L;
+			VstTransport.putChunkHead(new Chunk(messageId, i, numberOfChunks, messageLength, offset, length), buffer);
+			buffer.put(content, offset, length);
+		}
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+}
@@ -0,0 +1,230 @@
+/*
+ * DISCLAIMER
+ *
+ * Copyright 2018 ArangoDB GmbH, Cologne, Germany
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Copyright holder is ArangoDB GmbH, Cologne, Germany
+ */
+
+package com.arangodb.internal.velocystream.internal;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.arangodb.FlushPolicy;
+import com.arangodb.entity.BufferPoolStatisticsEntity;
+import com.arangodb.internal.util.BufferPool;
+import com.arangodb.velocypack.VPackBuilder;
+import com.arangodb.velocypack.VPackSlice;
+import com.arangodb.velocypack.ValueType;
+
+/**
+ * Runs the VelocyStream transports against a {@link VstLoopbackServer}
+ * 
+ * @author Mark Vollmary
+ *
+ */
+public class VstTransportTest {
+
+	private static final long TIMEOUT = 5000L;
+
+	private VstLoopbackServer server;
+	private VstEventLoopGroup eventLoopGroup;
+
+	@Before
+	public void setup() throws Exception {
+		server = new VstLoopbackServer();
+		eventLoopGroup = new VstEventLoopGroup(1);
+	}
+
+	@After
+	public void teardown() throws Exception {
+		server.close();
+	}
+
+	@Test
+	public void nioTransportReleasesBuffersOnClose() throws Exception {
+		final BufferPool bufferPool = new BufferPool(true, false, 1024 * 1024, 1024 * 1024);
+		final VstConnectionSync connection = new VstConnectionSync.Builder().host(server.getHost())
+				.messageStore(new MessageStore()).eventLoopGroup(eventLoopGroup).bufferPool(bufferPool).build();
+		connection.open();
+		assertThat(bufferPool.getStatistics().getMisses(), is(2L));
+		connection.close();
+		awaitReleases(bufferPool, 2L);
+		connection.open();
+		server.awaitConnections(2);
+		BufferPoolStatisticsEntity statistics = bufferPool.getStatistics();
+		assertThat(statistics.getHits(), is(2L));
+		assertThat(statistics.getMisses(), is(2L));
+		connection.close();
+		statistics = awaitReleases(bufferPool, 4L);
+		assertThat(statistics.getPooledBytes(), is(2L * 64 * 1024));
+	}
+
+	@Test
+	public void socketTransportWritesChunks() throws Exception {
+		for (final FlushPolicy flushPolicy : FlushPolicy.values()) {
+			writeChunks(connection(null, flushPolicy));
+		}
+	}
+
+	@Test
+	public void nioTransportWritesChunks() throws Exception {
+		for (final FlushPolicy flushPolicy : FlushPolicy.values()) {
+			writeChunks(connection(eventLoopGroup, flushPolicy));
+		}
+	}
+
+	@Test
+	public void socketTransportReadsSplitChunks() throws Exception {
+		readChunks(connection(null, null));
+	}
+
+	@Test
+	public void nioTransportReadsSplitChunks() throws Exception {
+		readChunks(connection(eventLoopGroup, null));
+	}
+
+	private VstConnectionSync connection(final VstEventLoopGroup eventLoopGroup, final FlushPolicy flushPolicy) {
+		return new VstConnectionSync.Builder().host(server.getHost()).messageStore(new MessageStore())
+				.eventLoopGroup(eventLoopGroup).flushPolicy(flushPolicy).build();
+	}
+
+	/**
+	 * Sends messages whose head and body lie at an offset within a larger array. The contents are split into chunks
+	 * from less than one to more than 256 per message, which exceeds a single gathering write, and into contents
+	 * written directly from the message as well as contents copied into the write buffer.
+	 */
+	private void writeChunks(final VstConnectionSync connection) throws Exception {
+		connection.open();
+		final int[][] messages = { { 10, 100 }, { 2000, 500 }, { 30000, 100 }, { 100000, 30000 } };
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		for (int i = 0; i < messages.length; i++) {
+			final long id = i + 1;
+			final VPackSlice head = atOffset(value(20), 3);
+			final VPackSlice body = atOffset(value(messages[i][0]), 17);
+			final byte[] content = concat(head, body);
+			expected.write(VstLoopbackServer.chunks(id, content, messages[i][1]));
+			connection.send(new Message(id, head, body), chunks(id, content.length, messages[i][1]));
+			// one message at a time, otherwise the chunks of the messages would be interleaved
+			server.awaitReceived(expected.size());
+		}
+		assertThat(server.awaitReceived(expected.size()), is(expected.toByteArray()));
+		connection.close();
+		server.awaitClosedByClient();
+	}
+
+	/**
+	 * Receives a single-chunk message below and one above the size which is read directly into the message buffer
+	 * and a message of several chunks. The stream is split within chunk headers as well as within contents.
+	 */
+	private void readChunks(final VstConnectionSync connection) throws Exception {
+		connection.open();
+		final int[][] messages = { { 50, 100 }, { 5000, 30000 }, { 20000, 3000 } };
+		final List<MessageFuture> futures = new ArrayList<MessageFuture>();
+		final List<byte[]> contents = new ArrayList<byte[]>();
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		for (int i = 0; i < messages.length; i++) {
+			final long id = i + 1;
+			final VPackSlice head = value(20);
+			futures.add(connection.send(new Message(id, head, null), chunks(id, head.getByteSize(), 30000)));
+			final byte[] content = concat(head, value(messages[i][0]));
+			contents.add(content);
+			stream.write(VstLoopbackServer.chunks(id, content, messages[i][1]));
+		}
+		final byte[] data = stream.toByteArray();
+		final Random random = new Random(42);
+		final int[] splits = new int[40];
+		splits[0] = 1;
+		splits[1] = 5;
+		splits[2] = 17;
+		for (int i = 3; i < splits.length; i++) {
+			splits[i] = 18 + random.nextInt(data.length - 18);
+		}
+		Arrays.sort(splits);
+		server.send(data, splits);
+		for (int i = 0; i < messages.length; i++) {
+			final Message message = futures.get(i).get(TIMEOUT, TimeUnit.MILLISECONDS);
+			assertThat(message.getId(), is(i + 1L));
+			assertThat(concat(message.getHead(), message.getBody()), is(contents.get(i)));
+		}
+		connection.close();
+	}
+
+	private static Collection<Chunk> chunks(final long id, final int size, final int chunkSize) {
+		final Collection<Chunk> chunks = new ArrayList<Chunk>();
+		final int numberOfChunks = (size + chunkSize - 1) / chunkSize;
+		for (int i = 0, offset = 0; offset < size; i++, offset += chunkSize) {
+			final long messageLength = (i == 0 && numberOfChunks > 1) ? size : -1L;
+			chunks.add(new Chunk(id, i, numberOfChunks, messageLength, offset, Math.min(chunkSize, size - offset)));
+		}
+		return chunks;
+	}
+
+	/**
+	 * @return a string of about the given number of bytes
+	 */
+	private static VPackSlice value(final int size) {
+		final StringBuilder value = new StringBuilder(size);
+		for (int i = 0; value.length() < size; i++) {
+			value.append((char) ('a' + i % 26));
+		}
+		final VPackBuilder builder = new VPackBuilder();
+		builder.add(ValueType.ARRAY);
+		builder.add(value.toString());
+		builder.close();
+		return builder.slice();
+	}
+
+	private static VPackSlice atOffset(final VPackSlice slice, final int offset) {
+		final byte[] array = new byte[offset + slice.getByteSize() + 5];
+		System.arraycopy(slice.getBuffer(), slice.getStart(), array, offset, slice.getByteSize());
+		return new VPackSlice(array, offset);
+	}
+
+	private static byte[] concat(final VPackSlice head, final VPackSlice body) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(head.getBuffer(), head.getStart(), head.getByteSize());
+		if (body != null) {
+			bytes.write(body.getBuffer(), body.getStart(), body.getByteSize());
+		}
+		return bytes.toByteArray();
+	}
+
+	private static BufferPoolStatisticsEntity awaitReleases(final BufferPool bufferPool, final long releases)
+			throws InterruptedException {
+		final long end = System.currentTimeMillis() + TIMEOUT;
+		BufferPoolStatisticsEntity statistics;
+		while ((statistics = bufferPool.getStatistics()).getReleases() < releases
+				&& System.currentTimeMillis() < end) {
+			Thread.sleep(10L);
+		}
+		assertThat(statistics.getReleases(), is(releases));
+		return statistics;
+	}
+
+}